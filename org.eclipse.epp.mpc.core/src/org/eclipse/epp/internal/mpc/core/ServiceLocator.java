@@ -27,6 +27,7 @@
 import org.eclipse.epp.internal.mpc.core.service.CachingMarketplaceService;
 import org.eclipse.epp.internal.mpc.core.service.DefaultCatalogService;
 import org.eclipse.epp.internal.mpc.core.service.DefaultMarketplaceService;
+import org.eclipse.epp.internal.mpc.core.service.PersistentResponseCache;
 import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
 import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
@@ -258,7 +259,7 @@ protected IMarketplaceService createMarketplaceService(String baseUrl) {
 		Map<String, String> requestMetaParameters = computeDefaultRequestMetaParameters();
 		defaultService.setRequestMetaParameters(requestMetaParameters);
 		defaultService.setHttpClient(httpClient);
-		service = new CachingMarketplaceService(defaultService);
+		service = new CachingMarketplaceService(defaultService, PersistentResponseCache.create(base));
 		return service;
 	}
 
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.model;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate-compressed text, which is only decoded when it is read. Used for large HTML texts like node bodies, which
+ * compress well and are only needed for a few of the nodes in a result.
+ * <p>
+ * The decoded text is weakly cached, so repeated reads by the same client don't decode it again, while it can still be
+ * reclaimed as soon as it is no longer used.
+ */
+public final class CompressedText {
+
+	private final byte[] data;
+
+	private final int length;
+
+	private WeakReference<String> decoded;
+
+	private CompressedText(byte[] data, int length) {
+		this.data = data;
+		this.length = length;
+	}
+
+	/**
+	 * Compress the given text, if that actually saves a meaningful amount of memory.
+	 *
+	 * @return the compressed text, or null if the text is too short or doesn't compress well
+	 */
+	public static CompressedText compress(String text, int minLength) {
+		if (text == null || text.length() < minLength) {
+			return null;
+		}
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			//only worth it if we save at least a quarter
+			byte[] buffer = new byte[bytes.length - bytes.length / 4];
+			int compressedLength = deflater.deflate(buffer);
+			if (!deflater.finished()) {
+				return null;
+			}
+			CompressedText compressed = new CompressedText(Arrays.copyOf(buffer, compressedLength), bytes.length);
+			compressed.decoded = new WeakReference<>(text);
+			return compressed;
+		} finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Restore compressed text from its {@link #getData() data}, e.g. read back from a {@link ModelSnapshot}.
+	 */
+	static CompressedText restore(byte[] data, int length) {
+		return new CompressedText(data, length);
+	}
+
+	/**
+	 * @return the compressed data, which must not be modified
+	 */
+	byte[] getData() {
+		return data;
+	}
+
+	/**
+	 * @return the length of the decoded text in UTF-8 bytes
+	 */
+	int getLength() {
+		return length;
+	}
+
+	/**
+	 * @return the size of the compressed data in bytes
+	 */
+	public int getCompressedSize() {
+		return data.length;
+	}
+
+	@Override
+	public String toString() {
+		WeakReference<String> cached = decoded;
+		String text = cached == null ? null : cached.get();
+		if (text == null) {
+			text = decode();
+			decoded = new WeakReference<>(text);
+		}
+		return text;
+	}
+
+	private String decode() {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+			byte[] bytes = new byte[length];
+			int read = 0;
+			while (read < length && !inflater.finished()) {
+				int inflated = inflater.inflate(bytes, read, length - read);
+				if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				read += inflated;
+			}
+			if (read != length) {
+				throw new IllegalStateException("Truncated compressed text"); //$NON-NLS-1$
+			}
+			return new String(bytes, StandardCharsets.UTF_8);
+		} catch (DataFormatException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
@@ -0,0 +1,583 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.epp.mpc.core.model.IIu;
+
+/**
+ * Compact, versioned binary format for unmarshalled marketplace models, used to store them on disk and read them back
+ * without parsing XML again. Supported are {@link Node nodes}, {@link Category categories}, {@link Market markets},
+ * {@link SearchResult search results}, {@link News news} and lists of these.
+ * <p>
+ * Snapshots are written to a stream and read from a {@link ByteBuffer} holding the stored bytes. Numbers are stored
+ * as variable length integers, and each distinct string is only stored once per snapshot and referenced by index
+ * afterwards. Compressed node bodies are stored as they are, without decoding them.
+ * <p>
+ * The format starts with a magic number and the {@link #VERSION format version}. Any change to the encoding of the
+ * models has to increase the version, which makes older snapshots unreadable.
+ */
+public final class ModelSnapshot {
+
+	/**
+	 * Current version of the snapshot format
+	 */
+	public static final int VERSION = 1;
+
+	private static final int MAGIC = 0x4d504353; // "MPCS"
+
+	private static final int TYPE_NULL = 0;
+
+	private static final int TYPE_NODE = 1;
+
+	private static final int TYPE_CATEGORY = 2;
+
+	private static final int TYPE_MARKET = 3;
+
+	private static final int TYPE_SEARCH_RESULT = 4;
+
+	private static final int TYPE_NEWS = 5;
+
+	private static final int TYPE_LIST = 6;
+
+	private static final int STRING_NULL = 0;
+
+	private static final int STRING_NEW = 1;
+
+	private static final int BODY_NULL = 0;
+
+	private static final int BODY_PLAIN = 1;
+
+	private static final int BODY_COMPRESSED = 2;
+
+	private ModelSnapshot() {
+	}
+
+	/**
+	 * @return true if the given value can be stored in a snapshot
+	 */
+	public static boolean isSupported(Object value) {
+		if (value instanceof List<?>) {
+			for (Object element : (List<?>) value) {
+				if (!isSupported(element)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return value == null || value instanceof Node || value instanceof Category || value instanceof Market
+				|| value instanceof SearchResult || value instanceof News;
+	}
+
+	/**
+	 * Write a snapshot of the given model to the stream.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the model is not {@link #isSupported(Object) supported}
+	 */
+	public static void write(Object model, OutputStream out) throws IOException {
+		DataOutputStream dataOut = new DataOutputStream(out);
+		dataOut.writeInt(MAGIC);
+		writeVarInt(dataOut, VERSION);
+		new Writer(dataOut).writeValue(model);
+		dataOut.flush();
+	}
+
+	/**
+	 * Read a snapshot, starting at the buffer's current position. When this returns, the buffer is positioned right
+	 * after the snapshot.
+	 *
+	 * @throws IOException
+	 *             if the buffer does not contain a snapshot of the current {@link #VERSION version} or is truncated
+	 */
+	public static Object read(ByteBuffer buffer) throws IOException {
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Not a model snapshot"); //$NON-NLS-1$
+			}
+			int version = readVarInt(buffer);
+			if (version != VERSION) {
+				throw new IOException("Unsupported model snapshot version " + version); //$NON-NLS-1$
+			}
+			return new Reader(buffer).readValue();
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException ex) {
+			throw new IOException("Corrupt model snapshot", ex); //$NON-NLS-1$
+		}
+	}
+
+	private static final class Writer {
+
+		private final DataOutputStream out;
+
+		private final Map<String, Integer> strings = new HashMap<>();
+
+		Writer(DataOutputStream out) {
+			this.out = out;
+		}
+
+		void writeValue(Object value) throws IOException {
+			if (value == null) {
+				out.writeByte(TYPE_NULL);
+			} else if (value instanceof Node) {
+				out.writeByte(TYPE_NODE);
+				writeNode((Node) value);
+			} else if (value instanceof Category) {
+				out.writeByte(TYPE_CATEGORY);
+				writeCategory((Category) value);
+			} else if (value instanceof Market) {
+				out.writeByte(TYPE_MARKET);
+				writeMarket((Market) value);
+			} else if (value instanceof SearchResult) {
+				out.writeByte(TYPE_SEARCH_RESULT);
+				writeSearchResult((SearchResult) value);
+			} else if (value instanceof News) {
+				out.writeByte(TYPE_NEWS);
+				writeNews((News) value);
+			} else if (value instanceof List<?>) {
+				List<?> list = (List<?>) value;
+				out.writeByte(TYPE_LIST);
+				writeVarInt(out, list.size());
+				for (Object element : list) {
+					writeValue(element);
+				}
+			} else {
+				throw new IllegalArgumentException(value.getClass().getName());
+			}
+		}
+
+		private void writeIdentifiable(Identifiable model) throws IOException {
+			writeString(model.id);
+			writeString(model.name);
+			writeString(model.url);
+		}
+
+		private void writeNode(Node node) throws IOException {
+			writeIdentifiable(node);
+			writeInteger(node.favorited);
+			writeInteger(node.installsTotal);
+			writeInteger(node.installsRecent);
+			writeString(node.type);
+			List<Category> categories = node.categories == null ? null : node.categories.getCategory();
+			writeSize(categories);
+			if (categories != null) {
+				for (Category category : categories) {
+					writeCategory(category);
+				}
+			}
+			List<Tag> tags = node.tags == null ? null : node.tags.getTags();
+			writeSize(tags);
+			if (tags != null) {
+				for (Tag tag : tags) {
+					writeIdentifiable(tag);
+				}
+			}
+			writeString(node.owner);
+			writeString(node.shortdescription);
+			if (node.compressedBody != null) {
+				out.writeByte(BODY_COMPRESSED);
+				writeVarInt(out, node.compressedBody.getLength());
+				byte[] data = node.compressedBody.getData();
+				writeVarInt(out, data.length);
+				out.write(data);
+			} else if (node.body != null) {
+				out.writeByte(BODY_PLAIN);
+				writeText(node.body);
+			} else {
+				out.writeByte(BODY_NULL);
+			}
+			writeDate(node.created);
+			writeDate(node.changed);
+			writeBoolean(node.foundationmember);
+			writeString(node.homepageurl);
+			writeString(node.image);
+			writeString(node.screenshot);
+			writeString(node.version);
+			writeString(node.license);
+			writeString(node.companyname);
+			writeString(node.status);
+			writeString(node.eclipseversion);
+			writeString(node.supporturl);
+			writeString(node.updateurl);
+			List<IIu> ius = node.ius == null ? null : node.ius.getIuElements();
+			writeSize(ius);
+			if (ius != null) {
+				for (IIu iu : ius) {
+					writeString(iu.getId());
+					out.writeByte((iu.isOptional() ? 1 : 0) | (iu.isSelected() ? 2 : 0));
+				}
+			}
+			List<String> platforms = node.platforms == null ? null : node.platforms.getPlatform();
+			writeSize(platforms);
+			if (platforms != null) {
+				for (String platform : platforms) {
+					writeString(platform);
+				}
+			}
+			writeBoolean(node.userFavorite);
+		}
+
+		private void writeCategory(Category category) throws IOException {
+			writeIdentifiable(category);
+			writeInteger(category.count);
+			writeNodes(category.node);
+		}
+
+		private void writeMarket(Market market) throws IOException {
+			writeIdentifiable(market);
+			writeSize(market.category);
+			if (market.category != null) {
+				for (Category category : market.category) {
+					writeCategory(category);
+				}
+			}
+		}
+
+		private void writeSearchResult(SearchResult result) throws IOException {
+			writeInteger(result.getMatchCount());
+			writeNodes(result.getNodes());
+		}
+
+		private void writeNews(News news) throws IOException {
+			writeString(news.getUrl());
+			writeString(news.getShortTitle());
+			writeLong(news.getTimestamp());
+		}
+
+		private void writeNodes(List<Node> nodes) throws IOException {
+			writeSize(nodes);
+			if (nodes != null) {
+				for (Node node : nodes) {
+					writeNode(node);
+				}
+			}
+		}
+
+		private void writeSize(List<?> list) throws IOException {
+			//0 for null, size + 1 otherwise
+			writeVarInt(out, list == null ? 0 : list.size() + 1);
+		}
+
+		private void writeString(String value) throws IOException {
+			if (value == null) {
+				writeVarInt(out, STRING_NULL);
+				return;
+			}
+			Integer index = strings.get(value);
+			if (index != null) {
+				writeVarInt(out, index + 2);
+				return;
+			}
+			strings.put(value, strings.size());
+			writeVarInt(out, STRING_NEW);
+			writeText(value);
+		}
+
+		private void writeText(String value) throws IOException {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(out, bytes.length);
+			out.write(bytes);
+		}
+
+		private void writeInteger(Integer value) throws IOException {
+			writeLong(value == null ? null : Long.valueOf(value.longValue()));
+		}
+
+		private void writeDate(Date value) throws IOException {
+			writeLong(value == null ? null : Long.valueOf(value.getTime()));
+		}
+
+		private void writeLong(Long value) throws IOException {
+			if (value == null) {
+				out.writeByte(0);
+			} else {
+				out.writeByte(1);
+				long v = value;
+				//zig-zag encoding, so small negative values stay small
+				writeVarLong(out, (v << 1) ^ (v >> 63));
+			}
+		}
+
+		private void writeBoolean(Boolean value) throws IOException {
+			out.writeByte(value == null ? 0 : value ? 2 : 1);
+		}
+	}
+
+	private static final class Reader {
+
+		private final ByteBuffer buffer;
+
+		private final List<String> strings = new ArrayList<>();
+
+		Reader(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		Object readValue() throws IOException {
+			int type = buffer.get();
+			switch (type) {
+			case TYPE_NULL:
+				return null;
+			case TYPE_NODE:
+				return readNode();
+			case TYPE_CATEGORY:
+				return readCategory();
+			case TYPE_MARKET:
+				return readMarket();
+			case TYPE_SEARCH_RESULT:
+				return readSearchResult();
+			case TYPE_NEWS:
+				return readNews();
+			case TYPE_LIST:
+				int size = readVarInt(buffer);
+				List<Object> list = new ArrayList<>(Math.min(size, buffer.remaining()));
+				for (int i = 0; i < size; i++) {
+					list.add(readValue());
+				}
+				return list;
+			default:
+				throw new IOException("Unknown model type " + type); //$NON-NLS-1$
+			}
+		}
+
+		private void readIdentifiable(Identifiable model) throws IOException {
+			model.id = readString();
+			model.name = readString();
+			model.url = readString();
+		}
+
+		private Node readNode() throws IOException {
+			Node node = new Node();
+			readIdentifiable(node);
+			node.favorited = readInteger();
+			node.installsTotal = readInteger();
+			node.installsRecent = readInteger();
+			node.type = readString();
+			int categories = readSize();
+			if (categories == -1) {
+				node.categories = null;
+			} else {
+				for (int i = 0; i < categories; i++) {
+					node.categories.getCategory().add(readCategory());
+				}
+			}
+			int tags = readSize();
+			if (tags == -1) {
+				node.tags = null;
+			} else {
+				for (int i = 0; i < tags; i++) {
+					Tag tag = new Tag();
+					readIdentifiable(tag);
+					node.tags.getTags().add(tag);
+				}
+			}
+			node.owner = readString();
+			node.shortdescription = readString();
+			int body = buffer.get();
+			switch (body) {
+			case BODY_NULL:
+				break;
+			case BODY_PLAIN:
+				node.body = readText();
+				break;
+			case BODY_COMPRESSED:
+				int length = readVarInt(buffer);
+				byte[] data = new byte[readVarInt(buffer)];
+				buffer.get(data);
+				node.compressedBody = CompressedText.restore(data, length);
+				break;
+			default:
+				throw new IOException("Unknown body encoding " + body); //$NON-NLS-1$
+			}
+			node.created = readDate();
+			node.changed = readDate();
+			node.foundationmember = readBoolean();
+			node.homepageurl = readString();
+			node.image = readString();
+			node.screenshot = readString();
+			node.version = readString();
+			node.license = readString();
+			node.companyname = readString();
+			node.status = readString();
+			node.eclipseversion = readString();
+			node.supporturl = readString();
+			node.updateurl = readString();
+			int ius = readSize();
+			if (ius == -1) {
+				node.ius = null;
+			} else {
+				for (int i = 0; i < ius; i++) {
+					String id = readString();
+					int flags = buffer.get();
+					node.ius.getIuElements().add(new Iu(id, (flags & 1) != 0, (flags & 2) != 0));
+				}
+			}
+			int platforms = readSize();
+			if (platforms == -1) {
+				node.platforms = null;
+			} else {
+				for (int i = 0; i < platforms; i++) {
+					node.platforms.getPlatform().add(readString());
+				}
+			}
+			node.userFavorite = readBoolean();
+			return node;
+		}
+
+		private Category readCategory() throws IOException {
+			Category category = new Category();
+			readIdentifiable(category);
+			category.count = readInteger();
+			category.node = readNodes();
+			return category;
+		}
+
+		private Market readMarket() throws IOException {
+			Market market = new Market();
+			readIdentifiable(market);
+			int categories = readSize();
+			if (categories == -1) {
+				market.category = null;
+			} else {
+				for (int i = 0; i < categories; i++) {
+					market.category.add(readCategory());
+				}
+			}
+			return market;
+		}
+
+		private SearchResult readSearchResult() throws IOException {
+			SearchResult result = new SearchResult();
+			result.setMatchCount(readInteger());
+			result.setNodes(readNodes());
+			return result;
+		}
+
+		private News readNews() throws IOException {
+			News news = new News();
+			news.setUrl(readString());
+			news.setShortTitle(readString());
+			news.setTimestamp(readLong());
+			return news;
+		}
+
+		private List<Node> readNodes() throws IOException {
+			int size = readSize();
+			if (size == -1) {
+				return null;
+			}
+			List<Node> nodes = new ArrayList<>(Math.min(size, buffer.remaining()));
+			for (int i = 0; i < size; i++) {
+				nodes.add(readNode());
+			}
+			return nodes;
+		}
+
+		/**
+		 * @return the list size, or -1 for a null list
+		 */
+		private int readSize() {
+			return readVarInt(buffer) - 1;
+		}
+
+		private String readString() {
+			int reference = readVarInt(buffer);
+			if (reference == STRING_NULL) {
+				return null;
+			}
+			if (reference == STRING_NEW) {
+				String value = readText();
+				strings.add(value);
+				return value;
+			}
+			return strings.get(reference - 2);
+		}
+
+		private String readText() {
+			int length = readVarInt(buffer);
+			if (buffer.hasArray()) {
+				int offset = buffer.arrayOffset() + buffer.position();
+				buffer.position(buffer.position() + length);
+				return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+			}
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private Integer readInteger() {
+			Long value = readLong();
+			return value == null ? null : Integer.valueOf(value.intValue());
+		}
+
+		private Date readDate() {
+			Long value = readLong();
+			return value == null ? null : new Date(value);
+		}
+
+		private Long readLong() {
+			if (buffer.get() == 0) {
+				return null;
+			}
+			long v = readVarLong(buffer);
+			return (v >>> 1) ^ -(v & 1);
+		}
+
+		private Boolean readBoolean() {
+			int value = buffer.get();
+			return value == 0 ? null : Boolean.valueOf(value == 2);
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		writeVarLong(out, value & 0xffffffffL);
+	}
+
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7fL) != 0) {
+			out.writeByte((int) (value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	private static int readVarInt(ByteBuffer buffer) {
+		long value = readVarLong(buffer);
+		if (value < 0 || value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid size " + value); //$NON-NLS-1$
+		}
+		return (int) value;
+	}
+
+	private static long readVarLong(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed variable length number"); //$NON-NLS-1$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ public class Node extends Identifiable implements INode {
 	protected String owner;
 	protected String shortdescription;
 	protected String body;
+	protected CompressedText compressedBody;
 	protected java.util.Date created;
 	protected java.util.Date changed;
 	protected Boolean foundationmember;
@@ -160,11 +161,32 @@ public void setShortdescription(String shortdescription) {
 	 */
 	@Override
 	public String getBody() {
+		if (body == null && compressedBody != null) {
+			return compressedBody.toString();
+		}
 		return body;
 	}
 
 	public void setBody(String body) {
 		this.body = body;
+		this.compressedBody = null;
+	}
+
+	/**
+	 * Set the body, keeping it compressed in memory if it is at least <code>minLength</code> characters long and
+	 * compresses well. {@link #getBody()} decodes compressed bodies on demand.
+	 */
+	public void setBody(String body, int minCompressedLength) {
+		CompressedText compressed = CompressedText.compress(body, minCompressedLength);
+		this.body = compressed == null ? body : null;
+		this.compressedBody = compressed;
+	}
+
+	/**
+	 * @return the compressed body, or null if the body is kept as plain text
+	 */
+	public CompressedText getCompressedBody() {
+		return compressedBody;
 	}
 
 	/**
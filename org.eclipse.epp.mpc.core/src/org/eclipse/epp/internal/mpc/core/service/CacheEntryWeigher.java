@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.util.Collection;
+
+import org.eclipse.epp.internal.mpc.core.model.CompressedText;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.mpc.core.model.ICategory;
+import org.eclipse.epp.mpc.core.model.IIus;
+import org.eclipse.epp.mpc.core.model.IMarket;
+import org.eclipse.epp.mpc.core.model.INews;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.eclipse.epp.mpc.core.model.ITags;
+
+/**
+ * Estimates the memory footprint of cached marketplace model objects in bytes. The estimate doesn't have to be exact,
+ * but proportional to the actual size, so the cache can be bounded by memory rather than by entry count. Node texts,
+ * in particular the HTML body, dominate the size of most results.
+ */
+public class CacheEntryWeigher {
+
+	private static final int OBJECT_WEIGHT = 64;
+
+	private static final int NODE_WEIGHT = 1024;
+
+	private static final int DEFAULT_WEIGHT = 256;
+
+	public long weigh(Object value) {
+		if (value instanceof INode) {
+			return weighNode((INode) value);
+		}
+		if (value instanceof ISearchResult) {
+			return OBJECT_WEIGHT + weighAll(((ISearchResult) value).getNodes());
+		}
+		if (value instanceof IMarket) {
+			return OBJECT_WEIGHT + weigh(((IMarket) value).getName()) + weighAll(((IMarket) value).getCategory());
+		}
+		if (value instanceof ICategory) {
+			return OBJECT_WEIGHT + weigh(((ICategory) value).getName()) + weigh(((ICategory) value).getUrl())
+			+ weighAll(((ICategory) value).getNode());
+		}
+		if (value instanceof INews) {
+			return OBJECT_WEIGHT + weigh(((INews) value).getUrl()) + weigh(((INews) value).getShortTitle());
+		}
+		if (value instanceof Collection<?>) {
+			return weighAll((Collection<?>) value);
+		}
+		if (value instanceof String) {
+			return 40 + 2L * ((String) value).length();
+		}
+		return value == null ? 0 : DEFAULT_WEIGHT;
+	}
+
+	private long weighNode(INode node) {
+		long weight = NODE_WEIGHT + weigh(node.getName()) + weigh(node.getShortdescription()) + weighBody(node)
+		+ weigh(node.getUrl()) + weigh(node.getImage()) + weigh(node.getScreenshot())
+		+ weigh(node.getUpdateurl()) + weigh(node.getEclipseversion());
+		IIus ius = node.getIus();
+		if (ius != null && ius.getIuElements() != null) {
+			weight += (long) OBJECT_WEIGHT * ius.getIuElements().size();
+		}
+		ITags tags = node.getTags();
+		if (tags != null && tags.getTags() != null) {
+			weight += (long) OBJECT_WEIGHT * tags.getTags().size();
+		}
+		return weight;
+	}
+
+	private long weighBody(INode node) {
+		if (node instanceof Node) {
+			CompressedText compressedBody = ((Node) node).getCompressedBody();
+			if (compressedBody != null) {
+				//don't decode the body just to weigh it
+				return OBJECT_WEIGHT + compressedBody.getCompressedSize();
+			}
+		}
+		return weigh(node.getBody());
+	}
+
+	private long weighAll(Collection<?> values) {
+		long weight = OBJECT_WEIGHT;
+		if (values != null) {
+			for (Object value : values) {
+				weight += weigh(value);
+			}
+		}
+		return weight;
+	}
+}
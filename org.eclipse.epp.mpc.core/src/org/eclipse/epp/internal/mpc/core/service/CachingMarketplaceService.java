@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,23 +13,28 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.service;
 
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
+import java.io.FileNotFoundException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.mpc.core.model.ICategory;
 import org.eclipse.epp.mpc.core.model.IMarket;
@@ -37,42 +42,95 @@
 import org.eclipse.epp.mpc.core.model.INode;
 import org.eclipse.epp.mpc.core.model.ISearchResult;
 import org.eclipse.epp.mpc.core.service.IMarketplaceService;
-import org.eclipse.epp.mpc.core.service.QueryHelper;
+import org.eclipse.osgi.util.NLS;
 
 public class CachingMarketplaceService implements IMarketplaceService {
 
-	private static final String MISSING_NODE_TYPE = "__MISSING__"; //$NON-NLS-1$
+	private static final String TAGGED_KIND = "tagged"; //$NON-NLS-1$
 
 	private final IMarketplaceService delegate;
 
-	private final Map<String, Reference<Object>> cache = new LinkedHashMap<>();
+	private final MemoryResponseCache cache = MemoryResponseCache.create();
 
-	private final ReferenceQueue<Object> cacheReferenceQueue = new ReferenceQueue<>();
+	private final RequestCoalescer requests = new RequestCoalescer();
+
+	private final ConcurrentMap<String, CompletableFuture<ISearchResult>> refreshes = new ConcurrentHashMap<>();
+
+	private PersistentResponseCache persistentCache;
+
+	private final RequestMetrics metrics = RequestMetrics.getDefault();
 
 	public CachingMarketplaceService(IMarketplaceService delegate) {
+		this(delegate, null);
+	}
+
+	public CachingMarketplaceService(IMarketplaceService delegate, PersistentResponseCache persistentCache) {
 		if (delegate == null) {
 			throw new IllegalArgumentException();
 		}
 		this.delegate = delegate;
+		this.persistentCache = persistentCache;
 	}
 
 	public IMarketplaceService getDelegate() {
 		return delegate;
 	}
 
+	/**
+	 * @return the in-memory cache
+	 */
+	public MemoryResponseCache getMemoryCache() {
+		return cache;
+	}
+
+	/**
+	 * @return the coalescer that merges concurrent identical requests to the delegate
+	 */
+	public RequestCoalescer getRequestCoalescer() {
+		return requests;
+	}
+
+	/**
+	 * @return the optional persistent cache backing the in-memory cache, or null if results are only cached in memory
+	 */
+	public PersistentResponseCache getPersistentCache() {
+		return persistentCache;
+	}
+
+	public void setPersistentCache(PersistentResponseCache persistentCache) {
+		this.persistentCache = persistentCache;
+	}
+
 	@Override
 	public List<? extends IMarket> listMarkets(IProgressMonitor monitor) throws CoreException {
 		String marketsKey = "Markets:Markets"; //$NON-NLS-1$
 		@SuppressWarnings("unchecked")
-		List<? extends IMarket> marketsResult = getCached(marketsKey, List.class);
+		List<? extends IMarket> marketsResult = hit(getCached(marketsKey, List.class));
 		if (marketsResult == null) {
+			marketsResult = requests.execute(marketsKey, monitor1 -> loadMarkets(marketsKey, monitor1), monitor);
+		}
+		return marketsResult;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<? extends IMarket> loadMarkets(String marketsKey, IProgressMonitor monitor) throws CoreException {
+		List<? extends IMarket> marketsResult = hit(getCached(marketsKey, List.class));
+		if (marketsResult != null) {
+			return marketsResult;
+		}
+		boolean persisted = true;
+		marketsResult = hit(getPersisted(marketsKey, List.class));
+		if (marketsResult == null) {
+			persisted = false;
+			metrics.recordCacheMiss();
 			marketsResult = delegate.listMarkets(monitor);
-			synchronized (cache) {
-				cache(marketsKey, marketsResult);
-				for (IMarket market : marketsResult) {
-					cacheMarket(market);
-				}
-			}
+		}
+		cache(marketsKey, marketsResult);
+		for (IMarket market : marketsResult) {
+			cacheMarket(market);
+		}
+		if (!persisted) {
+			persist(marketsKey, marketsResult);
 		}
 		return marketsResult;
 	}
@@ -80,16 +138,30 @@ public List<? extends IMarket> listMarkets(IProgressMonitor monitor) throws Core
 	@Override
 	public IMarket getMarket(IMarket market, IProgressMonitor monitor) throws CoreException {
 		String marketKey = computeMarketKey(market);
+		IMarket marketResult = hit(getCached(marketKey, IMarket.class));
+		if (marketResult == null) {
+			marketResult = requests.execute(marketKey, monitor1 -> loadMarket(marketKey, market, monitor1), monitor);
+		}
+		return marketResult;
+	}
+
+	private IMarket loadMarket(String marketKey, IMarket market, IProgressMonitor monitor) throws CoreException {
 		IMarket marketResult = null;
 		if (marketKey != null) {
-			marketResult = getCached(marketKey, IMarket.class);
+			marketResult = hit(getCached(marketKey, IMarket.class));
+			if (marketResult == null) {
+				marketResult = hit(getPersisted(marketKey, IMarket.class));
+				if (marketResult != null) {
+					cacheMarket(marketResult);
+				}
+			}
 		}
 		if (marketResult == null) {
+			metrics.recordCacheMiss();
 			marketResult = delegate.getMarket(market, monitor);
 			if (marketResult != null) {
-				synchronized (cache) {
-					cacheMarket(marketResult);
-				}
+				cacheMarket(marketResult);
+				persist(computeMarketKey(marketResult), marketResult);
 			}
 		}
 		return marketResult;
@@ -112,16 +184,32 @@ private void cacheCategory(ICategory category) {
 	@Override
 	public ICategory getCategory(ICategory category, IProgressMonitor monitor) throws CoreException {
 		String categoryKey = computeCategoryKey(category);
+		ICategory categoryResult = hit(getCached(categoryKey, ICategory.class));
+		if (categoryResult == null) {
+			categoryResult = requests.execute(categoryKey, monitor1 -> loadCategory(categoryKey, category, monitor1),
+					monitor);
+		}
+		return categoryResult;
+	}
+
+	private ICategory loadCategory(String categoryKey, ICategory category, IProgressMonitor monitor)
+			throws CoreException {
 		ICategory categoryResult = null;
 		if (categoryKey != null) {
-			categoryResult = getCached(categoryKey, ICategory.class);
+			categoryResult = hit(getCached(categoryKey, ICategory.class));
+			if (categoryResult == null) {
+				categoryResult = hit(getPersisted(categoryKey, ICategory.class));
+				if (categoryResult != null) {
+					cacheCategory(categoryResult);
+				}
+			}
 		}
 		if (categoryResult == null) {
+			metrics.recordCacheMiss();
 			categoryResult = delegate.getCategory(category, monitor);
 			if (categoryResult != null) {
-				synchronized (cache) {
-					cacheCategory(categoryResult);
-				}
+				cacheCategory(categoryResult);
+				persist(computeCategoryKey(categoryResult), categoryResult);
 			}
 		}
 		return categoryResult;
@@ -129,30 +217,62 @@ public ICategory getCategory(ICategory category, IProgressMonitor monitor) throw
 
 	@Override
 	public INode getNode(INode node, IProgressMonitor monitor) throws CoreException {
-		INode nodeResult = lookupCachedNode(node);
+		INode nodeResult = hit(lookupCachedNode(node));
+		if (nodeResult == null) {
+			CoreException missing = hit(lookupMissingNode(node));
+			if (missing != null) {
+				throw missing;
+			}
+			String nodeKey = computeNodeKey(node);
+			if (nodeKey == null) {
+				nodeKey = computeNodeUrlKey(node);
+			}
+			nodeResult = requests.execute(nodeKey, monitor1 -> loadNode(node, monitor1), monitor);
+		}
+		return nodeResult;
+	}
+
+	private INode loadNode(INode node, IProgressMonitor monitor) throws CoreException {
+		INode nodeResult = hit(lookupCachedNode(node));
 		if (nodeResult == null) {
-			nodeResult = delegate.getNode(node, monitor);
+			metrics.recordCacheMiss();
+			try {
+				nodeResult = delegate.getNode(node, monitor);
+			} catch (CoreException ex) {
+				if (isNotFound(ex)) {
+					cacheMissingNode(node, ex);
+				}
+				throw ex;
+			}
 			if (nodeResult != null) {
 				cacheNode(nodeResult);
+				persistNode(nodeResult);
 			}
 		}
 		return nodeResult;
 	}
 
-	private void cacheNode(INode node) {
-		synchronized (cache) {
-			cache(computeNodeKey(node), node);
-			cache(computeNodeUrlKey(node), node);
-			cache(computeNodeIdUrlKey(node), node);
+	private void persistNode(INode node) {
+		if (persistentCache != null) {
+			persist(computeNodeKey(node), node);
 		}
 	}
 
+	private void cacheNode(INode node) {
+		cache(computeNodeKey(node), node);
+		cache(computeNodeUrlKey(node), node);
+		cache(computeNodeIdUrlKey(node), node);
+	}
+
 	@Override
 	public List<INode> getNodes(Collection<? extends INode> nodes, IProgressMonitor monitor) throws CoreException {
 		Map<INode, INode> resolvedNodes = new LinkedHashMap<>();
 		List<INode> unresolvedNodes = new ArrayList<>();
 		for (INode node : nodes) {
-			if (!mapCachedNode(node, resolvedNodes)) {
+			if (mapCachedNode(node, resolvedNodes) || lookupMissingNode(node) != null) {
+				metrics.recordCacheHit();
+			} else {
+				metrics.recordCacheMiss();
 				unresolvedNodes.add(node);
 			}
 		}
@@ -160,38 +280,53 @@ public List<INode> getNodes(Collection<? extends INode> nodes, IProgressMonitor
 			List<INode> newResolvedNodes = delegate.getNodes(unresolvedNodes, monitor);
 			for (INode node : newResolvedNodes) {
 				cacheNode(node);
+				persistNode(node);
 			}
 			for (INode node : unresolvedNodes) {
 				if (!mapCachedNode(node, resolvedNodes)) {
 					//Cache not-found nodes
-					INode missingNode = createMissingNode(node);
-					if (missingNode != null) {
-						cacheNode(missingNode);
-					}
+					String query = node.getId() != null ? node.getId() : node.getUrl();
+					cacheMissingNode(node, new CoreException(new Status(IStatus.ERROR, MarketplaceClientCore.BUNDLE_ID,
+							NLS.bind(Messages.DefaultMarketplaceService_nodeNotFound, query),
+							new FileNotFoundException(query))));
 				}
 			}
 		}
 		List<INode> result = new ArrayList<>(nodes.size());
 		for (INode node : nodes) {
 			INode resolvedNode = resolvedNodes.get(node);
-			if (resolvedNode != null && !MISSING_NODE_TYPE.equals(resolvedNode.getType())) {
+			if (resolvedNode != null) {
 				result.add(resolvedNode);
 			}
 		}
 		return result;
 	}
 
-	private INode createMissingNode(INode node) {
-		INode missingNode;
-		if (node.getId() != null) {
-			missingNode = QueryHelper.nodeById(node.getId());
-		} else if (node.getUrl() != null) {
-			missingNode = QueryHelper.nodeByUrl(node.getUrl());
-		} else {
-			return null;
+	private CoreException lookupMissingNode(INode node) {
+		CoreException missing = cache.getNegative(computeNodeKey(node));
+		if (missing == null) {
+			missing = cache.getNegative(computeNodeUrlKey(node));
 		}
-		((Node) missingNode).setType(MISSING_NODE_TYPE);
-		return missingNode;
+		return missing;
+	}
+
+	private void cacheMissingNode(INode node, CoreException failure) {
+		String nodeKey = computeNodeKey(node);
+		cache.putNegative(nodeKey != null ? nodeKey : computeNodeUrlKey(node), failure);
+	}
+
+	/**
+	 * @return true if the failure was caused by the requested resource not being found on the server
+	 */
+	private static boolean isNotFound(CoreException ex) {
+		Throwable cause = ex;
+		for (int depth = 0; cause != null && depth < 10; depth++) {
+			if (cause instanceof FileNotFoundException) {
+				return true;
+			}
+			cause = cause.getCause();
+		}
+		return false;
 	}
 
 	private boolean mapCachedNode(INode node, Map<INode, INode> resolvedNodes) {
@@ -212,10 +347,17 @@ private INode lookupCachedNode(INode node) {
 				return nodeResult;
 			}
 		}
-		nodeKey = computeNodeUrlKey(node);
+		String nodeUrlKey = computeNodeUrlKey(node);
+		if (nodeUrlKey != null) {
+			nodeResult = getCached(nodeUrlKey, INode.class);
+			if (nodeResult != null) {
+				return nodeResult;
+			}
+		}
 		if (nodeKey != null) {
-			nodeResult = getCached(nodeKey, INode.class);
+			nodeResult = getPersisted(nodeKey, INode.class);
 			if (nodeResult != null) {
+				cacheNode(nodeResult);
 				return nodeResult;
 			}
 		}
@@ -223,33 +365,33 @@ private INode lookupCachedNode(INode node) {
 	}
 
 	private void cache(String key, Object value) {
-		if (key != null) {
-			cache.put(key, new SoftReference<>(value, cacheReferenceQueue));
-		}
+		cache.put(key, value);
 	}
 
 	private <T> T getCached(String key, Class<T> type) {
-		synchronized (cache) {
-			gcCache();
-			Reference<Object> reference = cache.get(key);
-			if (reference != null) {
-				return type.cast(reference.get());
-			}
+		return cache.get(key, type);
+	}
+
+	/**
+	 * Count a lookup that was answered from the cache, including cached failures.
+	 */
+	private <T> T hit(T cached) {
+		if (cached != null) {
+			metrics.recordCacheHit();
 		}
-		return null;
+		return cached;
 	}
 
-	private void gcCache() {
-		if (cacheReferenceQueue.poll() != null) {
-			while (cacheReferenceQueue.poll() != null) {
-				//clear the queue
-			}
-			for (Iterator<Reference<Object>> i = cache.values().iterator(); i.hasNext();) {
-				Reference<Object> reference = i.next();
-				if (reference.isEnqueued()) {
-					i.remove();
-				}
-			}
+	private <T> T getPersisted(String key, Class<T> type) {
+		if (persistentCache == null || key == null) {
+			return null;
+		}
+		return persistentCache.get(key, type);
+	}
+
+	private void persist(String key, Object value) {
+		if (persistentCache != null && key != null && value != null) {
+			persistentCache.put(key, value);
 		}
 	}
 
@@ -292,20 +434,40 @@ private String computeCategoryKey(ICategory category) {
 	}
 
 	private interface SearchOperation {
-		public ISearchResult doSearch(IProgressMonitor monitor) throws CoreException;
+		/**
+		 * @param nodeConsumer
+		 *            passed on to delegate operations that can stream their result nodes, or null
+		 */
+		public ISearchResult doSearch(Consumer<? super INode> nodeConsumer, IProgressMonitor monitor)
+				throws CoreException;
 	}
 
 	@Override
 	public ISearchResult search(final IMarket market, final ICategory category, final String queryText,
 			IProgressMonitor monitor) throws CoreException {
+		return search(market, category, queryText, null, monitor);
+	}
+
+	@Override
+	public ISearchResult search(final IMarket market, final ICategory category, final String queryText,
+			Consumer<? super INode> nodeConsumer, IProgressMonitor monitor) throws CoreException {
 		String key = computeSearchKey("search", market, category, queryText); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.search(market, category, queryText, monitor1));
+		NodeDelivery nodeDelivery = NodeDelivery.of(nodeConsumer);
+		ISearchResult result = performSearch(monitor, key,
+				(nodeConsumer1, monitor1) -> nodeConsumer1 == null
+				? delegate.search(market, category, queryText, monitor1)
+						: delegate.search(market, category, queryText, nodeConsumer1, monitor1),
+				nodeDelivery);
+		if (nodeDelivery != null) {
+			nodeDelivery.complete(result);
+		}
+		return result;
 	}
 
 	@Override
 	public ISearchResult tagged(final String tag, IProgressMonitor monitor) throws CoreException {
-		String key = computeSearchKey("tagged", null, null, tag); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.tagged(tag, monitor1));
+		String key = computeSearchKey(TAGGED_KIND, null, null, tag);
+		return performSearch(monitor, key, (nodeConsumer, monitor1) -> delegate.tagged(tag, monitor1));
 	}
 
 	@Override
@@ -316,27 +478,124 @@ public ISearchResult tagged(List<String> tags, IProgressMonitor monitor) throws
 
 	private ISearchResult performSearch(IProgressMonitor monitor, String key, SearchOperation searchOperation)
 			throws CoreException {
-		ISearchResult result = null;
-		synchronized (cache) {
-			Reference<Object> reference = cache.get(key);
-			if (reference != null) {
-				result = (ISearchResult) reference.get();
+		return performSearch(monitor, key, searchOperation, (Consumer<? super INode>) null);
+	}
+
+	/**
+	 * @param nodeConsumer
+	 *            receives the nodes streamed by the delegate if the result is actually retrieved by this call. Nodes
+	 *            of cached results or of results retrieved by a concurrent call for the same key are not streamed.
+	 */
+	private ISearchResult performSearch(IProgressMonitor monitor, String key, SearchOperation searchOperation,
+			Consumer<? super INode> nodeConsumer) throws CoreException {
+		ISearchResult result = hit(getCached(key, ISearchResult.class));
+		if (result == null) {
+			CoreException failure = hit(cache.getNegative(key));
+			if (failure != null) {
+				throw failure;
 			}
+			result = requests.execute(key,
+					monitor1 -> loadSearchResult(key, searchOperation, nodeConsumer, monitor1), monitor);
+		}
+		return result;
+	}
+
+	/**
+	 * Stale-while-revalidate variant of {@link #performSearch(IProgressMonitor, String, SearchOperation)}: if the
+	 * cached result has expired, but is still retained as a stale result, it is returned right away and refreshed in
+	 * the background.
+	 *
+	 * @param refreshed
+	 *            notified from a background thread once a fresh result has replaced the returned stale one. If null, no
+	 *            stale results are returned.
+	 */
+	private ISearchResult performSearch(IProgressMonitor monitor, String key, SearchOperation searchOperation,
+			Runnable refreshed) throws CoreException {
+		return performSearch(monitor, key, searchOperation, refreshed, null);
+	}
+
+	private ISearchResult performSearch(IProgressMonitor monitor, String key, SearchOperation searchOperation,
+			Runnable refreshed, Consumer<? super INode> nodeConsumer) throws CoreException {
+		if (refreshed != null && getCached(key, ISearchResult.class) == null) {
+			ISearchResult staleResult = hit(cache.getStale(key, ISearchResult.class));
+			if (staleResult != null) {
+				refresh(key, searchOperation).thenRun(refreshed);
+				return staleResult;
+			}
+		}
+		return performSearch(monitor, key, searchOperation, nodeConsumer);
+	}
+
+	private CompletableFuture<ISearchResult> refresh(String key, SearchOperation searchOperation) {
+		CompletableFuture<ISearchResult> refresh = new CompletableFuture<>();
+		CompletableFuture<ISearchResult> running = refreshes.putIfAbsent(key, refresh);
+		if (running != null) {
+			return running;
 		}
+		Job refreshJob = new Job(Messages.CachingMarketplaceService_refreshing) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					refresh.complete(requests.execute(key,
+							monitor1 -> loadSearchResult(key, searchOperation, null, monitor1), monitor));
+				} catch (CoreException | RuntimeException ex) {
+					//keep serving the stale result - the next lookup will try again
+					refresh.completeExceptionally(ex);
+				} finally {
+					refreshes.remove(key, refresh);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		refreshJob.setSystem(true);
+		refreshJob.schedule();
+		return refresh;
+	}
+
+	private ISearchResult loadSearchResult(String key, SearchOperation searchOperation,
+			Consumer<? super INode> nodeConsumer, IProgressMonitor monitor) throws CoreException {
+		ISearchResult result = hit(getCached(key, ISearchResult.class));
 		if (result == null) {
-			result = searchOperation.doSearch(monitor);
+			result = hit(getPersisted(key, ISearchResult.class));
 			if (result != null) {
-				synchronized (cache) {
-					cache(key, result);
-					for (INode node : result.getNodes()) {
-						cache(computeNodeKey(node), node);
-					}
+				cacheSearchResult(key, result);
+			}
+		}
+		if (result == null) {
+			metrics.recordCacheMiss();
+			try {
+				result = searchOperation.doSearch(nodeConsumer, monitor);
+			} catch (CoreException ex) {
+				if (isNotFound(ex)) {
+					//unsupported search string or unknown tag
+					cache.putNegative(key, ex);
+				}
+				throw ex;
+			}
+			if (result != null) {
+				if (isEmptyTagLookup(key, result)) {
+					//tags without solutions (e.g. for unknown file extensions) might get some soon
+					cache.put(key, result, cache.getNegativeTimeToLive());
+				} else {
+					cacheSearchResult(key, result);
+					persist(key, result);
 				}
 			}
 		}
 		return result;
 	}
 
+	private static boolean isEmptyTagLookup(String key, ISearchResult result) {
+		return key.startsWith(TAGGED_KIND + ":") && (result.getNodes() == null || result.getNodes().isEmpty()); //$NON-NLS-1$
+	}
+
+	private void cacheSearchResult(String key, ISearchResult result) {
+		cache(key, result);
+		for (INode node : result.getNodes()) {
+			cache(computeNodeKey(node), node);
+		}
+	}
+
 	private String computeSearchKey(String prefix, IMarket market, ICategory category, String queryText) {
 		return prefix
 				+ ":" + (market == null ? "" : market.getId()) + ":" + (category == null ? "" : category.getId()) + ":" + (queryText == null ? "" : queryText.trim()); //$NON-NLS-1$ //$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$ //$NON-NLS-6$
@@ -350,33 +609,88 @@ public URL getBaseUrl() {
 	@Override
 	public ISearchResult featured(IProgressMonitor monitor) throws CoreException {
 		String key = computeSearchKey("featured", null, null, null); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.featured(monitor1));
+		return performSearch(monitor, key, (nodeConsumer, monitor1) -> delegate.featured(monitor1));
 	}
 
 	@Override
 	public ISearchResult featured(final IMarket market, final ICategory category, IProgressMonitor monitor)
 			throws CoreException {
+		return featured(market, category, null, null, monitor);
+	}
+
+	@Override
+	public ISearchResult featured(final IMarket market, final ICategory category,
+			Consumer<? super INode> nodeConsumer, IProgressMonitor monitor) throws CoreException {
+		return featured(market, category, null, nodeConsumer, monitor);
+	}
+
+	/**
+	 * Stale-while-revalidate variant of {@link #featured(IMarket, ICategory, IProgressMonitor)}: if the cached result
+	 * has expired, it is still returned right away, while a fresh result is retrieved in the background.
+	 *
+	 * @param refreshed
+	 *            notified from a background thread once the fresh result is available
+	 */
+	public ISearchResult featured(final IMarket market, final ICategory category, Runnable refreshed,
+			IProgressMonitor monitor) throws CoreException {
+		return featured(market, category, refreshed, null, monitor);
+	}
+
+	/**
+	 * Stale-while-revalidate variant of {@link #featured(IMarket, ICategory, Consumer, IProgressMonitor)}. A stale
+	 * result is delivered to the node consumer right away, while the background refresh doesn't stream its nodes.
+	 *
+	 * @see #featured(IMarket, ICategory, Runnable, IProgressMonitor)
+	 */
+	public ISearchResult featured(final IMarket market, final ICategory category, Runnable refreshed,
+			Consumer<? super INode> nodeConsumer, IProgressMonitor monitor) throws CoreException {
 		String key = computeSearchKey("featured", market, category, null); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.featured(market, category, monitor1));
+		NodeDelivery nodeDelivery = NodeDelivery.of(nodeConsumer);
+		ISearchResult result = performSearch(monitor, key,
+				(nodeConsumer1, monitor1) -> nodeConsumer1 == null
+				? delegate.featured(market, category, monitor1)
+						: delegate.featured(market, category, nodeConsumer1, monitor1),
+				refreshed, nodeDelivery);
+		if (nodeDelivery != null) {
+			nodeDelivery.complete(result);
+		}
+		return result;
 	}
 
 	@Override
 	public ISearchResult recent(IProgressMonitor monitor) throws CoreException {
+		return recent(null, monitor);
+	}
+
+	/**
+	 * Stale-while-revalidate variant of {@link #recent(IProgressMonitor)}
+	 *
+	 * @see #featured(IMarket, ICategory, Runnable, IProgressMonitor)
+	 */
+	public ISearchResult recent(Runnable refreshed, IProgressMonitor monitor) throws CoreException {
 		String key = computeSearchKey("recent", null, null, null); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.recent(monitor1));
+		return performSearch(monitor, key, (nodeConsumer, monitor1) -> delegate.recent(monitor1), refreshed);
 	}
 
 	@Override
 	public ISearchResult topFavorites(IProgressMonitor monitor) throws CoreException {
 		String key = computeSearchKey("favorites", null, null, null); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.topFavorites(monitor1));
+		return performSearch(monitor, key, (nodeConsumer, monitor1) -> delegate.topFavorites(monitor1));
 	}
 
 	@Override
 	public ISearchResult popular(IProgressMonitor monitor) throws CoreException {
-		String key = computeSearchKey("popular", null, null, null); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.popular(monitor1));
+		return popular(null, monitor);
+	}
 
+	/**
+	 * Stale-while-revalidate variant of {@link #popular(IProgressMonitor)}
+	 *
+	 * @see #featured(IMarket, ICategory, Runnable, IProgressMonitor)
+	 */
+	public ISearchResult popular(Runnable refreshed, IProgressMonitor monitor) throws CoreException {
+		String key = computeSearchKey("popular", null, null, null); //$NON-NLS-1$
+		return performSearch(monitor, key, (nodeConsumer, monitor1) -> delegate.popular(monitor1), refreshed);
 	}
 
 	@Override
@@ -390,18 +704,29 @@ public ISearchResult related(final List<? extends INode> basedOn, IProgressMonit
 			searchKey = searchKeyBldr.substring(0, searchKeyBldr.length() - 1);
 		}
 		String key = computeSearchKey("related", null, null, searchKey); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.related(basedOn, monitor1));
+		return performSearch(monitor, key, (nodeConsumer, monitor1) -> delegate.related(basedOn, monitor1));
 	}
 
 	@Override
 	public INews news(IProgressMonitor monitor) throws CoreException {
 		String newsKey = "News:News"; //$NON-NLS-1$
-		INews newsResult = getCached(newsKey, INews.class);
+		INews newsResult = hit(getCached(newsKey, INews.class));
+		if (newsResult == null) {
+			newsResult = requests.execute(newsKey, monitor1 -> loadNews(newsKey, monitor1), monitor);
+		}
+		return newsResult;
+	}
+
+	private INews loadNews(String newsKey, IProgressMonitor monitor) throws CoreException {
+		INews newsResult = hit(getCached(newsKey, INews.class));
 		if (newsResult == null) {
-			newsResult = delegate.news(monitor);
-			synchronized (cache) {
-				cache(newsKey, newsResult);
+			newsResult = hit(getPersisted(newsKey, INews.class));
+			if (newsResult == null) {
+				metrics.recordCacheMiss();
+				newsResult = delegate.news(monitor);
+				persist(newsKey, newsResult);
 			}
+			cache(newsKey, newsResult);
 		}
 		return newsResult;
 	}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
+
+/**
+ * Stops requests to a host that is down or overloaded. After a number of consecutive server failures, or as soon as
+ * the server asks to retry later, the breaker opens and requests fail right away, so callers can fall back to cached
+ * results. Once the open period has passed, a single request is let through to probe the host: if it succeeds, the
+ * breaker closes again, otherwise it stays open for another period.
+ * <p>
+ * Breakers are shared per host by all {@link RemoteMarketplaceService} instances, see {@link #forHost(URI)}.
+ */
+public class CircuitBreaker {
+
+	/**
+	 * framework property for the number of consecutive server failures that open the breaker
+	 */
+	public static final String FAILURE_THRESHOLD_PROPERTY = "org.eclipse.epp.mpc.core.service.circuitBreaker.threshold"; //$NON-NLS-1$
+
+	/**
+	 * framework property for the time in milliseconds an open breaker rejects requests before it lets a probe through
+	 */
+	public static final String OPEN_DURATION_PROPERTY = "org.eclipse.epp.mpc.core.service.circuitBreaker.openDuration"; //$NON-NLS-1$
+
+	private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+	private static final long DEFAULT_OPEN_DURATION = 30000;
+
+	private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+	private enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+
+	private final long openDuration;
+
+	private final LongSupplier clock;
+
+	private State state = State.CLOSED;
+
+	private int consecutiveFailures;
+
+	/**
+	 * while open: the time at which the next probe may be sent; while half-open: the time at which the current probe
+	 * is considered lost, so another one may be sent
+	 */
+	private long nextProbeTime;
+
+	/**
+	 * @param clock
+	 *            the current time in nanoseconds, like {@link System#nanoTime()}
+	 */
+	public CircuitBreaker(int failureThreshold, long openDuration, LongSupplier clock) {
+		if (failureThreshold < 1 || openDuration < 0 || clock == null) {
+			throw new IllegalArgumentException();
+		}
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+		this.clock = clock;
+	}
+
+	/**
+	 * @return the breaker shared by all requests to the location's host
+	 */
+	public static CircuitBreaker forHost(URI location) {
+		String host = location.getHost();
+		String key = host == null ? String.valueOf(location.getAuthority()) : host.toLowerCase(Locale.ROOT);
+		return BREAKERS.computeIfAbsent(key, k -> create());
+	}
+
+	/**
+	 * Create a breaker configured by framework properties.
+	 */
+	public static CircuitBreaker create() {
+		int failureThreshold = ServiceUtil.getIntProperty(CircuitBreaker.class, FAILURE_THRESHOLD_PROPERTY,
+				DEFAULT_FAILURE_THRESHOLD);
+		long openDuration = ServiceUtil.getLongProperty(CircuitBreaker.class, OPEN_DURATION_PROPERTY,
+				DEFAULT_OPEN_DURATION);
+		return new CircuitBreaker(Math.max(1, failureThreshold), Math.max(0, openDuration), System::nanoTime);
+	}
+
+	/**
+	 * @return true if a request may be sent now. Each allowed request must be followed by a call to
+	 *         {@link #recordSuccess()} or {@link #recordFailure(long)} once its outcome is known.
+	 */
+	public synchronized boolean allowRequest() {
+		switch (state) {
+		case CLOSED:
+			return true;
+		case OPEN:
+		case HALF_OPEN:
+			long now = clock.getAsLong();
+			if (now - nextProbeTime < 0) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+			nextProbeTime = now + TimeUnit.MILLISECONDS.toNanos(openDuration);
+			return true;
+		default:
+			throw new IllegalStateException();
+		}
+	}
+
+	/**
+	 * Record that the host answered a request, even if it was with an error specific to the request.
+	 */
+	public synchronized void recordSuccess() {
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+	}
+
+	/**
+	 * Record that the host couldn't be reached or was unavailable.
+	 *
+	 * @param retryAfter
+	 *            the time in milliseconds the host asked clients to wait, or -1 if it didn't. This opens the breaker
+	 *            right away.
+	 */
+	public synchronized void recordFailure(long retryAfter) {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold || retryAfter >= 0) {
+			state = State.OPEN;
+			nextProbeTime = clock.getAsLong()
+					+ TimeUnit.MILLISECONDS.toNanos(retryAfter >= 0 ? retryAfter : openDuration);
+		}
+	}
+
+	/**
+	 * @return true if requests are currently rejected or limited to a single probe
+	 */
+	public synchronized boolean isOpen() {
+		return state != State.CLOSED;
+	}
+
+	/**
+	 * @return the time in milliseconds until the next request may be sent, or 0 if one may be sent now
+	 */
+	public synchronized long getRemainingOpenTime() {
+		if (state == State.CLOSED) {
+			return 0;
+		}
+		return Math.max(0, TimeUnit.NANOSECONDS.toMillis(nextProbeTime - clock.getAsLong()));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2025 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -28,6 +28,14 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
@@ -39,7 +47,9 @@
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.internal.mpc.core.model.Category;
@@ -161,12 +171,40 @@ public class DefaultMarketplaceService extends RemoteMarketplaceService<Marketpl
 	 */
 	public static final String PARAM_BASED_ON_NODES = "nodes"; //$NON-NLS-1$
 
+	/**
+	 * framework property for the maximum number of node ids requested at once by
+	 * {@link #getNodes(Collection, IProgressMonitor)}. Larger batches are split into multiple requests.
+	 */
+	public static final String MAX_NODES_PER_REQUEST_PROPERTY = "org.eclipse.epp.mpc.core.service.maxNodesPerRequest"; //$NON-NLS-1$
+
+	/**
+	 * framework property for the maximum number of requests {@link #getNodes(Collection, IProgressMonitor)} runs in
+	 * parallel
+	 */
+	public static final String MAX_PARALLEL_REQUESTS_PROPERTY = "org.eclipse.epp.mpc.core.service.maxParallelRequests"; //$NON-NLS-1$
+
+	private static final int DEFAULT_MAX_NODES_PER_REQUEST = 50;
+
+	private static final int DEFAULT_MAX_PARALLEL_REQUESTS = 4;
+
+	private static final long EXECUTOR_KEEP_ALIVE = 30;
+
+	private static final long CANCEL_POLL_INTERVAL = 100;
+
 	static {
 		DEFAULT_SERVICE_URL = ServiceUtil.parseUrl(DEFAULT_SERVICE_LOCATION);
 	}
 
 	private HttpClientService httpClient;
 
+	private int maxNodesPerRequest = ServiceUtil.getIntProperty(DefaultMarketplaceService.class,
+			MAX_NODES_PER_REQUEST_PROPERTY, DEFAULT_MAX_NODES_PER_REQUEST);
+
+	private int maxParallelRequests = ServiceUtil.getIntProperty(DefaultMarketplaceService.class,
+			MAX_PARALLEL_REQUESTS_PROPERTY, DEFAULT_MAX_PARALLEL_REQUESTS);
+
+	private ExecutorService requestExecutor;
+
 	public DefaultMarketplaceService(URL baseUrl) {
 		this.baseUrl = baseUrl == null ? DEFAULT_SERVICE_URL : baseUrl;
 	}
@@ -274,7 +312,8 @@ public Node getNode(INode node, IProgressMonitor monitor) throws CoreException {
 			marketplace = processRequest(node.getUrl(), API_URI_SUFFIX, monitor);
 		}
 		if (marketplace.getNode().isEmpty()) {
-			throw new CoreException(createErrorStatus(Messages.DefaultMarketplaceService_nodeNotFound, query));
+			throw new CoreException(createErrorStatus(Messages.DefaultMarketplaceService_nodeNotFound, query,
+					new FileNotFoundException(query)));
 		} else if (marketplace.getNode().size() > 1) {
 			throw new CoreException(createErrorStatus(Messages.DefaultMarketplaceService_unexpectedResponse, query));
 		}
@@ -289,37 +328,49 @@ public Node getNode(Node node, IProgressMonitor monitor) throws CoreException {
 
 	@Override
 	public List<INode> getNodes(Collection<? extends INode> nodes, IProgressMonitor monitor) throws CoreException {
-		SubMonitor progress = SubMonitor.convert(monitor, Messages.DefaultMarketplaceService_getNodesProgress, nodes.size());
 		if (nodes.isEmpty()) {
 			return new ArrayList<>();
 		}
-		List<INode> nodesById = null;
-		List<INode> nodesByUrl = null;
+		List<INode> nodesById = new ArrayList<>(nodes.size());
+		List<INode> nodesByUrl = new ArrayList<>();
+		int fallbackCount = 0;
 		for (INode node : nodes) {
 			if (node.getId() == null && node.getUrl() == null) {
 				throw new CoreException(createErrorStatus(Messages.DefaultMarketplaceService_invalidNode, node));
 			}
-			if (node.getUrl() != null) {
-				if (nodesByUrl == null) {
-					nodesByUrl = new ArrayList<>();
-				}
-				nodesByUrl.add(node);
-			}
 			if (node.getId() != null) {
-				if (nodesById == null) {
-					nodesById = new ArrayList<>(nodes.size());
-				}
 				nodesById.add(node);
+				if (node.getUrl() != null) {
+					fallbackCount++;
+				}
+			} else {
+				nodesByUrl.add(node);
 			}
 		}
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.DefaultMarketplaceService_getNodesProgress,
+				nodes.size() + fallbackCount);
 		Map<INode, INode> resolvedNodeMapping = new HashMap<>(nodes.size());
 		Map<INode, CoreException> resolutionErrors = new HashMap<>(2);
-		if (nodesById != null) {
-			getNodesById(nodesById, resolvedNodeMapping, progress.newChild(nodesById.size()));
+
+		//resolve id chunks and nodes that only have a url in parallel...
+		List<NodeLookup> lookups = new ArrayList<>();
+		int chunkSize = Math.max(1, maxNodesPerRequest);
+		for (int i = 0; i < nodesById.size(); i += chunkSize) {
+			lookups.add(new NodeIdLookup(nodesById.subList(i, Math.min(i + chunkSize, nodesById.size()))));
 		}
-		if (nodesByUrl != null) {
-			getNodesByUrl(nodesByUrl, resolvedNodeMapping, resolutionErrors, progress.newChild(nodesByUrl.size()));
+		for (INode node : nodesByUrl) {
+			lookups.add(new NodeUrlLookup(node));
 		}
+		runLookups(lookups, resolvedNodeMapping, resolutionErrors, progress.newChild(nodes.size()));
+
+		//...then look up nodes that are missing from the batch response one by one, if they have a url
+		lookups.clear();
+		for (INode node : nodesById) {
+			if (node.getUrl() != null && !resolvedNodeMapping.containsKey(node)) {
+				lookups.add(new NodeUrlLookup(node));
+			}
+		}
+		runLookups(lookups, resolvedNodeMapping, resolutionErrors, progress.newChild(fallbackCount));
 
 		List<INode> resultNodes = new ArrayList<>(nodes.size());
 		MultiStatus missingNodes = null;
@@ -351,56 +402,218 @@ public List<INode> getNodes(Collection<? extends INode> nodes, IProgressMonitor
 		return resultNodes;
 	}
 
-	private void getNodesById(Collection<? extends INode> nodes, Map<INode, INode> resolvedNodeMapping,
-			IProgressMonitor monitor) throws CoreException {
-		StringBuilder nodeIdQuery = new StringBuilder();
-		Map<String, INode> nodeIds = new HashMap<>(nodes.size());
-		for (INode node : nodes) {
-			if (node.getId() == null) {
-				continue;
+	/**
+	 * Run the given lookups, using up to {@link #getMaxParallelRequests()} requests in parallel, and merge their
+	 * results in order. If a lookup fails, the remaining lookups are canceled and the failure is rethrown.
+	 */
+	private void runLookups(List<NodeLookup> lookups, Map<INode, INode> resolvedNodeMapping,
+			Map<INode, CoreException> resolutionErrors, IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, lookups.size());
+		if (lookups.size() <= 1 || maxParallelRequests <= 1) {
+			for (NodeLookup lookup : lookups) {
+				lookup.run(progress.newChild(1));
+				lookup.merge(resolvedNodeMapping, resolutionErrors);
 			}
-			nodeIds.put(node.getId(), node);
-			String encodedId = urlEncode(node.getId());
-			if (nodeIdQuery.length() > 0) {
-				nodeIdQuery.append(","); //$NON-NLS-1$
+			return;
+		}
+		//SubMonitor is not thread-safe, so the lookups only get to see cancellation
+		NullProgressMonitor lookupMonitor = new NullProgressMonitor();
+		ExecutorService executor = getRequestExecutor();
+		List<Future<?>> futures = new ArrayList<>(lookups.size());
+		for (NodeLookup lookup : lookups) {
+			futures.add(executor.submit(() -> {
+				lookup.run(lookupMonitor);
+				return null;
+			}));
+		}
+		try {
+			for (int i = 0; i < lookups.size(); i++) {
+				await(futures.get(i), progress);
+				lookups.get(i).merge(resolvedNodeMapping, resolutionErrors);
+				progress.worked(1);
 			}
-			nodeIdQuery.append(encodedId);
-		}
-		Marketplace marketplace = processRequest(API_NODE_URI + '/' + nodeIdQuery + '/' + API_URI_SUFFIX, monitor);
-		List<Node> resolvedNodes = marketplace.getNode();
-		for (Node node : resolvedNodes) {
-			INode inputNode = nodeIds.get(node.getId());
-			if (inputNode != null) {
-				resolvedNodeMapping.put(inputNode, node);
-			} else {
-				throw new CoreException(
-						createErrorStatus(Messages.DefaultMarketplaceService_unexpectedResponse, nodeIdQuery));
+		} finally {
+			lookupMonitor.setCanceled(true);
+			for (Future<?> future : futures) {
+				future.cancel(false);
 			}
 		}
 	}
 
-	private void getNodesByUrl(Collection<? extends INode> nodes, Map<INode, INode> resolvedNodeMapping,
-			Map<INode, CoreException> resolutionErrors, IProgressMonitor monitor) throws CoreException {
-		SubMonitor progress = SubMonitor.convert(monitor, nodes.size());
-		int remaining = nodes.size();
-		for (INode node : nodes) {
-			if (node.getUrl() != null && !resolvedNodeMapping.containsKey(node)) {
-				try {
-					Node resolvedNode = getNode(node, progress.newChild(1));
-					resolvedNodeMapping.put(node, resolvedNode);
-				} catch (CoreException ex) {
-					resolutionErrors.put(node, ex);
+	private static void await(Future<?> future, IProgressMonitor monitor) throws CoreException {
+		while (true) {
+			try {
+				future.get(CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				if (monitor.isCanceled()) {
+					throw new CoreException(Status.CANCEL_STATUS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CoreException(Status.CANCEL_STATUS);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof CoreException) {
+					throw (CoreException) cause;
 				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
+	private synchronized ExecutorService getRequestExecutor() {
+		if (requestExecutor == null) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(maxParallelRequests, maxParallelRequests,
+					EXECUTOR_KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+						Thread thread = new Thread(runnable, "Marketplace node lookup"); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			requestExecutor = executor;
+		}
+		return requestExecutor;
+	}
+
+	/**
+	 * @return the maximum number of node ids that are requested in a single {@link #getNodes(Collection, IProgressMonitor)
+	 *         batch request}
+	 */
+	public int getMaxNodesPerRequest() {
+		return maxNodesPerRequest;
+	}
+
+	public void setMaxNodesPerRequest(int maxNodesPerRequest) {
+		this.maxNodesPerRequest = maxNodesPerRequest;
+	}
+
+	/**
+	 * @return the maximum number of requests {@link #getNodes(Collection, IProgressMonitor)} runs in parallel
+	 */
+	public int getMaxParallelRequests() {
+		return maxParallelRequests;
+	}
+
+	public synchronized void setMaxParallelRequests(int maxParallelRequests) {
+		if (this.maxParallelRequests != maxParallelRequests && requestExecutor != null) {
+			requestExecutor.shutdown();
+			requestExecutor = null;
+		}
+		this.maxParallelRequests = maxParallelRequests;
+	}
+
+	/**
+	 * A part of a {@link DefaultMarketplaceService#getNodes(Collection, IProgressMonitor) getNodes()} request that can
+	 * run in parallel to the other parts. Results are merged into the overall result on the calling thread.
+	 */
+	private interface NodeLookup {
+		void run(IProgressMonitor monitor) throws CoreException;
+
+		void merge(Map<INode, INode> resolvedNodeMapping, Map<INode, CoreException> resolutionErrors)
+				throws CoreException;
+	}
+
+	private class NodeIdLookup implements NodeLookup {
+
+		private final Map<String, INode> nodeIds;
+
+		private final String nodeIdQuery;
+
+		private List<Node> resolvedNodes;
+
+		public NodeIdLookup(List<INode> nodes) {
+			StringBuilder query = new StringBuilder();
+			nodeIds = new HashMap<>(nodes.size());
+			for (INode node : nodes) {
+				nodeIds.put(node.getId(), node);
+				String encodedId = urlEncode(node.getId());
+				if (query.length() > 0) {
+					query.append(","); //$NON-NLS-1$
+				}
+				query.append(encodedId);
+			}
+			nodeIdQuery = query.toString();
+		}
+
+		@Override
+		public void run(IProgressMonitor monitor) throws CoreException {
+			Marketplace marketplace = processRequest(API_NODE_URI + '/' + nodeIdQuery + '/' + API_URI_SUFFIX,
+					monitor);
+			resolvedNodes = marketplace.getNode();
+		}
+
+		@Override
+		public void merge(Map<INode, INode> resolvedNodeMapping, Map<INode, CoreException> resolutionErrors)
+				throws CoreException {
+			for (Node node : resolvedNodes) {
+				INode inputNode = nodeIds.get(node.getId());
+				if (inputNode != null) {
+					resolvedNodeMapping.put(inputNode, node);
+				} else {
+					throw new CoreException(
+							createErrorStatus(Messages.DefaultMarketplaceService_unexpectedResponse, nodeIdQuery));
+				}
+			}
+		}
+	}
+
+	private class NodeUrlLookup implements NodeLookup {
+
+		private final INode node;
+
+		private Node resolvedNode;
+
+		private CoreException error;
+
+		public NodeUrlLookup(INode node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run(IProgressMonitor monitor) throws CoreException {
+			try {
+				resolvedNode = getNode(node, monitor);
+			} catch (CoreException ex) {
+				if (ex.getStatus().getSeverity() == IStatus.CANCEL) {
+					throw ex;
+				}
+				error = ex;
+			}
+		}
+
+		@Override
+		public void merge(Map<INode, INode> resolvedNodeMapping, Map<INode, CoreException> resolutionErrors) {
+			if (resolvedNode != null) {
+				resolvedNodeMapping.put(node, resolvedNode);
+			} else if (error != null) {
+				resolutionErrors.put(node, error);
 			}
-			progress.setWorkRemaining(--remaining);
 		}
 	}
 
 	@Override
 	public SearchResult search(IMarket market, ICategory category, String queryText, IProgressMonitor monitor)
 			throws CoreException {
+		return search(market, category, queryText, null, monitor);
+	}
+
+	@Override
+	public SearchResult search(IMarket market, ICategory category, String queryText,
+			Consumer<? super INode> nodeConsumer, IProgressMonitor monitor) throws CoreException {
 		String relativeUrl = computeRelativeSearchUrl(market, category, queryText, true);
-		return processSearchRequest(relativeUrl, queryText, monitor);
+		NodeDelivery nodeDelivery = NodeDelivery.of(nodeConsumer);
+		SearchResult result = processSearchRequest(relativeUrl, queryText, nodeDelivery, monitor);
+		if (nodeDelivery != null) {
+			nodeDelivery.complete(result);
+		}
+		return result;
 	}
 
 	@Override
@@ -478,8 +691,8 @@ public String computeRelativeSearchUrl(IMarket market, ICategory category, Strin
 		return relativeUrl;
 	}
 
-	private SearchResult processSearchRequest(String relativeUrl, String queryText, IProgressMonitor monitor)
-			throws CoreException {
+	private SearchResult processSearchRequest(String relativeUrl, String queryText,
+			Consumer<? super INode> nodeConsumer, IProgressMonitor monitor) throws CoreException {
 		SearchResult result = new SearchResult();
 		if (relativeUrl == null) {
 			// empty search
@@ -488,7 +701,7 @@ private SearchResult processSearchRequest(String relativeUrl, String queryText,
 		} else {
 			Marketplace marketplace;
 			try {
-				marketplace = processRequest(relativeUrl, monitor);
+				marketplace = processRequest(relativeUrl, true, nodeConsumer, monitor);
 			} catch (CoreException ex) {
 				Throwable cause = ex.getCause();
 				if (cause instanceof FileNotFoundException) {
@@ -515,7 +728,8 @@ private SearchResult processSearchRequest(String relativeUrl, String queryText,
 
 	@Override
 	public SearchResult tagged(String tag, IProgressMonitor monitor) throws CoreException {
-		return processSearchRequest(API_FREETAGGING_URI + URLUtil.urlEncode(tag) + '/' + API_URI_SUFFIX, tag, monitor);
+		return processSearchRequest(API_FREETAGGING_URI + URLUtil.urlEncode(tag) + '/' + API_URI_SUFFIX, tag, null,
+				monitor);
 	}
 
 	@Override
@@ -531,6 +745,12 @@ public SearchResult featured(IProgressMonitor monitor) throws CoreException {
 
 	@Override
 	public SearchResult featured(IMarket market, ICategory category, IProgressMonitor monitor) throws CoreException {
+		return featured(market, category, null, monitor);
+	}
+
+	@Override
+	public SearchResult featured(IMarket market, ICategory category, Consumer<? super INode> nodeConsumer,
+			IProgressMonitor monitor) throws CoreException {
 		String nodePart = ""; //$NON-NLS-1$
 		if (market != null) {
 			nodePart += urlEncode(market.getId());
@@ -545,8 +765,13 @@ public SearchResult featured(IMarket market, ICategory category, IProgressMonito
 		if (nodePart.length() > 0) {
 			uri += nodePart + '/';
 		}
-		Marketplace marketplace = processRequest(uri + API_URI_SUFFIX, monitor);
-		return createSearchResult(marketplace.getFeatured());
+		NodeDelivery nodeDelivery = NodeDelivery.of(nodeConsumer);
+		Marketplace marketplace = processRequest(uri + API_URI_SUFFIX, true, nodeDelivery, monitor);
+		SearchResult result = createSearchResult(marketplace.getFeatured());
+		if (nodeDelivery != null) {
+			nodeDelivery.complete(result);
+		}
+		return result;
 	}
 
 	@Override
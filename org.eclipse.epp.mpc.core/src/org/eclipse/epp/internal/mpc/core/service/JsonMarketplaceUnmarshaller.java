@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.epp.internal.mpc.core.service.json.JsonReader;
+import org.eclipse.epp.internal.mpc.core.service.xml.Unmarshaller;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.service.IMarketplaceUnmarshaller;
+import org.osgi.service.component.annotations.Component;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Unmarshaller for the JSON representation of the Marketplace REST API, as described in {@link JsonReader}. Requests
+ * made with this unmarshaller ask for JSON content, but still accept XML, so servers that don't offer JSON keep
+ * working. The format of a response is recognized by its first character, so this also works with cached responses and
+ * transports that can't negotiate content.
+ * <p>
+ * This is registered with a low service ranking, so the XML unmarshaller remains the default. To use it instead, raise
+ * the <code>service.ranking</code> of the <code>org.eclipse.epp.mpc.core.unmarshaller.json</code> component above 0,
+ * e.g. through Configuration Admin.
+ */
+@Component(name = "org.eclipse.epp.mpc.core.unmarshaller.json", service = IMarketplaceUnmarshaller.class, property = "service.ranking:Integer=-100")
+public class JsonMarketplaceUnmarshaller extends MarketplaceUnmarshaller {
+
+	public static final String JSON_CONTENT_TYPE = "application/json"; //$NON-NLS-1$
+
+	/**
+	 * Prefer JSON, but accept XML as well
+	 */
+	public static final String ACCEPTED_CONTENT_TYPES = JSON_CONTENT_TYPE
+			+ ", application/xml;q=0.9, text/xml;q=0.9"; //$NON-NLS-1$
+
+	private final MarketplaceUnmarshaller xmlUnmarshaller = new MarketplaceUnmarshaller();
+
+	@Override
+	protected Object parse(Reader reader, Consumer<? super INode> nodeConsumer)
+			throws IOException, SAXException, XMLStreamException {
+		PushbackReader pushbackReader = new PushbackReader(reader, 1);
+		int c;
+		do {
+			c = pushbackReader.read();
+		} while (Character.isWhitespace(c) || c == '\uFEFF');
+		if (c == -1) {
+			return null;
+		}
+		pushbackReader.unread(c);
+		if (c == '<') {
+			xmlUnmarshaller.setCompressedBodyMinLength(getCompressedBodyMinLength());
+			return xmlUnmarshaller.parse(pushbackReader, nodeConsumer);
+		}
+		return super.parse(pushbackReader, nodeConsumer);
+	}
+
+	@Override
+	protected XMLReader createXMLReader(Unmarshaller unmarshaller) {
+		JsonReader reader = new JsonReader();
+		reader.setContentHandler(unmarshaller);
+		return reader;
+	}
+
+	@Override
+	public String getAcceptedContentTypes() {
+		return ACCEPTED_CONTENT_TYPES;
+	}
+}
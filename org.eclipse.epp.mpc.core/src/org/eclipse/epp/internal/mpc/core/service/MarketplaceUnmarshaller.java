@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2019 The Eclipse Foundation and others.
+ * Copyright (c) 2014, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -26,14 +26,22 @@
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLStreamException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.model.Node;
 import org.eclipse.epp.internal.mpc.core.service.xml.StripInvalidXMLCharsReader;
 import org.eclipse.epp.internal.mpc.core.service.xml.Unmarshaller;
+import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
+import org.eclipse.epp.mpc.core.model.INode;
 import org.eclipse.epp.mpc.core.service.IMarketplaceUnmarshaller;
 import org.eclipse.epp.mpc.core.service.UnmarshalException;
 import org.eclipse.osgi.util.NLS;
@@ -48,15 +56,60 @@
 @Component(name = "org.eclipse.epp.mpc.core.unmarshaller")
 public class MarketplaceUnmarshaller implements IMarketplaceUnmarshaller {
 
+	/**
+	 * Maximum number of idle parsers kept for reuse. This should roughly match the number of requests that typically
+	 * run in parallel.
+	 */
+	private static final int MAX_POOLED_PARSERS = 4;
+
+	/**
+	 * Framework property to keep node bodies of at least the given number of characters compressed in memory. Disabled
+	 * by default.
+	 *
+	 * @see Node#setBody(String, int)
+	 */
+	public static final String COMPRESSED_BODY_MIN_LENGTH_PROPERTY = "org.eclipse.epp.mpc.core.service.compressedBodyMinLength"; //$NON-NLS-1$
+
+	/**
+	 * An XML reader together with the unmarshaller handling its content. Creating a SAX parser is comparatively
+	 * expensive, so parsers are reused for subsequent documents.
+	 */
+	private static final class PooledParser {
+		private final Unmarshaller unmarshaller;
+
+		private final XMLReader xmlReader;
+
+		PooledParser(Unmarshaller unmarshaller, XMLReader xmlReader) {
+			this.unmarshaller = unmarshaller;
+			this.xmlReader = xmlReader;
+		}
+	}
+
+	private final BlockingQueue<PooledParser> parserPool = new ArrayBlockingQueue<>(MAX_POOLED_PARSERS);
+
+	private volatile int compressedBodyMinLength = ServiceUtil.getIntProperty(MarketplaceUnmarshaller.class,
+			COMPRESSED_BODY_MIN_LENGTH_PROPERTY, -1);
+
 	@Override
 	public <T> T unmarshal(InputStream in, Class<T> type, IProgressMonitor monitor) throws IOException,
 	UnmarshalException {
+		return unmarshal(in, type, null, monitor);
+	}
+
+	/**
+	 * Parse the input stream into an object of the given type, handing each node of a listing to the given consumer as
+	 * soon as it has been read.
+	 *
+	 * @param nodeConsumer
+	 *            notified of each node of a listing on the calling thread while the rest of the input is still being
+	 *            parsed, or null. If parsing fails, the consumer might already have received some of the nodes.
+	 * @see #unmarshal(InputStream, Class, IProgressMonitor)
+	 */
+	public <T> T unmarshal(InputStream in, Class<T> type, Consumer<? super INode> nodeConsumer,
+			IProgressMonitor monitor) throws IOException, UnmarshalException {
 		if (in == null) {
 			throw new IOException(Messages.MarketplaceUnmarshaller_errorNullStream);
 		}
-		final Unmarshaller unmarshaller = new Unmarshaller();
-		final XMLReader xmlReader = Unmarshaller.createXMLReader(unmarshaller);
-
 		BufferedInputStream bufferedInput = in instanceof BufferedInputStream ? (BufferedInputStream) in
 				: new BufferedInputStream(in);
 		ByteBuffer peekBuffer = peekResponseContent(bufferedInput);
@@ -64,15 +117,16 @@ public <T> T unmarshal(InputStream in, Class<T> type, IProgressMonitor monitor)
 		// FIXME how can the charset be determined?
 		Reader reader = new InputStreamReader(bufferedInput, StandardCharsets.UTF_8);
 		reader = new StripInvalidXMLCharsReader(reader);
+
+		Object model;
 		try {
-			xmlReader.parse(new InputSource(reader));
-		} catch (final SAXException e) {
+			model = parse(reader, nodeConsumer);
+		} catch (final SAXException | XMLStreamException e) {
 			IStatus error = createContentError(peekBuffer,
 					NLS.bind(Messages.MarketplaceUnmarshaller_invalidResponseContent, e.getMessage()), e);
 			throw new UnmarshalException(error);
 		}
 
-		Object model = unmarshaller.getModel();
 		if (model == null) {
 			// if we reach here this should never happen
 			IStatus error = createContentError(peekBuffer,
@@ -90,6 +144,59 @@ public <T> T unmarshal(InputStream in, Class<T> type, IProgressMonitor monitor)
 		}
 	}
 
+	/**
+	 * Parse the response content.
+	 *
+	 * @return the unmarshalled model, or null if the content doesn't contain a known model element
+	 */
+	protected Object parse(Reader reader, Consumer<? super INode> nodeConsumer)
+			throws IOException, SAXException, XMLStreamException {
+		PooledParser parser = parserPool.poll();
+		if (parser == null) {
+			Unmarshaller unmarshaller = new Unmarshaller();
+			parser = new PooledParser(unmarshaller, createXMLReader(unmarshaller));
+		}
+		parser.unmarshaller.setCompressedBodyMinLength(compressedBodyMinLength);
+		parser.unmarshaller.setNodeConsumer(nodeConsumer);
+		try {
+			parser.xmlReader.parse(new InputSource(reader));
+			return parser.unmarshaller.getModel();
+		} finally {
+			parser.unmarshaller.reset();
+			parserPool.offer(parser);
+		}
+	}
+
+	/**
+	 * Create a reader that feeds the response content to the given unmarshaller. Readers are pooled, so this is only
+	 * called when no idle reader is available.
+	 */
+	protected XMLReader createXMLReader(Unmarshaller unmarshaller) {
+		return Unmarshaller.createXMLReader(unmarshaller);
+	}
+
+	/**
+	 * @return the content types this unmarshaller can read, in the format of an HTTP <code>Accept</code> header, or
+	 *         null if the transport's default should be requested
+	 * @see org.eclipse.epp.mpc.core.service.ITransport#stream(java.net.URI, String, IProgressMonitor)
+	 */
+	public String getAcceptedContentTypes() {
+		return null;
+	}
+
+	public int getCompressedBodyMinLength() {
+		return compressedBodyMinLength;
+	}
+
+	/**
+	 * @param compressedBodyMinLength
+	 *            the minimum length of node bodies that are kept compressed in memory, or a negative value to keep all
+	 *            bodies as plain text
+	 */
+	public void setCompressedBodyMinLength(int compressedBodyMinLength) {
+		this.compressedBodyMinLength = compressedBodyMinLength;
+	}
+
 	private ByteBuffer peekResponseContent(BufferedInputStream bufferedInput) throws IOException {
 		bufferedInput.mark(2049);
 		ReadableByteChannel inputChannel = Channels.newChannel(bufferedInput);
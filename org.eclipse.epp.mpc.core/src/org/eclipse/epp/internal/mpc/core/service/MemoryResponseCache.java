@@ -0,0 +1,588 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
+
+/**
+ * In-memory cache for {@link CachingMarketplaceService}. The cache is safe for concurrent use without external
+ * synchronization: lookups never block each other.
+ * <p>
+ * The cache is bounded by the {@link CacheEntryWeigher estimated size} of its entries. When the bound is exceeded,
+ * the least recently used entries are evicted in a batch until the cache has shrunk to 90% of its bound. In addition,
+ * every entry expires after a time-to-live that depends on its kind (the key prefix before the first
+ * <code>':'</code>), so results like news or featured listings are refreshed regularly. Values are held by soft
+ * references as a last resort under memory pressure; reclaimed entries are removed individually as their references
+ * are enqueued.
+ * <p>
+ * The defaults can be changed with the {@value #MAX_WEIGHT_PROPERTY} framework property (in bytes) and with
+ * properties of the form <code>{@value #TTL_PROPERTY_PREFIX}&lt;kind&gt;</code> (in seconds).
+ * <p>
+ * Failed lookups can be cached as {@link #putNegative(String, CoreException) negative entries}, so requests for e.g.
+ * unknown nodes are not repeated over and over. Negative entries share the key space with regular entries, but have
+ * their own, shorter time-to-live ({@value #TTL_PROPERTY_PREFIX}{@value #NEGATIVE_KIND}).
+ * <p>
+ * Expired entries are not dropped right away, but retained for a while longer (see {@value #MAX_STALE_PROPERTY}), so
+ * they can still be {@link #getStale(String, Class) served as stale results} while a fresh result is being fetched.
+ * Stale entries are the first to go when the cache needs to shrink.
+ */
+public class MemoryResponseCache {
+
+	public static final String MAX_WEIGHT_PROPERTY = "org.eclipse.epp.mpc.core.service.cache.memory.maxWeight"; //$NON-NLS-1$
+
+	public static final String TTL_PROPERTY_PREFIX = "org.eclipse.epp.mpc.core.service.cache.memory.ttl."; //$NON-NLS-1$
+
+	public static final long DEFAULT_MAX_WEIGHT = 32 * 1024 * 1024;
+
+	public static final String NEGATIVE_KIND = "negative"; //$NON-NLS-1$
+
+	public static final long DEFAULT_NEGATIVE_TTL = TimeUnit.MINUTES.toMillis(5);
+
+	/**
+	 * Framework property for the time (in seconds) expired entries are retained as stale results
+	 */
+	public static final String MAX_STALE_PROPERTY = "org.eclipse.epp.mpc.core.service.cache.memory.maxStale"; //$NON-NLS-1$
+
+	public static final long DEFAULT_MAX_STALE = TimeUnit.HOURS.toMillis(24);
+
+	private static final long NEGATIVE_WEIGHT = 256;
+
+	private static final long DEFAULT_TTL = TimeUnit.HOURS.toMillis(1);
+
+	private static final Map<String, Long> DEFAULT_TTLS = new HashMap<>();
+
+	static {
+		DEFAULT_TTLS.put("Markets", TimeUnit.HOURS.toMillis(24)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("Market", TimeUnit.HOURS.toMillis(24)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("Category", TimeUnit.HOURS.toMillis(24)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("Node", TimeUnit.MINUTES.toMillis(10)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("News", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("featured", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("recent", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("popular", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("favorites", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("related", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("search", TimeUnit.MINUTES.toMillis(10)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("tagged", TimeUnit.MINUTES.toMillis(10)); //$NON-NLS-1$
+	}
+
+	/**
+	 * A snapshot of the usage of a single cache entry.
+	 */
+	public static final class EntryStatistics {
+		private final String key;
+
+		private final long weight;
+
+		private final long creationTime;
+
+		private final long expirationTime;
+
+		private final long lastAccessTime;
+
+		private final long hitCount;
+
+		EntryStatistics(String key, long weight, long creationTime, long expirationTime, long lastAccessTime,
+				long hitCount) {
+			this.key = key;
+			this.weight = weight;
+			this.creationTime = creationTime;
+			this.expirationTime = expirationTime;
+			this.lastAccessTime = lastAccessTime;
+			this.hitCount = hitCount;
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public long getWeight() {
+			return weight;
+		}
+
+		public long getCreationTime() {
+			return creationTime;
+		}
+
+		public long getExpirationTime() {
+			return expirationTime;
+		}
+
+		public long getLastAccessTime() {
+			return lastAccessTime;
+		}
+
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		@Override
+		public String toString() {
+			return "EntryStatistics [key=" + key + ", weight=" + weight + ", creationTime=" + creationTime //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ ", expirationTime=" + expirationTime + ", lastAccessTime=" + lastAccessTime + ", hitCount=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ hitCount + "]"; //$NON-NLS-1$
+		}
+	}
+
+	private static final class NegativeResult {
+		private final CoreException failure;
+
+		NegativeResult(CoreException failure) {
+			this.failure = failure;
+		}
+	}
+
+	private static final class Entry extends SoftReference<Object> {
+		private final String key;
+
+		private final long weight;
+
+		private final long creationTime;
+
+		private final long expirationTime;
+
+		private final long staleExpirationTime;
+
+		private volatile long lastAccessTime;
+
+		/**
+		 * Monotonic access time for LRU ordering
+		 */
+		private volatile long lastAccessNanos;
+
+		private final LongAdder hits = new LongAdder();
+
+		Entry(String key, Object value, long weight, long timeToLive, long maxStale, ReferenceQueue<Object> queue) {
+			super(value, queue);
+			this.key = key;
+			this.weight = weight;
+			this.creationTime = System.currentTimeMillis();
+			this.expirationTime = timeToLive == Long.MAX_VALUE ? Long.MAX_VALUE : creationTime + timeToLive;
+			this.staleExpirationTime = maxStale > Long.MAX_VALUE - expirationTime ? Long.MAX_VALUE
+					: expirationTime + maxStale;
+			this.lastAccessTime = creationTime;
+			this.lastAccessNanos = System.nanoTime();
+		}
+
+		boolean isExpired(long now) {
+			return now > expirationTime;
+		}
+
+		/**
+		 * @return true if the entry is no longer retained as a stale result either
+		 */
+		boolean isDead(long now) {
+			return now > staleExpirationTime;
+		}
+
+		void recordHit() {
+			hits.increment();
+			lastAccessTime = System.currentTimeMillis();
+			lastAccessNanos = System.nanoTime();
+		}
+
+		EntryStatistics getStatistics() {
+			return new EntryStatistics(key, weight, creationTime, expirationTime, lastAccessTime, hits.sum());
+		}
+	}
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
+
+	private final Map<String, Long> timeToLive = new ConcurrentHashMap<>(DEFAULT_TTLS);
+
+	private volatile long negativeTimeToLive = DEFAULT_NEGATIVE_TTL;
+
+	private volatile long maxStale = DEFAULT_MAX_STALE;
+
+	private final CacheEntryWeigher weigher;
+
+	private final long maxWeight;
+
+	private final AtomicLong weight = new AtomicLong();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder negativeHitCount = new LongAdder();
+
+	private final LongAdder staleHitCount = new LongAdder();
+
+	private final LongAdder reclaimedCount = new LongAdder();
+
+	private final LongAdder expiredCount = new LongAdder();
+
+	private final LongAdder evictedCount = new LongAdder();
+
+	public MemoryResponseCache() {
+		this(DEFAULT_MAX_WEIGHT);
+	}
+
+	public MemoryResponseCache(long maxWeight) {
+		this(maxWeight, new CacheEntryWeigher());
+	}
+
+	public MemoryResponseCache(long maxWeight, CacheEntryWeigher weigher) {
+		if (maxWeight <= 0 || weigher == null) {
+			throw new IllegalArgumentException();
+		}
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+	}
+
+	/**
+	 * Create a cache configured by framework properties.
+	 */
+	public static MemoryResponseCache create() {
+		long maxWeight = ServiceUtil.getLongProperty(MemoryResponseCache.class, MAX_WEIGHT_PROPERTY,
+				DEFAULT_MAX_WEIGHT);
+		MemoryResponseCache cache = new MemoryResponseCache(maxWeight > 0 ? maxWeight : DEFAULT_MAX_WEIGHT);
+		for (String kind : DEFAULT_TTLS.keySet()) {
+			long ttlSeconds = ServiceUtil.getLongProperty(MemoryResponseCache.class, TTL_PROPERTY_PREFIX + kind, -1);
+			if (ttlSeconds >= 0) {
+				cache.setTimeToLive(kind, TimeUnit.SECONDS.toMillis(ttlSeconds));
+			}
+		}
+		long negativeTtlSeconds = ServiceUtil.getLongProperty(MemoryResponseCache.class,
+				TTL_PROPERTY_PREFIX + NEGATIVE_KIND, -1);
+		if (negativeTtlSeconds >= 0) {
+			cache.setNegativeTimeToLive(TimeUnit.SECONDS.toMillis(negativeTtlSeconds));
+		}
+		long maxStaleSeconds = ServiceUtil.getLongProperty(MemoryResponseCache.class, MAX_STALE_PROPERTY, -1);
+		if (maxStaleSeconds >= 0) {
+			cache.setMaxStale(TimeUnit.SECONDS.toMillis(maxStaleSeconds));
+		}
+		return cache;
+	}
+
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * @return the estimated total size of all entries
+	 */
+	public long getWeight() {
+		return weight.get();
+	}
+
+	public long getTimeToLive(String key) {
+		Long ttl = timeToLive.get(PersistentResponseCache.getKind(key));
+		return ttl == null ? DEFAULT_TTL : ttl;
+	}
+
+	public void setTimeToLive(String kind, long millis) {
+		timeToLive.put(kind, millis);
+	}
+
+	public long getNegativeTimeToLive() {
+		return negativeTimeToLive;
+	}
+
+	public void setNegativeTimeToLive(long millis) {
+		this.negativeTimeToLive = millis;
+	}
+
+	/**
+	 * @return the time expired entries are retained as stale results
+	 */
+	public long getMaxStale() {
+		return maxStale;
+	}
+
+	/**
+	 * Set the time expired entries are retained as stale results. This only affects entries stored afterwards.
+	 */
+	public void setMaxStale(long millis) {
+		this.maxStale = millis;
+	}
+
+	/**
+	 * @return the cached value, or null if there is no current entry of the requested type
+	 */
+	public <T> T get(String key, Class<T> type) {
+		Entry entry = getEntry(key);
+		Object value = entry == null ? null : entry.get();
+		if (value == null || !type.isInstance(value)) {
+			missCount.increment();
+			return null;
+		}
+		entry.recordHit();
+		hitCount.increment();
+		return type.cast(value);
+	}
+
+	/**
+	 * Look up a value, even if its entry has already expired. This is meant for serving a stale result while a fresh
+	 * one is retrieved.
+	 *
+	 * @return the cached value, or null if there is no current or stale entry of the requested type
+	 */
+	public <T> T getStale(String key, Class<T> type) {
+		if (key == null) {
+			return null;
+		}
+		drainReferenceQueue();
+		Entry entry = entries.get(key);
+		Object value = entry == null ? null : entry.get();
+		long now = System.currentTimeMillis();
+		if (value == null || !type.isInstance(value) || entry.isDead(now)) {
+			return null;
+		}
+		entry.recordHit();
+		if (entry.isExpired(now)) {
+			staleHitCount.increment();
+		} else {
+			hitCount.increment();
+		}
+		return type.cast(value);
+	}
+
+	/**
+	 * Look up a negative entry.
+	 *
+	 * @return a new exception equivalent to the cached failure, or null if there is no current negative entry
+	 */
+	public CoreException getNegative(String key) {
+		Entry entry = getEntry(key);
+		Object value = entry == null ? null : entry.get();
+		if (!(value instanceof NegativeResult)) {
+			return null;
+		}
+		entry.recordHit();
+		negativeHitCount.increment();
+		CoreException failure = ((NegativeResult) value).failure;
+		return new CoreException(failure.getStatus());
+	}
+
+	/**
+	 * Store a value with the time-to-live of its kind. Values that would take up more than half of the cache are not
+	 * stored.
+	 */
+	public void put(String key, Object value) {
+		if (key != null) {
+			put(key, value, getTimeToLive(key));
+		}
+	}
+
+	/**
+	 * Store a value with a specific time-to-live.
+	 */
+	public void put(String key, Object value, long timeToLive) {
+		if (key == null || value == null) {
+			return;
+		}
+		put(key, value, weigher.weigh(value), timeToLive);
+	}
+
+	/**
+	 * Remember that a lookup failed, replacing any current entry for the key. The failure is kept for the
+	 * {@link #getNegativeTimeToLive() negative time-to-live}.
+	 */
+	public void putNegative(String key, CoreException failure) {
+		if (key == null || failure == null) {
+			return;
+		}
+		put(key, new NegativeResult(failure), NEGATIVE_WEIGHT, negativeTimeToLive, 0);
+	}
+
+	private void put(String key, Object value, long estimatedWeight, long timeToLive) {
+		put(key, value, estimatedWeight, timeToLive, maxStale);
+	}
+
+	private void put(String key, Object value, long estimatedWeight, long timeToLive, long staleTime) {
+		drainReferenceQueue();
+		long entryWeight = Math.max(1, estimatedWeight);
+		if (entryWeight > maxWeight / 2) {
+			remove(key);
+			return;
+		}
+		Entry entry = new Entry(key, value, entryWeight, timeToLive, staleTime, referenceQueue);
+		Entry previous = entries.put(key, entry);
+		weight.addAndGet(previous == null ? entryWeight : entryWeight - previous.weight);
+		if (weight.get() > maxWeight) {
+			evict();
+		}
+	}
+
+	public void remove(String key) {
+		if (key != null) {
+			Entry removed = entries.remove(key);
+			if (removed != null) {
+				weight.addAndGet(-removed.weight);
+			}
+		}
+	}
+
+	public void clear() {
+		for (String key : new ArrayList<>(entries.keySet())) {
+			remove(key);
+		}
+	}
+
+	public int size() {
+		drainReferenceQueue();
+		return entries.size();
+	}
+
+	/**
+	 * @return usage statistics for the given entry, or null if there is no such entry
+	 */
+	public EntryStatistics getEntryStatistics(String key) {
+		Entry entry = key == null ? null : entries.get(key);
+		return entry == null ? null : entry.getStatistics();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return the number of lookups that were answered by a negative entry
+	 */
+	public long getNegativeHitCount() {
+		return negativeHitCount.sum();
+	}
+
+	/**
+	 * @return the number of lookups that were answered by an expired entry
+	 */
+	public long getStaleHitCount() {
+		return staleHitCount.sum();
+	}
+
+	/**
+	 * @return the number of entries that have been removed because their value was reclaimed by the garbage collector
+	 */
+	public long getReclaimedCount() {
+		return reclaimedCount.sum();
+	}
+
+	/**
+	 * @return the number of entries that have been removed because their time-to-live (and stale period) had passed
+	 */
+	public long getExpiredCount() {
+		return expiredCount.sum();
+	}
+
+	/**
+	 * @return the number of entries that have been evicted to keep the cache within its size bound
+	 */
+	public long getEvictedCount() {
+		return evictedCount.sum();
+	}
+
+	/**
+	 * Evict expired entries first - including those that are still retained as stale results - then least recently
+	 * used entries, until the cache is at 90% of its bound. Only one thread evicts at a time - concurrent writers don't
+	 * wait for it.
+	 */
+	private void evict() {
+		if (!evictionLock.tryLock()) {
+			return;
+		}
+		try {
+			if (weight.get() <= maxWeight) {
+				return;
+			}
+			long targetWeight = maxWeight - maxWeight / 10;
+			long now = System.currentTimeMillis();
+			List<Entry> candidates = new ArrayList<>(entries.size());
+			for (Entry entry : entries.values()) {
+				if (entry.isExpired(now)) {
+					if (removeEntry(entry)) {
+						expiredCount.increment();
+					}
+				} else {
+					candidates.add(entry);
+				}
+			}
+			if (weight.get() <= targetWeight) {
+				return;
+			}
+			//snapshot access times, since they can change while sorting
+			long[][] accessOrder = new long[candidates.size()][];
+			for (int i = 0; i < accessOrder.length; i++) {
+				accessOrder[i] = new long[] { candidates.get(i).lastAccessNanos, i };
+			}
+			Arrays.sort(accessOrder, (a, b) -> Long.compare(a[0] - b[0], 0));
+			for (long[] access : accessOrder) {
+				if (weight.get() <= targetWeight) {
+					break;
+				}
+				if (removeEntry(candidates.get((int) access[1]))) {
+					evictedCount.increment();
+				}
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private Entry getEntry(String key) {
+		if (key == null) {
+			return null;
+		}
+		drainReferenceQueue();
+		Entry entry = entries.get(key);
+		long now = System.currentTimeMillis();
+		if (entry != null && entry.isExpired(now)) {
+			if (entry.isDead(now) && removeEntry(entry)) {
+				expiredCount.increment();
+			}
+			return null;
+		}
+		return entry;
+	}
+
+	private boolean removeEntry(Entry entry) {
+		//only remove the entry if it hasn't been replaced in the meantime
+		if (entries.remove(entry.key, entry)) {
+			weight.addAndGet(-entry.weight);
+			return true;
+		}
+		return false;
+	}
+
+	private void drainReferenceQueue() {
+		Object reference;
+		while ((reference = referenceQueue.poll()) != null) {
+			if (removeEntry((Entry) reference)) {
+				reclaimedCount.increment();
+			}
+		}
+	}
+}
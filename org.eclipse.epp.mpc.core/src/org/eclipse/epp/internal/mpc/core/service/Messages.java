@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,9 @@ class Messages extends NLS {
 	private static final String BUNDLE_NAME = "org.eclipse.epp.internal.mpc.core.service.messages"; //$NON-NLS-1$
 
 
+	public static String CachingMarketplaceService_refreshing;
+
+
 	public static String DefaultMarketplaceService_cannotCompleteRequest_reason;
 
 	public static String DefaultMarketplaceService_categoryNotFound;
@@ -33,6 +36,8 @@ class Messages extends NLS {
 
 	public static String DefaultMarketplaceService_getNodesProgress;
 
+	public static String DefaultMarketplaceService_hostUnavailable;
+
 
 	public static String DefaultMarketplaceService_invalidLocation;
 
@@ -75,6 +80,11 @@ class Messages extends NLS {
 	public static String MarketplaceUnmarshaller_unexpectedResponseContentNullResult;
 
 
+	public static String PersistentResponseCache_sweepJobName;
+
+	public static String PersistentResponseCache_writeError;
+
+
 	public static String UserFavoritesService_SettingUserFavorites;
 
 
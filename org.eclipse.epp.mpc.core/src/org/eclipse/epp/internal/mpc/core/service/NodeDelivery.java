@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+
+/**
+ * Forwards nodes to a client's node consumer while a result is being read. Each node is forwarded only once, so nodes
+ * streamed by a failed attempt aren't delivered again when the request is retried. Once the result is available,
+ * {@link #complete(ISearchResult)} delivers the nodes that weren't streamed, e.g. because the result came from a cache
+ * or from a request that was shared with another caller.
+ */
+final class NodeDelivery implements Consumer<INode> {
+
+	private final Consumer<? super INode> target;
+
+	private final Set<Object> delivered = new HashSet<>();
+
+	private NodeDelivery(Consumer<? super INode> target) {
+		this.target = target;
+	}
+
+	/**
+	 * @return a delivery to the given consumer, or null if the consumer is null
+	 */
+	static NodeDelivery of(Consumer<? super INode> nodeConsumer) {
+		if (nodeConsumer == null || nodeConsumer instanceof NodeDelivery) {
+			return (NodeDelivery) nodeConsumer;
+		}
+		return new NodeDelivery(nodeConsumer);
+	}
+
+	@Override
+	public synchronized void accept(INode node) {
+		if (node != null && delivered.add(computeKey(node))) {
+			target.accept(node);
+		}
+	}
+
+	/**
+	 * Deliver all nodes of the final result that haven't been delivered yet
+	 */
+	void complete(ISearchResult result) {
+		if (result != null && result.getNodes() != null) {
+			result.getNodes().forEach(this);
+		}
+	}
+
+	private static Object computeKey(INode node) {
+		//a retried request produces new node instances, so use the id where possible
+		if (node.getId() != null) {
+			return node.getId();
+		}
+		return node;
+	}
+}
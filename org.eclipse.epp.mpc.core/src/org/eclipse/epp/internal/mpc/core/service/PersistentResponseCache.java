@@ -0,0 +1,411 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.model.ModelSnapshot;
+import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
+import org.eclipse.osgi.util.NLS;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * A persistent second-level cache for {@link CachingMarketplaceService}. Unmarshalled results are stored on disk using
+ * the same keys as the in-memory cache, so they survive restarts of the IDE. Every entry is subject to a time-to-live
+ * that depends on its kind (the key prefix before the first <code>':'</code>), e.g. market listings are kept longer
+ * than search results.
+ * <p>
+ * Entries are stored as {@link ModelSnapshot model snapshots}, so they can be read back without parsing XML. Values
+ * that have no snapshot representation are not cached.
+ * <p>
+ * The total size of the entries is bounded. Once it is exceeded, the cache is {@link #sweep() swept}: expired entries
+ * and temporary files left behind by interrupted writes are deleted, and then the oldest entries until the cache is
+ * well below its bound again.
+ * <p>
+ * The cache is disabled by default and can be enabled with the {@value #ENABLED_PROPERTY} framework property. TTLs can
+ * be overridden per kind with properties of the form <code>{@value #TTL_PROPERTY_PREFIX}&lt;kind&gt;</code>, in
+ * seconds. The size bound can be set in kilobytes with the {@value #MAX_SIZE_PROPERTY} property.
+ */
+public class PersistentResponseCache {
+
+	public static final String ENABLED_PROPERTY = "org.eclipse.epp.mpc.core.service.cache.persistent"; //$NON-NLS-1$
+
+	public static final String TTL_PROPERTY_PREFIX = "org.eclipse.epp.mpc.core.service.cache.ttl."; //$NON-NLS-1$
+
+	public static final String MAX_SIZE_PROPERTY = "org.eclipse.epp.mpc.core.service.cache.persistent.maxSize"; //$NON-NLS-1$
+
+	private static final String CACHE_FOLDER = "responses"; //$NON-NLS-1$
+
+	private static final String ENTRY_SUFFIX = ".cache"; //$NON-NLS-1$
+
+	private static final String TEMP_FILE_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+	/**
+	 * Temporary files older than this are left over from writes that never finished, e.g. because the IDE crashed.
+	 */
+	private static final long TEMP_FILE_MAX_AGE = TimeUnit.HOURS.toMillis(1);
+
+	private static final long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+
+	private static final int FORMAT_VERSION = 2;
+
+	private static final long DEFAULT_TTL = TimeUnit.HOURS.toMillis(1);
+
+	private static final Map<String, Long> DEFAULT_TTLS = new HashMap<>();
+
+	static {
+		DEFAULT_TTLS.put("Markets", TimeUnit.HOURS.toMillis(24)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("Market", TimeUnit.HOURS.toMillis(24)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("Category", TimeUnit.HOURS.toMillis(24)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("Node", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("News", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("featured", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("recent", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("popular", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("favorites", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("related", TimeUnit.HOURS.toMillis(1)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("search", TimeUnit.MINUTES.toMillis(10)); //$NON-NLS-1$
+		DEFAULT_TTLS.put("tagged", TimeUnit.MINUTES.toMillis(10)); //$NON-NLS-1$
+	}
+
+	private final File directory;
+
+	private final Map<String, Long> timeToLive = new HashMap<>(DEFAULT_TTLS);
+
+	private long maxSize = DEFAULT_MAX_SIZE;
+
+	/**
+	 * Total size of the entries as of the last sweep plus everything written since. Replaced entries are counted
+	 * twice, so this errs on the side of sweeping too early.
+	 */
+	private long estimatedSize;
+
+	public PersistentResponseCache(File directory) {
+		if (directory == null) {
+			throw new IllegalArgumentException();
+		}
+		this.directory = directory;
+	}
+
+	/**
+	 * Create a persistent cache for the given marketplace in the bundle's state location, if persistent caching is
+	 * enabled.
+	 *
+	 * @return the cache, or null if persistent caching is disabled or no state location is available
+	 */
+	public static PersistentResponseCache create(URL baseUrl) {
+		if (!ServiceUtil.getBooleanProperty(PersistentResponseCache.class, ENABLED_PROPERTY, false)) {
+			return null;
+		}
+		File directory;
+		try {
+			IPath stateLocation = Platform.getStateLocation(FrameworkUtil.getBundle(PersistentResponseCache.class));
+			directory = stateLocation.append(CACHE_FOLDER).append(hash(baseUrl.toExternalForm())).toFile();
+		} catch (RuntimeException ex) {
+			//no writable instance location
+			return null;
+		}
+		PersistentResponseCache cache = new PersistentResponseCache(directory);
+		for (String kind : DEFAULT_TTLS.keySet()) {
+			long ttlSeconds = ServiceUtil.getLongProperty(PersistentResponseCache.class, TTL_PROPERTY_PREFIX + kind,
+					-1);
+			if (ttlSeconds >= 0) {
+				cache.setTimeToLive(kind, TimeUnit.SECONDS.toMillis(ttlSeconds));
+			}
+		}
+		long maxSizeKb = ServiceUtil.getLongProperty(PersistentResponseCache.class, MAX_SIZE_PROPERTY, -1);
+		if (maxSizeKb >= 0) {
+			cache.setMaxSize(maxSizeKb * 1024);
+		}
+		Job sweepJob = Job.create(Messages.PersistentResponseCache_sweepJobName, monitor -> {
+			cache.sweep();
+		});
+		sweepJob.setSystem(true);
+		sweepJob.setPriority(Job.DECORATE);
+		sweepJob.schedule();
+		return cache;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public long getTimeToLive(String key) {
+		Long ttl = timeToLive.get(getKind(key));
+		return ttl == null ? DEFAULT_TTL : ttl;
+	}
+
+	public void setTimeToLive(String kind, long millis) {
+		timeToLive.put(kind, millis);
+	}
+
+	public synchronized long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @param maxSize
+	 *            the maximum total size of the entries in bytes
+	 */
+	public synchronized void setMaxSize(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Look up a cached value. Expired or unreadable entries are removed from the cache.
+	 *
+	 * @return the cached value, or null if there is no valid entry of the requested type
+	 */
+	public <T> T get(String key, Class<T> type) {
+		if (key == null) {
+			return null;
+		}
+		File file = getFile(key);
+		if (!file.isFile()) {
+			return null;
+		}
+		Object value = null;
+		try {
+			ByteBuffer buffer = readEntry(file);
+			if (buffer.getInt() == FORMAT_VERSION && key.equals(readKey(buffer))) {
+				long timestamp = buffer.getLong();
+				if (System.currentTimeMillis() - timestamp <= getTimeToLive(key)) {
+					value = ModelSnapshot.read(buffer);
+				}
+			}
+		} catch (NoSuchFileException ex) {
+			//concurrently removed
+			return null;
+		} catch (IOException | RuntimeException ex) {
+			//corrupt or outdated entry - dropped below
+			value = null;
+		}
+		if (value == null) {
+			//expired or unreadable
+			delete(file);
+			return null;
+		}
+		return type.isInstance(value) ? type.cast(value) : null;
+	}
+
+	/**
+	 * Store a value in the cache. Values are written to a temporary file first and then moved into place, so readers
+	 * never see partially written entries. Failures are logged, but otherwise ignored.
+	 */
+	public void put(String key, Object value) {
+		if (key == null || value == null || !ModelSnapshot.isSupported(value)) {
+			return;
+		}
+		File file = getFile(key);
+		File tempFile = null;
+		try {
+			Files.createDirectories(directory.toPath());
+			tempFile = File.createTempFile(file.getName(), TEMP_FILE_SUFFIX, directory);
+			try (OutputStream out = Files.newOutputStream(tempFile.toPath());
+					DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out))) {
+				dataOut.writeInt(FORMAT_VERSION);
+				byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+				dataOut.writeInt(keyBytes.length);
+				dataOut.write(keyBytes);
+				dataOut.writeLong(System.currentTimeMillis());
+				ModelSnapshot.write(value, dataOut);
+			}
+			try {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			tempFile = null;
+			if (isFull(file.length())) {
+				sweep();
+			}
+		} catch (IOException | RuntimeException ex) {
+			MarketplaceClientCore.getLog()
+			.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+					NLS.bind(Messages.PersistentResponseCache_writeError, key, directory), ex));
+		} finally {
+			if (tempFile != null) {
+				delete(tempFile);
+			}
+		}
+	}
+
+	public void remove(String key) {
+		if (key != null) {
+			delete(getFile(key));
+		}
+	}
+
+	public synchronized void clear() {
+		File[] entries = directory.listFiles();
+		if (entries != null) {
+			for (File entry : entries) {
+				delete(entry);
+			}
+		}
+		estimatedSize = 0;
+	}
+
+	/**
+	 * Delete expired and unreadable entries and temporary files left behind by interrupted writes. If the remaining
+	 * entries still exceed the size bound, the oldest ones are deleted until the cache is down to three quarters of
+	 * it, so the next sweep isn't needed right away.
+	 */
+	public synchronized void sweep() {
+		File[] files = directory.listFiles();
+		if (files == null) {
+			estimatedSize = 0;
+			return;
+		}
+		long now = System.currentTimeMillis();
+		List<File> entries = new ArrayList<>();
+		long size = 0;
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(TEMP_FILE_SUFFIX)) {
+				if (now - file.lastModified() > TEMP_FILE_MAX_AGE) {
+					delete(file);
+				}
+			} else if (name.endsWith(ENTRY_SUFFIX)) {
+				if (isExpired(file, now)) {
+					delete(file);
+				} else {
+					entries.add(file);
+					size += file.length();
+				}
+			}
+		}
+		if (size > maxSize) {
+			entries.sort(Comparator.comparingLong(File::lastModified));
+			long targetSize = maxSize / 4 * 3;
+			for (int i = 0; i < entries.size() && size > targetSize; i++) {
+				File entry = entries.get(i);
+				long length = entry.length();
+				delete(entry);
+				size -= length;
+			}
+		}
+		estimatedSize = size;
+	}
+
+	private synchronized boolean isFull(long addedSize) {
+		estimatedSize += addedSize;
+		return estimatedSize > maxSize;
+	}
+
+	/**
+	 * Only reads the entry's header, so the snapshot doesn't need to be loaded to decide whether to keep it.
+	 */
+	private boolean isExpired(File file, long now) {
+		try (InputStream in = Files.newInputStream(file.toPath());
+				DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in, 1024))) {
+			if (dataIn.readInt() != FORMAT_VERSION) {
+				return true;
+			}
+			int keyLength = dataIn.readInt();
+			if (keyLength < 0 || keyLength > file.length()) {
+				return true;
+			}
+			byte[] keyBytes = new byte[keyLength];
+			dataIn.readFully(keyBytes);
+			long timestamp = dataIn.readLong();
+			return now - timestamp > getTimeToLive(new String(keyBytes, StandardCharsets.UTF_8));
+		} catch (NoSuchFileException ex) {
+			//concurrently removed
+			return false;
+		} catch (IOException ex) {
+			//corrupt entry
+			return true;
+		}
+	}
+
+	/**
+	 * Entries are read onto the heap rather than memory-mapped: the snapshot is decoded right away, and a live mapping
+	 * would keep the file from being deleted or replaced on Windows until it is garbage collected.
+	 */
+	private static ByteBuffer readEntry(File file) throws IOException {
+		return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+	}
+
+	private static String readKey(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private File getFile(String key) {
+		return new File(directory, hash(key) + ENTRY_SUFFIX);
+	}
+
+	static String getKind(String key) {
+		int separator = key.indexOf(':');
+		return separator == -1 ? key : key.substring(0, separator);
+	}
+
+	private static void delete(File file) {
+		try {
+			Files.deleteIfExists(file.toPath());
+		} catch (IOException ex) {
+			//ignore - will be retried on next access
+		}
+	}
+
+	private static String hash(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+			byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			//SHA-1 is guaranteed to be available
+			throw new IllegalStateException(e);
+		}
+	}
+}
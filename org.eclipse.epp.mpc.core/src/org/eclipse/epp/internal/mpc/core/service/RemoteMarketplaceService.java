@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,14 +13,21 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.service;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -29,13 +36,18 @@
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.ValidatedContent;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics.Phase;
 import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
 import org.eclipse.epp.internal.mpc.core.util.TransportFactory;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
+import org.eclipse.epp.mpc.core.model.INode;
 import org.eclipse.epp.mpc.core.service.IMarketplaceService;
 import org.eclipse.epp.mpc.core.service.IMarketplaceUnmarshaller;
 import org.eclipse.epp.mpc.core.service.ITransport;
 import org.eclipse.epp.mpc.core.service.ServiceHelper;
+import org.eclipse.epp.mpc.core.service.ServiceUnavailableException;
 import org.eclipse.epp.mpc.core.service.UnmarshalException;
 import org.eclipse.osgi.util.NLS;
 
@@ -45,14 +57,45 @@
 
 	public static final String API_URI_SUFFIX = "api/p"; //$NON-NLS-1$
 
-	private static final int RETRY_COUNT = 3;
+	private static final long CANCEL_POLL_INTERVAL = 100;
 
 	protected final ITransport transport;
 
 	protected final IMarketplaceUnmarshaller unmarshaller;
 
+	/**
+	 * Content types requested from the server, or null to use the transport's default
+	 */
+	private final String acceptedContentTypes;
+
+	private static final int MAX_REVALIDATED_MODELS = 64;
+
 	private Map<String, String> requestMetaParameters;
 
+	/**
+	 * Unmarshalled models of responses that carried a validator, so a <code>304 Not Modified</code> response can reuse
+	 * them without parsing the cached content again.
+	 */
+	private final Map<URI, ValidatedModel> validatedModels = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<URI, ValidatedModel> eldest) {
+			return size() > MAX_REVALIDATED_MODELS;
+		}
+	};
+
+	private static final class ValidatedModel {
+		private final String validator;
+
+		private final Reference<Object> model;
+
+		ValidatedModel(String validator, Object model) {
+			this.validator = validator;
+			this.model = new SoftReference<>(model);
+		}
+	}
+
 	public RemoteMarketplaceService() {
 		this.transport = TransportFactory.createTransport();
 		IMarketplaceUnmarshaller unmarshaller = ServiceHelper.getMarketplaceUnmarshaller();
@@ -61,6 +104,8 @@ public RemoteMarketplaceService() {
 			unmarshaller = new MarketplaceUnmarshaller();
 		}
 		this.unmarshaller = unmarshaller;
+		this.acceptedContentTypes = unmarshaller instanceof MarketplaceUnmarshaller
+				? ((MarketplaceUnmarshaller) unmarshaller).getAcceptedContentTypes() : null;
 	}
 
 	protected IStatus createErrorStatus(String message, Throwable t) {
@@ -117,6 +162,11 @@ protected T processRequest(String relativeUrl, IProgressMonitor monitor) throws
 
 	protected T processRequest(String relativeUrl, boolean withMetaParams, IProgressMonitor monitor)
 			throws CoreException {
+		return processRequest(relativeUrl, withMetaParams, null, monitor);
+	}
+
+	protected T processRequest(String relativeUrl, boolean withMetaParams, Consumer<? super INode> nodeConsumer,
+			IProgressMonitor monitor) throws CoreException {
 		URI baseUri;
 		try {
 			baseUri = baseUrl.toURI();
@@ -125,16 +175,31 @@ protected T processRequest(String relativeUrl, boolean withMetaParams, IProgress
 			throw new IllegalStateException(e);
 		}
 
-		return processRequest(baseUri.toString(), relativeUrl, withMetaParams, monitor);
+		return processRequest(baseUri.toString(), relativeUrl, withMetaParams, nodeConsumer, monitor);
 	}
 
 	protected T processRequest(String baseUri, String relativePath, IProgressMonitor monitor) throws CoreException {
 		return processRequest(baseUri, relativePath, true, monitor);
 	}
 
-	@SuppressWarnings({ "unchecked" })
 	protected T processRequest(String baseUri, String relativePath, boolean withMetaParams, IProgressMonitor monitor)
 			throws CoreException {
+		return processRequest(baseUri, relativePath, withMetaParams, null, monitor);
+	}
+
+	/**
+	 * Retrieve and unmarshal the given resource, handing each node of a listing to the given consumer as soon as it
+	 * has been read.
+	 *
+	 * @param nodeConsumer
+	 *            notified of each node of a listing while the rest of the response is still being read, or null. This
+	 *            only happens if the response is actually parsed, so callers need to deliver the nodes of the returned
+	 *            model that weren't streamed.
+	 * @see NodeDelivery
+	 */
+	@SuppressWarnings({ "unchecked" })
+	protected T processRequest(String baseUri, String relativePath, boolean withMetaParams,
+			Consumer<? super INode> nodeConsumer, IProgressMonitor monitor) throws CoreException {
 		checkConfiguration();
 		if (baseUri == null || relativePath == null) {
 			throw new IllegalArgumentException();
@@ -153,18 +218,43 @@ protected T processRequest(String baseUri, String relativePath, boolean withMeta
 			throw new CoreException(createErrorStatus(message, e));
 		}
 
-		int retry = 0;
+		//nodes must not be delivered again if the request is retried
+		NodeDelivery nodeDelivery = NodeDelivery.of(nodeConsumer);
+		RetryPolicy retryPolicy = getRetryPolicy();
+		CircuitBreaker circuitBreaker = CircuitBreaker.forHost(location);
+		RequestMetrics metrics = RequestMetrics.getDefault();
+		int attempt = 0;
 		SubMonitor progress = SubMonitor.convert(monitor,
 				NLS.bind(Messages.DefaultMarketplaceService_retrievingDataFrom, baseUri), 100);
 		try {
 			while (true) {
+				if (!circuitBreaker.allowRequest()) {
+					//fail fast while the host is down, so callers can fall back to cached results right away
+					metrics.recordCircuitBreakerRejection();
+					long remainingOpenTime = circuitBreaker.getRemainingOpenTime();
+					String causeMessage = NLS.bind(Messages.DefaultMarketplaceService_hostUnavailable,
+							location.getHost(), TimeUnit.MILLISECONDS.toSeconds(remainingOpenTime + 999));
+					String message = NLS.bind(Messages.DefaultMarketplaceService_cannotCompleteRequest_reason,
+							location.toString(), causeMessage);
+					throw new ServiceUnavailableException(createErrorStatus(message, (Throwable) null),
+							remainingOpenTime);
+				}
+				attempt++;
 				progress.setWorkRemaining(100);
-				try (InputStream in = transport.stream(location, progress.newChild(70));) {
+				try (InputStream in = stream(location, progress.newChild(70));) {
 					try {
 						progress.setWorkRemaining(100);
 						progress.worked(30);
 
-						return (T) unmarshaller.unmarshal(in, Object.class, progress.newChild(70));//FIXME having T.class available here would be great...
+						Object model = getRevalidatedModel(location, in);
+						if (model == null) {
+							long parseStart = System.nanoTime();
+							model = unmarshal(in, nodeDelivery, progress.newChild(70));
+							metrics.recordPhaseSince(Phase.PARSE, parseStart);
+							rememberValidatedModel(location, in, model);
+						}
+						circuitBreaker.recordSuccess();
+						return (T) model;
 					} catch (UnmarshalException e) {
 						MarketplaceClientCore.error(
 								NLS.bind(Messages.DefaultMarketplaceService_parseError, location.toString()), e);
@@ -174,15 +264,25 @@ protected T processRequest(String baseUri, String relativePath, boolean withMeta
 					if (e.getCause() instanceof OperationCanceledException) {
 						throw new CoreException(Status.CANCEL_STATUS);
 					}
+					long retryDelay = -1;
+					if (retryPolicy.isServerFailure(e)) {
+						circuitBreaker.recordFailure(RetryPolicy.getRetryAfter(e));
+						retryDelay = retryPolicy.getRetryDelay(e, attempt);
+					} else {
+						//the server answered, just not with what we wanted
+						circuitBreaker.recordSuccess();
+					}
 					String causeMessage = e.getMessage();
 					String message = NLS.bind(Messages.DefaultMarketplaceService_cannotCompleteRequest_reason,
 							location.toString(), causeMessage);
+					if (retryDelay >= 0) {
+						// retry on unreliable connections and overloaded servers
+						MarketplaceClientCore.getLog().log(createStatus(IStatus.INFO, message, e));
+						metrics.recordRetry();
+						sleep(retryDelay, progress);
+						continue;
+					}
 					if (MarketplaceClientCore.isFailedDownloadException(e)) {
-						if (++retry < RETRY_COUNT) {
-							// retry on unreliable connections
-							MarketplaceClientCore.getLog().log(createStatus(IStatus.INFO, message, e));
-							continue;
-						}
 						IStatus connectionProblemStatus = MarketplaceClientCore.createConnectionProblemStatus(e);
 						causeMessage = connectionProblemStatus.getMessage();
 						e = new CoreException(connectionProblemStatus);
@@ -198,6 +298,77 @@ protected T processRequest(String baseUri, String relativePath, boolean withMeta
 		}
 	}
 
+	/**
+	 * @return the policy deciding when failed requests are retried
+	 */
+	protected RetryPolicy getRetryPolicy() {
+		return RetryPolicy.getDefault();
+	}
+
+	/**
+	 * Wait until the delay has fully passed. The circuit breaker is opened for the same <code>Retry-After</code> delay,
+	 * so it would reject a retry that wakes up even slightly early.
+	 */
+	private static void sleep(long millis, IProgressMonitor monitor) throws CoreException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+		for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+			if (monitor.isCanceled()) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+			try {
+				Thread.sleep(Math.min(TimeUnit.NANOSECONDS.toMillis(remaining) + 1, CANCEL_POLL_INTERVAL));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+		}
+	}
+
+	private InputStream stream(URI location, IProgressMonitor monitor)
+			throws FileNotFoundException, ServiceUnavailableException, CoreException {
+		if (acceptedContentTypes == null) {
+			return transport.stream(location, monitor);
+		}
+		return transport.stream(location, acceptedContentTypes, monitor);
+	}
+
+	private Object unmarshal(InputStream in, Consumer<? super INode> nodeConsumer, IProgressMonitor monitor)
+			throws IOException, UnmarshalException {
+		//FIXME having T.class available here would be great...
+		if (nodeConsumer != null && unmarshaller instanceof MarketplaceUnmarshaller) {
+			return ((MarketplaceUnmarshaller) unmarshaller).unmarshal(in, Object.class, nodeConsumer, monitor);
+		}
+		return unmarshaller.unmarshal(in, Object.class, monitor);
+	}
+
+	private Object getRevalidatedModel(URI location, InputStream in) {
+		if (!(in instanceof ValidatedContent)) {
+			return null;
+		}
+		ValidatedContent cachedIn = (ValidatedContent) in;
+		if (!cachedIn.isNotModified()) {
+			return null;
+		}
+		ValidatedModel validatedModel;
+		synchronized (validatedModels) {
+			validatedModel = validatedModels.get(location);
+		}
+		if (validatedModel != null && validatedModel.validator.equals(cachedIn.getValidator())) {
+			return validatedModel.model.get();
+		}
+		return null;
+	}
+
+	private void rememberValidatedModel(URI location, InputStream in, Object model) {
+		synchronized (validatedModels) {
+			if (model != null && in instanceof ValidatedContent && ((ValidatedContent) in).getValidator() != null) {
+				validatedModels.put(location, new ValidatedModel(((ValidatedContent) in).getValidator(), model));
+			} else {
+				validatedModels.remove(location);
+			}
+		}
+	}
+
 	public String addMetaParameters(String uri) {
 		if (requestMetaParameters != null) {
 			boolean hasQueryString = uri.indexOf('?') != -1;
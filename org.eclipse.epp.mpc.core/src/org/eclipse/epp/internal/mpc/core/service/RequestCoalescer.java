@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Coalesces concurrent identical requests: while a request for a key is in flight, further requests for the same key
+ * don't start a request of their own, but wait for and share the result of the running one.
+ * <p>
+ * If the running request is canceled, waiting callers are not affected - one of them takes over and runs the request
+ * itself. Waiting callers can still be canceled through their own progress monitor.
+ */
+public class RequestCoalescer {
+
+	public interface Request<T> {
+		T run(IProgressMonitor monitor) throws CoreException;
+	}
+
+	private static final long CANCEL_POLL_INTERVAL = 100;
+
+	private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder coalescedCount = new LongAdder();
+
+	/**
+	 * Run the request, unless an identical request is already running, in which case its result is returned instead.
+	 *
+	 * @param key
+	 *            identifies the request. If null, the request is always run.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(String key, Request<T> request, IProgressMonitor monitor) throws CoreException {
+		if (key == null) {
+			return request.run(monitor);
+		}
+		while (true) {
+			CompletableFuture<Object> future = new CompletableFuture<>();
+			CompletableFuture<Object> running = inFlight.putIfAbsent(key, future);
+			if (running == null) {
+				return run(key, future, request, monitor);
+			}
+			coalescedCount.increment();
+			try {
+				return (T) await(running, monitor);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (isCanceled(cause)) {
+					//the running request was canceled by its caller - try again on our own
+					continue;
+				}
+				if (cause instanceof CoreException) {
+					throw (CoreException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of requests that were served by waiting for an identical running request
+	 */
+	public long getCoalescedCount() {
+		return coalescedCount.sum();
+	}
+
+	/**
+	 * @return the number of requests currently in flight
+	 */
+	public int getInFlightCount() {
+		return inFlight.size();
+	}
+
+	private <T> T run(String key, CompletableFuture<Object> future, Request<T> request,
+			IProgressMonitor monitor) throws CoreException {
+		try {
+			T result = request.run(monitor);
+			future.complete(result);
+			return result;
+		} catch (CoreException | RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, future);
+		}
+	}
+
+	private static Object await(CompletableFuture<Object> future, IProgressMonitor monitor)
+			throws ExecutionException, CoreException {
+		while (true) {
+			try {
+				return future.get(CANCEL_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (monitor != null && monitor.isCanceled()) {
+					throw new CoreException(Status.CANCEL_STATUS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+		}
+	}
+
+	private static boolean isCanceled(Throwable throwable) {
+		return throwable instanceof OperationCanceledException || (throwable instanceof CoreException
+				&& ((CoreException) throwable).getStatus().getSeverity() == IStatus.CANCEL);
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
+import org.eclipse.epp.mpc.core.service.ServiceUnavailableException;
+
+/**
+ * Decides whether and when a failed request to the Marketplace server is retried. Interrupted downloads are retried
+ * with an exponentially growing, jittered delay. Requests rejected with <code>503 Service Unavailable</code> are
+ * retried after the delay the server asked for, unless that exceeds the maximum delay. Failures to connect at all are
+ * not retried, since the transport already waited for its timeouts, but like unavailable services they count against
+ * the host's {@link CircuitBreaker}.
+ */
+public class RetryPolicy {
+
+	/**
+	 * framework property for the maximum number of attempts of a request, including the first one
+	 */
+	public static final String MAX_ATTEMPTS_PROPERTY = "org.eclipse.epp.mpc.core.service.retry.maxAttempts"; //$NON-NLS-1$
+
+	/**
+	 * framework property for the delay in milliseconds before the first retry
+	 */
+	public static final String INITIAL_DELAY_PROPERTY = "org.eclipse.epp.mpc.core.service.retry.initialDelay"; //$NON-NLS-1$
+
+	/**
+	 * framework property for the maximum delay in milliseconds before a retry
+	 */
+	public static final String MAX_DELAY_PROPERTY = "org.eclipse.epp.mpc.core.service.retry.maxDelay"; //$NON-NLS-1$
+
+	private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	private static final long DEFAULT_INITIAL_DELAY = 250;
+
+	private static final long DEFAULT_MAX_DELAY = 4000;
+
+	private static final RetryPolicy DEFAULT = create();
+
+	private final int maxAttempts;
+
+	private final long initialDelay;
+
+	private final long maxDelay;
+
+	public RetryPolicy(int maxAttempts, long initialDelay, long maxDelay) {
+		if (maxAttempts < 1 || initialDelay < 0 || maxDelay < initialDelay) {
+			throw new IllegalArgumentException();
+		}
+		this.maxAttempts = maxAttempts;
+		this.initialDelay = initialDelay;
+		this.maxDelay = maxDelay;
+	}
+
+	/**
+	 * Create a policy configured by framework properties.
+	 */
+	public static RetryPolicy create() {
+		int maxAttempts = ServiceUtil.getIntProperty(RetryPolicy.class, MAX_ATTEMPTS_PROPERTY, DEFAULT_MAX_ATTEMPTS);
+		long initialDelay = ServiceUtil.getLongProperty(RetryPolicy.class, INITIAL_DELAY_PROPERTY,
+				DEFAULT_INITIAL_DELAY);
+		long maxDelay = ServiceUtil.getLongProperty(RetryPolicy.class, MAX_DELAY_PROPERTY, DEFAULT_MAX_DELAY);
+		return new RetryPolicy(Math.max(1, maxAttempts), Math.max(0, initialDelay),
+				Math.max(Math.max(0, initialDelay), maxDelay));
+	}
+
+	/**
+	 * @return the policy shared by all {@link RemoteMarketplaceService} instances
+	 */
+	public static RetryPolicy getDefault() {
+		return DEFAULT;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public long getInitialDelay() {
+		return initialDelay;
+	}
+
+	public long getMaxDelay() {
+		return maxDelay;
+	}
+
+	/**
+	 * @param failure
+	 *            the failure of the given attempt
+	 * @param attempt
+	 *            the number of the failed attempt, starting at 1
+	 * @return the delay in milliseconds before the next attempt, or -1 if the request must not be retried
+	 */
+	public long getRetryDelay(Throwable failure, int attempt) {
+		if (attempt >= maxAttempts) {
+			return -1;
+		}
+		ServiceUnavailableException unavailable = findCause(failure, ServiceUnavailableException.class);
+		if (unavailable != null) {
+			long retryAfter = unavailable.getRetryAfter();
+			if (retryAfter > maxDelay) {
+				return -1;
+			}
+			return retryAfter >= 0 ? retryAfter : getBackoff(attempt);
+		}
+		if (MarketplaceClientCore.isFailedDownloadException(failure)) {
+			return getBackoff(attempt);
+		}
+		return -1;
+	}
+
+	/**
+	 * Exponential backoff with equal jitter: half of the delay is fixed, the other half random, so concurrent clients
+	 * don't retry in lockstep.
+	 */
+	long getBackoff(int attempt) {
+		long delay = initialDelay;
+		for (int i = 1; i < attempt && delay < maxDelay; i++) {
+			delay *= 2;
+		}
+		delay = Math.min(delay, maxDelay);
+		long half = delay / 2;
+		return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+	}
+
+	/**
+	 * @return true if the failure indicates that the server is unreachable or overloaded, rather than a problem with
+	 *         the particular request
+	 */
+	public boolean isServerFailure(Throwable failure) {
+		return findCause(failure, ServiceUnavailableException.class) != null
+				|| MarketplaceClientCore.isFailedDownloadException(failure)
+				|| findCause(failure, ConnectException.class) != null
+				|| findCause(failure, NoRouteToHostException.class) != null
+				|| findCause(failure, SocketTimeoutException.class) != null
+				|| findCause(failure, UnknownHostException.class) != null;
+	}
+
+	/**
+	 * @return the time in milliseconds the server asked clients to wait, or -1 if it didn't
+	 */
+	public static long getRetryAfter(Throwable failure) {
+		ServiceUnavailableException unavailable = findCause(failure, ServiceUnavailableException.class);
+		return unavailable == null ? -1 : unavailable.getRetryAfter();
+	}
+
+	private static <E extends Throwable> E findCause(Throwable failure, Class<E> type) {
+		for (int depth = 0; failure != null && depth < 20; depth++) {
+			if (type.isInstance(failure)) {
+				return type.cast(failure);
+			}
+			Throwable cause = failure.getCause();
+			if (cause == failure) {
+				break;
+			}
+			failure = cause;
+		}
+		return null;
+	}
+}
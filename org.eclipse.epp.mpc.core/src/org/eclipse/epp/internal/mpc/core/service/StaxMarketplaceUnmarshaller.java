@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.epp.internal.mpc.core.service.xml.StaxUnmarshaller;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.service.IMarketplaceUnmarshaller;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Pull-parser based alternative to the default SAX based {@link MarketplaceUnmarshaller}. Besides avoiding the
+ * callback dispatch of SAX, it can stop reading after a given number of nodes and skip elements that aren't needed.
+ * <p>
+ * This is registered with a low service ranking, so the SAX unmarshaller remains the default. To use it instead, raise
+ * the <code>service.ranking</code> of the <code>org.eclipse.epp.mpc.core.unmarshaller.stax</code> component above 0,
+ * e.g. through Configuration Admin.
+ */
+@Component(name = "org.eclipse.epp.mpc.core.unmarshaller.stax", service = IMarketplaceUnmarshaller.class, property = "service.ranking:Integer=-100")
+public class StaxMarketplaceUnmarshaller extends MarketplaceUnmarshaller {
+
+	private volatile int maxNodes = -1;
+
+	private volatile Set<String> skippedElements = Collections.emptySet();
+
+	@Override
+	protected Object parse(Reader reader, Consumer<? super INode> nodeConsumer)
+			throws IOException, XMLStreamException {
+		StaxUnmarshaller unmarshaller = new StaxUnmarshaller();
+		unmarshaller.setNodeConsumer(nodeConsumer);
+		unmarshaller.setMaxNodes(maxNodes);
+		unmarshaller.setSkippedElements(skippedElements);
+		unmarshaller.setCompressedBodyMinLength(getCompressedBodyMinLength());
+		return unmarshaller.parse(reader);
+	}
+
+	public int getMaxNodes() {
+		return maxNodes;
+	}
+
+	/**
+	 * @see StaxUnmarshaller#setMaxNodes(int)
+	 */
+	public void setMaxNodes(int maxNodes) {
+		this.maxNodes = maxNodes;
+	}
+
+	public Set<String> getSkippedElements() {
+		return skippedElements;
+	}
+
+	/**
+	 * @see StaxUnmarshaller#setSkippedElements(Set)
+	 */
+	public void setSkippedElements(Set<String> skippedElements) {
+		this.skippedElements = skippedElements == null ? Collections.<String> emptySet()
+				: Collections.unmodifiableSet(new HashSet<>(skippedElements));
+	}
+}
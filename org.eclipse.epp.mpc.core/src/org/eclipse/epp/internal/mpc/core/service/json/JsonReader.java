@@ -0,0 +1,612 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service.json;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Streaming reader for the JSON representation of the Marketplace REST API. The document is reported to the
+ * {@link ContentHandler} as the equivalent XML document, so the same content handlers can unmarshal both formats:
+ * <ul>
+ * <li>The members of the top-level object are the root elements, usually just <code>marketplace</code>.</li>
+ * <li>An object member becomes an element with the member name. Its string, number and boolean members become child
+ * elements with the value as text content. Those listed before the first nested object or array also become
+ * attributes of the element.</li>
+ * <li>If an object has a <code>#text</code> member, its value becomes the text content of the element instead, and
+ * the other scalar members are only reported as attributes. This is used for elements like <code>iu</code> or
+ * <code>news</code>, which have both.</li>
+ * <li>An array becomes one element with the member name per entry.</li>
+ * <li><code>null</code> values are left out.</li>
+ * </ul>
+ * So
+ *
+ * <pre>
+ * {"marketplace": {"node": [{"id": "1", "name": "A", "ius": {"iu": ["a.b"]}}]}}
+ * </pre>
+ *
+ * is read like
+ *
+ * <pre>
+ * &lt;marketplace&gt;&lt;node id="1" name="A"&gt;&lt;id&gt;1&lt;/id&gt;&lt;name&gt;A&lt;/name&gt;
+ *   &lt;ius&gt;&lt;iu&gt;a.b&lt;/iu&gt;&lt;/ius&gt;&lt;/node&gt;&lt;/marketplace&gt;
+ * </pre>
+ * <p>
+ * Like the SAX parsers, a reader can be reused for subsequent documents, but not concurrently.
+ */
+public class JsonReader implements XMLReader {
+
+	/**
+	 * Member holding the text content of an element that also has attributes
+	 */
+	public static final String TEXT_MEMBER = "#text"; //$NON-NLS-1$
+
+	private static final String NAMESPACES_FEATURE = "http://xml.org/sax/features/namespaces"; //$NON-NLS-1$
+
+	private static final String NAMESPACE_PREFIXES_FEATURE = "http://xml.org/sax/features/namespace-prefixes"; //$NON-NLS-1$
+
+	private static final String NS_URI = ""; //$NON-NLS-1$
+
+	private static final String CDATA = "CDATA"; //$NON-NLS-1$
+
+	private static final int MAX_DEPTH = 256;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final int EOF = -1;
+
+	private ContentHandler contentHandler;
+
+	private EntityResolver entityResolver;
+
+	private DTDHandler dtdHandler;
+
+	private ErrorHandler errorHandler;
+
+	private final AttributesImpl attributes = new AttributesImpl();
+
+	private final StringBuilder valueBuffer = new StringBuilder();
+
+	private final char[] buffer = new char[BUFFER_SIZE];
+
+	private char[] characterBuffer = new char[256];
+
+	private Reader reader;
+
+	private int position;
+
+	private int limit;
+
+	private int line;
+
+	private int column;
+
+	private String systemId;
+
+	private int depth;
+
+	@Override
+	public void parse(InputSource input) throws IOException, SAXException {
+		Reader inputReader = input.getCharacterStream();
+		if (inputReader == null) {
+			if (input.getByteStream() == null) {
+				throw new SAXException("No character or byte stream to read"); //$NON-NLS-1$
+			}
+			inputReader = new InputStreamReader(input.getByteStream(),
+					input.getEncoding() == null ? StandardCharsets.UTF_8.name() : input.getEncoding());
+		}
+		reader = inputReader;
+		systemId = input.getSystemId();
+		position = 0;
+		limit = 0;
+		line = 1;
+		column = 0;
+		depth = 0;
+		try {
+			contentHandler.startDocument();
+			readDocument();
+			contentHandler.endDocument();
+		} finally {
+			reader = null;
+			attributes.clear();
+			valueBuffer.setLength(0);
+		}
+	}
+
+	@Override
+	public void parse(String systemId) throws IOException, SAXException {
+		parse(new InputSource(systemId));
+	}
+
+	private void readDocument() throws IOException, SAXException {
+		int c = skipWhitespace();
+		if (c == '\uFEFF') {
+			//byte order mark
+			position++;
+			c = skipWhitespace();
+		}
+		expect(c, '{');
+		position++;
+		c = skipWhitespace();
+		if (c != '}') {
+			while (true) {
+				String name = readName();
+				readValue(name);
+				if (readSeparator('}')) {
+					break;
+				}
+			}
+		} else {
+			position++;
+		}
+		c = skipWhitespace();
+		if (c != EOF) {
+			throw error("Unexpected content after end of document"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Read a member or array value and report it as element(s) with the given name.
+	 */
+	private void readValue(String name) throws IOException, SAXException {
+		int c = skipWhitespace();
+		switch (c) {
+		case '{':
+			position++;
+			readElement(name);
+			break;
+		case '[':
+			position++;
+			enter();
+			c = skipWhitespace();
+			if (c == ']') {
+				position++;
+			} else {
+				do {
+					readValue(name);
+				} while (!readSeparator(']'));
+			}
+			depth--;
+			break;
+		default: {
+			String value = readScalar();
+			if (value != null) {
+				leafElement(name, value);
+			}
+			break;
+		}
+		}
+	}
+
+	/**
+	 * Read the members of an object, the opening brace has already been consumed.
+	 */
+	private void readElement(String name) throws IOException, SAXException {
+		enter();
+		//scalar members seen before the element is started, as alternating names and values
+		List<String> pending = null;
+		String text = null;
+		boolean started = false;
+		int c = skipWhitespace();
+		if (c == '}') {
+			position++;
+		} else {
+			do {
+				String member = readName();
+				c = skipWhitespace();
+				if (c == '{' || c == '[') {
+					if (!started) {
+						startElement(name, pending, text);
+						started = true;
+					}
+					readValue(member);
+					continue;
+				}
+				String value = readScalar();
+				if (value == null) {
+					continue;
+				}
+				if (TEXT_MEMBER.equals(member)) {
+					if (started) {
+						characters(value);
+					} else {
+						text = value;
+					}
+				} else if (started) {
+					leafElement(member, value);
+				} else {
+					if (pending == null) {
+						pending = new ArrayList<>();
+					}
+					pending.add(member);
+					pending.add(value);
+				}
+			} while (!readSeparator('}'));
+		}
+		if (!started) {
+			startElement(name, pending, text);
+		}
+		contentHandler.endElement(NS_URI, name, name);
+		depth--;
+	}
+
+	private void startElement(String name, List<String> pending, String text) throws SAXException {
+		attributes.clear();
+		if (pending != null) {
+			for (int i = 0; i < pending.size(); i += 2) {
+				String member = pending.get(i);
+				attributes.addAttribute(NS_URI, member, member, CDATA, pending.get(i + 1));
+			}
+		}
+		contentHandler.startElement(NS_URI, name, name, attributes);
+		attributes.clear();
+		if (text != null) {
+			characters(text);
+		} else if (pending != null) {
+			for (int i = 0; i < pending.size(); i += 2) {
+				leafElement(pending.get(i), pending.get(i + 1));
+			}
+		}
+	}
+
+	private void leafElement(String name, String value) throws SAXException {
+		contentHandler.startElement(NS_URI, name, name, attributes);
+		characters(value);
+		contentHandler.endElement(NS_URI, name, name);
+	}
+
+	private void characters(String value) throws SAXException {
+		int length = value.length();
+		if (length == 0) {
+			return;
+		}
+		if (characterBuffer.length < length) {
+			characterBuffer = new char[Math.max(length, 2 * characterBuffer.length)];
+		}
+		value.getChars(0, length, characterBuffer, 0);
+		contentHandler.characters(characterBuffer, 0, length);
+		if (characterBuffer.length > BUFFER_SIZE * 8) {
+			//don't hold on to the buffer for a large node body
+			characterBuffer = new char[256];
+		}
+	}
+
+	private void enter() throws SAXException {
+		if (++depth > MAX_DEPTH) {
+			throw error("Maximum nesting depth exceeded"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Read a member name and the following colon.
+	 */
+	private String readName() throws IOException, SAXException {
+		int c = skipWhitespace();
+		expect(c, '"');
+		position++;
+		String name = readString();
+		expect(skipWhitespace(), ':');
+		position++;
+		return name;
+	}
+
+	/**
+	 * Read the separator after an object member or array entry.
+	 *
+	 * @return true if the given closing bracket was read, false if another member or entry follows
+	 */
+	private boolean readSeparator(char close) throws IOException, SAXException {
+		int c = skipWhitespace();
+		if (c == ',') {
+			position++;
+			return false;
+		}
+		expect(c, close);
+		position++;
+		return true;
+	}
+
+	/**
+	 * Read a string, number or boolean value as text.
+	 *
+	 * @return the value, or null for a <code>null</code> literal
+	 */
+	private String readScalar() throws IOException, SAXException {
+		int c = skipWhitespace();
+		if (c == '"') {
+			position++;
+			return readString();
+		}
+		if (c == EOF) {
+			throw error("Unexpected end of document"); //$NON-NLS-1$
+		}
+		valueBuffer.setLength(0);
+		while (true) {
+			c = peek();
+			if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || c == '-' || c == '+' || c == '.' || c == 'E') {
+				valueBuffer.append((char) c);
+				next();
+			} else {
+				break;
+			}
+		}
+		String literal = valueBuffer.toString();
+		switch (literal) {
+		case "null": //$NON-NLS-1$
+			return null;
+		case "true": //$NON-NLS-1$
+		case "false": //$NON-NLS-1$
+			return literal;
+		default:
+			if (!isNumber(literal)) {
+				throw error("Unexpected value: " + (literal.isEmpty() ? String.valueOf((char) c) : literal)); //$NON-NLS-1$
+			}
+			return literal;
+		}
+	}
+
+	private static boolean isNumber(String literal) {
+		int length = literal.length();
+		int i = 0;
+		if (i < length && literal.charAt(i) == '-') {
+			i++;
+		}
+		int digits = i;
+		while (i < length && isDigit(literal.charAt(i))) {
+			i++;
+		}
+		if (i == digits || (literal.charAt(digits) == '0' && i - digits > 1)) {
+			return false;
+		}
+		if (i < length && literal.charAt(i) == '.') {
+			digits = ++i;
+			while (i < length && isDigit(literal.charAt(i))) {
+				i++;
+			}
+			if (i == digits) {
+				return false;
+			}
+		}
+		if (i < length && (literal.charAt(i) == 'e' || literal.charAt(i) == 'E')) {
+			i++;
+			if (i < length && (literal.charAt(i) == '+' || literal.charAt(i) == '-')) {
+				i++;
+			}
+			digits = i;
+			while (i < length && isDigit(literal.charAt(i))) {
+				i++;
+			}
+			if (i == digits) {
+				return false;
+			}
+		}
+		return i == length;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Read the rest of a string, the opening quote has already been consumed.
+	 */
+	private String readString() throws IOException, SAXException {
+		valueBuffer.setLength(0);
+		while (true) {
+			if (position == limit && !fill()) {
+				throw error("Unterminated string"); //$NON-NLS-1$
+			}
+			//copy runs of plain characters in one go
+			int start = position;
+			while (position < limit) {
+				char c = buffer[position];
+				if (c == '"' || c == '\\' || c < 0x20) {
+					break;
+				}
+				position++;
+			}
+			valueBuffer.append(buffer, start, position - start);
+			column += position - start;
+			if (position == limit) {
+				continue;
+			}
+			char c = buffer[position];
+			next();
+			if (c == '"') {
+				return valueBuffer.toString();
+			} else if (c == '\\') {
+				valueBuffer.append(readEscape());
+			} else {
+				throw error("Unescaped control character in string"); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private char readEscape() throws IOException, SAXException {
+		int c = next();
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+			return (char) c;
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		case 'u': {
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				int digit = Character.digit(next(), 16);
+				if (digit < 0) {
+					throw error("Invalid unicode escape"); //$NON-NLS-1$
+				}
+				value = (value << 4) | digit;
+			}
+			return (char) value;
+		}
+		default:
+			throw error("Invalid escape sequence"); //$NON-NLS-1$
+		}
+	}
+
+	private void expect(int c, char expected) throws SAXException {
+		if (c != expected) {
+			throw error(c == EOF ? "Unexpected end of document" //$NON-NLS-1$
+					: "Expected '" + expected + "' but found '" + (char) c + "'"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Skip whitespace and return the next character without consuming it.
+	 */
+	private int skipWhitespace() throws IOException {
+		while (true) {
+			int c = peek();
+			if (c == ' ' || c == '\t' || c == '\r') {
+				position++;
+				column++;
+			} else if (c == '\n') {
+				position++;
+				line++;
+				column = 0;
+			} else {
+				return c;
+			}
+		}
+	}
+
+	private int peek() throws IOException {
+		if (position == limit && !fill()) {
+			return EOF;
+		}
+		return buffer[position];
+	}
+
+	private int next() throws IOException, SAXException {
+		if (position == limit && !fill()) {
+			throw error("Unexpected end of document"); //$NON-NLS-1$
+		}
+		char c = buffer[position++];
+		if (c == '\n') {
+			line++;
+			column = 0;
+		} else {
+			column++;
+		}
+		return c;
+	}
+
+	private boolean fill() throws IOException {
+		int read = reader.read(buffer, 0, buffer.length);
+		if (read <= 0) {
+			position = limit = 0;
+			return false;
+		}
+		position = 0;
+		limit = read;
+		return true;
+	}
+
+	private SAXParseException error(String message) {
+		return new SAXParseException(message, null, systemId, line, column + 1);
+	}
+
+	@Override
+	public boolean getFeature(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+		if (NAMESPACES_FEATURE.equals(name)) {
+			return true;
+		} else if (NAMESPACE_PREFIXES_FEATURE.equals(name)) {
+			return false;
+		}
+		throw new SAXNotRecognizedException(name);
+	}
+
+	@Override
+	public void setFeature(String name, boolean value) throws SAXNotRecognizedException, SAXNotSupportedException {
+		if (getFeature(name) != value) {
+			throw new SAXNotSupportedException(name);
+		}
+	}
+
+	@Override
+	public Object getProperty(String name) throws SAXNotRecognizedException, SAXNotSupportedException {
+		throw new SAXNotRecognizedException(name);
+	}
+
+	@Override
+	public void setProperty(String name, Object value) throws SAXNotRecognizedException, SAXNotSupportedException {
+		throw new SAXNotRecognizedException(name);
+	}
+
+	@Override
+	public void setEntityResolver(EntityResolver resolver) {
+		this.entityResolver = resolver;
+	}
+
+	@Override
+	public EntityResolver getEntityResolver() {
+		return entityResolver;
+	}
+
+	@Override
+	public void setDTDHandler(DTDHandler handler) {
+		this.dtdHandler = handler;
+	}
+
+	@Override
+	public DTDHandler getDTDHandler() {
+		return dtdHandler;
+	}
+
+	@Override
+	public void setContentHandler(ContentHandler handler) {
+		this.contentHandler = handler;
+	}
+
+	@Override
+	public ContentHandler getContentHandler() {
+		return contentHandler;
+	}
+
+	@Override
+	public void setErrorHandler(ErrorHandler handler) {
+		this.errorHandler = handler;
+	}
+
+	@Override
+	public ErrorHandler getErrorHandler() {
+		return errorHandler;
+	}
+}
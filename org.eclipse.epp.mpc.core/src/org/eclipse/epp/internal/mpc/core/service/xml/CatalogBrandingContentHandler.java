@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.service.xml;
 
+import java.util.Locale;
+
 import org.eclipse.epp.internal.mpc.core.model.CatalogBranding;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
@@ -28,33 +30,45 @@ public class CatalogBrandingContentHandler extends UnmarshalContentHandler {
 
 	@Override
 	public void startElement(String uri, String localName, Attributes attributes) {
-		if (localName.equalsIgnoreCase("wizard")) { //$NON-NLS-1$
+		switch (localName.toLowerCase(Locale.ENGLISH)) {
+		case "wizard": //$NON-NLS-1$
 			model = new CatalogBranding();
 
 			model.setWizardTitle(attributes.getValue(NS_URI, "title")); //$NON-NLS-1$
-		} else if (localName.equalsIgnoreCase("icon")) { //$NON-NLS-1$
+			break;
+		case "icon": //$NON-NLS-1$
 			capturingContent = true;
-		} else if (localName.equalsIgnoreCase("searchtab")) { //$NON-NLS-1$
+			break;
+		case "searchtab": //$NON-NLS-1$
 			model.setHasSearchTab(toBoolean(attributes.getValue(NS_URI, "enabled"))); //$NON-NLS-1$
 			capturingContent = true;
-		} else if (localName.equalsIgnoreCase("populartab")) { //$NON-NLS-1$
+			break;
+		case "populartab": //$NON-NLS-1$
 			model.setHasPopularTab(toBoolean(attributes.getValue(NS_URI, "enabled"))); //$NON-NLS-1$
 			capturingContent = true;
-		} else if (localName.equalsIgnoreCase("recenttab")) { //$NON-NLS-1$
+			break;
+		case "recenttab": //$NON-NLS-1$
 			model.setHasRecentTab(toBoolean(attributes.getValue(NS_URI, "enabled"))); //$NON-NLS-1$
 			capturingContent = true;
-		} else if (localName.equalsIgnoreCase("featuredmarkettab")) { //$NON-NLS-1$
+			break;
+		case "featuredmarkettab": //$NON-NLS-1$
 			model.setHasFeaturedMarketTab(toBoolean(attributes.getValue(NS_URI, "enabled"))); //$NON-NLS-1$
 			capturingContent = true;
-		} else if (localName.equalsIgnoreCase("relatedtab") || localName.equalsIgnoreCase("recommendationtab")) { //$NON-NLS-1$ //$NON-NLS-2$
+			break;
+		case "relatedtab": //$NON-NLS-1$
+		case "recommendationtab": //$NON-NLS-1$
 			model.setHasRelatedTab(toBoolean(attributes.getValue(NS_URI, "enabled"))); //$NON-NLS-1$
 			capturingContent = true;
+			break;
+		default:
+			break;
 		}
 	}
 
 	@Override
 	public boolean endElement(String uri, String localName) throws SAXException {
-		if (localName.equals("wizard")) { //$NON-NLS-1$
+		switch (localName) {
+		case "wizard": //$NON-NLS-1$
 			if (parentModel instanceof org.eclipse.epp.internal.mpc.core.model.Catalog) {
 				((org.eclipse.epp.internal.mpc.core.model.Catalog) parentModel).setBranding(model);
 			}
@@ -65,36 +79,25 @@ public boolean endElement(String uri, String localName) throws SAXException {
 				parentHandler.endElement(uri, localName);
 			}
 			return true;
-		} else if (localName.equals("icon")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setWizardIcon(toUrlString(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("searchtab")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setSearchTabName(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("populartab")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setPopularTabName(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("recenttab")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setRecentTabName(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("relatedtab")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setRelatedTabName(content.toString());
-				content = null;
-			}
-			capturingContent = false;
+		case "icon": //$NON-NLS-1$
+			model.setWizardIcon(toUrlString(takeContent()));
+			break;
+		case "searchtab": //$NON-NLS-1$
+			model.setSearchTabName(takeContent());
+			break;
+		case "populartab": //$NON-NLS-1$
+			model.setPopularTabName(takeContent());
+			break;
+		case "recenttab": //$NON-NLS-1$
+			model.setRecentTabName(takeContent());
+			break;
+		case "relatedtab": //$NON-NLS-1$
+			model.setRelatedTabName(takeContent());
+			break;
+		default:
+			//stop capturing, e.g. for the featured market tab, whose name isn't used
+			takeContent();
+			break;
 		}
 		return false;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -56,15 +56,14 @@ public void startElement(String uri, String localName, Attributes attributes) {
 	@Override
 	public boolean endElement(String uri, String localName) throws SAXException {
 		if (localName.equals("iu")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setId(content.toString());
+			String id = intern(takeContent());
+			if (id != null) {
+				model.setId(id);
 				if (parentModel instanceof Ius) {
 					((Ius) parentModel).getIuElements().add(model);
 				}
-				content = null;
 				getUnmarshaller().setModel(model);
 			}
-			capturingContent = false;
 			model = null;
 			getUnmarshaller().setCurrentHandler(parentHandler);
 			if (parentHandler != null) {
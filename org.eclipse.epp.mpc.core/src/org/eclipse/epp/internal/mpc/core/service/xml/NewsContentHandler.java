@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -39,12 +39,10 @@ public void startElement(String uri, String localName, Attributes attributes) {
 	@Override
 	public boolean endElement(String uri, String localName) throws SAXException {
 		if (localName.equals("news")) { //$NON-NLS-1$
-			if (content != null) {
-				final String url = toUrlString(content.toString());
-				model.setUrl(url);
-				content = null;
+			String url = takeContent();
+			if (url != null) {
+				model.setUrl(toUrlString(url));
 			}
-			capturingContent = false;
 
 			getUnmarshaller().setModel(model.getUrl() == null ? null : model);
 			model = null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -31,92 +31,89 @@ public class NodeContentHandler extends UnmarshalContentHandler {
 
 	@Override
 	public void startElement(String uri, String localName, Attributes attributes) {
-		if (localName.equals("node")) { //$NON-NLS-1$
+		switch (localName) {
+		case "node": //$NON-NLS-1$
 			model = new Node();
 
-			model.setId(attributes.getValue(NS_URI, "id")); //$NON-NLS-1$
-			model.setName(attributes.getValue(NS_URI, "name")); //$NON-NLS-1$
-			model.setUrl(attributes.getValue(NS_URI, "url")); //$NON-NLS-1$
-		} else if (localName.equals("favorited")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("installstotal")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("installsrecent")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("type")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("categories")) { //$NON-NLS-1$
+			model.setId(intern(attributes.getValue(NS_URI, "id"))); //$NON-NLS-1$
+			model.setName(intern(attributes.getValue(NS_URI, "name"))); //$NON-NLS-1$
+			model.setUrl(intern(attributes.getValue(NS_URI, "url"))); //$NON-NLS-1$
+			break;
+		case "favorited": //$NON-NLS-1$
+		case "installstotal": //$NON-NLS-1$
+		case "installsrecent": //$NON-NLS-1$
+		case "type": //$NON-NLS-1$
+		case "owner": //$NON-NLS-1$
+		case "shortdescription": //$NON-NLS-1$
+		case "body": //$NON-NLS-1$
+		case "created": //$NON-NLS-1$
+		case "changed": //$NON-NLS-1$
+		case "foundationmember": //$NON-NLS-1$
+		case "homepageurl": //$NON-NLS-1$
+		case "image": //$NON-NLS-1$
+		case "screenshot": //$NON-NLS-1$
+		case "version": //$NON-NLS-1$
+		case "license": //$NON-NLS-1$
+		case "companyname": //$NON-NLS-1$
+		case "status": //$NON-NLS-1$
+		case "eclipseversion": //$NON-NLS-1$
+		case "supporturl": //$NON-NLS-1$
+		case "updateurl": //$NON-NLS-1$
+			capturingContent = true;
+			break;
+		case "categories": { //$NON-NLS-1$
 			CategoriesContentHandler childHandler = new CategoriesContentHandler();
 			childHandler.setParentModel(model);
 			childHandler.setParentHandler(this);
 			childHandler.setUnmarshaller(getUnmarshaller());
 			getUnmarshaller().setCurrentHandler(childHandler);
 			childHandler.startElement(uri, localName, attributes);
-		} else if (localName.equals("tags")) { //$NON-NLS-1$
+			break;
+		}
+		case "tags": { //$NON-NLS-1$
 			TagsContentHandler childHandler = new TagsContentHandler();
 			childHandler.setParentModel(model);
 			childHandler.setParentHandler(this);
 			childHandler.setUnmarshaller(getUnmarshaller());
 			getUnmarshaller().setCurrentHandler(childHandler);
 			childHandler.startElement(uri, localName, attributes);
-		} else if (localName.equals("owner")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("shortdescription")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("body")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("created")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("changed")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("foundationmember")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("homepageurl")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("image")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("screenshot")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("version")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("license")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("companyname")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("status")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("eclipseversion")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("supporturl")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("updateurl")) { //$NON-NLS-1$
-			capturingContent = true;
-		} else if (localName.equals("ius")) { //$NON-NLS-1$
+			break;
+		}
+		case "ius": { //$NON-NLS-1$
 			IusContentHandler childHandler = new IusContentHandler();
 			childHandler.setParentModel(model);
 			childHandler.setParentHandler(this);
 			childHandler.setUnmarshaller(getUnmarshaller());
 			getUnmarshaller().setCurrentHandler(childHandler);
 			childHandler.startElement(uri, localName, attributes);
-		} else if (localName.equals("platforms")) { //$NON-NLS-1$
+			break;
+		}
+		case "platforms": { //$NON-NLS-1$
 			PlatformsContentHandler childHandler = new PlatformsContentHandler();
 			childHandler.setParentModel(model);
 			childHandler.setParentHandler(this);
 			childHandler.setUnmarshaller(getUnmarshaller());
 			getUnmarshaller().setCurrentHandler(childHandler);
 			childHandler.startElement(uri, localName, attributes);
+			break;
+		}
+		default:
+			break;
 		}
 	}
 
 	@Override
 	public boolean endElement(String uri, String localName) throws SAXException {
-		if (localName.equals("node")) { //$NON-NLS-1$
+		switch (localName) {
+		case "node": //$NON-NLS-1$
 			if (parentModel instanceof Marketplace) {
 				((Marketplace) parentModel).getNode().add(model);
 			} else if (parentModel instanceof NodeListing) {
 				((NodeListing) parentModel).getNode().add(model);
+				getUnmarshaller().nodeCompleted(model);
 			} else if (parentModel instanceof Category) {
 				((Category) parentModel).getNode().add(model);
+				getUnmarshaller().nodeCompleted(model);
 			}
 			getUnmarshaller().setModel(model);
 			model = null;
@@ -125,132 +122,75 @@ public boolean endElement(String uri, String localName) throws SAXException {
 				parentHandler.endElement(uri, localName);
 			}
 			return true;
-		} else if (localName.equals("favorited")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setFavorited(toNatural(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("installstotal")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setInstallsTotal(toNatural(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("installsrecent")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setInstallsRecent(toNatural(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("type")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setType(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("categories")) { //$NON-NLS-1$
-			// nothing to do
-		} else if (localName.equals("owner")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setOwner(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("shortdescription")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setShortdescription(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("body")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setBody(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("created")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setCreated(toDate(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("changed")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setChanged(toDate(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("foundationmember")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setFoundationmember(toBoolean(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("homepageurl")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setHomepageurl(toUrlString(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("image")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setImage(toUrlString(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("screenshot")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setScreenshot(toUrlString(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("version")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setVersion(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("license")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setLicense(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("companyname")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setCompanyname(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("status")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setStatus(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("eclipseversion")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setEclipseversion(content.toString());
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("supporturl")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setSupporturl(toUrlString(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("updateurl")) { //$NON-NLS-1$
-			if (content != null) {
-				model.setUpdateurl(toUrlString(content.toString()));
-				content = null;
-			}
-			capturingContent = false;
-		} else if (localName.equals("ius")) { //$NON-NLS-1$
-			// nothing to do
-		} else if (localName.equals("platforms")) { //$NON-NLS-1$
-			// nothing to do
+		case "favorited": //$NON-NLS-1$
+			model.setFavorited(toNatural(takeContent()));
+			break;
+		case "installstotal": //$NON-NLS-1$
+			model.setInstallsTotal(toNatural(takeContent()));
+			break;
+		case "installsrecent": //$NON-NLS-1$
+			model.setInstallsRecent(toNatural(takeContent()));
+			break;
+		case "type": //$NON-NLS-1$
+			model.setType(intern(takeContent()));
+			break;
+		case "owner": //$NON-NLS-1$
+			model.setOwner(intern(takeContent()));
+			break;
+		case "shortdescription": //$NON-NLS-1$
+			model.setShortdescription(takeContent());
+			break;
+		case "body": { //$NON-NLS-1$
+			int compressedBodyMinLength = getUnmarshaller().getCompressedBodyMinLength();
+			if (compressedBodyMinLength >= 0) {
+				model.setBody(takeContent(), compressedBodyMinLength);
+			} else {
+				model.setBody(takeContent());
+			}
+			break;
+		}
+		case "created": //$NON-NLS-1$
+			model.setCreated(toDate(takeContent()));
+			break;
+		case "changed": //$NON-NLS-1$
+			model.setChanged(toDate(takeContent()));
+			break;
+		case "foundationmember": //$NON-NLS-1$
+			model.setFoundationmember(toBoolean(takeContent()));
+			break;
+		case "homepageurl": //$NON-NLS-1$
+			model.setHomepageurl(toUrlString(takeContent()));
+			break;
+		case "image": //$NON-NLS-1$
+			model.setImage(toUrlString(takeContent()));
+			break;
+		case "screenshot": //$NON-NLS-1$
+			model.setScreenshot(toUrlString(takeContent()));
+			break;
+		case "version": //$NON-NLS-1$
+			model.setVersion(intern(takeContent()));
+			break;
+		case "license": //$NON-NLS-1$
+			model.setLicense(intern(takeContent()));
+			break;
+		case "companyname": //$NON-NLS-1$
+			model.setCompanyname(intern(takeContent()));
+			break;
+		case "status": //$NON-NLS-1$
+			model.setStatus(intern(takeContent()));
+			break;
+		case "eclipseversion": //$NON-NLS-1$
+			model.setEclipseversion(intern(takeContent()));
+			break;
+		case "supporturl": //$NON-NLS-1$
+			model.setSupporturl(toUrlString(takeContent()));
+			break;
+		case "updateurl": //$NON-NLS-1$
+			model.setUpdateurl(toUrlString(takeContent()));
+			break;
+		default:
+			// categories, tags, ius and platforms are completed by their own handlers
+			break;
 		}
 		return false;
 	}
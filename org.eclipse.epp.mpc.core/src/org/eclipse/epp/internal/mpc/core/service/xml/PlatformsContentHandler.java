@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -47,11 +47,10 @@ public boolean endElement(String uri, String localName) throws SAXException {
 			}
 			return true;
 		} else if (localName.equals("platform")) { //$NON-NLS-1$
-			if (content != null) {
-				model.getPlatform().add(content.toString());
-				content = null;
+			String platform = intern(takeContent());
+			if (platform != null) {
+				model.getPlatform().add(platform);
 			}
-			capturingContent = false;
 		}
 		return false;
 	}
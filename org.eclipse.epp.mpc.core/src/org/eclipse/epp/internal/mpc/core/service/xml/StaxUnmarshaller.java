@@ -0,0 +1,804 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.epp.internal.mpc.core.model.Catalog;
+import org.eclipse.epp.internal.mpc.core.model.CatalogBranding;
+import org.eclipse.epp.internal.mpc.core.model.Catalogs;
+import org.eclipse.epp.internal.mpc.core.model.Categories;
+import org.eclipse.epp.internal.mpc.core.model.Category;
+import org.eclipse.epp.internal.mpc.core.model.Favorites;
+import org.eclipse.epp.internal.mpc.core.model.Featured;
+import org.eclipse.epp.internal.mpc.core.model.Iu;
+import org.eclipse.epp.internal.mpc.core.model.Ius;
+import org.eclipse.epp.internal.mpc.core.model.Market;
+import org.eclipse.epp.internal.mpc.core.model.Marketplace;
+import org.eclipse.epp.internal.mpc.core.model.News;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.NodeListing;
+import org.eclipse.epp.internal.mpc.core.model.Platforms;
+import org.eclipse.epp.internal.mpc.core.model.Popular;
+import org.eclipse.epp.internal.mpc.core.model.Recent;
+import org.eclipse.epp.internal.mpc.core.model.Related;
+import org.eclipse.epp.internal.mpc.core.model.Search;
+import org.eclipse.epp.internal.mpc.core.model.Tag;
+import org.eclipse.epp.internal.mpc.core.model.Tags;
+import org.eclipse.epp.mpc.core.model.INode;
+
+/**
+ * Pull-parser (StAX) alternative to the SAX based {@link Unmarshaller}, producing the same model. Since the parser
+ * drives the document traversal, parsing can stop early once enough nodes have been read, and whole elements can be
+ * skipped without materializing their content.
+ * <p>
+ * Instances are not thread-safe and are meant to parse a single document.
+ */
+public class StaxUnmarshaller {
+
+	private static final XMLInputFactory inputFactory;
+
+	static {
+		inputFactory = XMLInputFactory.newDefaultFactory();
+		inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		inputFactory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		inputFactory.setXMLResolver((publicId, systemId, baseUri, namespace) -> new ByteArrayInputStream(new byte[0]));
+	}
+
+	/**
+	 * Shared value conversions of the SAX content handlers
+	 */
+	private final UnmarshalContentHandler values = new DefaultContentHandler();
+
+	private int maxNodes = -1;
+
+	private Set<String> skippedElements = Collections.emptySet();
+
+	private int compressedBodyMinLength = -1;
+
+	private Consumer<? super INode> nodeConsumer;
+
+	private XMLStreamReader reader;
+
+	private final StringBuilder contentBuffer = new StringBuilder();
+
+	private int nodeCount;
+
+	private int nodeDepth;
+
+	private boolean terminated;
+
+	/**
+	 * @param maxNodes
+	 *            the number of top-level nodes after which parsing stops, or a negative value to read all nodes. With a
+	 *            value of 0, parsing stops right after the start tag of the node listing, which is enough to get its
+	 *            count.
+	 */
+	public void setMaxNodes(int maxNodes) {
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * @param skippedElements
+	 *            names of elements that are skipped together with their content, e.g. <code>body</code>
+	 */
+	public void setSkippedElements(Set<String> skippedElements) {
+		this.skippedElements = skippedElements == null ? Collections.<String> emptySet() : skippedElements;
+	}
+
+	/**
+	 * @see Unmarshaller#setCompressedBodyMinLength(int)
+	 */
+	public void setCompressedBodyMinLength(int compressedBodyMinLength) {
+		this.compressedBodyMinLength = compressedBodyMinLength;
+	}
+
+	/**
+	 * @see Unmarshaller#setNodeConsumer(Consumer)
+	 */
+	public void setNodeConsumer(Consumer<? super INode> nodeConsumer) {
+		this.nodeConsumer = nodeConsumer;
+	}
+
+	/**
+	 * @return true if parsing stopped before the end of the document because the node limit was reached
+	 */
+	public boolean isTerminated() {
+		return terminated;
+	}
+
+	/**
+	 * Parse the given document.
+	 *
+	 * @return the model of the root element, or null if the root element is unknown
+	 */
+	public Object parse(Reader input) throws XMLStreamException {
+		reader = inputFactory.createXMLStreamReader(input);
+		try {
+			Object model = null;
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+					model = parseRoot();
+					break;
+				}
+			}
+			while (!terminated && reader.hasNext()) {
+				//check the remaining document for errors
+				reader.next();
+			}
+			return model;
+		} finally {
+			reader.close();
+			reader = null;
+		}
+	}
+
+	private Object parseRoot() throws XMLStreamException {
+		String name = reader.getLocalName();
+		if ("marketplace".equals(name)) { //$NON-NLS-1$
+			return parseMarketplace();
+		}
+		if (!isModelElement(name)) {
+			skipElement();
+			return null;
+		}
+		return parseModelElement(name, null);
+	}
+
+	/**
+	 * @return true for elements that are unmarshalled on their own, i.e. that have their own root handler in the SAX
+	 *         unmarshaller
+	 */
+	private static boolean isModelElement(String name) {
+		switch (name) {
+		case "market": //$NON-NLS-1$
+		case "category": //$NON-NLS-1$
+		case "node": //$NON-NLS-1$
+		case "categories": //$NON-NLS-1$
+		case "catalogs": //$NON-NLS-1$
+		case "catalog": //$NON-NLS-1$
+		case "wizard": //$NON-NLS-1$
+		case "tags": //$NON-NLS-1$
+		case "tag": //$NON-NLS-1$
+		case "ius": //$NON-NLS-1$
+		case "platforms": //$NON-NLS-1$
+		case "search": //$NON-NLS-1$
+		case "recent": //$NON-NLS-1$
+		case "featured": //$NON-NLS-1$
+		case "popular": //$NON-NLS-1$
+		case "related": //$NON-NLS-1$
+		case "favorites": //$NON-NLS-1$
+		case "news": //$NON-NLS-1$
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private Object parseModelElement(String name, Object parent) throws XMLStreamException {
+		switch (name) {
+		case "market": //$NON-NLS-1$
+			return parseMarket(parent);
+		case "category": //$NON-NLS-1$
+			return parseCategory(parent);
+		case "node": //$NON-NLS-1$
+			return parseNode(parent);
+		case "categories": //$NON-NLS-1$
+			return parseCategories(parent);
+		case "catalogs": //$NON-NLS-1$
+			return parseCatalogs();
+		case "catalog": //$NON-NLS-1$
+			return parseCatalog(parent);
+		case "wizard": //$NON-NLS-1$
+			return parseBranding(parent);
+		case "tags": //$NON-NLS-1$
+			return parseTags(parent);
+		case "tag": //$NON-NLS-1$
+			return parseTag(parent);
+		case "ius": //$NON-NLS-1$
+			return parseIus(parent);
+		case "platforms": //$NON-NLS-1$
+			return parsePlatforms(parent);
+		case "search": { //$NON-NLS-1$
+			Search search = new Search();
+			search.setUrl(values.toUrlString(attribute("url"))); //$NON-NLS-1$
+			search.setTerm(attribute("term")); //$NON-NLS-1$
+			parseListing(search, name);
+			if (parent instanceof Marketplace) {
+				((Marketplace) parent).setSearch(search);
+			}
+			return search;
+		}
+		case "recent": { //$NON-NLS-1$
+			Recent recent = parseListing(new Recent(), name);
+			if (parent instanceof Marketplace) {
+				((Marketplace) parent).setRecent(recent);
+			}
+			return recent;
+		}
+		case "featured": { //$NON-NLS-1$
+			Featured featured = parseListing(new Featured(), name);
+			if (parent instanceof Marketplace) {
+				((Marketplace) parent).setFeatured(featured);
+			}
+			return featured;
+		}
+		case "popular": { //$NON-NLS-1$
+			Popular popular = parseListing(new Popular(), name);
+			if (parent instanceof Marketplace) {
+				((Marketplace) parent).setPopular(popular);
+			}
+			return popular;
+		}
+		case "related": { //$NON-NLS-1$
+			Related related = parseListing(new Related(), name);
+			if (parent instanceof Marketplace) {
+				((Marketplace) parent).setRelated(related);
+			}
+			return related;
+		}
+		case "favorites": { //$NON-NLS-1$
+			Favorites favorites = parseListing(new Favorites(), name);
+			if (parent instanceof Marketplace) {
+				((Marketplace) parent).setFavorites(favorites);
+			}
+			return favorites;
+		}
+		case "news": //$NON-NLS-1$
+			return parseNews();
+		default:
+			throw new IllegalArgumentException(name);
+		}
+	}
+
+	private Object parseMarketplace() throws XMLStreamException {
+		Marketplace model = new Marketplace();
+		Object result = model;
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (skipped(name)) {
+					continue;
+				}
+				if ("news".equals(name)) { //$NON-NLS-1$
+					model.setNews(parseNews());
+				} else if ("catalogs".equals(name)) { //$NON-NLS-1$
+					//catalog listings are wrapped in a marketplace element, but they are the result on their own
+					result = parseCatalogs();
+				} else if (isModelElement(name)) {
+					parseModelElement(name, model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "marketplace".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		return result;
+	}
+
+	private Market parseMarket(Object parent) throws XMLStreamException {
+		Market model = new Market();
+		model.setId(values.intern(attribute("id"))); //$NON-NLS-1$
+		model.setName(values.intern(attribute("name"))); //$NON-NLS-1$
+		model.setUrl(values.intern(values.toUrlString(attribute("url")))); //$NON-NLS-1$
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "category".equals(name)) { //$NON-NLS-1$
+					parseCategory(model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "market".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Marketplace) {
+			((Marketplace) parent).getMarket().add(model);
+		}
+		return model;
+	}
+
+	private Category parseCategory(Object parent) throws XMLStreamException {
+		Category model = new Category();
+		model.setId(values.intern(attribute("id"))); //$NON-NLS-1$
+		model.setName(values.intern(attribute("name"))); //$NON-NLS-1$
+		model.setUrl(values.intern(attribute("url"))); //$NON-NLS-1$
+		model.setCount(values.toInteger(attribute("count"))); //$NON-NLS-1$
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "node".equals(name)) { //$NON-NLS-1$
+					parseNode(model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "category".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Marketplace) {
+			((Marketplace) parent).getCategory().add(model);
+		} else if (parent instanceof Market) {
+			((Market) parent).getCategory().add(model);
+		} else if (parent instanceof Categories) {
+			((Categories) parent).getCategory().add(model);
+		}
+		return model;
+	}
+
+	private Categories parseCategories(Object parent) throws XMLStreamException {
+		Categories model = new Categories();
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "category".equals(name)) { //$NON-NLS-1$
+					parseCategory(model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "categories".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Node) {
+			((Node) parent).setCategories(model);
+		}
+		return model;
+	}
+
+	private <T extends NodeListing> T parseListing(T model, String elementName) throws XMLStreamException {
+		model.setCount(values.toInteger(attribute("count"))); //$NON-NLS-1$
+		checkNodeLimit();
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "node".equals(name)) { //$NON-NLS-1$
+					parseNode(model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && elementName.equals(reader.getLocalName())) {
+				break;
+			}
+		}
+		return model;
+	}
+
+	private Node parseNode(Object parent) throws XMLStreamException {
+		Node model = new Node();
+		model.setId(values.intern(attribute("id"))); //$NON-NLS-1$
+		model.setName(values.intern(attribute("name"))); //$NON-NLS-1$
+		model.setUrl(values.intern(attribute("url"))); //$NON-NLS-1$
+		nodeDepth++;
+		try {
+			while (!terminated && reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					String name = reader.getLocalName();
+					if (!skipped(name)) {
+						parseNodeElement(model, name);
+					}
+				} else if (event == XMLStreamConstants.END_ELEMENT && "node".equals(reader.getLocalName())) { //$NON-NLS-1$
+					break;
+				}
+			}
+		} finally {
+			nodeDepth--;
+		}
+		if (parent instanceof Marketplace) {
+			((Marketplace) parent).getNode().add(model);
+		} else if (parent instanceof NodeListing) {
+			((NodeListing) parent).getNode().add(model);
+			nodeCompleted(model);
+		} else if (parent instanceof Category) {
+			((Category) parent).getNode().add(model);
+			nodeCompleted(model);
+		}
+		if (nodeDepth == 0) {
+			nodeCount++;
+			checkNodeLimit();
+		}
+		return model;
+	}
+
+	private void nodeCompleted(Node node) {
+		if (nodeConsumer != null) {
+			nodeConsumer.accept(node);
+		}
+	}
+
+	private void parseNodeElement(Node model, String name) throws XMLStreamException {
+		switch (name) {
+		case "favorited": //$NON-NLS-1$
+			model.setFavorited(values.toNatural(readContent(name)));
+			break;
+		case "installstotal": //$NON-NLS-1$
+			model.setInstallsTotal(values.toNatural(readContent(name)));
+			break;
+		case "installsrecent": //$NON-NLS-1$
+			model.setInstallsRecent(values.toNatural(readContent(name)));
+			break;
+		case "type": //$NON-NLS-1$
+			model.setType(values.intern(readContent(name)));
+			break;
+		case "owner": //$NON-NLS-1$
+			model.setOwner(values.intern(readContent(name)));
+			break;
+		case "shortdescription": //$NON-NLS-1$
+			model.setShortdescription(readContent(name));
+			break;
+		case "body": //$NON-NLS-1$
+			if (compressedBodyMinLength >= 0) {
+				model.setBody(readContent(name), compressedBodyMinLength);
+			} else {
+				model.setBody(readContent(name));
+			}
+			break;
+		case "created": //$NON-NLS-1$
+			model.setCreated(values.toDate(readContent(name)));
+			break;
+		case "changed": //$NON-NLS-1$
+			model.setChanged(values.toDate(readContent(name)));
+			break;
+		case "foundationmember": //$NON-NLS-1$
+			model.setFoundationmember(values.toBoolean(readContent(name)));
+			break;
+		case "homepageurl": //$NON-NLS-1$
+			model.setHomepageurl(values.toUrlString(readContent(name)));
+			break;
+		case "image": //$NON-NLS-1$
+			model.setImage(values.toUrlString(readContent(name)));
+			break;
+		case "screenshot": //$NON-NLS-1$
+			model.setScreenshot(values.toUrlString(readContent(name)));
+			break;
+		case "version": //$NON-NLS-1$
+			model.setVersion(values.intern(readContent(name)));
+			break;
+		case "license": //$NON-NLS-1$
+			model.setLicense(values.intern(readContent(name)));
+			break;
+		case "companyname": //$NON-NLS-1$
+			model.setCompanyname(values.intern(readContent(name)));
+			break;
+		case "status": //$NON-NLS-1$
+			model.setStatus(values.intern(readContent(name)));
+			break;
+		case "eclipseversion": //$NON-NLS-1$
+			model.setEclipseversion(values.intern(readContent(name)));
+			break;
+		case "supporturl": //$NON-NLS-1$
+			model.setSupporturl(values.toUrlString(readContent(name)));
+			break;
+		case "updateurl": //$NON-NLS-1$
+			model.setUpdateurl(values.toUrlString(readContent(name)));
+			break;
+		case "categories": //$NON-NLS-1$
+			parseCategories(model);
+			break;
+		case "tags": //$NON-NLS-1$
+			parseTags(model);
+			break;
+		case "ius": //$NON-NLS-1$
+			parseIus(model);
+			break;
+		case "platforms": //$NON-NLS-1$
+			parsePlatforms(model);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private Tags parseTags(Object parent) throws XMLStreamException {
+		Tags model = new Tags();
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "tag".equals(name)) { //$NON-NLS-1$
+					parseTag(model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "tags".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Node) {
+			((Node) parent).setTags(model);
+		}
+		return model;
+	}
+
+	private Tag parseTag(Object parent) throws XMLStreamException {
+		Tag model = new Tag();
+		model.setId(values.intern(attribute("id"))); //$NON-NLS-1$
+		model.setName(values.intern(attribute("name"))); //$NON-NLS-1$
+		model.setUrl(values.intern(values.toUrlString(attribute("url")))); //$NON-NLS-1$
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "node".equals(name)) { //$NON-NLS-1$
+					parseNode(model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "tag".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Tags) {
+			((Tags) parent).getTags().add(model);
+		}
+		return model;
+	}
+
+	private Ius parseIus(Object parent) throws XMLStreamException {
+		Ius model = new Ius();
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "iu".equals(name)) { //$NON-NLS-1$
+					parseIu(model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "ius".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Node) {
+			((Node) parent).setIus(model);
+		}
+		return model;
+	}
+
+	private Iu parseIu(Ius parent) throws XMLStreamException {
+		Iu model = new Iu();
+		//FIXME at some point we sent optional, at another required, so we handle both for now...
+		Boolean optional = null;
+		String optionalValue = attribute("optional"); //$NON-NLS-1$
+		if (optionalValue != null) {
+			optional = Boolean.valueOf(optionalValue);
+		}
+		String requiredValue = attribute("required"); //$NON-NLS-1$
+		if (requiredValue != null) {
+			Boolean required = Boolean.valueOf(requiredValue);
+			optional = optional == null ? !required : optional && !required;
+		}
+		if (optional != null) {
+			model.setOptional(optional);
+		}
+		String selectedValue = attribute("selected"); //$NON-NLS-1$
+		if (selectedValue != null) {
+			model.setSelected(Boolean.valueOf(selectedValue));
+		}
+		String id = readContent("iu"); //$NON-NLS-1$
+		if (id == null) {
+			return null;
+		}
+		model.setId(values.intern(id));
+		if (parent != null) {
+			parent.getIuElements().add(model);
+		}
+		return model;
+	}
+
+	private Platforms parsePlatforms(Object parent) throws XMLStreamException {
+		Platforms model = new Platforms();
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "platform".equals(name)) { //$NON-NLS-1$
+					String platform = values.intern(readContent(name));
+					if (platform != null) {
+						model.getPlatform().add(platform);
+					}
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "platforms".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Node) {
+			((Node) parent).setPlatforms(model);
+		}
+		return model;
+	}
+
+	private News parseNews() throws XMLStreamException {
+		News model = new News();
+		model.setShortTitle(attribute("shorttitle")); //$NON-NLS-1$
+		model.setTimestamp(values.toLong(attribute("timestamp"))); //$NON-NLS-1$
+		String url = readContent("news"); //$NON-NLS-1$
+		if (url != null) {
+			model.setUrl(values.toUrlString(url));
+		}
+		return model.getUrl() == null ? null : model;
+	}
+
+	private Catalogs parseCatalogs() throws XMLStreamException {
+		Catalogs model = new Catalogs();
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name) && "catalog".equals(name)) { //$NON-NLS-1$
+					parseCatalog(model);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "catalogs".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		return model;
+	}
+
+	private Catalog parseCatalog(Object parent) throws XMLStreamException {
+		Catalog model = new Catalog();
+		model.setId(attribute("id")); //$NON-NLS-1$
+		model.setName(attribute("title")); //$NON-NLS-1$
+		model.setUrl(values.toUrlString(attribute("url"))); //$NON-NLS-1$
+		model.setSelfContained("1".equals(attribute("selfContained"))); //$NON-NLS-1$ //$NON-NLS-2$
+		model.setImageUrl(values.toUrlString(attribute("icon"))); //$NON-NLS-1$
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (skipped(name)) {
+					continue;
+				}
+				switch (name) {
+				case "dependenciesRepository": //$NON-NLS-1$
+					model.setDependencyRepository(values.toUrlString(readContent(name)));
+					break;
+				case "description": //$NON-NLS-1$
+					model.setDescription(readContent(name));
+					break;
+				case "wizard": //$NON-NLS-1$
+					parseBranding(model);
+					break;
+				case "news": //$NON-NLS-1$
+					model.setNews(parseNews());
+					break;
+				default:
+					break;
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "catalog".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Catalogs) {
+			((Catalogs) parent).getCatalogs().add(model);
+		}
+		return model;
+	}
+
+	private CatalogBranding parseBranding(Object parent) throws XMLStreamException {
+		CatalogBranding model = new CatalogBranding();
+		model.setWizardTitle(attribute("title")); //$NON-NLS-1$
+		while (!terminated && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				String name = reader.getLocalName();
+				if (!skipped(name)) {
+					parseBrandingElement(model, name);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT && "wizard".equals(reader.getLocalName())) { //$NON-NLS-1$
+				break;
+			}
+		}
+		if (parent instanceof Catalog) {
+			((Catalog) parent).setBranding(model);
+		}
+		return model;
+	}
+
+	private void parseBrandingElement(CatalogBranding model, String name) throws XMLStreamException {
+		switch (name.toLowerCase(Locale.ENGLISH)) {
+		case "icon": //$NON-NLS-1$
+			model.setWizardIcon(values.toUrlString(readContent(name)));
+			break;
+		case "searchtab": //$NON-NLS-1$
+			model.setHasSearchTab(values.toBoolean(attribute("enabled"))); //$NON-NLS-1$
+			model.setSearchTabName(readContent(name));
+			break;
+		case "populartab": //$NON-NLS-1$
+			model.setHasPopularTab(values.toBoolean(attribute("enabled"))); //$NON-NLS-1$
+			model.setPopularTabName(readContent(name));
+			break;
+		case "recenttab": //$NON-NLS-1$
+			model.setHasRecentTab(values.toBoolean(attribute("enabled"))); //$NON-NLS-1$
+			model.setRecentTabName(readContent(name));
+			break;
+		case "featuredmarkettab": //$NON-NLS-1$
+			model.setHasFeaturedMarketTab(values.toBoolean(attribute("enabled"))); //$NON-NLS-1$
+			readContent(name);
+			break;
+		case "relatedtab": //$NON-NLS-1$
+			model.setHasRelatedTab(values.toBoolean(attribute("enabled"))); //$NON-NLS-1$
+			model.setRelatedTabName(readContent(name));
+			break;
+		case "recommendationtab": //$NON-NLS-1$
+			model.setHasRelatedTab(values.toBoolean(attribute("enabled"))); //$NON-NLS-1$
+			readContent(name);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void checkNodeLimit() {
+		if (maxNodes >= 0 && nodeCount >= maxNodes) {
+			terminated = true;
+		}
+	}
+
+	private boolean skipped(String name) throws XMLStreamException {
+		if (skippedElements.contains(name)) {
+			skipElement();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Skip the current element and all its content.
+	 */
+	private void skipElement() throws XMLStreamException {
+		for (int depth = 1; depth > 0 && reader.hasNext();) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * Read the text content up to the end of the given element, including the text of nested elements.
+	 *
+	 * @return the content, or null if the element is empty
+	 */
+	private String readContent(String elementName) throws XMLStreamException {
+		contentBuffer.setLength(0);
+		while (reader.hasNext()) {
+			int event = reader.next();
+			switch (event) {
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				contentBuffer.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				if (elementName.equals(reader.getLocalName())) {
+					return contentBuffer.length() == 0 ? null : contentBuffer.toString();
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		return contentBuffer.length() == 0 ? null : contentBuffer.toString();
+	}
+
+	private String attribute(String name) {
+		return reader.getAttributeValue(null, name);
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service.xml;
+
+/**
+ * Bounded pool for model values that repeat across nodes and results, like category and tag names, IU ids, licenses
+ * and platforms. Unmarshalled models use the pooled instance for such values, so cached results don't hold thousands
+ * of copies of the same strings.
+ * <p>
+ * Values are kept in a fixed-size table indexed by their hash code, and a new value simply replaces a colliding one.
+ * This keeps the pool bounded and lock-free, at the cost of missing a few duplicates. Since strings are immutable, the
+ * unsynchronized table access is safe - at worst another thread doesn't see a value that was just added.
+ */
+public final class StringPool {
+
+	/**
+	 * Default number of pooled values
+	 */
+	public static final int DEFAULT_SIZE = 4096;
+
+	/**
+	 * Longer values like descriptions rarely repeat, so they are not pooled
+	 */
+	public static final int MAX_POOLED_LENGTH = 256;
+
+	private static final StringPool shared = new StringPool(
+			Integer.getInteger(StringPool.class.getName() + ".size", DEFAULT_SIZE)); //$NON-NLS-1$
+
+	private final String[] table;
+
+	private final int mask;
+
+	/**
+	 * @param size
+	 *            the maximum number of pooled values, rounded up to the next power of two, or 0 to disable pooling
+	 */
+	public StringPool(int size) {
+		int capacity = size <= 0 ? 0 : size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+		table = new String[capacity];
+		mask = capacity - 1;
+	}
+
+	/**
+	 * @return the pool shared by all unmarshallers. Its size can be configured with the
+	 *         <code>org.eclipse.epp.internal.mpc.core.service.xml.StringPool.size</code> system property.
+	 */
+	public static StringPool getShared() {
+		return shared;
+	}
+
+	/**
+	 * @return a pooled string equal to the given value, or the value itself if there is none yet
+	 */
+	public String intern(String value) {
+		if (value == null || value.length() > MAX_POOLED_LENGTH || table.length == 0) {
+			return value;
+		}
+		int hash = value.hashCode();
+		int index = (hash ^ (hash >>> 16)) & mask;
+		String pooled = table[index];
+		if (value.equals(pooled)) {
+			return pooled;
+		}
+		table[index] = value;
+		return value;
+	}
+
+	/**
+	 * @return the maximum number of pooled values
+	 */
+	public int getSize() {
+		return table.length;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2018, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -38,23 +38,38 @@ private boolean isValidXMLChar(char c) {
 		return (c >= 0x20) || (c == 0x9) || (c == 0xA) || (c == 0xD);
 	}
 
+	/**
+	 * Reads characters into a portion of an array, removing invalid characters in a single compacting pass. Buffers
+	 * without invalid characters are returned as read. If a whole chunk consists of invalid characters, reading
+	 * continues, so this only returns 0 if <code>len</code> is 0.
+	 */
 	@Override
 	public int read(char[] cbuf, int off, int len) throws IOException {
-		int read = super.read(cbuf, off, len);
-		int remaining = read;
-		for (int i = off; i < off + remaining;) {
-			char c = cbuf[i];
-			if (!isValidXMLChar(c)) {
-				remaining--;
-				int after = off + remaining - i;
-				if (after > 0) {
-					System.arraycopy(cbuf, i + 1, cbuf, i, after);
-					cbuf[remaining] = 0;
+		while (true) {
+			int read = super.read(cbuf, off, len);
+			if (read <= 0) {
+				return read;
+			}
+			int end = off + read;
+			int i = off;
+			while (i < end && isValidXMLChar(cbuf[i])) {
+				i++;
+			}
+			if (i == end) {
+				//fast path - nothing to strip
+				return read;
+			}
+			int target = i;
+			for (i++; i < end; i++) {
+				char c = cbuf[i];
+				if (isValidXMLChar(c)) {
+					cbuf[target++] = c;
 				}
-			} else {
-				++i;
+			}
+			int remaining = target - off;
+			if (remaining > 0) {
+				return remaining;
 			}
 		}
-		return remaining;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2018 Tasktop Technologies and others.
+ * Copyright (c) 2011, 2026 Tasktop Technologies and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -30,9 +30,9 @@ public void startElement(String uri, String localName, Attributes attributes) {
 		if (localName.equals("tag")) { //$NON-NLS-1$
 			model = new Tag();
 
-			model.setId(attributes.getValue(NS_URI, "id")); //$NON-NLS-1$
-			model.setName(attributes.getValue(NS_URI, "name")); //$NON-NLS-1$
-			model.setUrl(toUrlString(attributes.getValue(NS_URI, "url"))); //$NON-NLS-1$
+			model.setId(intern(attributes.getValue(NS_URI, "id"))); //$NON-NLS-1$
+			model.setName(intern(attributes.getValue(NS_URI, "name"))); //$NON-NLS-1$
+			model.setUrl(intern(toUrlString(attributes.getValue(NS_URI, "url")))); //$NON-NLS-1$
 		} else if (localName.equals("node")) { //$NON-NLS-1$
 			org.eclipse.epp.internal.mpc.core.service.xml.NodeContentHandler childHandler = new org.eclipse.epp.internal.mpc.core.service.xml.NodeContentHandler();
 			childHandler.setParentModel(model);
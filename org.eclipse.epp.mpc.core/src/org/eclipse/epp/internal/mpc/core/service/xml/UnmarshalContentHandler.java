@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -44,12 +44,36 @@ public abstract class UnmarshalContentHandler {
 	public void characters(char[] ch, int start, int length) throws SAXException {
 		if (capturingContent) {
 			if (content == null) {
-				content = new StringBuilder();
+				content = unmarshaller == null ? new StringBuilder() : unmarshaller.getContentBuffer();
 			}
 			content.append(ch, start, length);
 		}
 	}
 
+	/**
+	 * Stop capturing content and return what was captured so far. The content buffer is shared by all handlers of an
+	 * {@link Unmarshaller}, so subclasses must use this (or clear {@link #content}) once an element is complete.
+	 *
+	 * @return the captured content, or null if there was none
+	 */
+	protected String takeContent() {
+		String value = content == null ? null : content.toString();
+		content = null;
+		capturingContent = false;
+		return value;
+	}
+
+	/**
+	 * Reset the parsing state, so this handler can be reused for another document. Handlers clear their model once
+	 * they're done with an element, so this only needs to take care of the common state.
+	 */
+	protected void reset() {
+		content = null;
+		capturingContent = false;
+		parentModel = null;
+		parentHandler = null;
+	}
+
 	protected Unmarshaller getUnmarshaller() {
 		return unmarshaller;
 	}
@@ -74,6 +98,13 @@ protected void setParentHandler(UnmarshalContentHandler parentHandler) {
 		this.parentHandler = parentHandler;
 	}
 
+	/**
+	 * @return the {@link StringPool#getShared() pooled} instance of a frequently repeated value
+	 */
+	protected String intern(String string) {
+		return StringPool.getShared().intern(string);
+	}
+
 	protected String toUrlString(String string) {
 		if (string == null) {
 			return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -18,10 +18,14 @@
 import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
 
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.mpc.core.model.INode;
 import org.xml.sax.Attributes;
 import org.xml.sax.EntityResolver;
 import org.xml.sax.InputSource;
@@ -43,7 +47,34 @@ public class Unmarshaller extends DefaultHandler {
 
 	private static EntityResolver emptyResolver;
 
+	private static final int INITIAL_CONTENT_BUFFER_SIZE = 256;
+
+	private static final int MAX_RETAINED_CONTENT_BUFFER_SIZE = 64 * 1024;
+
+	private static final Map<String, Supplier<UnmarshalContentHandler>> handlerFactories = new HashMap<>();
+
 	static {
+		handlerFactories.put("marketplace", MarketplaceContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("market", MarketContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("category", CategoryContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("node", NodeContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("categories", CategoriesContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("catalogs", CatalogsContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("catalog", CatalogContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("wizard", CatalogBrandingContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("tags", TagsContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("tag", TagContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("ius", IusContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("platforms", PlatformsContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("search", SearchContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("recent", RecentContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("featured", FeaturedContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("popular", PopularContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("related", RelatedContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("favorites", FavoritesContentHandler::new); //$NON-NLS-1$
+		handlerFactories.put("news", NewsContentHandler::new); //$NON-NLS-1$
+
+
 		parserFactory = SAXParserFactory.newInstance();
 		parserFactory.setNamespaceAware(true);
 		parserFactory.setValidating(false);
@@ -95,32 +126,23 @@ public static Object parse(InputSource input) throws IOException, SAXException {
 	}
 
 
-	private final Map<String, UnmarshalContentHandler> elementNameToUnmarshalContentHandler = new HashMap<>();
-	{
-		elementNameToUnmarshalContentHandler.put("marketplace", new MarketplaceContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("market", new MarketContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("category", new CategoryContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("node", new NodeContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("categories", new CategoriesContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("catalogs", new CatalogsContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("catalog", new CatalogContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("wizard", new CatalogBrandingContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("tags", new TagsContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("tag", new TagContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("ius", new IusContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("platforms", new PlatformsContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("search", new SearchContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("recent", new RecentContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("featured", new FeaturedContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("popular", new PopularContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("related", new RelatedContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("favorites", new FavoritesContentHandler()); //$NON-NLS-1$
-		elementNameToUnmarshalContentHandler.put("news", new NewsContentHandler()); //$NON-NLS-1$
-	}
+	/**
+	 * Root element handlers, created on first use and kept for further documents parsed by this instance
+	 */
+	private final Map<String, UnmarshalContentHandler> elementNameToUnmarshalContentHandler = new HashMap<>(4);
 
 	private UnmarshalContentHandler currentHandler;
 	private Object model;
 
+	/**
+	 * Character buffer shared by all handlers, since only the current handler captures content at any time
+	 */
+	private StringBuilder contentBuffer = new StringBuilder(INITIAL_CONTENT_BUFFER_SIZE);
+
+	private int compressedBodyMinLength = -1;
+
+	private Consumer<? super INode> nodeConsumer;
+
 	@Override
 	public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
 		computeHandler(localName);
@@ -156,6 +178,70 @@ public Object getModel() {
 	public void setModel(Object model) {
 		this.model = model;
 	}
+
+	/**
+	 * Reset this unmarshaller after a document has been parsed, so it can be reused for another document.
+	 */
+	public void reset() {
+		if (currentHandler != null) {
+			//parsing didn't complete, so handlers might still hold partial models
+			elementNameToUnmarshalContentHandler.clear();
+		} else {
+			for (UnmarshalContentHandler handler : elementNameToUnmarshalContentHandler.values()) {
+				handler.reset();
+			}
+		}
+		model = null;
+		currentHandler = null;
+		nodeConsumer = null;
+		if (contentBuffer.capacity() > MAX_RETAINED_CONTENT_BUFFER_SIZE) {
+			//don't hold on to the buffer for a large node body
+			contentBuffer = new StringBuilder(INITIAL_CONTENT_BUFFER_SIZE);
+		}
+	}
+
+	/**
+	 * @return the cleared content buffer
+	 */
+	protected StringBuilder getContentBuffer() {
+		contentBuffer.setLength(0);
+		return contentBuffer;
+	}
+
+	public int getCompressedBodyMinLength() {
+		return compressedBodyMinLength;
+	}
+
+	/**
+	 * @param compressedBodyMinLength
+	 *            the minimum length of node bodies that are kept compressed, or a negative value to disable compression
+	 */
+	public void setCompressedBodyMinLength(int compressedBodyMinLength) {
+		this.compressedBodyMinLength = compressedBodyMinLength;
+	}
+
+	public Consumer<? super INode> getNodeConsumer() {
+		return nodeConsumer;
+	}
+
+	/**
+	 * @param nodeConsumer
+	 *            notified of each node of a listing as soon as it has been read, while the rest of the document is
+	 *            still being parsed. Cleared on {@link #reset()}.
+	 */
+	public void setNodeConsumer(Consumer<? super INode> nodeConsumer) {
+		this.nodeConsumer = nodeConsumer;
+	}
+
+	/**
+	 * Called by the content handlers when a node of a listing is complete
+	 */
+	protected void nodeCompleted(Node node) {
+		if (nodeConsumer != null) {
+			nodeConsumer.accept(node);
+		}
+	}
+
 	protected UnmarshalContentHandler getCurrentHandler() {
 		return currentHandler;
 	}
@@ -165,6 +251,14 @@ protected void setCurrentHandler(UnmarshalContentHandler currentHandler) {
 	}
 
 	public UnmarshalContentHandler getHandler(String localName) {
-		return elementNameToUnmarshalContentHandler.get(localName);
+		UnmarshalContentHandler handler = elementNameToUnmarshalContentHandler.get(localName);
+		if (handler == null) {
+			Supplier<UnmarshalContentHandler> handlerFactory = handlerFactories.get(localName);
+			if (handlerFactory != null) {
+				handler = handlerFactory.get();
+				elementNameToUnmarshalContentHandler.put(localName, handler);
+			}
+		}
+		return handler;
 	}
 }
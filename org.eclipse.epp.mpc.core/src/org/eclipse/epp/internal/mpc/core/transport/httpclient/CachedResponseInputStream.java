@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.transport.httpclient;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * Fully buffered response content, typically served from the {@link HttpResponseCache}.
+ */
+public class CachedResponseInputStream extends ByteArrayInputStream implements ValidatedContent {
+
+	private final String validator;
+
+	private final boolean notModified;
+
+	public CachedResponseInputStream(byte[] content, String validator, boolean notModified) {
+		super(content);
+		this.validator = validator;
+		this.notModified = notModified;
+	}
+
+	@Override
+	public String getValidator() {
+		return validator;
+	}
+
+	@Override
+	public boolean isNotModified() {
+		return notModified;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,10 +13,19 @@
 package org.eclipse.epp.internal.mpc.core.transport.httpclient;
 
 import org.apache.hc.client5.http.auth.CredentialsStore;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 
 public interface HttpClientCustomizer {
 	HttpClientBuilder customizeBuilder(HttpClientBuilder builder);
 
 	CredentialsStore customizeCredentialsProvider(CredentialsStore credentialsProvider);
+
+	/**
+	 * Customize the client used for non-blocking requests. The credentials provider returned by
+	 * {@link #customizeCredentialsProvider(CredentialsStore)} is shared by both clients.
+	 */
+	default HttpAsyncClientBuilder customizeAsyncBuilder(HttpAsyncClientBuilder builder) {
+		return builder;
+	}
 }
\ No newline at end of file
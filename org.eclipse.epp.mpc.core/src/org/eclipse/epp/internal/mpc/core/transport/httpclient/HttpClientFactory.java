@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,17 +12,52 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.transport.httpclient;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.apache.hc.client5.http.auth.CredentialsStore;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.cookie.BasicCookieStore;
 import org.apache.hc.client5.http.cookie.CookieStore;
+import org.apache.hc.client5.http.entity.DeflateInputStreamFactory;
+import org.apache.hc.client5.http.entity.GZIPInputStreamFactory;
+import org.apache.hc.client5.http.entity.InputStreamFactory;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpRequestInterceptor;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.Registry;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
 import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
+import org.eclipse.epp.internal.mpc.core.util.ContentEncodingStatistics;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics.Phase;
+import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.FieldOption;
@@ -34,6 +69,38 @@
 @Component(name = "org.eclipse.epp.mpc.core.http.client.factory", service = { HttpClientFactory.class })
 public class HttpClientFactory {
 
+	private static final String CONTENT_ENCODING_ATTRIBUTE = HttpClientFactory.class.getName() + ".contentEncoding"; //$NON-NLS-1$
+
+	/**
+	 * Context attribute of non-blocking requests holding the {@link System#nanoTime() time} at which the response
+	 * headers arrived
+	 */
+	static final String RESPONSE_RECEIVED_ATTRIBUTE = HttpClientFactory.class.getName() + ".responseReceived"; //$NON-NLS-1$
+
+	private static final String BROTLI_INPUT_STREAM = "org.brotli.dec.BrotliInputStream"; //$NON-NLS-1$
+
+	private static final class CountingEntity extends HttpEntityWrapper {
+
+		private final Function<InputStream, InputStream> counter;
+
+		CountingEntity(HttpEntity wrappedEntity, Function<InputStream, InputStream> counter) {
+			super(wrappedEntity);
+			this.counter = counter;
+		}
+
+		@Override
+		public InputStream getContent() throws IOException {
+			return counter.apply(super.getContent());
+		}
+
+		@Override
+		public void writeTo(OutputStream outStream) throws IOException {
+			try (InputStream content = getContent()) {
+				content.transferTo(outStream);
+			}
+		}
+	}
+
 	@Reference(cardinality = ReferenceCardinality.MULTIPLE, policyOption = ReferencePolicyOption.GREEDY, policy = ReferencePolicy.STATIC, fieldOption = FieldOption.REPLACE)
 	private List<HttpClientCustomizer> customizers;
 
@@ -71,13 +138,41 @@ public HttpServiceContext build(HttpServiceContext oldContext) {
 			credentialsProvider = customizeCredentialsProvider(clientBuilder, credentialsProvider, cacheProvider);
 		}
 
+		ContentEncodingStatistics contentEncodingStatistics = oldContext == null ? null
+				: oldContext.getContentEncodingStatistics();
+		if (contentEncodingStatistics == null) {
+			contentEncodingStatistics = new ContentEncodingStatistics();
+		}
+
 		clientBuilder.setDefaultCredentialsProvider(credentialsProvider);
 		clientBuilder.setDefaultCookieStore(cookieStore);
+		addContentEncodingStatistics(clientBuilder, contentEncodingStatistics);
+		addRequestMetrics(clientBuilder, RequestMetrics.getDefault());
 
 		clientBuilder = customizeBuilder(clientBuilder);
 
+		Map<String, InputStreamFactory> contentDecoders = ServiceUtil.getBooleanProperty(HttpClientTransport.class,
+				HttpClientTransport.CONTENT_COMPRESSION_PROPERTY, true) ? createContentDecoders() : null;
+
+		CookieStore asyncCookieStore = cookieStore;
+		CredentialsStore asyncCredentialsProvider = credentialsProvider;
+		CredentialsStore asyncCacheProvider = initialCredentialsProvider == null ? null : cacheProvider;
 		return new HttpServiceContext(clientBuilder.build(), cookieStore, credentialsProvider, initialCredentialsProvider,
-				cacheProvider);
+				cacheProvider, contentEncodingStatistics, createDefaultRequestConfig(), contentDecoders,
+				() -> buildAsyncClient(asyncCookieStore, asyncCredentialsProvider, asyncCacheProvider));
+	}
+
+	private CloseableHttpAsyncClient buildAsyncClient(CookieStore cookieStore, CredentialsStore credentialsProvider,
+			CredentialsStore cacheProvider) {
+		HttpAsyncClientBuilder clientBuilder = asyncBuilder();
+		if (cacheProvider != null) {
+			clientBuilder.addRequestInterceptorFirst(createCredentialsCacheInterceptor(cacheProvider));
+		}
+		clientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+		clientBuilder.setDefaultCookieStore(cookieStore);
+
+		clientBuilder = customizeAsyncBuilder(clientBuilder);
+		return clientBuilder.build();
 	}
 
 	protected CredentialsStore createCredentialsProvider() {
@@ -100,19 +195,32 @@ private CredentialsStore customizeCredentialsProvider(HttpClientBuilder clientBu
 		if (cacheProvider != null) {
 			credentialsProvider = new ChainedCredentialsProvider(cacheProvider, credentialsProvider);
 
-			clientBuilder
-			.addRequestInterceptorFirst((HttpRequestInterceptor) (request, entityDetails, context) -> context
-					.setAttribute(CacheCredentialsAuthenticationStrategy.CREDENTIALS_CACHE_ATTRIBUTE, cacheProvider));
+			clientBuilder.addRequestInterceptorFirst(createCredentialsCacheInterceptor(cacheProvider));
 		}
 		credentialsProvider = new SynchronizedCredentialsProvider(credentialsProvider);
 
 		return credentialsProvider;
 	}
 
+	private static HttpRequestInterceptor createCredentialsCacheInterceptor(CredentialsStore cacheProvider) {
+		return (request, entityDetails, context) -> context
+				.setAttribute(CacheCredentialsAuthenticationStrategy.CREDENTIALS_CACHE_ATTRIBUTE, cacheProvider);
+	}
+
 	protected HttpClientBuilder builder() {
 		HttpClientBuilder builder = HttpClientBuilder.create();
 
-		PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager();
+		RequestMetrics metrics = RequestMetrics.getDefault();
+		Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory> create()
+				.register(URIScheme.HTTP.id,
+						new MeteredConnectionSocketFactory(PlainConnectionSocketFactory.getSocketFactory(), metrics))
+				.register(URIScheme.HTTPS.id,
+						new MeteredConnectionSocketFactory.Layered(SSLConnectionSocketFactory.getSocketFactory(),
+								metrics))
+				.build();
+		PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager(socketFactories,
+				PoolConcurrencyPolicy.STRICT, PoolReusePolicy.LIFO, TimeValue.NEG_ONE_MILLISECOND, null,
+				new MeteredDnsResolver(metrics), null);
 		connManager.setDefaultMaxPerRoute(100);
 		connManager.setMaxTotal(200);
 		builder.setConnectionManager(connManager);
@@ -122,17 +230,146 @@ protected HttpClientBuilder builder() {
 
 		builder.setUserAgent(HttpClientTransport.USER_AGENT);
 
+		if (ServiceUtil.getBooleanProperty(HttpClientTransport.class, HttpClientTransport.CONTENT_COMPRESSION_PROPERTY,
+				true)) {
+			builder.setContentDecoderRegistry(createContentDecoders());
+		} else {
+			builder.disableContentCompression();
+		}
+
 		return builder;
 	}
 
-	private static void setClientDefaultTimeouts(HttpClientBuilder builder, PoolingHttpClientConnectionManager connManager) {
-		int connectTimeout = getTimeoutValue(HttpClientTransport.CONNECT_TIMEOUT_PROPERTY,
-				HttpClientTransport.DEFAULT_CONNECT_TIMEOUT);
+	/**
+	 * Create the builder for the client used for non-blocking requests. It uses the same timeouts and connection
+	 * limits as the classic client. With its default version policy, the client negotiates HTTP/2 during the TLS
+	 * handshake with servers that support it, so concurrent requests to the same host are multiplexed over a single
+	 * connection.
+	 * <p>
+	 * Unlike the classic client, the async client does not decode compressed responses by itself. This is handled by
+	 * {@link HttpClientService#executeAsync(org.apache.hc.client5.http.async.methods.SimpleHttpRequest)} with the same
+	 * {@link #createContentDecoders() decoders}.
+	 */
+	protected HttpAsyncClientBuilder asyncBuilder() {
+		HttpAsyncClientBuilder builder = HttpAsyncClients.custom();
+
+		PoolingAsyncClientConnectionManager connManager = PoolingAsyncClientConnectionManagerBuilder.create()
+				.setMaxConnPerRoute(100)
+				.setMaxConnTotal(200)
+				.setDnsResolver(new MeteredDnsResolver(RequestMetrics.getDefault()))
+				.build();
+		builder.setConnectionManager(connManager);
 		int readTimeout = getTimeoutValue(HttpClientTransport.READ_TIMEOUT_PROPERTY,
 				HttpClientTransport.DEFAULT_READ_TIMEOUT);
+		builder.setIOReactorConfig(IOReactorConfig.custom()
+				.setSoTimeout(Timeout.ofMilliseconds(readTimeout))
+				.setTcpNoDelay(true)
+				.build());
+		builder.setDefaultRequestConfig(createDefaultRequestConfig());
 
-		int connectionRequestTimeout = getTimeoutValue(HttpClientTransport.CONNECTION_REQUEST_TIMEOUT_PROPERTY,
-				HttpClientTransport.DEFAULT_CONNECTION_REQUEST_TIMEOUT);
+		builder.addResponseInterceptorFirst((response, entityDetails, context) -> context
+				.setAttribute(RESPONSE_RECEIVED_ATTRIBUTE, System.nanoTime()));
+		builder.addResponseInterceptorLast(new CacheCredentialsAuthenticationStrategy());
+
+		builder.setUserAgent(HttpClientTransport.USER_AGENT);
+
+		return builder;
+	}
+
+	/**
+	 * The supported content encodings, in order of preference. They are advertised in the
+	 * <code>Accept-Encoding</code> header and used to transparently decode responses. Brotli is only offered if a
+	 * decoder is available at runtime.
+	 */
+	protected LinkedHashMap<String, InputStreamFactory> createContentDecoders() {
+		LinkedHashMap<String, InputStreamFactory> decoders = new LinkedHashMap<>();
+		InputStreamFactory brotli = createBrotliDecoder();
+		if (brotli != null) {
+			decoders.put("br", brotli); //$NON-NLS-1$
+		}
+		decoders.put("gzip", GZIPInputStreamFactory.getInstance()); //$NON-NLS-1$
+		decoders.put("x-gzip", GZIPInputStreamFactory.getInstance()); //$NON-NLS-1$
+		decoders.put("deflate", DeflateInputStreamFactory.getInstance()); //$NON-NLS-1$
+		return decoders;
+	}
+
+	private static InputStreamFactory createBrotliDecoder() {
+		Constructor<?> constructor;
+		try {
+			Class<?> brotliInputStream = HttpClientFactory.class.getClassLoader().loadClass(BROTLI_INPUT_STREAM);
+			constructor = brotliInputStream.getConstructor(InputStream.class);
+		} catch (ClassNotFoundException | NoSuchMethodException | LinkageError ex) {
+			//optional dependency not available
+			return null;
+		}
+		return in -> {
+			try {
+				return (InputStream) constructor.newInstance(in);
+			} catch (InvocationTargetException ex) {
+				if (ex.getCause() instanceof IOException) {
+					throw (IOException) ex.getCause();
+				}
+				throw new IOException(ex.getCause());
+			} catch (ReflectiveOperationException ex) {
+				throw new IOException(ex);
+			}
+		};
+	}
+
+	/**
+	 * Count response content before and after it is decoded by the client's content compression support. The encoded
+	 * side is counted directly below the decompression step in the execution chain, the decoded side directly above.
+	 */
+	private static void addContentEncodingStatistics(HttpClientBuilder builder, ContentEncodingStatistics statistics) {
+		ExecChainHandler encodedCounter = (request, scope, chain) -> {
+			ClassicHttpResponse response = chain.proceed(request, scope);
+			HttpEntity entity = response.getEntity();
+			String contentEncoding = entity == null ? null : entity.getContentEncoding();
+			if (contentEncoding != null && !"identity".equalsIgnoreCase(contentEncoding)) { //$NON-NLS-1$
+				scope.clientContext.setAttribute(CONTENT_ENCODING_ATTRIBUTE, contentEncoding);
+				response.setEntity(new CountingEntity(entity, statistics::countEncoded));
+			}
+			return response;
+		};
+		ExecChainHandler decodedCounter = (request, scope, chain) -> {
+			scope.clientContext.removeAttribute(CONTENT_ENCODING_ATTRIBUTE);
+			ClassicHttpResponse response = chain.proceed(request, scope);
+			HttpEntity entity = response.getEntity();
+			if (entity != null) {
+				boolean encoded = scope.clientContext.getAttribute(CONTENT_ENCODING_ATTRIBUTE) != null;
+				response.setEntity(new CountingEntity(entity, in -> statistics.countDecoded(in, encoded)));
+			}
+			return response;
+		};
+		builder.addExecInterceptorAfter(ChainElement.COMPRESS.name(), "mpc-encoded-content-statistics", //$NON-NLS-1$
+				encodedCounter);
+		builder.addExecInterceptorBefore(ChainElement.COMPRESS.name(), "mpc-decoded-content-statistics", //$NON-NLS-1$
+				decodedCounter);
+	}
+
+	/**
+	 * Record the time until the response headers arrive, and meter the response body while it is received. This
+	 * runs once the connection has been established, directly before the request is sent, and below the decompression
+	 * step, so the transferred bytes are counted.
+	 */
+	private static void addRequestMetrics(HttpClientBuilder builder, RequestMetrics metrics) {
+		ExecChainHandler requestMetrics = (request, scope, chain) -> {
+			metrics.recordRequest();
+			long start = System.nanoTime();
+			ClassicHttpResponse response = chain.proceed(request, scope);
+			metrics.recordPhaseSince(Phase.TIME_TO_FIRST_BYTE, start);
+			HttpEntity entity = response.getEntity();
+			if (entity != null) {
+				response.setEntity(new CountingEntity(entity, metrics::meterDownload));
+			}
+			return response;
+		};
+		builder.addExecInterceptorAfter(ChainElement.CONNECT.name(), "mpc-request-metrics", requestMetrics); //$NON-NLS-1$
+	}
+
+	private static void setClientDefaultTimeouts(HttpClientBuilder builder, PoolingHttpClientConnectionManager connManager) {
+		int readTimeout = getTimeoutValue(HttpClientTransport.READ_TIMEOUT_PROPERTY,
+				HttpClientTransport.DEFAULT_READ_TIMEOUT);
 
 		SocketConfig defaultSocketConfig = SocketConfig.copy(SocketConfig.DEFAULT)
 				.setSoTimeout(Timeout.ofMilliseconds(readTimeout))
@@ -142,14 +379,25 @@ private static void setClientDefaultTimeouts(HttpClientBuilder builder, PoolingH
 				//See http://docs.oracle.com/javase/6/docs/api/java/net/SocketOptions.html?is-external=true#SO_LINGER
 				//and https://issues.apache.org/jira/browse/HTTPCLIENT-1497
 				.build();
-		RequestConfig defaultRequestConfig = RequestConfig.copy(RequestConfig.DEFAULT)
+		connManager.setDefaultSocketConfig(defaultSocketConfig);
+		builder.setConnectionManager(connManager);
+		builder.setDefaultRequestConfig(createDefaultRequestConfig());
+	}
+
+	private static RequestConfig createDefaultRequestConfig() {
+		int connectTimeout = getTimeoutValue(HttpClientTransport.CONNECT_TIMEOUT_PROPERTY,
+				HttpClientTransport.DEFAULT_CONNECT_TIMEOUT);
+		int readTimeout = getTimeoutValue(HttpClientTransport.READ_TIMEOUT_PROPERTY,
+				HttpClientTransport.DEFAULT_READ_TIMEOUT);
+
+		int connectionRequestTimeout = getTimeoutValue(HttpClientTransport.CONNECTION_REQUEST_TIMEOUT_PROPERTY,
+				HttpClientTransport.DEFAULT_CONNECTION_REQUEST_TIMEOUT);
+
+		return RequestConfig.copy(RequestConfig.DEFAULT)
 				.setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
 				.setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
 				.setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout))
 				.build();
-		connManager.setDefaultSocketConfig(defaultSocketConfig);
-		builder.setConnectionManager(connManager);
-		builder.setDefaultRequestConfig(defaultRequestConfig);
 	}
 
 	private static int getTimeoutValue(String property, int defaultValue) {
@@ -183,6 +431,17 @@ private static HttpClientBuilder customizeBuilder(HttpClientCustomizer customize
 		return customBuilder == null ? builder : customBuilder;
 	}
 
+	protected HttpAsyncClientBuilder customizeAsyncBuilder(HttpAsyncClientBuilder builder) {
+		HttpAsyncClientBuilder customBuilder = builder;
+		for (HttpClientCustomizer customizer : this.customizers) {
+			if (customizer != null) {
+				HttpAsyncClientBuilder result = customizer.customizeAsyncBuilder(customBuilder);
+				customBuilder = result == null ? customBuilder : result;
+			}
+		}
+		return customBuilder;
+	}
+
 	private CredentialsStore customizeCredentialsProvider(CredentialsStore credentialsProvider) {
 		CredentialsStore customizedCredentialsProvider = credentialsProvider;
 		for (HttpClientCustomizer customizer : this.customizers) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,19 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.transport.httpclient;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 import org.apache.hc.client5.http.ClientProtocolException;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.Credentials;
 import org.apache.hc.client5.http.auth.CredentialsStore;
@@ -27,19 +35,27 @@
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
 import org.apache.hc.client5.http.config.Configurable;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.entity.InputStreamFactory;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ClassicHttpRequest;
 import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
 import org.apache.hc.core5.http.protocol.HttpContext;
 import org.eclipse.core.net.proxy.IProxyData;
 import org.eclipse.core.net.proxy.IProxyService;
+import org.eclipse.epp.internal.mpc.core.util.ContentEncodingStatistics;
 import org.eclipse.epp.internal.mpc.core.util.ProxyHelper;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics.Phase;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.component.annotations.ReferencePolicyOption;
@@ -55,14 +71,25 @@ public class HttpClientService {
 
 	@Reference(policy = ReferencePolicy.DYNAMIC, policyOption = ReferencePolicyOption.GREEDY, updated = "bindClientFactory", unbind = "unbindClientFactory")
 	void bindClientFactory(HttpClientFactory factory) {
-		context = factory.build(context);
+		HttpServiceContext oldContext = context;
+		context = factory.build(oldContext);
 		client = context.getClient();
+		if (oldContext != null) {
+			oldContext.close();
+		}
 	}
 
 	void unbindClientFactory(HttpClientFactory factory) {
 		//do nothing
 	}
 
+	@Deactivate
+	void deactivate() {
+		if (context != null) {
+			context.close();
+		}
+	}
+
 	@Reference(field = "proxyService", unbind = "unbindProxyService", policy = ReferencePolicy.DYNAMIC)
 	void bindProxyService(IProxyService proxyService) {
 		this.proxyService = proxyService;
@@ -87,6 +114,125 @@ public ClassicHttpResponse execute(ClassicHttpRequest request, HttpContext conte
 		return client.execute(configuredRequest, internalContext);
 	}
 
+	/**
+	 * Execute the request without blocking, using the service's client for non-blocking requests. The response body
+	 * is fully received and decoded before the returned future completes. Cancelling the future aborts the request.
+	 * <p>
+	 * The future is completed on one of the client's I/O dispatch threads, so dependent actions must not block.
+	 */
+	public CompletableFuture<SimpleHttpResponse> executeAsync(SimpleHttpRequest request) {
+		CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+		HttpClientContext internalContext = HttpClientContext.create();
+		Future<SimpleHttpResponse> execution;
+		try {
+			configureAsyncRequestExecution(request, internalContext);
+			long start = System.nanoTime();
+			RequestMetrics.getDefault().recordRequest();
+			execution = context.getAsyncClient().execute(request, internalContext, new FutureCallback<>() {
+
+				@Override
+				public void completed(SimpleHttpResponse response) {
+					try {
+						recordResponseMetrics(response, internalContext, start);
+						result.complete(decodeContent(response));
+					} catch (IOException | RuntimeException ex) {
+						result.completeExceptionally(ex);
+					}
+				}
+
+				@Override
+				public void failed(Exception ex) {
+					result.completeExceptionally(ex);
+				}
+
+				@Override
+				public void cancelled() {
+					result.cancel(false);
+				}
+			});
+		} catch (IOException | RuntimeException ex) {
+			result.completeExceptionally(ex);
+			return result;
+		}
+		result.whenComplete((response, ex) -> {
+			if (result.isCancelled()) {
+				execution.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * The body of a non-blocking response has been received completely once the request completes, so it is metered
+	 * here, using the time at which the response headers arrived.
+	 */
+	private static void recordResponseMetrics(SimpleHttpResponse response, HttpContext context, long start) {
+		RequestMetrics metrics = RequestMetrics.getDefault();
+		Object received = context.getAttribute(HttpClientFactory.RESPONSE_RECEIVED_ATTRIBUTE);
+		if (received instanceof Long) {
+			long receivedTime = (Long) received;
+			metrics.recordPhase(Phase.TIME_TO_FIRST_BYTE, receivedTime - start);
+			metrics.recordPhaseSince(Phase.DOWNLOAD, receivedTime);
+		}
+		byte[] body = response.getBodyBytes();
+		if (body != null) {
+			metrics.recordBytesReceived(body.length);
+		}
+	}
+
+	private void configureAsyncRequestExecution(SimpleHttpRequest request, HttpClientContext context)
+			throws IOException {
+		RequestConfig requestConfig = request.getConfig();
+		if (requestConfig == null) {
+			requestConfig = this.context.getDefaultRequestConfig();
+		}
+		RequestConfig.Builder builder = requestConfig == null ? RequestConfig.custom()
+				: RequestConfig.copy(requestConfig);
+		try {
+			configureProxy(request.getUri(), context, builder);
+		} catch (URISyntaxException e) {
+			throw new IOException(e);
+		}
+		request.setConfig(builder.build());
+
+		Map<String, InputStreamFactory> decoders = this.context.getContentDecoders();
+		if (decoders != null && !decoders.isEmpty() && !request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+			request.setHeader(HttpHeaders.ACCEPT_ENCODING, String.join(", ", decoders.keySet())); //$NON-NLS-1$
+		}
+	}
+
+	private SimpleHttpResponse decodeContent(SimpleHttpResponse response) throws IOException {
+		byte[] body = response.getBodyBytes();
+		if (body == null) {
+			return response;
+		}
+		Header contentEncodingHeader = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+		String contentEncoding = contentEncodingHeader == null ? null
+				: contentEncodingHeader.getValue().trim().toLowerCase(Locale.ROOT);
+		boolean encoded = contentEncoding != null && !contentEncoding.isEmpty()
+				&& !"identity".equals(contentEncoding); //$NON-NLS-1$
+		ContentEncodingStatistics statistics = context.getContentEncodingStatistics();
+		InputStream content = new ByteArrayInputStream(body);
+		if (encoded) {
+			Map<String, InputStreamFactory> decoders = context.getContentDecoders();
+			InputStreamFactory decoder = decoders == null ? null : decoders.get(contentEncoding);
+			if (decoder == null) {
+				throw new ClientProtocolException("Unsupported Content-Encoding: " + contentEncoding); //$NON-NLS-1$
+			}
+			content = decoder.create(statistics.countEncoded(content));
+		}
+		try (InputStream decoded = statistics.countDecoded(content, encoded)) {
+			if (!encoded) {
+				decoded.skip(body.length);
+				return response;
+			}
+			byte[] decodedBody = decoded.readAllBytes();
+			response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+			response.setBody(decodedBody, response.getContentType());
+		}
+		return response;
+	}
+
 	private ClassicHttpRequest configureRequestExecution(ClassicHttpRequest request, HttpClientContext context)
 			throws IOException {
 		final RequestConfig.Builder builder;
@@ -148,6 +294,13 @@ public CloseableHttpClient getClient() {
 		return client;
 	}
 
+	/**
+	 * @return transfer sizes of responses received by this service's client before and after content decoding
+	 */
+	public ContentEncodingStatistics getContentEncodingStatistics() {
+		return context.getContentEncodingStatistics();
+	}
+
 	public IProxyService getProxyService() {
 		return proxyService;
 	}
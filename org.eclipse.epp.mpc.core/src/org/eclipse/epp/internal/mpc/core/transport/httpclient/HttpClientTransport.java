@@ -18,22 +18,40 @@
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.hc.client5.http.ClientProtocolException;
 import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
 import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.Method;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.util.CancellableMonitor;
+import org.eclipse.epp.internal.mpc.core.util.ContentEncodingStatistics;
+import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
 import org.eclipse.epp.internal.mpc.core.util.UserAgentUtil;
 import org.eclipse.epp.mpc.core.service.ITransport;
 import org.eclipse.epp.mpc.core.service.ServiceUnavailableException;
@@ -72,12 +90,35 @@ public class HttpClientTransport implements ITransport {
 	public static final String CONNECTION_REQUEST_TIMEOUT_PROPERTY = HttpClientTransport.class.getPackage().getName()
 			+ ".connectionRequestTimeout"; //$NON-NLS-1$
 
+	/**
+	 * Maximum total size in bytes of response bodies kept for conditional revalidation. Set to 0 to disable
+	 * conditional requests.
+	 */
+	public static final long DEFAULT_RESPONSE_CACHE_SIZE = 8 * 1024 * 1024;
+
+	public static final String RESPONSE_CACHE_SIZE_PROPERTY = HttpClientTransport.class.getPackage().getName()
+			+ ".responseCacheSize"; //$NON-NLS-1$
+
+	/**
+	 * Set to false to disable compressed transfers (<code>Accept-Encoding</code> negotiation).
+	 */
+	public static final String CONTENT_COMPRESSION_PROPERTY = HttpClientTransport.class.getPackage().getName()
+			+ ".contentCompression"; //$NON-NLS-1$
+
 	static {
 		USER_AGENT = UserAgentUtil.computeUserAgent();
 	}
 
 	private HttpClientService clientService;
 
+	private final HttpResponseCache responseCache;
+
+	public HttpClientTransport() {
+		long responseCacheSize = ServiceUtil.getLongProperty(HttpClientTransport.class, RESPONSE_CACHE_SIZE_PROPERTY,
+				DEFAULT_RESPONSE_CACHE_SIZE);
+		this.responseCache = responseCacheSize > 0 ? new HttpResponseCache(responseCacheSize) : null;
+	}
+
 	public HttpClient getClient() {
 		return clientService.getClient();
 	}
@@ -91,44 +132,310 @@ protected HttpRequest configureRequest(HttpUriRequest request) {
 		return clientService.configureRequest(request);
 	}
 
+	/**
+	 * @return the store of validators and bodies used for conditional requests, or null if conditional requests are
+	 *         disabled
+	 */
+	public HttpResponseCache getResponseCache() {
+		return responseCache;
+	}
+
+	/**
+	 * @return compressed and uncompressed transfer sizes for diagnostics
+	 */
+	public ContentEncodingStatistics getContentEncodingStatistics() {
+		return clientService.getContentEncodingStatistics();
+	}
+
 	@Override
 	public InputStream stream(URI location, IProgressMonitor monitor)
 			throws FileNotFoundException, ServiceUnavailableException, CoreException {
+		return stream(location, null, monitor);
+	}
+
+	@Override
+	public InputStream stream(URI location, String acceptedContentTypes, IProgressMonitor monitor)
+			throws FileNotFoundException, ServiceUnavailableException, CoreException {
+		if (monitor != null && monitor.isCanceled()) {
+			throw new CoreException(Status.CANCEL_STATUS);
+		}
+		CancellableMonitor cancellation = CancellableMonitor.watch(monitor);
 		try {
-			return createStreamingRequest().execute(clientService, location);
+			return createStreamingRequest(acceptedContentTypes, cancellation).execute(clientService, location);
 		} catch (HttpResponseException e) {
-			int statusCode = e.getStatusCode();
-			switch (statusCode) {
-			case 404:
-				FileNotFoundException fnfe = new FileNotFoundException(e.getMessage());
-				fnfe.initCause(e);
-				throw fnfe;
-			case 503:
-				throw new ServiceUnavailableException(
-						new Status(IStatus.ERROR, MarketplaceClientCore.BUNDLE_ID, e.getMessage(), e));
-			default:
-				throw new CoreException(MarketplaceClientCore.computeStatus(e, null));
+			if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+				throw notFound(e);
 			}
+			throw toCoreException(e);
 		} catch (IOException e) {
+			if (monitor != null && monitor.isCanceled()) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
 			throw new CoreException(MarketplaceClientCore.computeStatus(e, null));
+		} finally {
+			if (cancellation != null) {
+				cancellation.stopWatching();
+			}
+		}
+	}
+
+	/**
+	 * Request the location with the non-blocking client of the {@link HttpClientService}. Unlike
+	 * {@link #stream(URI, String, IProgressMonitor)}, the response is fully received before the returned future
+	 * completes, which suits the typically small resources requested concurrently, like the images of a listing. The
+	 * progress monitor is only checked for cancellation before the request is sent.
+	 */
+	@Override
+	public CompletableFuture<InputStream> streamAsync(URI location, String acceptedContentTypes,
+			IProgressMonitor monitor) {
+		CompletableFuture<InputStream> result = new CompletableFuture<>();
+		if (monitor != null && monitor.isCanceled()) {
+			result.cancel(false);
+			return result;
+		}
+		SimpleHttpRequest request = new SimpleHttpRequest(Method.GET, location);
+		request.setHeader(HttpHeaders.USER_AGENT, USER_AGENT);
+		if (acceptedContentTypes != null) {
+			request.setHeader(HttpHeaders.ACCEPT, acceptedContentTypes);
+		}
+		HttpResponseCache.Entry cachedEntry = setConditionalHeaders(request, location, acceptedContentTypes);
+		CompletableFuture<SimpleHttpResponse> execution = clientService.executeAsync(request);
+		execution.whenComplete((response, ex) -> {
+			if (execution.isCancelled()) {
+				result.cancel(false);
+				return;
+			}
+			if (ex != null) {
+				result.completeExceptionally(toStreamException(ex));
+				return;
+			}
+			try {
+				result.complete(handleAsyncResponse(location, acceptedContentTypes, cachedEntry, response));
+			} catch (HttpResponseException | RuntimeException e) {
+				result.completeExceptionally(toStreamException(e));
+			}
+		});
+		result.whenComplete((stream, ex) -> {
+			if (result.isCancelled()) {
+				execution.cancel(false);
+			}
+		});
+		return result;
+	}
+
+	private InputStream handleAsyncResponse(URI location, String acceptedContentTypes,
+			HttpResponseCache.Entry cachedEntry, SimpleHttpResponse response) throws HttpResponseException {
+		if (response.getCode() == HttpStatus.SC_NOT_MODIFIED && cachedEntry != null) {
+			HttpResponseCache.Entry entry = updateCachedEntry(location, acceptedContentTypes, response, cachedEntry);
+			return new CachedResponseInputStream(entry.getContent(), entry.getValidator(), true);
 		}
+		checkServiceUnavailable(response);
+		if (response.getCode() >= 300) {
+			throw new HttpResponseException(response.getCode(), response.getReasonPhrase());
+		}
+		byte[] content = response.getBodyBytes();
+		if (content == null) {
+			content = new byte[0];
+		}
+		String etag = getHeaderValue(response, HttpHeaders.ETAG);
+		String lastModified = getHeaderValue(response, HttpHeaders.LAST_MODIFIED);
+		if (isCacheable(response, content.length, etag, lastModified)) {
+			responseCache.put(location, acceptedContentTypes, new HttpResponseCache.Entry(etag, lastModified, content));
+		} else if (responseCache != null) {
+			responseCache.remove(location, acceptedContentTypes);
+		}
+		return new CachedResponseInputStream(content, etag != null ? etag : lastModified, false);
+	}
+
+	private static Exception toStreamException(Throwable ex) {
+		Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+		if (cause instanceof HttpResponseException) {
+			HttpResponseException responseException = (HttpResponseException) cause;
+			return responseException.getStatusCode() == HttpStatus.SC_NOT_FOUND ? notFound(responseException)
+					: toCoreException(responseException);
+		}
+		if (cause instanceof FileNotFoundException || cause instanceof CoreException) {
+			return (Exception) cause;
+		}
+		return new CoreException(MarketplaceClientCore.computeStatus(cause, null));
 	}
 
-	protected RequestTemplate<InputStream> createStreamingRequest() {
+	private static FileNotFoundException notFound(HttpResponseException e) {
+		FileNotFoundException fnfe = new FileNotFoundException(e.getMessage());
+		fnfe.initCause(e);
+		return fnfe;
+	}
+
+	private static CoreException toCoreException(HttpResponseException e) {
+		if (e.getStatusCode() == HttpStatus.SC_SERVICE_UNAVAILABLE) {
+			long retryAfter = e instanceof ServiceUnavailableResponseException
+					? ((ServiceUnavailableResponseException) e).retryAfter : -1;
+			return new ServiceUnavailableException(
+					new Status(IStatus.ERROR, MarketplaceClientCore.BUNDLE_ID, e.getMessage(), e), retryAfter);
+		}
+		return new CoreException(MarketplaceClientCore.computeStatus(e, null));
+	}
+
+	private static void checkServiceUnavailable(HttpResponse response) throws HttpResponseException {
+		if (response.getCode() == HttpStatus.SC_SERVICE_UNAVAILABLE) {
+			throw new ServiceUnavailableResponseException(response.getReasonPhrase(),
+					getRetryAfter(getHeaderValue(response, HttpHeaders.RETRY_AFTER)));
+		}
+	}
+
+	/**
+	 * @param retryAfter
+	 *            the value of a <code>Retry-After</code> header, either in seconds or as an HTTP date
+	 * @return the delay in milliseconds, or -1 if there is none
+	 */
+	private static long getRetryAfter(String retryAfter) {
+		if (retryAfter == null || retryAfter.isBlank()) {
+			return -1;
+		}
+		String value = retryAfter.trim();
+		try {
+			if (value.chars().allMatch(Character::isDigit)) {
+				return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+			}
+			Instant date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+			return Math.max(0, Duration.between(Instant.now(), date).toMillis());
+		} catch (NumberFormatException | DateTimeParseException ex) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Make the request conditional if there is a cached response for the location.
+	 *
+	 * @return the cached response, or null if there is none
+	 */
+	private HttpResponseCache.Entry setConditionalHeaders(HttpRequest request, URI location,
+			String acceptedContentTypes) {
+		HttpResponseCache.Entry cachedEntry = responseCache == null ? null
+				: responseCache.get(location, acceptedContentTypes);
+		if (cachedEntry != null) {
+			if (cachedEntry.getEtag() != null) {
+				request.setHeader(HttpHeaders.IF_NONE_MATCH, cachedEntry.getEtag());
+			}
+			if (cachedEntry.getLastModified() != null) {
+				request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cachedEntry.getLastModified());
+			}
+		}
+		return cachedEntry;
+	}
+
+	private HttpResponseCache.Entry updateCachedEntry(URI location, String acceptedContentTypes,
+			HttpResponse response, HttpResponseCache.Entry entry) {
+		String etag = getHeaderValue(response, HttpHeaders.ETAG);
+		String lastModified = getHeaderValue(response, HttpHeaders.LAST_MODIFIED);
+		if (etag == null && lastModified == null) {
+			return entry;
+		}
+		HttpResponseCache.Entry updatedEntry = new HttpResponseCache.Entry(etag == null ? entry.getEtag() : etag,
+				lastModified == null ? entry.getLastModified() : lastModified, entry.getContent());
+		responseCache.put(location, acceptedContentTypes, updatedEntry);
+		return updatedEntry;
+	}
+
+	/**
+	 * @param contentLength
+	 *            the length of the response body, or a negative value if it is unknown
+	 */
+	private boolean isCacheable(HttpResponse response, long contentLength, String etag, String lastModified) {
+		if (responseCache == null || response.getCode() != HttpStatus.SC_OK
+				|| (etag == null && lastModified == null)) {
+			return false;
+		}
+		String cacheControl = getHeaderValue(response, HttpHeaders.CACHE_CONTROL);
+		if (cacheControl != null && cacheControl.toLowerCase().contains("no-store")) { //$NON-NLS-1$
+			return false;
+		}
+		if (!isVaryingOnKeyOnly(response)) {
+			return false;
+		}
+		return contentLength < 0 || contentLength <= responseCache.getMaxEntrySize();
+	}
+
+	/**
+	 * Entries are only keyed by URI and <code>Accept</code> header, so responses that vary on other request headers
+	 * can't be told apart. <code>Accept-Encoding</code> doesn't matter, because decoded bodies are stored.
+	 */
+	private static boolean isVaryingOnKeyOnly(HttpResponse response) {
+		for (Header vary : response.getHeaders(HttpHeaders.VARY)) {
+			for (String name : vary.getValue().split(",")) { //$NON-NLS-1$
+				String headerName = name.trim();
+				if (!headerName.isEmpty() && !HttpHeaders.ACCEPT.equalsIgnoreCase(headerName)
+						&& !HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(headerName)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param acceptedContentTypes
+	 *            the value of the <code>Accept</code> header, or null to leave it out
+	 * @param cancellation
+	 *            aborts the request when cancelled, or null
+	 */
+	protected RequestTemplate<InputStream> createStreamingRequest(String acceptedContentTypes,
+			CancellableMonitor cancellation) {
 		return new RequestTemplate<>() {
 
+			private URI requestUri;
+
+			private HttpGet request;
+
+			private HttpResponseCache.Entry cachedEntry;
+
 			@Override
 			protected HttpUriRequest createRequest(URI uri) {
-				return new HttpGet(uri);
+				request = new HttpGet(uri);
+				if (acceptedContentTypes != null) {
+					request.setHeader(HttpHeaders.ACCEPT, acceptedContentTypes);
+				}
+				requestUri = uri;
+				cachedEntry = setConditionalHeaders(request, uri, acceptedContentTypes);
+				if (cancellation != null) {
+					cancellation.onCancel(request::cancel);
+				}
+				return request;
 			}
 
 			@Override
 			protected InputStream handleResponse(ClassicHttpResponse response)
 					throws ClientProtocolException, IOException {
+				if (response.getCode() == HttpStatus.SC_NOT_MODIFIED && cachedEntry != null) {
+					EntityUtils.consumeQuietly(response.getEntity());
+					HttpResponseCache.Entry entry = updateCachedEntry(requestUri, acceptedContentTypes, response,
+							cachedEntry);
+					return new CachedResponseInputStream(entry.getContent(), entry.getValidator(), true);
+				}
+				checkServiceUnavailable(response);
 				handleResponseStatus(response.getCode(), response.getReasonPhrase());
 				HttpEntity entity = response.getEntity();
-				byte[] contentBytes = EntityUtils.toByteArray(entity);
-				return new ByteArrayInputStream(contentBytes);
+				if (entity == null) {
+					return handleEmptyResponse();
+				}
+				String etag = getHeaderValue(response, HttpHeaders.ETAG);
+				String lastModified = getHeaderValue(response, HttpHeaders.LAST_MODIFIED);
+				Consumer<byte[]> recorder = null;
+				int maxRecordedSize = 0;
+				if (isCacheable(response, entity.getContentLength(), etag, lastModified)) {
+					recorder = content -> responseCache.put(requestUri, acceptedContentTypes,
+							new HttpResponseCache.Entry(etag, lastModified, content));
+					maxRecordedSize = (int) Math.min(responseCache.getMaxEntrySize(), Integer.MAX_VALUE - 8);
+				} else if (responseCache != null) {
+					responseCache.remove(requestUri, acceptedContentTypes);
+				}
+				return new StreamingResponseInputStream(response, request, entity.getContent(),
+						etag != null ? etag : lastModified, recorder, maxRecordedSize);
+			}
+
+			@Override
+			protected boolean isResponseRetained(InputStream result) {
+				return result instanceof StreamingResponseInputStream;
 			}
 
 			@Override
@@ -142,4 +449,24 @@ protected InputStream handleEmptyResponse() {
 			}
 		};
 	}
+
+	private static String getHeaderValue(HttpResponse response, String name) {
+		Header header = response.getFirstHeader(name);
+		return header == null ? null : header.getValue();
+	}
+
+	/**
+	 * A <code>503 Service Unavailable</code> response, remembering when the server asked to retry
+	 */
+	private static final class ServiceUnavailableResponseException extends HttpResponseException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long retryAfter;
+
+		ServiceUnavailableResponseException(String reasonPhrase, long retryAfter) {
+			super(HttpStatus.SC_SERVICE_UNAVAILABLE, reasonPhrase);
+			this.retryAfter = retryAfter;
+		}
+	}
 }
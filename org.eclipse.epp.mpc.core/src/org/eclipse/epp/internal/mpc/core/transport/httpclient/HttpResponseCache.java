@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.transport.httpclient;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size-bounded store of response bodies and their validators (<code>ETag</code> and <code>Last-Modified</code>
+ * headers), keyed by request URI and accepted content types, since the same URI can be served in different
+ * representations. It is used to turn repeated requests into conditional requests and to serve the
+ * stored body when the server answers with <code>304 Not Modified</code>.
+ */
+public class HttpResponseCache {
+
+	public static final class Entry {
+		private final String etag;
+
+		private final String lastModified;
+
+		private final byte[] content;
+
+		public Entry(String etag, String lastModified, byte[] content) {
+			if (content == null || (etag == null && lastModified == null)) {
+				throw new IllegalArgumentException();
+			}
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.content = content;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		public String getLastModified() {
+			return lastModified;
+		}
+
+		public byte[] getContent() {
+			return content;
+		}
+
+		/**
+		 * @return a string identifying this version of the response, i.e. the entity tag if present, otherwise the
+		 *         last modification date.
+		 */
+		public String getValidator() {
+			return etag != null ? etag : lastModified;
+		}
+	}
+
+	private static final class Key {
+		private final URI uri;
+
+		private final String acceptedContentTypes;
+
+		Key(URI uri, String acceptedContentTypes) {
+			this.uri = uri;
+			this.acceptedContentTypes = acceptedContentTypes;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * uri.hashCode() + Objects.hashCode(acceptedContentTypes);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return uri.equals(other.uri) && Objects.equals(acceptedContentTypes, other.acceptedContentTypes);
+		}
+	}
+
+	private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final long maxSize;
+
+	private long size;
+
+	public HttpResponseCache(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the maximum size of a single entry - larger entries are not stored
+	 */
+	public long getMaxEntrySize() {
+		return maxSize / 4;
+	}
+
+	public synchronized long getSize() {
+		return size;
+	}
+
+	/**
+	 * @param acceptedContentTypes
+	 *            the <code>Accept</code> header of the request, or null if there is none
+	 */
+	public synchronized Entry get(URI uri, String acceptedContentTypes) {
+		return entries.get(new Key(uri, acceptedContentTypes));
+	}
+
+	/**
+	 * Store an entry, evicting the least recently used entries as necessary. Entries that would take up more than a
+	 * quarter of the whole cache are not stored.
+	 */
+	public synchronized void put(URI uri, String acceptedContentTypes, Entry entry) {
+		Key key = new Key(uri, acceptedContentTypes);
+		remove(key);
+		long entrySize = entry.getContent().length;
+		if (entrySize > getMaxEntrySize()) {
+			return;
+		}
+		entries.put(key, entry);
+		size += entrySize;
+		for (Iterator<Entry> i = entries.values().iterator(); size > maxSize && i.hasNext();) {
+			Entry eldest = i.next();
+			i.remove();
+			size -= eldest.getContent().length;
+		}
+	}
+
+	public synchronized void remove(URI uri, String acceptedContentTypes) {
+		remove(new Key(uri, acceptedContentTypes));
+	}
+
+	private void remove(Key key) {
+		Entry removed = entries.remove(key);
+		if (removed != null) {
+			size -= removed.getContent().length;
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		size = 0;
+	}
+}
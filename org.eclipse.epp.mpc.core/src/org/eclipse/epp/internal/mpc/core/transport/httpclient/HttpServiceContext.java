@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2018, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,9 +12,17 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.transport.httpclient;
 
+import java.util.Map;
+import java.util.function.Supplier;
+
 import org.apache.hc.client5.http.auth.CredentialsStore;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.cookie.CookieStore;
+import org.apache.hc.client5.http.entity.InputStreamFactory;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.io.CloseMode;
+import org.eclipse.epp.internal.mpc.core.util.ContentEncodingStatistics;
 
 public class HttpServiceContext {
 
@@ -28,19 +36,70 @@ public class HttpServiceContext {
 
 	private final CredentialsStore initialCredentialsProvider;
 
+	private final ContentEncodingStatistics contentEncodingStatistics;
+
+	private final RequestConfig defaultRequestConfig;
+
+	private final Map<String, InputStreamFactory> contentDecoders;
+
+	private final Supplier<CloseableHttpAsyncClient> asyncClientFactory;
+
+	private CloseableHttpAsyncClient asyncClient;
+
+	private boolean closed;
+
 	HttpServiceContext(CloseableHttpClient client, CookieStore cookieStore, CredentialsStore credentialsProvider,
-			CredentialsStore initialCredentialsProvider, CredentialsStore credentialsCacheProvider) {
+			CredentialsStore initialCredentialsProvider, CredentialsStore credentialsCacheProvider,
+			ContentEncodingStatistics contentEncodingStatistics, RequestConfig defaultRequestConfig,
+			Map<String, InputStreamFactory> contentDecoders, Supplier<CloseableHttpAsyncClient> asyncClientFactory) {
 		this.client = client;
 		this.cookieStore = cookieStore;
 		this.credentialsProvider = credentialsProvider;
 		this.initialCredentialsProvider = initialCredentialsProvider;
 		this.credentialsCacheProvider = credentialsCacheProvider;
+		this.contentEncodingStatistics = contentEncodingStatistics;
+		this.defaultRequestConfig = defaultRequestConfig;
+		this.contentDecoders = contentDecoders;
+		this.asyncClientFactory = asyncClientFactory;
 	}
 
 	public CloseableHttpClient getClient() {
 		return client;
 	}
 
+	/**
+	 * The client for non-blocking requests is only created and started on first use, since it runs its own I/O
+	 * dispatch threads.
+	 *
+	 * @return the started client for non-blocking requests
+	 * @throws IllegalStateException
+	 *             if this context has been closed
+	 */
+	public synchronized CloseableHttpAsyncClient getAsyncClient() {
+		if (closed) {
+			throw new IllegalStateException();
+		}
+		if (asyncClient == null) {
+			asyncClient = asyncClientFactory.get();
+			asyncClient.start();
+		}
+		return asyncClient;
+	}
+
+	/**
+	 * @return the request configuration used by both clients, for requests that don't specify their own
+	 */
+	public RequestConfig getDefaultRequestConfig() {
+		return defaultRequestConfig;
+	}
+
+	/**
+	 * @return the supported content encodings and their decoders, or null if compressed transfers are disabled
+	 */
+	public Map<String, InputStreamFactory> getContentDecoders() {
+		return contentDecoders;
+	}
+
 	public CookieStore getCookieStore() {
 		return cookieStore;
 	}
@@ -49,6 +108,10 @@ public CredentialsStore getCredentialsProvider() {
 		return credentialsProvider;
 	}
 
+	public ContentEncodingStatistics getContentEncodingStatistics() {
+		return contentEncodingStatistics;
+	}
+
 	CredentialsStore getInitialCredentialsProvider() {
 		return initialCredentialsProvider;
 	}
@@ -56,4 +119,20 @@ CredentialsStore getInitialCredentialsProvider() {
 	CredentialsStore getCredentialsCacheProvider() {
 		return credentialsCacheProvider;
 	}
+
+	/**
+	 * Shut down the client for non-blocking requests, if it was started. Requests that are still running are allowed
+	 * to complete.
+	 */
+	void close() {
+		CloseableHttpAsyncClient asyncClient;
+		synchronized (this) {
+			closed = true;
+			asyncClient = this.asyncClient;
+			this.asyncClient = null;
+		}
+		if (asyncClient != null) {
+			asyncClient.close(CloseMode.GRACEFUL);
+		}
+	}
 }
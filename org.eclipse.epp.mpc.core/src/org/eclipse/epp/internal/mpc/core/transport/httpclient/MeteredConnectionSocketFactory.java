@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.transport.httpclient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.LayeredConnectionSocketFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics.Phase;
+
+/**
+ * Records the time it takes to establish new connections in the {@link RequestMetrics}.
+ */
+class MeteredConnectionSocketFactory implements ConnectionSocketFactory {
+
+	/**
+	 * Connections are established by the wrapped factory as a whole, so a TLS handshake done as part of that counts as
+	 * {@link Phase#CONNECT}. Only TLS layered onto an existing connection, e.g. tunnelled through a proxy, is recorded
+	 * separately.
+	 */
+	static class Layered extends MeteredConnectionSocketFactory implements LayeredConnectionSocketFactory {
+
+		private final LayeredConnectionSocketFactory delegate;
+
+		Layered(LayeredConnectionSocketFactory delegate, RequestMetrics metrics) {
+			super(delegate, metrics);
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+				throws IOException {
+			long start = System.nanoTime();
+			Socket layeredSocket = delegate.createLayeredSocket(socket, target, port, context);
+			metrics.recordPhaseSince(Phase.TLS_HANDSHAKE, start);
+			return layeredSocket;
+		}
+	}
+
+	private final ConnectionSocketFactory delegate;
+
+	final RequestMetrics metrics;
+
+	MeteredConnectionSocketFactory(ConnectionSocketFactory delegate, RequestMetrics metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Socket createSocket(HttpContext context) throws IOException {
+		return delegate.createSocket(context);
+	}
+
+	@Override
+	public Socket connectSocket(TimeValue connectTimeout, Socket socket, HttpHost host,
+			InetSocketAddress remoteAddress, InetSocketAddress localAddress, HttpContext context) throws IOException {
+		long start = System.nanoTime();
+		Socket connectedSocket = delegate.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress,
+				context);
+		metrics.recordPhaseSince(Phase.CONNECT, start);
+		return connectedSocket;
+	}
+}
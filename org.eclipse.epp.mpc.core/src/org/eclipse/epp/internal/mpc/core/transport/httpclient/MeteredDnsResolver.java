@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.transport.httpclient;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics.Phase;
+
+/**
+ * Records the time it takes to resolve host names for new connections in the {@link RequestMetrics}. This includes
+ * lookups answered from the JVM's own cache, which are usually fast enough not to matter.
+ */
+class MeteredDnsResolver implements DnsResolver {
+
+	private final DnsResolver delegate;
+
+	private final RequestMetrics metrics;
+
+	MeteredDnsResolver(RequestMetrics metrics) {
+		this(SystemDefaultDnsResolver.INSTANCE, metrics);
+	}
+
+	MeteredDnsResolver(DnsResolver delegate, RequestMetrics metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public InetAddress[] resolve(String host) throws UnknownHostException {
+		long start = System.nanoTime();
+		InetAddress[] addresses = delegate.resolve(host);
+		metrics.recordPhaseSince(Phase.DNS_LOOKUP, start);
+		return addresses;
+	}
+
+	@Override
+	public String resolveCanonicalHostname(String host) throws UnknownHostException {
+		return delegate.resolveCanonicalHostname(host);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -39,13 +39,29 @@ public T execute(HttpClientService client, URI uri)
 		ClassicHttpRequest request = createRequest(uri);
 		request = configureRequest(client, request);
 		ClassicHttpResponse response = client.execute(request);
+		T result = null;
 		try {
-			return handleResponse(response);
+			result = handleResponse(response);
+			return result;
 		} finally {
-			response.close();
+			if (!isResponseRetained(result)) {
+				response.close();
+			}
 		}
 	}
 
+	/**
+	 * Templates that return a result that still reads from the response (e.g. a stream on the response content) must
+	 * return true here. The result then takes over responsibility for closing the response.
+	 *
+	 * @param result
+	 *            the result of {@link #handleResponse(ClassicHttpResponse)}, or null if it failed
+	 * @return true if the response must not be closed after handling it, false otherwise
+	 */
+	protected boolean isResponseRetained(T result) {
+		return false;
+	}
+
 	protected abstract ClassicHttpRequest createRequest(URI uri);
 
 	protected ClassicHttpRequest configureRequest(HttpClientService client, ClassicHttpRequest request) {
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.transport.httpclient;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+/**
+ * Response content that is read directly from the connection, so consumers can start processing while the rest of
+ * the response is still being received. The stream owns the HTTP response: closing it releases the underlying
+ * connection, so it must always be closed. Closing it long before the end of the content aborts the request instead,
+ * so abandoned responses aren't downloaded just to keep the connection.
+ * <p>
+ * Optionally, the body can be recorded while it is read, up to a maximum size. Once the end of the stream has been
+ * reached, the recorded body is passed on, e.g. to be stored in the {@link HttpResponseCache}.
+ */
+public class StreamingResponseInputStream extends BufferedInputStream implements ValidatedContent {
+
+	/**
+	 * Maximum number of bytes read on close to reach the end of the content, e.g. when a parser stopped right after
+	 * the closing tag
+	 */
+	private static final int MAX_UNREAD_TAIL = 8192;
+
+	private static final class RecordingInputStream extends FilterInputStream {
+
+		private final int maxSize;
+
+		private Consumer<byte[]> recorder;
+
+		private ByteArrayOutputStream recorded;
+
+		private boolean eof;
+
+		RecordingInputStream(InputStream in, Consumer<byte[]> recorder, int maxSize) {
+			super(in);
+			this.recorder = recorder;
+			this.maxSize = maxSize;
+			if (recorder != null) {
+				this.recorded = new ByteArrayOutputStream(Math.min(maxSize, 8192));
+			}
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b == -1) {
+				eof = true;
+				complete();
+			} else if (recorded != null) {
+				recorded.write(b);
+				checkSize();
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read == -1) {
+				eof = true;
+				complete();
+			} else if (recorded != null) {
+				recorded.write(b, off, read);
+				checkSize();
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			//skipped bytes can't be recorded
+			abort();
+			return super.skip(n);
+		}
+
+		boolean isEof() {
+			return eof;
+		}
+
+		private void checkSize() {
+			if (recorded.size() > maxSize) {
+				abort();
+			}
+		}
+
+		private void complete() {
+			if (recorded != null) {
+				byte[] content = recorded.toByteArray();
+				Consumer<byte[]> callback = recorder;
+				abort();
+				callback.accept(content);
+			}
+		}
+
+		private void abort() {
+			recorded = null;
+			recorder = null;
+		}
+	}
+
+	private final Closeable response;
+
+	private final Cancellable request;
+
+	private final String validator;
+
+	private final RecordingInputStream recordingIn;
+
+	private boolean closed;
+
+	/**
+	 * @param response
+	 *            the response the content belongs to, closed together with this stream
+	 * @param request
+	 *            the request, cancelled if this stream is closed before the end of the content, or null
+	 * @param content
+	 *            the response content
+	 * @param validator
+	 *            the response validator, or null
+	 * @param recorder
+	 *            receives the complete response body once the end of the stream is reached, or null if the body
+	 *            should not be recorded
+	 * @param maxRecordedSize
+	 *            maximum size of the recorded body. Recording stops if the body is larger.
+	 */
+	public StreamingResponseInputStream(Closeable response, Cancellable request, InputStream content,
+			String validator, Consumer<byte[]> recorder, int maxRecordedSize) {
+		this(response, request, new RecordingInputStream(content, recorder, maxRecordedSize), validator);
+	}
+
+	private StreamingResponseInputStream(Closeable response, Cancellable request, RecordingInputStream content,
+			String validator) {
+		super(content);
+		this.response = response;
+		this.request = request;
+		this.validator = validator;
+		this.recordingIn = content;
+	}
+
+	@Override
+	public String getValidator() {
+		return validator;
+	}
+
+	@Override
+	public boolean isNotModified() {
+		return false;
+	}
+
+	/**
+	 * Release the underlying connection. If the consumer did not read the stream to the end, up to
+	 * {@link #MAX_UNREAD_TAIL} bytes of remaining content are read, which typically covers trailing whitespace after
+	 * the closing tag. If there is more, the partially recorded body is dropped and the request is cancelled, which
+	 * discards the connection instead of reading the rest of the response to reuse it.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		boolean aborted = false;
+		try {
+			if (!readTail()) {
+				recordingIn.abort();
+				if (request != null) {
+					aborted = request.cancel();
+				}
+			}
+			super.close();
+		} catch (IOException ex) {
+			if (!aborted) {
+				throw ex;
+			}
+			//expected - the connection has been shut down
+		} finally {
+			response.close();
+		}
+	}
+
+	/**
+	 * @return true if the end of the content has been reached
+	 */
+	private boolean readTail() {
+		if (recordingIn.isEof()) {
+			return true;
+		}
+		byte[] buffer = new byte[MAX_UNREAD_TAIL + 1];
+		int remaining = buffer.length;
+		try {
+			while (remaining > 0) {
+				int read = super.read(buffer, 0, remaining);
+				if (read == -1) {
+					return true;
+				}
+				remaining -= read;
+			}
+		} catch (IOException ex) {
+			//ignore - the connection will be discarded
+		}
+		return false;
+	}
+}
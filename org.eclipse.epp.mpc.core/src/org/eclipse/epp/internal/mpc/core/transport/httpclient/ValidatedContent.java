@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.transport.httpclient;
+
+/**
+ * Response content that carries a validator (the <code>ETag</code> or <code>Last-Modified</code> header of the
+ * response). Consumers can use the validator to recognize content they have already processed, e.g. to skip
+ * unmarshalling a response that was {@link #isNotModified() revalidated} by the server.
+ */
+public interface ValidatedContent {
+
+	/**
+	 * @return the entity tag or last modification date of the content, or null if the server did not send any
+	 */
+	String getValidator();
+
+	/**
+	 * @return true if the content was served from the local response cache after the server confirmed it is still
+	 *         current, false if it was freshly downloaded
+	 */
+	boolean isNotModified();
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+
+/**
+ * Progress monitor for a request running on a different thread than its caller, e.g. in a job. It is canceled if
+ * either the caller's monitor is, or if the request is cancelled on the caller's behalf with {@link #cancel()}, for
+ * example because its future was cancelled.
+ * <p>
+ * Transports that block in I/O without polling the monitor can register a listener with
+ * {@link #onCancel(Runnable)} to abort the request once it is cancelled. If the caller only has a plain monitor,
+ * {@link #watch(IProgressMonitor)} polls it for cancellation while the request is running.
+ */
+public class CancellableMonitor extends ProgressMonitorWrapper {
+
+	private static final long POLL_INTERVAL = 200;
+
+	private final List<Runnable> cancelListeners = new ArrayList<>();
+
+	private boolean cancelled;
+
+	private boolean stopped;
+
+	/**
+	 * @param monitor
+	 *            the caller's monitor, or null
+	 */
+	public CancellableMonitor(IProgressMonitor monitor) {
+		super(monitor == null ? new NullProgressMonitor() : monitor);
+	}
+
+	/**
+	 * @return the cancellable monitor wrapped by the given monitor, or null if there is none
+	 */
+	public static CancellableMonitor find(IProgressMonitor monitor) {
+		IProgressMonitor current = monitor;
+		while (current instanceof ProgressMonitorWrapper) {
+			if (current instanceof CancellableMonitor) {
+				return (CancellableMonitor) current;
+			}
+			current = ((ProgressMonitorWrapper) current).getWrappedProgressMonitor();
+		}
+		return null;
+	}
+
+	/**
+	 * @return the cancellable monitor wrapped by the given monitor, or a new one that checks the given monitor for
+	 *         cancellation every {@value #POLL_INTERVAL}ms until {@link #stopWatching()} is called. Null if the
+	 *         monitor is null.
+	 */
+	public static CancellableMonitor watch(IProgressMonitor monitor) {
+		if (monitor == null) {
+			return null;
+		}
+		CancellableMonitor cancellation = find(monitor);
+		if (cancellation == null) {
+			cancellation = new CancellableMonitor(monitor);
+			cancellation.schedulePoll();
+		}
+		return cancellation;
+	}
+
+	/**
+	 * Stop checking the caller's monitor if this was created by {@link #watch(IProgressMonitor)}.
+	 */
+	public synchronized void stopWatching() {
+		stopped = true;
+	}
+
+	private void schedulePoll() {
+		CompletableFuture.delayedExecutor(POLL_INTERVAL, TimeUnit.MILLISECONDS).execute(() -> {
+			synchronized (this) {
+				if (stopped || cancelled) {
+					return;
+				}
+			}
+			if (getWrappedProgressMonitor().isCanceled()) {
+				cancel();
+			} else {
+				schedulePoll();
+			}
+		});
+	}
+
+	@Override
+	public boolean isCanceled() {
+		synchronized (this) {
+			if (cancelled) {
+				return true;
+			}
+		}
+		return super.isCanceled();
+	}
+
+	@Override
+	public void setCanceled(boolean value) {
+		super.setCanceled(value);
+		if (value) {
+			cancel();
+		}
+	}
+
+	/**
+	 * Cancel the request on behalf of the caller and notify the registered listeners.
+	 */
+	public void cancel() {
+		List<Runnable> listeners;
+		synchronized (this) {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			listeners = new ArrayList<>(cancelListeners);
+			cancelListeners.clear();
+		}
+		listeners.forEach(Runnable::run);
+	}
+
+	/**
+	 * Register an action that aborts the request. It is run once {@link #cancel()} is called, or right away if that
+	 * already happened. Cancellation of the caller's monitor is only noticed when it is polled.
+	 */
+	public void onCancel(Runnable listener) {
+		synchronized (this) {
+			if (!cancelled) {
+				cancelListeners.add(listener);
+				return;
+			}
+		}
+		listener.run();
+	}
+}
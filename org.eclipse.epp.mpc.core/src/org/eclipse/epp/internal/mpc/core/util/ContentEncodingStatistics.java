@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diagnostic counters for compressed transfers. Transports wrap response content with the counting streams provided
+ * here, once as received from the server and once as handed to the consumer, so the effect of content encoding can be
+ * compared. Counting happens while the content is read.
+ */
+public class ContentEncodingStatistics {
+
+	private static final class CountingInputStream extends FilterInputStream {
+
+		private final LongAdder counter;
+
+		CountingInputStream(InputStream in, LongAdder counter) {
+			super(in);
+			this.counter = counter;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				counter.increment();
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read > 0) {
+				counter.add(read);
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			if (skipped > 0) {
+				counter.add(skipped);
+			}
+			return skipped;
+		}
+	}
+
+	private final LongAdder responses = new LongAdder();
+
+	private final LongAdder encodedResponses = new LongAdder();
+
+	private final LongAdder encodedBytes = new LongAdder();
+
+	private final LongAdder decodedBytes = new LongAdder();
+
+	private final LongAdder identityBytes = new LongAdder();
+
+	/**
+	 * Count the bytes of an encoded response as they were transferred.
+	 */
+	public InputStream countEncoded(InputStream in) {
+		return new CountingInputStream(in, encodedBytes);
+	}
+
+	/**
+	 * Count the bytes of a response as they are handed to the consumer.
+	 *
+	 * @param encoded
+	 *            true if the content was decoded from a compressed transfer, false if it was transferred as is
+	 */
+	public InputStream countDecoded(InputStream in, boolean encoded) {
+		responses.increment();
+		if (encoded) {
+			encodedResponses.increment();
+		}
+		return new CountingInputStream(in, encoded ? decodedBytes : identityBytes);
+	}
+
+	public long getResponseCount() {
+		return responses.sum();
+	}
+
+	public long getEncodedResponseCount() {
+		return encodedResponses.sum();
+	}
+
+	/**
+	 * @return the number of bytes transferred for encoded responses
+	 */
+	public long getEncodedBytes() {
+		return encodedBytes.sum();
+	}
+
+	/**
+	 * @return the number of bytes encoded responses were decoded to
+	 */
+	public long getDecodedBytes() {
+		return decodedBytes.sum();
+	}
+
+	/**
+	 * @return the number of bytes of responses that were transferred without content encoding
+	 */
+	public long getIdentityBytes() {
+		return identityBytes.sum();
+	}
+
+	public void reset() {
+		responses.reset();
+		encodedResponses.reset();
+		encodedBytes.reset();
+		decodedBytes.reset();
+		identityBytes.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "ContentEncodingStatistics [responses=" + getResponseCount() + ", encodedResponses=" //$NON-NLS-1$//$NON-NLS-2$
+				+ getEncodedResponseCount() + ", encodedBytes=" + getEncodedBytes() + ", decodedBytes=" //$NON-NLS-1$//$NON-NLS-2$
+				+ getDecodedBytes() + ", identityBytes=" + getIdentityBytes() + "]"; //$NON-NLS-1$//$NON-NLS-2$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -13,18 +13,27 @@
 package org.eclipse.epp.internal.mpc.core.util;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.mpc.core.service.ITransport;
 import org.eclipse.epp.mpc.core.service.ITransportFactory;
@@ -37,75 +46,119 @@
 
 public class FallbackTransportFactory implements ITransportFactory {
 
+	/**
+	 * Set to <code>true</code> to race the fallback transport against slow requests of the primary transport instead
+	 * of only using it once the primary transport failed.
+	 */
+	public static final String HEDGING_PROPERTY = "org.eclipse.epp.mpc.core.transport.hedging"; //$NON-NLS-1$
+
+	/**
+	 * Percentile of the primary transport's recent latencies after which the fallback transport is raced against it
+	 */
+	public static final String HEDGING_PERCENTILE_PROPERTY = HEDGING_PROPERTY + ".percentile"; //$NON-NLS-1$
+
+	/**
+	 * Delay in milliseconds after which the fallback transport is raced against the primary transport, as long as
+	 * there are too few latency samples for the configured percentile
+	 */
+	public static final String HEDGING_DELAY_PROPERTY = HEDGING_PROPERTY + ".delay"; //$NON-NLS-1$
+
+	public static final int DEFAULT_HEDGING_PERCENTILE = 95;
+
+	public static final long DEFAULT_HEDGING_DELAY = 2000;
+
 	private static final class FallbackTransport implements ITransport {
 		private final ITransport primaryTransport;
 
 		private final ITransport fallbackTransport;
 
-		private boolean primaryDisabled = false;
+		private final boolean hedging;
+
+		private final int hedgingPercentile;
+
+		private final long hedgingDelay;
+
+		private final TransportHealth primaryHealth = new TransportHealth();
+
+		private final TransportHealth fallbackHealth = new TransportHealth();
+
+		private final AtomicBoolean primaryDisabled = new AtomicBoolean();
 
-		FallbackTransport(ITransport primaryTransport, ITransport fallbackTransport) {
+		private final Set<String> reportedProblems = ConcurrentHashMap.newKeySet();
+
+		FallbackTransport(ITransport primaryTransport, ITransport fallbackTransport, boolean hedging,
+				int hedgingPercentile, long hedgingDelay) {
 			super();
 			this.primaryTransport = primaryTransport;
 			this.fallbackTransport = fallbackTransport;
+			this.hedging = hedging && primaryTransport != null && fallbackTransport != null;
+			this.hedgingPercentile = hedgingPercentile;
+			this.hedgingDelay = hedgingDelay;
 		}
 
-		private final Set<String> reportedProblems = new HashSet<>();
-
-		private int connectionAttempts;
-
-		private int connectionFailures;
-
 		@Override
 		public InputStream stream(URI location, IProgressMonitor monitor)
 				throws FileNotFoundException, ServiceUnavailableException, CoreException {
-			connectionAttempts++;
-			if (connectionAttempts > 10 && connectionFailures / (double) connectionAttempts > 0.75) {
-				MarketplaceClientCore.getLog()
-				.log(new Status(IStatus.INFO, MarketplaceClientCore.BUNDLE_ID,
-						NLS.bind(Messages.FallbackTransportFactory_disablingTransport, primaryTransport)));
-				primaryDisabled = true;
+			return stream(location, null, monitor);
+		}
+
+		@Override
+		public InputStream stream(URI location, String acceptedContentTypes, IProgressMonitor monitor)
+				throws FileNotFoundException, ServiceUnavailableException, CoreException {
+			if (!usePrimary()) {
+				return stream(fallbackTransport, location, acceptedContentTypes, monitor);
 			}
-			if (primaryTransport == null || primaryDisabled) {
-				return fallbackTransport.stream(location, monitor);
+			if (hedging) {
+				return await(new HedgedRequest(
+						transport -> streamInJob(transport, location, acceptedContentTypes, monitor))
+						.start(getHedgingDelay()));
 			}
+			long start = System.nanoTime();
 			InputStream stream;
 			try {
-				stream = primaryTransport.stream(location, monitor);
+				stream = stream(primaryTransport, location, acceptedContentTypes, monitor);
 				if (stream == null) {
 					throw new NullPointerException();
 				}
 			} catch (FileNotFoundException ex) {
-				InputStream fallbackStream = primaryFailed(location, monitor, ex);
+				InputStream fallbackStream = primaryFailed(location, acceptedContentTypes, monitor, ex);
 				if (fallbackStream == null) {
 					throw ex;
 				}
 				return fallbackStream;
 			} catch (ServiceUnavailableException ex) {
-				InputStream fallbackStream = primaryFailed(location, monitor, ex);
+				InputStream fallbackStream = primaryFailed(location, acceptedContentTypes, monitor, ex);
 				if (fallbackStream == null) {
 					throw ex;
 				}
 				return fallbackStream;
 			} catch (CoreException ex) {
-				InputStream fallbackStream = primaryFailed(location, monitor, ex);
+				InputStream fallbackStream = primaryFailed(location, acceptedContentTypes, monitor, ex);
 				if (fallbackStream == null) {
 					throw ex;
 				}
 				return fallbackStream;
 			} catch (RuntimeException ex) {
-				InputStream fallbackStream = primaryFailed(location, monitor, ex);
+				InputStream fallbackStream = primaryFailed(location, acceptedContentTypes, monitor, ex);
 				if (fallbackStream == null) {
 					throw ex;
 				}
 				return fallbackStream;
 			}
+			if (stream instanceof ByteArrayInputStream) {
+				//already fully received, nothing left that could fail
+				primaryHealth.recordSuccess(System.nanoTime() - start);
+				return stream;
+			}
+			BufferedInputStream buffered = stream instanceof BufferedInputStream ? (BufferedInputStream) stream
+					: new BufferedInputStream(stream);
 			try {
-				BufferedInputStream buffered = new BufferedInputStream(stream);
 				tryBuffer(buffered);
+				primaryHealth.recordSuccess(System.nanoTime() - start);
 				return buffered;
 			} catch (IOException ex) {
-				InputStream fallbackStream = primaryFailed(location, monitor, ex);
+				closeQuietly(buffered);
+				InputStream fallbackStream = primaryFailed(location, acceptedContentTypes, monitor, ex);
 				if (fallbackStream == null) {
 					throw new CoreException(MarketplaceClientCore.computeStatus(ex, null));
 				}
@@ -113,6 +166,147 @@ public InputStream stream(URI location, IProgressMonitor monitor)
 			}
 		}
 
+		/**
+		 * Request the location with the primary transport's non-blocking implementation, falling back to the fallback
+		 * transport's if that fails. Unlike {@link #stream(URI, String, IProgressMonitor)}, this doesn't probe the
+		 * start of the response, since non-blocking transports usually complete with fully received content.
+		 */
+		@Override
+		public CompletableFuture<InputStream> streamAsync(URI location, String acceptedContentTypes,
+				IProgressMonitor monitor) {
+			if (!usePrimary()) {
+				return fallbackTransport.streamAsync(location, acceptedContentTypes, monitor);
+			}
+			return new HedgedRequest(transport -> transport.streamAsync(location, acceptedContentTypes, monitor))
+					.start(hedging ? getHedgingDelay() : -1);
+		}
+
+		private boolean usePrimary() {
+			if (primaryTransport == null) {
+				return false;
+			}
+			if (primaryHealth.getAttempts() >= 10 && primaryHealth.getFailureRate() > 0.75
+					&& primaryDisabled.compareAndSet(false, true)) {
+				MarketplaceClientCore.getLog()
+				.log(new Status(IStatus.INFO, MarketplaceClientCore.BUNDLE_ID,
+						NLS.bind(Messages.FallbackTransportFactory_disablingTransport, primaryTransport)));
+			}
+			if (primaryDisabled.get()) {
+				RequestMetrics.getDefault().recordFallback();
+				return false;
+			}
+			primaryHealth.recordAttempt();
+			return true;
+		}
+
+		/**
+		 * @return the time in milliseconds after which a request to the primary transport is considered slow enough
+		 *         to race the fallback transport against it
+		 */
+		private long getHedgingDelay() {
+			long latency = primaryHealth.getLatencyPercentile(hedgingPercentile);
+			return latency < 0 ? hedgingDelay : latency;
+		}
+
+		private void reportFallback(Throwable ex) {
+			String problemKey = ex.getClass().getName() + ": " + ex.getMessage() + "\n\t" //$NON-NLS-1$//$NON-NLS-2$
+					+ (ex.getStackTrace().length == 0 ? null : ex.getStackTrace()[0]);
+			if (reportedProblems.add(problemKey)) {
+				MarketplaceClientCore.getLog()
+				.log(MarketplaceClientCore.computeStatus(ex,
+						NLS.bind(Messages.FallbackTransportFactory_fallbackStream, primaryTransport,
+								fallbackTransport)));
+			}
+		}
+
+		private static InputStream stream(ITransport transport, URI location, String acceptedContentTypes,
+				IProgressMonitor monitor) throws FileNotFoundException, ServiceUnavailableException, CoreException {
+			//only use the negotiating variant if needed, so delegates don't have to implement it
+			return acceptedContentTypes == null ? transport.stream(location, monitor)
+					: transport.stream(location, acceptedContentTypes, monitor);
+		}
+
+		/**
+		 * Run a blocking request in a job, so it can be raced against another one. The result is only complete once
+		 * the start of the response has been received. Cancelling the result cancels the request's monitor, so the
+		 * losing request is aborted instead of occupying a worker thread and a connection until it completes.
+		 */
+		private static CompletableFuture<InputStream> streamInJob(ITransport transport, URI location,
+				String acceptedContentTypes, IProgressMonitor monitor) {
+			CompletableFuture<InputStream> result = new CompletableFuture<>();
+			CancellableMonitor requestMonitor = new CancellableMonitor(monitor);
+			Job job = Job.create(location.toString(), jobMonitor -> {
+				if (result.isDone()) {
+					return;
+				}
+				try {
+					InputStream stream = stream(transport, location, acceptedContentTypes, requestMonitor);
+					if (stream == null) {
+						throw new NullPointerException();
+					}
+					if (!(stream instanceof ByteArrayInputStream)) {
+						BufferedInputStream buffered = stream instanceof BufferedInputStream ? (BufferedInputStream) stream
+								: new BufferedInputStream(stream);
+						try {
+							tryBuffer(buffered);
+						} catch (IOException ex) {
+							closeQuietly(buffered);
+							throw new CoreException(MarketplaceClientCore.computeStatus(ex, null));
+						}
+						stream = buffered;
+					}
+					if (!result.complete(stream)) {
+						closeQuietly(stream);
+					}
+				} catch (Exception ex) {
+					result.completeExceptionally(ex);
+				}
+			});
+			job.setSystem(true);
+			result.whenComplete((stream, ex) -> {
+				if (result.isCancelled()) {
+					requestMonitor.cancel();
+					job.cancel();
+				}
+			});
+			job.schedule();
+			return result;
+		}
+
+		private static InputStream await(CompletableFuture<InputStream> result)
+				throws FileNotFoundException, ServiceUnavailableException, CoreException {
+			try {
+				return result.get();
+			} catch (InterruptedException ex) {
+				result.cancel(false);
+				Thread.currentThread().interrupt();
+				throw new CoreException(MarketplaceClientCore.computeStatus(ex, null));
+			} catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof FileNotFoundException) {
+					throw (FileNotFoundException) cause;
+				}
+				if (cause instanceof CoreException) {
+					throw (CoreException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new CoreException(MarketplaceClientCore.computeStatus(cause, null));
+			}
+		}
+
+		private static void closeQuietly(InputStream stream) {
+			try {
+				stream.close();
+			} catch (IOException ex) {
+				//ignore
+			}
+		}
+
 		private static void tryBuffer(BufferedInputStream buffered) throws IOException {
 			buffered.mark(128);
 			try {
@@ -122,32 +316,28 @@ private static void tryBuffer(BufferedInputStream buffered) throws IOException {
 			}
 		}
 
-		private InputStream primaryFailed(URI location, IProgressMonitor monitor, Exception ex)
-				throws FileNotFoundException, ServiceUnavailableException, CoreException {
-			connectionFailures++;
+		private InputStream primaryFailed(URI location, String acceptedContentTypes, IProgressMonitor monitor,
+				Exception ex) throws FileNotFoundException, ServiceUnavailableException, CoreException {
 			if (fallbackTransport != null) {
-				boolean fallbackSucceeded = false;
-				try (InputStream fallbackStream = fallbackTransport.stream(location, monitor)) {
+				long start = System.nanoTime();
+				InputStream fallbackStream = null;
+				try {
+					fallbackStream = stream(fallbackTransport, location, acceptedContentTypes, monitor);
 					BufferedInputStream buffered = new BufferedInputStream(fallbackStream);
 					tryBuffer(buffered);
-					fallbackSucceeded = true;
-					String problemKey = ex.getClass().getName() + ": " + ex.getMessage() + "\n\t" //$NON-NLS-1$//$NON-NLS-2$
-							+ ex.getStackTrace()[0];
-					if (reportedProblems.add(problemKey)) {
-						MarketplaceClientCore.getLog()
-						.log(MarketplaceClientCore.computeStatus(ex,
-								NLS.bind(Messages.FallbackTransportFactory_fallbackStream, primaryTransport,
-										fallbackTransport)));
-					}
+					fallbackHealth.recordSuccess(System.nanoTime() - start);
+					//only count this as a transport failure if the fallback worked - otherwise it's probably something unrelated to transport going on
+					primaryHealth.recordFailure();
+					reportFallback(ex);
+					RequestMetrics.getDefault().recordFallback();
 
 					return buffered;
 				} catch (Exception fallbackEx) {
-					ex.addSuppressed(fallbackEx);
-				} finally {
-					if (!fallbackSucceeded) {
-						//fallback didn't work either - probably something unrelated to transport going on, so don't count this as a transport failure
-						connectionFailures--;
+					fallbackHealth.recordFailure();
+					if (fallbackStream != null) {
+						closeQuietly(fallbackStream);
 					}
+					ex.addSuppressed(fallbackEx);
 				}
 			}
 			return null;
@@ -160,6 +350,228 @@ public ITransport getPrimaryTransport() {
 		public ITransport getFallbackTransport() {
 			return fallbackTransport;
 		}
+
+		/**
+		 * A request to the primary transport, which the fallback transport joins once the primary transport failed or
+		 * took longer than the hedging delay. The first successful response wins, the other request is cancelled, and
+		 * its response is discarded if it still arrives. If both requests fail, the primary transport's exception is
+		 * reported.
+		 */
+		private final class HedgedRequest {
+
+			private final Function<ITransport, CompletableFuture<InputStream>> request;
+
+			private final CompletableFuture<InputStream> result = new CompletableFuture<>();
+
+			private final long startTime = System.nanoTime();
+
+			private CompletableFuture<InputStream> primaryAttempt;
+
+			private CompletableFuture<InputStream> fallbackAttempt;
+
+			private boolean fallbackStarted;
+
+			private boolean fallbackSucceeded;
+
+			private boolean completed;
+
+			private Throwable primaryFailure;
+
+			private Throwable fallbackFailure;
+
+			HedgedRequest(Function<ITransport, CompletableFuture<InputStream>> request) {
+				this.request = request;
+			}
+
+			/**
+			 * @param hedgingDelay
+			 *            time in milliseconds after which the fallback transport joins the request, or a negative value
+			 *            to only use it once the primary transport failed
+			 */
+			CompletableFuture<InputStream> start(long hedgingDelay) {
+				result.whenComplete((stream, ex) -> {
+					if (result.isCancelled()) {
+						cancel(getPrimaryAttempt());
+						cancel(getFallbackAttempt());
+					}
+				});
+				CompletableFuture<InputStream> primary = request.apply(primaryTransport);
+				synchronized (this) {
+					primaryAttempt = primary;
+				}
+				primary.whenComplete(this::primaryCompleted);
+				if (hedgingDelay >= 0 && !result.isDone()) {
+					CompletableFuture.delayedExecutor(hedgingDelay, TimeUnit.MILLISECONDS).execute(this::startFallback);
+				}
+				return result;
+			}
+
+			private void startFallback() {
+				synchronized (this) {
+					if (fallbackStarted || isCompleted()) {
+						return;
+					}
+					fallbackStarted = true;
+				}
+				if (fallbackTransport == null) {
+					failed();
+					return;
+				}
+				CompletableFuture<InputStream> fallback = request.apply(fallbackTransport);
+				synchronized (this) {
+					fallbackAttempt = fallback;
+				}
+				if (isCompleted()) {
+					//primary already won the race
+					cancel(fallback);
+				}
+				fallback.whenComplete(this::fallbackCompleted);
+			}
+
+			private void primaryCompleted(InputStream stream, Throwable ex) {
+				long latency = System.nanoTime() - startTime;
+				Throwable failure = getFailure(stream, ex);
+				if (failure == null) {
+					primaryHealth.recordSuccess(latency);
+					complete(stream, getFallbackAttempt(), false);
+					return;
+				}
+				if (failure instanceof CancellationException) {
+					primaryHealth.recordCancellation();
+					cancelledByTransport();
+					return;
+				}
+				boolean fallbackWon;
+				synchronized (this) {
+					primaryFailure = failure;
+					fallbackWon = fallbackSucceeded;
+				}
+				if (fallbackWon) {
+					primaryHealth.recordFailure();
+				}
+				startFallback();
+				failedIfDone();
+			}
+
+			private void fallbackCompleted(InputStream stream, Throwable ex) {
+				long latency = System.nanoTime() - startTime;
+				Throwable failure = getFailure(stream, ex);
+				if (failure == null) {
+					fallbackHealth.recordSuccess(latency);
+					Throwable primaryEx;
+					synchronized (this) {
+						fallbackSucceeded = true;
+						primaryEx = primaryFailure;
+					}
+					try {
+						if (primaryEx != null) {
+							primaryHealth.recordFailure();
+							reportFallback(primaryEx);
+						}
+					} finally {
+						complete(stream, getPrimaryAttempt(), true);
+					}
+					return;
+				}
+				if (failure instanceof CancellationException) {
+					fallbackHealth.recordCancellation();
+					cancelledByTransport();
+					return;
+				}
+				fallbackHealth.recordFailure();
+				synchronized (this) {
+					fallbackFailure = failure;
+				}
+				failedIfDone();
+			}
+
+			/**
+			 * Make the stream the result, unless the other attempt already won. The loser is cancelled before the
+			 * result is completed, so the health statistics and metrics are up to date once the caller sees it.
+			 */
+			private void complete(InputStream stream, CompletableFuture<InputStream> loser, boolean fallback) {
+				synchronized (this) {
+					if (isCompleted()) {
+						closeQuietly(stream);
+						return;
+					}
+					completed = true;
+				}
+				cancel(loser);
+				if (fallback) {
+					RequestMetrics.getDefault().recordFallback();
+				}
+				if (!result.complete(stream)) {
+					//cancelled by the caller in the meantime
+					closeQuietly(stream);
+				}
+			}
+
+			/**
+			 * Attempts are only cancelled here once the request is completed. Otherwise the transport cancelled the
+			 * attempt itself, e.g. because its monitor was canceled, so the whole request is cancelled.
+			 */
+			private void cancelledByTransport() {
+				if (!isCompleted()) {
+					result.cancel(false);
+				}
+			}
+
+			private synchronized boolean isCompleted() {
+				return completed || result.isDone();
+			}
+
+			private void failedIfDone() {
+				synchronized (this) {
+					if (primaryFailure == null || fallbackStarted && fallbackFailure == null) {
+						return;
+					}
+				}
+				failed();
+			}
+
+			/**
+			 * Fail the request with the primary failure. Both attempts can finish at the same time, so only the first
+			 * call completes the result.
+			 */
+			private void failed() {
+				Throwable primaryEx;
+				Throwable fallbackEx;
+				synchronized (this) {
+					if (isCompleted()) {
+						return;
+					}
+					completed = true;
+					primaryEx = primaryFailure;
+					fallbackEx = fallbackFailure;
+				}
+				if (fallbackEx != null && fallbackEx != primaryEx) {
+					primaryEx.addSuppressed(fallbackEx);
+				}
+				result.completeExceptionally(primaryEx);
+			}
+
+			private synchronized CompletableFuture<InputStream> getPrimaryAttempt() {
+				return primaryAttempt;
+			}
+
+			private synchronized CompletableFuture<InputStream> getFallbackAttempt() {
+				return fallbackAttempt;
+			}
+
+			private void cancel(CompletableFuture<InputStream> attempt) {
+				if (attempt != null) {
+					attempt.cancel(false);
+				}
+			}
+
+			private Throwable getFailure(InputStream stream, Throwable ex) {
+				if (ex == null) {
+					return stream == null ? new NullPointerException() : null;
+				}
+				return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+			}
+		}
 	}
 
 	private ITransportFactory primaryFactory;
@@ -168,6 +580,14 @@ public ITransport getFallbackTransport() {
 
 	private FallbackTransport transport;
 
+	private boolean hedging = ServiceUtil.getBooleanProperty(FallbackTransportFactory.class, HEDGING_PROPERTY, false);
+
+	private int hedgingPercentile = ServiceUtil.getIntProperty(FallbackTransportFactory.class,
+			HEDGING_PERCENTILE_PROPERTY, DEFAULT_HEDGING_PERCENTILE);
+
+	private long hedgingDelay = ServiceUtil.getLongProperty(FallbackTransportFactory.class, HEDGING_DELAY_PROPERTY,
+			DEFAULT_HEDGING_DELAY);
+
 	public FallbackTransportFactory() {
 		super();
 		// ignore
@@ -185,11 +605,55 @@ public synchronized ITransport getTransport() {
 
 		if (transport == null || transport.getPrimaryTransport() != primaryTransport
 				|| transport.getFallbackTransport() != secondaryTransport) {
-			transport = new FallbackTransport(primaryTransport, secondaryTransport);
+			transport = new FallbackTransport(primaryTransport, secondaryTransport, hedging, hedgingPercentile,
+					hedgingDelay);
 		}
 		return transport;
 	}
 
+	/**
+	 * @return the statistics of requests made through the primary transport, or null if no fallback transport has
+	 *         been used yet
+	 */
+	public synchronized TransportHealth getPrimaryHealth() {
+		return transport == null ? null : transport.primaryHealth;
+	}
+
+	/**
+	 * @return the statistics of requests made through the fallback transport, or null if no fallback transport has
+	 *         been used yet
+	 */
+	public synchronized TransportHealth getFallbackHealth() {
+		return transport == null ? null : transport.fallbackHealth;
+	}
+
+	public synchronized boolean isHedging() {
+		return hedging;
+	}
+
+	public synchronized void setHedging(boolean hedging) {
+		this.hedging = hedging;
+		this.transport = null;
+	}
+
+	public synchronized int getHedgingPercentile() {
+		return hedgingPercentile;
+	}
+
+	public synchronized void setHedgingPercentile(int hedgingPercentile) {
+		this.hedgingPercentile = hedgingPercentile;
+		this.transport = null;
+	}
+
+	public synchronized long getHedgingDelay() {
+		return hedgingDelay;
+	}
+
+	public synchronized void setHedgingDelay(long hedgingDelay) {
+		this.hedgingDelay = hedgingDelay;
+		this.transport = null;
+	}
+
 	public ITransportFactory getFallbackFactory() {
 		ITransportFactory delegateFactory = this.secondaryFactory;
 		if (delegateFactory == null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,13 +12,27 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.util;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URI;
+import java.net.URLConnection;
+import java.util.zip.GZIPInputStream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientTransport;
 
 public class JavaPlatformTransportFactory extends TransportFactory {
 
+	private static final ContentEncodingStatistics CONTENT_ENCODING_STATISTICS = new ContentEncodingStatistics();
+
+	/**
+	 * @return compressed and uncompressed transfer sizes of all responses received through this transport
+	 */
+	public static ContentEncodingStatistics getContentEncodingStatistics() {
+		return CONTENT_ENCODING_STATISTICS;
+	}
+
 	@Override
 	protected boolean isAvailable() {
 		return true;
@@ -26,7 +40,25 @@ protected boolean isAvailable() {
 
 	@Override
 	protected InputStream invokeStream(URI location, IProgressMonitor monitor) throws Exception {
-		return location.toURL().openStream();
+		URLConnection connection = location.toURL().openConnection();
+		boolean compression = connection instanceof HttpURLConnection && ServiceUtil.getBooleanProperty(
+				JavaPlatformTransportFactory.class, HttpClientTransport.CONTENT_COMPRESSION_PROPERTY, true);
+		if (compression) {
+			//java.net doesn't decode responses on its own, so only ask for what we can reliably decode here
+			connection.setRequestProperty("Accept-Encoding", "gzip"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		InputStream in = connection.getInputStream();
+		String contentEncoding = connection.getContentEncoding();
+		if (compression && ("gzip".equalsIgnoreCase(contentEncoding) || "x-gzip".equalsIgnoreCase(contentEncoding))) { //$NON-NLS-1$ //$NON-NLS-2$
+			try {
+				return CONTENT_ENCODING_STATISTICS
+						.countDecoded(new GZIPInputStream(CONTENT_ENCODING_STATISTICS.countEncoded(in)), true);
+			} catch (IOException ex) {
+				in.close();
+				throw ex;
+			}
+		}
+		return CONTENT_ENCODING_STATISTICS.countDecoded(in, false);
 	}
 
 }
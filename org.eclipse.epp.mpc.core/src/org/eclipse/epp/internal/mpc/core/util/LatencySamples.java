@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe ring buffer of the most recent latencies, used to compute percentiles.
+ */
+final class LatencySamples {
+
+	private final long[] samples;
+
+	private int count;
+
+	private int next;
+
+	LatencySamples(int capacity) {
+		this.samples = new long[capacity];
+	}
+
+	synchronized void add(long latencyNanos) {
+		samples[next] = latencyNanos;
+		next = (next + 1) % samples.length;
+		count = Math.min(count + 1, samples.length);
+	}
+
+	synchronized void clear() {
+		count = 0;
+		next = 0;
+	}
+
+	/**
+	 * @param percentile
+	 *            the percentile between 0 and 100
+	 * @param minSamples
+	 *            the minimum number of samples needed for a meaningful result
+	 * @return the given percentile of the recorded latencies in nanoseconds, or -1 if there are fewer samples than
+	 *         required
+	 */
+	long getPercentile(int percentile, int minSamples) {
+		long[] sorted;
+		synchronized (this) {
+			if (count == 0 || count < minSamples) {
+				return -1;
+			}
+			sorted = Arrays.copyOf(samples, count);
+		}
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, index)];
+	}
+}
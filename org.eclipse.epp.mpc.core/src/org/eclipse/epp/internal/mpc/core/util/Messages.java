@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -29,6 +29,8 @@ class Messages extends NLS {
 
 	public static String ProxyHelper_replacingAuthenticator;
 
+	public static String RequestMetrics_jmxRegistrationFailed;
+
 	public static String ServiceUtil_ignoringIncompatibleServiceProperty;
 
 	public static String TransportFactory_available;
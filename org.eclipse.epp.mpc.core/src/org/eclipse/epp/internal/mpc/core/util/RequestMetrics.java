@@ -0,0 +1,472 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.osgi.util.NLS;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+/**
+ * Timings and counters of the requests made to the Marketplace servers, so a slow wizard can be attributed to name
+ * resolution, connection setup, the server, the transfer or the client itself. The transports, services and caches of
+ * this bundle all record into the {@link #getDefault() shared instance}. It is registered as an OSGi service and, if
+ * the {@link #JMX_PROPERTY} framework property is set, with the platform MBean server as {@value #OBJECT_NAME}.
+ * <p>
+ * The metrics are aggregated over all requests: each phase keeps its count, total and maximum time, and the
+ * percentiles of its most recent samples.
+ */
+public class RequestMetrics implements RequestMetricsMXBean {
+
+	/**
+	 * Set to <code>true</code> to register the request metrics with the platform MBean server.
+	 */
+	public static final String JMX_PROPERTY = "org.eclipse.epp.mpc.core.metrics.jmx"; //$NON-NLS-1$
+
+	public static final String OBJECT_NAME = "org.eclipse.epp.mpc:type=RequestMetrics"; //$NON-NLS-1$
+
+	/**
+	 * Number of recent samples kept per phase for percentiles
+	 */
+	static final int PHASE_SAMPLES = 200;
+
+	private static final RequestMetrics DEFAULT = new RequestMetrics();
+
+	public enum Phase {
+		/**
+		 * Resolving the host name of the server or proxy
+		 */
+		DNS_LOOKUP,
+		/**
+		 * Establishing a connection to the server or proxy, including the TLS handshake for direct HTTPS connections
+		 */
+		CONNECT,
+		/**
+		 * Negotiating TLS on an established connection, e.g. tunnelled through a proxy, including certificate
+		 * validation
+		 */
+		TLS_HANDSHAKE,
+		/**
+		 * From sending a request on an established connection until the response headers have arrived. For
+		 * non-blocking requests, this includes setting up a new connection.
+		 */
+		TIME_TO_FIRST_BYTE,
+		/**
+		 * Waiting for the response body after the headers have arrived
+		 */
+		DOWNLOAD,
+		/**
+		 * Unmarshalling a response. For responses that are parsed while they are received, this includes waiting for
+		 * the rest of the body.
+		 */
+		PARSE
+	}
+
+	/**
+	 * Snapshot of a phase's timings. All times are in milliseconds.
+	 */
+	public static class PhaseStatistics {
+
+		private final long count;
+
+		private final double totalMillis;
+
+		private final double maxMillis;
+
+		private final double medianMillis;
+
+		private final double p95Millis;
+
+		PhaseStatistics(long count, long totalNanos, long maxNanos, long medianNanos, long p95Nanos) {
+			this.count = count;
+			this.totalMillis = toMillis(totalNanos);
+			this.maxMillis = toMillis(maxNanos);
+			this.medianMillis = toMillis(medianNanos);
+			this.p95Millis = toMillis(p95Nanos);
+		}
+
+		private static double toMillis(long nanos) {
+			return nanos < 0 ? -1 : nanos / 1e6;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public double getTotalMillis() {
+			return totalMillis;
+		}
+
+		/**
+		 * @return the average time, or -1 if nothing was recorded yet
+		 */
+		public double getMeanMillis() {
+			return count == 0 ? -1 : totalMillis / count;
+		}
+
+		public double getMaxMillis() {
+			return maxMillis;
+		}
+
+		/**
+		 * @return the median of the recent samples, or -1 if nothing was recorded yet
+		 */
+		public double getMedianMillis() {
+			return medianMillis;
+		}
+
+		/**
+		 * @return the 95th percentile of the recent samples, or -1 if nothing was recorded yet
+		 */
+		public double getP95Millis() {
+			return p95Millis;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "count=%d, mean=%.1fms, p50=%.1fms, p95=%.1fms, max=%.1fms", //$NON-NLS-1$
+					count, getMeanMillis(), medianMillis, p95Millis, maxMillis);
+		}
+	}
+
+	private static final class PhaseTimer {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder total = new LongAdder();
+
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		private final LatencySamples samples = new LatencySamples(PHASE_SAMPLES);
+
+		void record(long nanos) {
+			count.increment();
+			total.add(nanos);
+			max.accumulate(nanos);
+			samples.add(nanos);
+		}
+
+		PhaseStatistics getStatistics() {
+			return new PhaseStatistics(count.sum(), total.sum(), max.get(), samples.getPercentile(50, 1),
+					samples.getPercentile(95, 1));
+		}
+
+		void reset() {
+			count.reset();
+			total.reset();
+			max.reset();
+			samples.clear();
+		}
+	}
+
+	/**
+	 * Counts the bytes of a response body and the time spent waiting for them, which is recorded as the
+	 * {@link Phase#DOWNLOAD download} phase once the body has been read or closed.
+	 */
+	private final class DownloadInputStream extends FilterInputStream {
+
+		private long readTime;
+
+		private boolean read;
+
+		private boolean recorded;
+
+		DownloadInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			long start = System.nanoTime();
+			int b = super.read();
+			received(start, b == -1 ? -1 : 1);
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			long start = System.nanoTime();
+			int count = super.read(b, off, len);
+			received(start, count);
+			return count;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long start = System.nanoTime();
+			long skipped = super.skip(n);
+			received(start, skipped);
+			return skipped;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				complete();
+			}
+		}
+
+		private void received(long start, long count) {
+			readTime += System.nanoTime() - start;
+			read = true;
+			if (count > 0) {
+				bytesReceived.add(count);
+			} else if (count == -1) {
+				complete();
+			}
+		}
+
+		private void complete() {
+			if (read && !recorded) {
+				recorded = true;
+				recordPhase(Phase.DOWNLOAD, readTime);
+			}
+		}
+	}
+
+	/**
+	 * Registers the {@link RequestMetrics#getDefault() shared instance} as an OSGi service, and with the platform
+	 * MBean server if enabled.
+	 */
+	@Component(name = "org.eclipse.epp.mpc.core.metrics", service = {}, immediate = true)
+	public static class Registration {
+
+		private ServiceRegistration<RequestMetrics> serviceRegistration;
+
+		private ObjectName objectName;
+
+		@Activate
+		public void activate(BundleContext context) {
+			RequestMetrics metrics = getDefault();
+			serviceRegistration = context.registerService(RequestMetrics.class, metrics, null);
+			if (ServiceUtil.getBooleanProperty(RequestMetrics.class, JMX_PROPERTY, false)) {
+				try {
+					ObjectName name = new ObjectName(OBJECT_NAME);
+					ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+					objectName = name;
+				} catch (JMException | RuntimeException ex) {
+					MarketplaceClientCore.getLog()
+					.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+							NLS.bind(Messages.RequestMetrics_jmxRegistrationFailed, OBJECT_NAME), ex));
+				}
+			}
+		}
+
+		@Deactivate
+		public void deactivate() {
+			if (objectName != null) {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				try {
+					server.unregisterMBean(objectName);
+				} catch (JMException ex) {
+					//already gone
+				}
+				objectName = null;
+			}
+			if (serviceRegistration != null) {
+				try {
+					serviceRegistration.unregister();
+				} catch (IllegalStateException ex) {
+					//already unregistered
+				}
+				serviceRegistration = null;
+			}
+		}
+	}
+
+	private final Map<Phase, PhaseTimer> phases = new EnumMap<>(Phase.class);
+
+	private final LongAdder requests = new LongAdder();
+
+	private final LongAdder bytesReceived = new LongAdder();
+
+	private final LongAdder cacheHits = new LongAdder();
+
+	private final LongAdder cacheMisses = new LongAdder();
+
+	private final LongAdder retries = new LongAdder();
+
+	private final LongAdder circuitBreakerRejections = new LongAdder();
+
+	private final LongAdder fallbacks = new LongAdder();
+
+	public RequestMetrics() {
+		for (Phase phase : Phase.values()) {
+			phases.put(phase, new PhaseTimer());
+		}
+	}
+
+	/**
+	 * @return the instance shared by all transports and services
+	 */
+	public static RequestMetrics getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @param nanos
+	 *            the time spent in the phase, in nanoseconds
+	 */
+	public void recordPhase(Phase phase, long nanos) {
+		if (nanos >= 0) {
+			phases.get(phase).record(nanos);
+		}
+	}
+
+	/**
+	 * Record the time since the given start of a phase.
+	 *
+	 * @param startNanos
+	 *            the start of the phase, as returned by {@link System#nanoTime()}
+	 */
+	public void recordPhaseSince(Phase phase, long startNanos) {
+		recordPhase(phase, System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Count the bytes of a response body as they are read, and record the time spent waiting for them as the
+	 * {@link Phase#DOWNLOAD download} phase.
+	 */
+	public InputStream meterDownload(InputStream in) {
+		return new DownloadInputStream(in);
+	}
+
+	public void recordRequest() {
+		requests.increment();
+	}
+
+	public void recordBytesReceived(long bytes) {
+		if (bytes > 0) {
+			bytesReceived.add(bytes);
+		}
+	}
+
+	public void recordCacheHit() {
+		cacheHits.increment();
+	}
+
+	public void recordCacheMiss() {
+		cacheMisses.increment();
+	}
+
+	public void recordRetry() {
+		retries.increment();
+	}
+
+	public void recordCircuitBreakerRejection() {
+		circuitBreakerRejections.increment();
+	}
+
+	public void recordFallback() {
+		fallbacks.increment();
+	}
+
+	public PhaseStatistics getPhaseStatistics(Phase phase) {
+		return phases.get(phase).getStatistics();
+	}
+
+	@Override
+	public Map<String, PhaseStatistics> getPhases() {
+		Map<String, PhaseStatistics> statistics = new LinkedHashMap<>();
+		for (Map.Entry<Phase, PhaseTimer> phase : phases.entrySet()) {
+			statistics.put(phase.getKey().name(), phase.getValue().getStatistics());
+		}
+		return statistics;
+	}
+
+	@Override
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	@Override
+	public long getBytesReceived() {
+		return bytesReceived.sum();
+	}
+
+	@Override
+	public long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	@Override
+	public long getCacheMisses() {
+		return cacheMisses.sum();
+	}
+
+	@Override
+	public long getRetries() {
+		return retries.sum();
+	}
+
+	@Override
+	public long getCircuitBreakerRejections() {
+		return circuitBreakerRejections.sum();
+	}
+
+	@Override
+	public long getFallbacks() {
+		return fallbacks.sum();
+	}
+
+	@Override
+	public void reset() {
+		for (PhaseTimer timer : phases.values()) {
+			timer.reset();
+		}
+		requests.reset();
+		bytesReceived.reset();
+		cacheHits.reset();
+		cacheMisses.reset();
+		retries.reset();
+		circuitBreakerRejections.reset();
+		fallbacks.reset();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("RequestMetrics [requests=").append(getRequests()) //$NON-NLS-1$
+				.append(", bytesReceived=").append(getBytesReceived()) //$NON-NLS-1$
+				.append(", cacheHits=").append(getCacheHits()) //$NON-NLS-1$
+				.append(", cacheMisses=").append(getCacheMisses()) //$NON-NLS-1$
+				.append(", retries=").append(getRetries()) //$NON-NLS-1$
+				.append(", circuitBreakerRejections=").append(getCircuitBreakerRejections()) //$NON-NLS-1$
+				.append(", fallbacks=").append(getFallbacks()); //$NON-NLS-1$
+		for (Map.Entry<String, PhaseStatistics> phase : getPhases().entrySet()) {
+			builder.append(",\n\t").append(phase.getKey()).append(": ").append(phase.getValue()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return builder.append(']').toString();
+	}
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.util.Map;
+
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics.PhaseStatistics;
+
+/**
+ * Management interface of {@link RequestMetrics}, as seen by JMX clients.
+ */
+public interface RequestMetricsMXBean {
+
+	/**
+	 * @return the number of HTTP requests sent, including redirects
+	 */
+	long getRequests();
+
+	/**
+	 * @return the number of response body bytes received, before content decoding
+	 */
+	long getBytesReceived();
+
+	/**
+	 * @return the number of lookups answered from the memory or persistent cache of the marketplace services
+	 */
+	long getCacheHits();
+
+	/**
+	 * @return the number of lookups the marketplace services had to request from the server
+	 */
+	long getCacheMisses();
+
+	/**
+	 * @return the number of requests that were retried after a failure
+	 */
+	long getRetries();
+
+	/**
+	 * @return the number of requests rejected without contacting the server, because its host was considered down
+	 */
+	long getCircuitBreakerRejections();
+
+	/**
+	 * @return the number of requests answered by the fallback transport instead of the primary one
+	 */
+	long getFallbacks();
+
+	/**
+	 * @return the statistics of each request phase, by phase name
+	 */
+	Map<String, PhaseStatistics> getPhases();
+
+	void reset();
+}
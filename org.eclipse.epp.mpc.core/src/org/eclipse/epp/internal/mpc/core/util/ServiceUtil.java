@@ -138,6 +138,52 @@ public static URL parseUrl(String url) {
 		}
 	}
 
+	/**
+	 * Look up a framework property from the bundle context of the given class' bundle, falling back to a system
+	 * property if the bundle context is not available.
+	 *
+	 * @param context
+	 *            a class from the bundle whose context should be used
+	 * @param key
+	 *            the property key
+	 * @return the property value, or null if it is not set
+	 */
+	public static String getFrameworkProperty(Class<?> context, String key) {
+		Bundle bundle = FrameworkUtil.getBundle(context);
+		BundleContext bundleContext = bundle == null ? null : bundle.getBundleContext();
+		if (bundleContext == null) {
+			return System.getProperty(key);
+		}
+		return bundleContext.getProperty(key);
+	}
+
+	public static boolean getBooleanProperty(Class<?> context, String key, boolean defaultValue) {
+		String value = getFrameworkProperty(context, key);
+		if (value == null || "".equals(value.trim())) { //$NON-NLS-1$
+			return defaultValue;
+		}
+		return Boolean.parseBoolean(value.trim());
+	}
+
+	public static int getIntProperty(Class<?> context, String key, int defaultValue) {
+		return (int) getLongProperty(context, key, defaultValue);
+	}
+
+	public static long getLongProperty(Class<?> context, String key, long defaultValue) {
+		String value = getFrameworkProperty(context, key);
+		if (value == null || "".equals(value.trim())) { //$NON-NLS-1$
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException ex) {
+			MarketplaceClientCore.getLog()
+			.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+					NLS.bind(Messages.ServiceUtil_ignoringIncompatibleServiceProperty, value, key)));
+			return defaultValue;
+		}
+	}
+
 	public static Object getOverridablePropertyValue(Map<?, ?> properties, String key) {
 		String overridePropertyKey = key + "Property"; //$NON-NLS-1$
 		Object overrideProperty = properties.get(overridePropertyKey);
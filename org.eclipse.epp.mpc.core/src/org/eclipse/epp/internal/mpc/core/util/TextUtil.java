@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,17 +12,48 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.util;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Utility for manipulating text.
+ * <p>
+ * HTML processing is done by a single scan over the text, which finds tags and whitespace runs by hand instead of using
+ * regular expressions. It matches exactly what the former tag and paragraph patterns matched, including their
+ * backtracking behavior for unusual markup.
  *
  * @author David Green
  */
 public class TextUtil {
-	private static final Pattern STRIP_TAG_PATTERN = Pattern.compile(
-			"</?[a-zA-Z]+[0-6]?(\\s+[a-zA-Z]+\\s*=\\s*((('|\")[^>]*?\\4)|(\\S+)))*\\s*/?>", Pattern.MULTILINE); //$NON-NLS-1$
+
+	/**
+	 * The {@link TextUtil#stripHtmlMarkup(String) plain text} and {@link TextUtil#cleanInformalHtmlMarkup(String)
+	 * markup} of an HTML text.
+	 */
+	public static final class HtmlText {
+
+		private final String text;
+
+		private final String markup;
+
+		private HtmlText(String text, String markup) {
+			this.text = text;
+			this.markup = markup;
+		}
+
+		/**
+		 * @return the text without HTML tags
+		 * @see TextUtil#stripHtmlMarkup(String)
+		 */
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * @return the markup with informal paragraphs replaced by paragraph tags
+		 * @see TextUtil#cleanInformalHtmlMarkup(String)
+		 */
+		public String getMarkup() {
+			return markup;
+		}
+	}
 
 	/**
 	 * Strip HTML tags such that the returned text is suitable for display.
@@ -35,20 +66,27 @@ public static String stripHtmlMarkup(String text) {
 		if (text == null) {
 			return null;
 		}
-		String result = ""; //$NON-NLS-1$
-		int lastOffset = 0;
-		Matcher matcher = STRIP_TAG_PATTERN.matcher(text);
-		while (matcher.find()) {
-			int start = matcher.start();
-			if (start > lastOffset) {
-				result += text.substring(lastOffset, start);
-			}
-			lastOffset = matcher.end();
-		}
-		if (lastOffset < text.length()) {
-			result += text.substring(lastOffset);
+		StringBuilder stripped = new StringBuilder(text.length());
+		scan(text, stripped, false, null);
+		return stripped.toString();
+	}
+
+	/**
+	 * Strip HTML tags and join all lines, such that the returned text is suitable for display in a single paragraph.
+	 * The text is {@link String#trim() trimmed}, and line breaks and runs of whitespace are replaced with a single
+	 * space.
+	 *
+	 * @param text
+	 *            the text to adjust
+	 * @return the text, possibly altered
+	 */
+	public static String stripHtmlMarkupToSingleLine(String text) {
+		if (text == null) {
+			return null;
 		}
-		return result;
+		StringBuilder stripped = new StringBuilder(text.length());
+		scan(text, stripped, true, null);
+		return stripped.toString().trim();
 	}
 
 	/**
@@ -63,10 +101,239 @@ public static String cleanInformalHtmlMarkup(String text) {
 		if (text == null) {
 			return null;
 		}
-		// replace dual newlines with paragraph tags, but not if between tags
-		text = Pattern.compile("(?<!>)\\s*?((\\r\\n)|\\n|\\r){2,}\\s*(?!<)").matcher(text).replaceAll("<p>"); //$NON-NLS-1$ //$NON-NLS-2$
+		StringBuilder markup = new StringBuilder(text.length() + 16);
+		scan(text, null, false, markup);
+		return markup.toString();
+	}
 
-		return text;
+	/**
+	 * Compute both the {@link #stripHtmlMarkup(String) stripped text} and the
+	 * {@link #cleanInformalHtmlMarkup(String) cleaned markup} of the given text in a single scan.
+	 *
+	 * @param text
+	 *            the text to process
+	 * @return the stripped text and cleaned markup, or null if the text is null
+	 */
+	public static HtmlText sanitizeHtml(String text) {
+		if (text == null) {
+			return null;
+		}
+		StringBuilder stripped = new StringBuilder(text.length());
+		StringBuilder markup = new StringBuilder(text.length() + 16);
+		scan(text, stripped, false, markup);
+		return new HtmlText(stripped.toString(), markup.toString());
+	}
+
+	/**
+	 * Scan the text once, writing the text without tags to <code>stripped</code> and the text with paragraph tags for
+	 * informal paragraphs to <code>markup</code>. Either output may be null.
+	 */
+	private static void scan(String text, StringBuilder stripped, boolean singleLine, StringBuilder markup) {
+		int length = text.length();
+		int tagEnd = 0;
+		int pendingWhitespace = -1;
+		int i = 0;
+		while (i < length) {
+			char c = text.charAt(i);
+			if (isWhitespace(c)) {
+				int runEnd = skipWhitespace(text, i);
+				if (markup != null) {
+					appendParagraphs(markup, text, i, runEnd);
+				}
+				//runs are never part of a tag and its surroundings at the same time, since tags start with '<'
+				if (stripped != null && i >= tagEnd) {
+					if (singleLine && pendingWhitespace == -1) {
+						//joined when the run ends, since whitespace around stripped tags joins into one run
+						pendingWhitespace = stripped.length();
+					}
+					stripped.append(text, i, runEnd);
+				}
+				i = runEnd;
+				continue;
+			}
+			if (stripped != null && i >= tagEnd) {
+				if (c == '<') {
+					int end = matchTag(text, i);
+					if (end != -1) {
+						tagEnd = end;
+					}
+				}
+				if (i >= tagEnd) {
+					if (pendingWhitespace != -1) {
+						joinLines(stripped, pendingWhitespace);
+						pendingWhitespace = -1;
+					}
+					stripped.append(c);
+				}
+			}
+			if (markup != null) {
+				markup.append(c);
+			}
+			i++;
+		}
+		if (pendingWhitespace != -1) {
+			joinLines(stripped, pendingWhitespace);
+		}
+	}
+
+	/**
+	 * Replace line breaks and runs of at least two whitespace characters with a single space, like
+	 * <code>replaceAll("(\\r\\n)|\\n|\\r|\\s{2,}", " ")</code>, in the whitespace run at the end of the builder.
+	 */
+	private static void joinLines(StringBuilder text, int runStart) {
+		int runEnd = text.length();
+		int out = runStart;
+		int i = runStart;
+		while (i < runEnd) {
+			char c = text.charAt(i);
+			if (c == '\r' && i + 1 < runEnd && text.charAt(i + 1) == '\n') {
+				text.setCharAt(out++, ' ');
+				i += 2;
+			} else if (c == '\n' || c == '\r') {
+				text.setCharAt(out++, ' ');
+				i++;
+			} else if (runEnd - i >= 2) {
+				//the rest of the run
+				text.setCharAt(out++, ' ');
+				i = runEnd;
+			} else {
+				text.setCharAt(out++, c);
+				i++;
+			}
+		}
+		text.setLength(out);
+	}
+
+	/**
+	 * Append the whitespace run <code>[start, end)</code>, replacing at least two line breaks with a paragraph tag,
+	 * unless they are between tags.
+	 */
+	private static void appendParagraphs(StringBuilder markup, String text, int start, int end) {
+		//the replaced part must not directly follow a '>' and must not be directly followed by a '<'
+		int from = start > 0 && text.charAt(start - 1) == '>' ? start + 1 : start;
+		int to = end < text.length() && text.charAt(end) == '<' ? end - 1 : end;
+		for (int i = from; i + 2 <= to; i++) {
+			if (isLineBreak(text.charAt(i)) && isLineBreak(text.charAt(i + 1))) {
+				markup.append(text, start, from).append("<p>").append(text, to, end); //$NON-NLS-1$
+				return;
+			}
+		}
+		markup.append(text, start, end);
+	}
+
+	/**
+	 * Match a tag starting at the given '<'.
+	 *
+	 * @return the end of the tag, or -1 if there is no tag at the given offset
+	 */
+	private static int matchTag(String text, int start) {
+		int length = text.length();
+		int i = start + 1;
+		if (i < length && text.charAt(i) == '/') {
+			i++;
+		}
+		int nameStart = i;
+		i = skipLetters(text, i);
+		if (i == nameStart) {
+			return -1;
+		}
+		if (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '6') {
+			i++;
+		}
+		return matchAttributes(text, i);
+	}
+
+	/**
+	 * Match the remaining attributes and the end of a tag. Like the regular expression, this prefers more attributes
+	 * and longer values and falls back to shorter ones if the rest of the tag doesn't match.
+	 */
+	private static int matchAttributes(String text, int start) {
+		int length = text.length();
+		int i = skipWhitespace(text, start);
+		if (i > start && i < length && isLetter(text.charAt(i))) {
+			int equals = skipWhitespace(text, skipLetters(text, i));
+			if (equals < length && text.charAt(equals) == '=') {
+				int end = matchValue(text, skipWhitespace(text, equals + 1));
+				if (end != -1) {
+					return end;
+				}
+			}
+		}
+		if (i < length && text.charAt(i) == '/' && i + 1 < length && text.charAt(i + 1) == '>') {
+			return i + 2;
+		}
+		if (i < length && text.charAt(i) == '>') {
+			return i + 1;
+		}
+		return -1;
+	}
+
+	private static int matchValue(String text, int start) {
+		int length = text.length();
+		if (start >= length) {
+			return -1;
+		}
+		char quote = text.charAt(start);
+		if (quote == '\'' || quote == '"') {
+			//quoted value without '>', up to the first closing quote that lets the rest of the tag match
+			for (int i = start + 1; i < length && text.charAt(i) != '>'; i++) {
+				if (text.charAt(i) == quote) {
+					int end = matchAttributes(text, i + 1);
+					if (end != -1) {
+						return end;
+					}
+				}
+			}
+		}
+		int valueEnd = start;
+		while (valueEnd < length && !isWhitespace(text.charAt(valueEnd))) {
+			valueEnd++;
+		}
+		if (valueEnd == start) {
+			return -1;
+		}
+		int end = matchAttributes(text, valueEnd);
+		if (end != -1) {
+			return end;
+		}
+		//a shorter unquoted value can only be followed by the end of the tag, so end the tag at its last '>'
+		for (int i = valueEnd - 1; i > start; i--) {
+			if (text.charAt(i) == '>') {
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+
+	private static int skipWhitespace(String text, int start) {
+		int i = start;
+		while (i < text.length() && isWhitespace(text.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipLetters(String text, int start) {
+		int i = start;
+		while (i < text.length() && isLetter(text.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	/**
+	 * The characters matched by <code>\s</code> in a regular expression
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000b' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isLineBreak(char c) {
+		return c == '\n' || c == '\r';
 	}
 
 	public static String escapeText(String text) {
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe statistics about the requests made through a transport: their outcome, and the latency of the most
+ * recent successful ones.
+ */
+public class TransportHealth {
+
+	/**
+	 * Number of recent latencies kept for percentiles
+	 */
+	static final int LATENCY_SAMPLES = 100;
+
+	/**
+	 * Minimum number of latencies needed for a meaningful percentile
+	 */
+	static final int MIN_LATENCY_SAMPLES = 10;
+
+	private final LongAdder attempts = new LongAdder();
+
+	private final LongAdder successes = new LongAdder();
+
+	private final LongAdder failures = new LongAdder();
+
+	private final LongAdder cancellations = new LongAdder();
+
+	private final LatencySamples latencies = new LatencySamples(LATENCY_SAMPLES);
+
+	public void recordAttempt() {
+		attempts.increment();
+	}
+
+	/**
+	 * @param latencyNanos
+	 *            time until the transport returned the response
+	 */
+	public void recordSuccess(long latencyNanos) {
+		successes.increment();
+		latencies.add(latencyNanos);
+	}
+
+	public void recordFailure() {
+		failures.increment();
+	}
+
+	/**
+	 * Record a request that was abandoned before it completed, e.g. because another transport answered first.
+	 */
+	public void recordCancellation() {
+		cancellations.increment();
+	}
+
+	public long getAttempts() {
+		return attempts.sum();
+	}
+
+	public long getSuccesses() {
+		return successes.sum();
+	}
+
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	public long getCancellations() {
+		return cancellations.sum();
+	}
+
+	/**
+	 * @return the ratio of failures to attempts, or 0 if there were no attempts yet
+	 */
+	public double getFailureRate() {
+		long attemptCount = getAttempts();
+		return attemptCount == 0 ? 0 : getFailures() / (double) attemptCount;
+	}
+
+	/**
+	 * @param percentile
+	 *            the percentile between 0 and 100
+	 * @return the given percentile of the recent successful requests' latencies in milliseconds, or -1 if there are
+	 *         too few samples yet
+	 */
+	public long getLatencyPercentile(int percentile) {
+		long latency = latencies.getPercentile(percentile, MIN_LATENCY_SAMPLES);
+		return latency < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(latency);
+	}
+
+	@Override
+	public String toString() {
+		return "attempts=" + getAttempts() + ", successes=" + getSuccesses() + ", failures=" + getFailures() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", cancellations=" + getCancellations() + ", p50=" + getLatencyPercentile(50) + "ms, p95=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ getLatencyPercentile(95) + "ms"; //$NON-NLS-1$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2014, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -17,6 +17,7 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -107,6 +108,28 @@ public interface IMarketplaceService {
 	ISearchResult search(IMarket market, ICategory category, String queryText, IProgressMonitor monitor)
 			throws CoreException;
 
+	/**
+	 * Find nodes in the marketplace with a text query, handing each node to the given consumer as soon as it is
+	 * available. Implementations that read the result incrementally call the consumer while the rest of the result is
+	 * still being retrieved, so clients can start processing the first nodes early.
+	 * <p>
+	 * The consumer is called on the calling thread, once for each node of the returned result. If the search fails,
+	 * the consumer might already have received some nodes.
+	 *
+	 * @param nodeConsumer
+	 *            notified of each node of the result, or null
+	 * @return the search result
+	 * @see #search(IMarket, ICategory, String, IProgressMonitor)
+	 */
+	default ISearchResult search(IMarket market, ICategory category, String queryText,
+			Consumer<? super INode> nodeConsumer, IProgressMonitor monitor) throws CoreException {
+		ISearchResult result = search(market, category, queryText, monitor);
+		if (nodeConsumer != null) {
+			result.getNodes().forEach(nodeConsumer);
+		}
+		return result;
+	}
+
 	/**
 	 * Find nodes in the marketplace tagged with the given tag. Only nodes having an exact (case-insensitie) match for
 	 * the given tag will be returned.
@@ -145,6 +168,24 @@ ISearchResult search(IMarket market, ICategory category, String queryText, IProg
 	 */
 	ISearchResult featured(IMarket market, ICategory category, IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Find featured nodes in the marketplace, handing each node to the given consumer as soon as it is available.
+	 *
+	 * @param nodeConsumer
+	 *            notified of each node of the result, or null
+	 * @return the search result
+	 * @see #featured(IMarket, ICategory, IProgressMonitor)
+	 * @see #search(IMarket, ICategory, String, Consumer, IProgressMonitor)
+	 */
+	default ISearchResult featured(IMarket market, ICategory category, Consumer<? super INode> nodeConsumer,
+			IProgressMonitor monitor) throws CoreException {
+		ISearchResult result = featured(market, category, monitor);
+		if (nodeConsumer != null) {
+			result.getNodes().forEach(nodeConsumer);
+		}
+		return result;
+	}
+
 	/**
 	 * Find recently added/modified nodes in the marketplace
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2014, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -16,9 +16,13 @@
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+import org.eclipse.core.runtime.jobs.Job;
 
 /**
  * An abstraction for a URI-based download channel. The actual download strategy depends on the implementation.
@@ -28,4 +32,71 @@
 public interface ITransport {
 	public InputStream stream(URI location, IProgressMonitor monitor) throws FileNotFoundException,
 	ServiceUnavailableException, CoreException;
+
+	/**
+	 * Open a stream for the given location, asking the server for one of the given content types. Transports that
+	 * don't support content negotiation ignore the accepted types, so callers have to be prepared to receive any
+	 * representation of the resource.
+	 *
+	 * @param acceptedContentTypes
+	 *            the accepted content types in the format of an HTTP <code>Accept</code> header, or null to use the
+	 *            transport's default
+	 * @see #stream(URI, IProgressMonitor)
+	 */
+	public default InputStream stream(URI location, String acceptedContentTypes, IProgressMonitor monitor)
+			throws FileNotFoundException, ServiceUnavailableException, CoreException {
+		return stream(location, monitor);
+	}
+
+	/**
+	 * Request the given location without blocking the calling thread. The returned future completes with the
+	 * response content, or exceptionally with the same exceptions that {@link #stream(URI, String, IProgressMonitor)}
+	 * would throw. Cancelling the future aborts the request.
+	 * <p>
+	 * The future may be completed on a thread of the transport's I/O engine, so dependent actions that block should be
+	 * run asynchronously. Transports that don't support non-blocking requests run the blocking request in a
+	 * background job, which is what this default implementation does. The blocking request gets a monitor that is
+	 * canceled once the future is, so transports that check their monitor abort the request.
+	 *
+	 * @param acceptedContentTypes
+	 *            the accepted content types in the format of an HTTP <code>Accept</code> header, or null to use the
+	 *            transport's default
+	 * @param monitor
+	 *            a progress monitor for the request. Since the request runs on a different thread, the monitor must
+	 *            tolerate being used from there.
+	 * @see #stream(URI, String, IProgressMonitor)
+	 */
+	public default CompletableFuture<InputStream> streamAsync(URI location, String acceptedContentTypes,
+			IProgressMonitor monitor) {
+		CompletableFuture<InputStream> result = new CompletableFuture<>();
+		IProgressMonitor requestMonitor = new ProgressMonitorWrapper(
+				monitor == null ? new NullProgressMonitor() : monitor) {
+			@Override
+			public boolean isCanceled() {
+				return result.isCancelled() || super.isCanceled();
+			}
+		};
+		Job job = Job.create(location.toString(), jobMonitor -> {
+			if (result.isDone()) {
+				return;
+			}
+			try {
+				InputStream stream = acceptedContentTypes == null ? stream(location, requestMonitor)
+						: stream(location, acceptedContentTypes, requestMonitor);
+				if (!result.complete(stream) && stream != null) {
+					stream.close();
+				}
+			} catch (Exception ex) {
+				result.completeExceptionally(ex);
+			}
+		});
+		job.setSystem(true);
+		result.whenComplete((stream, ex) -> {
+			if (result.isCancelled()) {
+				job.cancel();
+			}
+		});
+		job.schedule();
+		return result;
+	}
 }
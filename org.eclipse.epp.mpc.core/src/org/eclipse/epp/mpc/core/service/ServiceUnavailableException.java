@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2014, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -24,8 +24,27 @@
 @SuppressWarnings("serial")
 public class ServiceUnavailableException extends CoreException {
 
+	private final long retryAfter;
+
 	public ServiceUnavailableException(IStatus status) {
+		this(status, -1);
+	}
+
+	/**
+	 * @param retryAfter
+	 *            the time in milliseconds after which the service expects to be available again, or -1 if unknown
+	 */
+	public ServiceUnavailableException(IStatus status, long retryAfter) {
 		super(status);
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * @return the time in milliseconds after which the service expects to be available again, as announced with the
+	 *         <code>Retry-After</code> header of the response, or -1 if unknown
+	 */
+	public long getRetryAfter() {
+		return retryAfter;
 	}
 
 }
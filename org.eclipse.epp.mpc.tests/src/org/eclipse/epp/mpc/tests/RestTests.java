@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,29 @@
  *******************************************************************************/
 package org.eclipse.epp.mpc.tests;
 
+import org.eclipse.epp.mpc.tests.service.CachingMarketplaceServiceTest;
 import org.eclipse.epp.mpc.tests.service.CatalogServiceTest;
 import org.eclipse.epp.mpc.tests.service.DefaultMarketplaceServiceTest;
+import org.eclipse.epp.mpc.tests.service.JsonContentNegotiationTest;
+import org.eclipse.epp.mpc.tests.service.MemoryResponseCacheTest;
+import org.eclipse.epp.mpc.tests.service.PersistentResponseCacheTest;
+import org.eclipse.epp.mpc.tests.service.RequestCoalescerTest;
+import org.eclipse.epp.mpc.tests.service.RetryAfterTest;
+import org.eclipse.epp.mpc.tests.service.RetryPolicyTest;
 import org.eclipse.epp.mpc.tests.service.SolutionCompatibilityFilterTest;
+import org.eclipse.epp.mpc.tests.service.xml.JsonUnmarshallerTest;
+import org.eclipse.epp.mpc.tests.service.xml.ModelSnapshotTest;
+import org.eclipse.epp.mpc.tests.service.xml.StaxUnmarshallerTest;
+import org.eclipse.epp.mpc.tests.service.xml.StringPoolTest;
+import org.eclipse.epp.mpc.tests.service.xml.StripInvalidXMLCharsReaderTest;
 import org.eclipse.epp.mpc.tests.service.xml.UnmarshallerTest;
+import org.eclipse.epp.mpc.tests.util.AsyncTransportTest;
+import org.eclipse.epp.mpc.tests.util.ContentEncodingStatisticsTest;
+import org.eclipse.epp.mpc.tests.util.FallbackTransportTest;
+import org.eclipse.epp.mpc.tests.util.HttpResponseCacheTest;
 import org.eclipse.epp.mpc.tests.util.ProxyConfigurationTest;
+import org.eclipse.epp.mpc.tests.util.RequestMetricsTest;
+import org.eclipse.epp.mpc.tests.util.StreamingResponseInputStreamTest;
 import org.eclipse.epp.mpc.tests.util.TextUtilTest;
 import org.eclipse.epp.mpc.tests.util.TransportFactoryTest;
 import org.junit.platform.suite.api.SelectClasses;
@@ -29,11 +47,29 @@
 @SelectClasses({ //
 	ProxyConfigurationTest.class, //
 	UnmarshallerTest.class, //
+	StripInvalidXMLCharsReaderTest.class, //
+	StaxUnmarshallerTest.class, //
+	StringPoolTest.class, //
+	ModelSnapshotTest.class, //
+	JsonUnmarshallerTest.class, //
 	TextUtilTest.class, //
 	TransportFactoryTest.class, //
 	CatalogServiceTest.class, //
 	DefaultMarketplaceServiceTest.class, //
-	SolutionCompatibilityFilterTest.class
+	SolutionCompatibilityFilterTest.class, //
+	PersistentResponseCacheTest.class, //
+	HttpResponseCacheTest.class, //
+	StreamingResponseInputStreamTest.class, //
+	AsyncTransportTest.class, //
+	FallbackTransportTest.class, //
+	JsonContentNegotiationTest.class, //
+	ContentEncodingStatisticsTest.class, //
+	MemoryResponseCacheTest.class, //
+	RequestCoalescerTest.class, //
+	RetryPolicyTest.class, //
+	RetryAfterTest.class, //
+	CachingMarketplaceServiceTest.class, //
+	RequestMetricsTest.class
 })
 public class RestTests {
 }
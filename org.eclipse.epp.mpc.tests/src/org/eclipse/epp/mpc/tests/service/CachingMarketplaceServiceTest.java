@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.FileNotFoundException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.service.CachingMarketplaceService;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+import org.eclipse.epp.mpc.core.service.QueryHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+public class CachingMarketplaceServiceTest {
+
+	private IMarketplaceService delegate;
+
+	private CachingMarketplaceService service;
+
+	@Before
+	public void setUp() throws Exception {
+		delegate = Mockito.mock(IMarketplaceService.class);
+		Mockito.when(delegate.getBaseUrl()).thenReturn(new URL("https://marketplace.eclipse.org"));
+		service = new CachingMarketplaceService(delegate);
+	}
+
+	@Test
+	public void testCacheMissingNode() throws Exception {
+		Mockito.when(delegate.getNode(ArgumentMatchers.any(), ArgumentMatchers.any()))
+		.thenThrow(notFound("Node not found: '1234'"));
+
+		assertNotFound(() -> service.getNode(QueryHelper.nodeById("1234"), new NullProgressMonitor()));
+		assertNotFound(() -> service.getNode(QueryHelper.nodeById("1234"), new NullProgressMonitor()));
+
+		Mockito.verify(delegate, Mockito.times(1)).getNode(ArgumentMatchers.any(), ArgumentMatchers.any());
+		assertEquals(1, service.getMemoryCache().getNegativeHitCount());
+	}
+
+	@Test
+	public void testDontCacheOtherFailures() throws Exception {
+		Mockito.when(delegate.getNode(ArgumentMatchers.any(), ArgumentMatchers.any()))
+		.thenThrow(new CoreException(new Status(IStatus.ERROR, "org.eclipse.epp.mpc.tests", "Connection reset")));
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				service.getNode(QueryHelper.nodeById("1234"), new NullProgressMonitor());
+				fail();
+			} catch (CoreException ex) {
+				//expected
+			}
+		}
+		Mockito.verify(delegate, Mockito.times(2)).getNode(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+
+	@Test
+	public void testCacheMissingNodesInBatch() throws Exception {
+		Node found = new Node();
+		found.setId("1");
+		Mockito.when(delegate.getNodes(ArgumentMatchers.any(), ArgumentMatchers.any()))
+		.thenReturn(Collections.singletonList(found));
+
+		List<INode> nodes = Arrays.asList(QueryHelper.nodeById("1"), QueryHelper.nodeById("2"));
+		assertEquals(1, service.getNodes(nodes, new NullProgressMonitor()).size());
+		assertEquals(1, service.getNodes(nodes, new NullProgressMonitor()).size());
+
+		Mockito.verify(delegate, Mockito.times(1)).getNodes(ArgumentMatchers.any(), ArgumentMatchers.any());
+		assertNotFound(() -> service.getNode(QueryHelper.nodeById("2"), new NullProgressMonitor()));
+		Mockito.verify(delegate, Mockito.never()).getNode(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+
+	@Test
+	public void testCacheMetrics() throws Exception {
+		RequestMetrics metrics = RequestMetrics.getDefault();
+		long hits = metrics.getCacheHits();
+		long misses = metrics.getCacheMisses();
+		Node found = new Node();
+		found.setId("1");
+		Mockito.when(delegate.getNode(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(found);
+
+		service.getNode(QueryHelper.nodeById("1"), new NullProgressMonitor());
+		service.getNode(QueryHelper.nodeById("1"), new NullProgressMonitor());
+
+		assertEquals(misses + 1, metrics.getCacheMisses());
+		assertEquals(hits + 1, metrics.getCacheHits());
+	}
+
+	@Test
+	public void testCacheUnsupportedSearch() throws Exception {
+		Mockito.when(delegate.search(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+				ArgumentMatchers.any())).thenThrow(notFound("Unsupported search string: foo/bar"));
+
+		assertNotFound(() -> service.search(null, null, "foo/bar", new NullProgressMonitor()));
+		assertNotFound(() -> service.search(null, null, "foo/bar", new NullProgressMonitor()));
+
+		Mockito.verify(delegate, Mockito.times(1)).search(ArgumentMatchers.any(), ArgumentMatchers.any(),
+				ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+
+	@Test
+	public void testCacheEmptyTagLookup() throws Exception {
+		SearchResult empty = new SearchResult();
+		empty.setMatchCount(0);
+		empty.setNodes(Collections.emptyList());
+		Mockito.when(delegate.tagged(ArgumentMatchers.anyString(), ArgumentMatchers.any())).thenReturn(empty);
+
+		ISearchResult result = service.tagged("fileExtension_xyz", new NullProgressMonitor());
+		assertSame(result, service.tagged("fileExtension_xyz", new NullProgressMonitor()));
+
+		Mockito.verify(delegate, Mockito.times(1)).tagged(ArgumentMatchers.anyString(), ArgumentMatchers.any());
+		assertTrue(service.getMemoryCache().getEntryStatistics("tagged:::fileExtension_xyz")
+				.getExpirationTime() <= System.currentTimeMillis()
+				+ service.getMemoryCache().getNegativeTimeToLive());
+	}
+
+	@Test
+	public void testServeStaleResultWhileRefreshing() throws Exception {
+		SearchResult staleResult = new SearchResult();
+		staleResult.setNodes(Collections.emptyList());
+		SearchResult freshResult = new SearchResult();
+		freshResult.setNodes(Collections.emptyList());
+		Mockito.when(delegate.popular(ArgumentMatchers.any())).thenReturn(staleResult, freshResult);
+
+		service.getMemoryCache().setTimeToLive("popular", 0);
+		assertSame(staleResult, service.popular(new NullProgressMonitor()));
+		service.getMemoryCache().setTimeToLive("popular", TimeUnit.HOURS.toMillis(1));
+		Thread.sleep(5);
+
+		CountDownLatch refreshed = new CountDownLatch(1);
+		assertSame(staleResult, service.popular(refreshed::countDown, new NullProgressMonitor()));
+		assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+		assertSame(freshResult, service.popular(refreshed::countDown, new NullProgressMonitor()));
+		Mockito.verify(delegate, Mockito.times(2)).popular(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void testDontServeStaleResultByDefault() throws Exception {
+		SearchResult staleResult = new SearchResult();
+		staleResult.setNodes(Collections.emptyList());
+		SearchResult freshResult = new SearchResult();
+		freshResult.setNodes(Collections.emptyList());
+		Mockito.when(delegate.popular(ArgumentMatchers.any())).thenReturn(staleResult, freshResult);
+
+		service.getMemoryCache().setTimeToLive("popular", 0);
+		service.popular(new NullProgressMonitor());
+		Thread.sleep(5);
+		assertSame(freshResult, service.popular(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testStreamedSearch() throws Exception {
+		Node first = new Node();
+		first.setId("1");
+		Node second = new Node();
+		second.setId("2");
+		SearchResult result = new SearchResult();
+		result.setNodes(Arrays.asList(first, second));
+		Mockito.when(delegate.search(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(),
+				ArgumentMatchers.<Consumer<? super INode>> any(), ArgumentMatchers.any())).thenAnswer(invocation -> {
+					Consumer<? super INode> nodeConsumer = invocation.getArgument(3);
+					//first node is streamed again by a retry, second one isn't streamed at all
+					nodeConsumer.accept(first);
+					nodeConsumer.accept(first);
+					return result;
+				});
+
+		List<INode> streamed = new ArrayList<>();
+		assertSame(result, service.search(null, null, "test", streamed::add, new NullProgressMonitor()));
+		assertEquals(Arrays.asList(first, second), streamed);
+
+		List<INode> cached = new ArrayList<>();
+		assertSame(result, service.search(null, null, "test", cached::add, new NullProgressMonitor()));
+		assertEquals(Arrays.asList(first, second), cached);
+		Mockito.verify(delegate, Mockito.times(1)).search(ArgumentMatchers.any(), ArgumentMatchers.any(),
+				ArgumentMatchers.any(), ArgumentMatchers.<Consumer<? super INode>> any(), ArgumentMatchers.any());
+	}
+
+	private interface Request {
+		void run() throws CoreException;
+	}
+
+	private static void assertNotFound(Request request) {
+		try {
+			request.run();
+			fail();
+		} catch (CoreException ex) {
+			assertTrue(ex.getStatus().getException() instanceof FileNotFoundException);
+		}
+	}
+
+	private static CoreException notFound(String message) {
+		return new CoreException(new Status(IStatus.ERROR, "org.eclipse.epp.mpc.tests", message,
+				new FileNotFoundException(message)));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2020 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -25,6 +25,7 @@
 import java.net.URL;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -32,13 +33,19 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.epp.internal.mpc.core.ServiceLocator;
 import org.eclipse.epp.internal.mpc.core.model.Category;
 import org.eclipse.epp.internal.mpc.core.model.Market;
+import org.eclipse.epp.internal.mpc.core.model.Marketplace;
 import org.eclipse.epp.internal.mpc.core.model.News;
+import org.eclipse.epp.internal.mpc.core.model.Node;
 import org.eclipse.epp.internal.mpc.core.service.DefaultMarketplaceService;
 import org.eclipse.epp.internal.mpc.core.service.RemoteMarketplaceService;
 import org.eclipse.epp.mpc.core.model.ICategory;
@@ -389,4 +396,84 @@ public void getNodes() throws CoreException {
 			}
 		}
 	}
+
+	@Test
+	public void getNodesInChunks() throws CoreException {
+		NodeRecordingService service = new NodeRecordingService();
+		service.setMaxNodesPerRequest(2);
+		List<INode> query = Arrays.asList(QueryHelper.nodeById("1"), QueryHelper.nodeById("2"),
+				QueryHelper.nodeById("3"), QueryHelper.nodeById("4"), QueryHelper.nodeById("5"));
+
+		List<INode> result = service.getNodes(query, new NullProgressMonitor());
+		assertEquals(5, result.size());
+		for (int i = 0; i < query.size(); i++) {
+			assertEquals(query.get(i).getId(), result.get(i).getId());
+		}
+		assertEquals(new HashSet<>(Arrays.asList("node/1,2/api/p", "node/3,4/api/p", "node/5/api/p")),
+				new HashSet<>(service.requests));
+	}
+
+	@Test
+	public void getNodesInParallel() throws CoreException {
+		NodeRecordingService service = new NodeRecordingService();
+		service.setMaxNodesPerRequest(1);
+		service.setMaxParallelRequests(3);
+		service.parallelRequests = new CountDownLatch(3);
+		List<INode> query = Arrays.asList(QueryHelper.nodeById("1"), QueryHelper.nodeById("2"),
+				QueryHelper.nodeById("3"));
+
+		List<INode> result = service.getNodes(query, new NullProgressMonitor());
+		assertEquals(3, result.size());
+		assertTrue(service.allParallel);
+	}
+
+	@Test
+	public void getNodesMissingFromBatch() throws CoreException {
+		NodeRecordingService service = new NodeRecordingService();
+		service.missingIds.add("2");
+		INode urlNode = QueryHelper.nodeByUrl("https://marketplace.eclipse.org/content/missing");
+		((Node) urlNode).setId("2");
+		List<INode> query = Arrays.asList(QueryHelper.nodeById("1"), urlNode, QueryHelper.nodeById("3"));
+
+		List<INode> result = service.getNodes(query, new NullProgressMonitor());
+		assertEquals(2, result.size());
+		assertEquals("1", result.get(0).getId());
+		assertEquals("3", result.get(1).getId());
+		assertEquals(Arrays.asList("node/1,2,3/api/p", "node/2/api/p"), service.requests);
+	}
+
+	private static class NodeRecordingService extends DefaultMarketplaceService {
+
+		private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+		private final Set<String> missingIds = new HashSet<>();
+
+		private CountDownLatch parallelRequests = new CountDownLatch(0);
+
+		private volatile boolean allParallel = true;
+
+		@Override
+		protected Marketplace processRequest(String relativeUrl, IProgressMonitor monitor) throws CoreException {
+			requests.add(relativeUrl);
+			parallelRequests.countDown();
+			try {
+				if (!parallelRequests.await(5, TimeUnit.SECONDS)) {
+					allParallel = false;
+				}
+			} catch (InterruptedException e) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+			String ids = relativeUrl.substring(API_NODE_URI.length() + 1,
+					relativeUrl.length() - API_URI_SUFFIX.length() - 1);
+			Marketplace marketplace = new Marketplace();
+			for (String id : ids.split(",")) {
+				if (!missingIds.contains(id)) {
+					Node node = new Node();
+					node.setId(id);
+					marketplace.getNode().add(node);
+				}
+			}
+			return marketplace;
+		}
+	}
 }
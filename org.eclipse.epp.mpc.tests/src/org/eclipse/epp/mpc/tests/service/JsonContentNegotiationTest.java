@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.model.Marketplace;
+import org.eclipse.epp.internal.mpc.core.service.JsonMarketplaceUnmarshaller;
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceUnmarshaller;
+import org.eclipse.epp.mpc.core.service.ITransport;
+import org.eclipse.epp.mpc.core.service.ServiceHelper;
+import org.eclipse.epp.mpc.tests.service.xml.UnmarshallerTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Requests JSON from a local stand-in for the Marketplace server through the registered transport.
+ */
+public class JsonContentNegotiationTest {
+
+	private HttpServer server;
+
+	private boolean jsonAvailable;
+
+	private final List<String> acceptHeaders = Collections.synchronizedList(new ArrayList<>());
+
+	private URI featuredUri;
+
+	@Before
+	public void setUp() throws Exception {
+		jsonAvailable = true;
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/featured/api/p", this::handleFeatured);
+		server.start();
+		featuredUri = URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort()
+				+ "/featured/api/p");
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	private void handleFeatured(HttpExchange exchange) throws IOException {
+		String accept = exchange.getRequestHeaders().getFirst("Accept");
+		acceptHeaders.add(String.valueOf(accept));
+		boolean json = jsonAvailable && accept != null
+				&& accept.contains(JsonMarketplaceUnmarshaller.JSON_CONTENT_TYPE);
+		exchange.getResponseHeaders().set("Content-Type",
+				json ? "application/json; charset=UTF-8" : "application/xml; charset=UTF-8");
+		byte[] content;
+		try (InputStream in = UnmarshallerTest.class
+				.getResourceAsStream(json ? "resources/featured.json" : "resources/featured.xml")) {
+			content = in.readAllBytes();
+		}
+		exchange.sendResponseHeaders(200, content.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(content);
+		}
+	}
+
+	@Test
+	public void requestJson() throws Exception {
+		Marketplace marketplace = request(new JsonMarketplaceUnmarshaller());
+		assertEquals(1, acceptHeaders.size());
+		assertEquals(JsonMarketplaceUnmarshaller.ACCEPTED_CONTENT_TYPES, acceptHeaders.get(0));
+		assertEquals(6, marketplace.getFeatured().getNode().size());
+	}
+
+	@Test
+	public void fallBackToXml() throws Exception {
+		jsonAvailable = false;
+		Marketplace marketplace = request(new JsonMarketplaceUnmarshaller());
+		assertEquals(1, acceptHeaders.size());
+		assertEquals(6, marketplace.getFeatured().getNode().size());
+	}
+
+	@Test
+	public void xmlByDefault() throws Exception {
+		Marketplace marketplace = request(new MarketplaceUnmarshaller());
+		assertEquals(1, acceptHeaders.size());
+		assertFalse(acceptHeaders.get(0).contains(JsonMarketplaceUnmarshaller.JSON_CONTENT_TYPE));
+		assertEquals(6, marketplace.getFeatured().getNode().size());
+	}
+
+	private Marketplace request(MarketplaceUnmarshaller unmarshaller) throws Exception {
+		ITransport transport = ServiceHelper.getTransportFactory().getTransport();
+		String acceptedContentTypes = unmarshaller.getAcceptedContentTypes();
+		try (InputStream in = acceptedContentTypes == null ? transport.stream(featuredUri, new NullProgressMonitor())
+				: transport.stream(featuredUri, acceptedContentTypes, new NullProgressMonitor())) {
+			Marketplace marketplace = unmarshaller.unmarshal(in, Marketplace.class, new NullProgressMonitor());
+			assertNotNull(marketplace.getFeatured());
+			return marketplace;
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.model.News;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.service.CacheEntryWeigher;
+import org.eclipse.epp.internal.mpc.core.service.MemoryResponseCache;
+import org.eclipse.epp.internal.mpc.core.service.MemoryResponseCache.EntryStatistics;
+import org.eclipse.epp.mpc.core.model.INews;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.junit.Test;
+
+public class MemoryResponseCacheTest {
+
+	private final MemoryResponseCache cache = new MemoryResponseCache();
+
+	@Test
+	public void testGetAndPut() {
+		Node node = new Node();
+		cache.put("Node:1", node);
+		assertSame(node, cache.get("Node:1", INode.class));
+		assertNull(cache.get("Node:2", INode.class));
+		assertNull(cache.get("Node:1", ISearchResult.class));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testEntryStatistics() {
+		cache.put("Node:1", new Node());
+		cache.get("Node:1", INode.class);
+		cache.get("Node:1", INode.class);
+		EntryStatistics statistics = cache.getEntryStatistics("Node:1");
+		assertNotNull(statistics);
+		assertEquals("Node:1", statistics.getKey());
+		assertEquals(2, statistics.getHitCount());
+		assertNull(cache.getEntryStatistics("Node:2"));
+	}
+
+	@Test
+	public void testRemoveAndClear() {
+		cache.put("Node:1", new Node());
+		cache.put("Node:2", new Node());
+		cache.remove("Node:1");
+		assertNull(cache.get("Node:1", INode.class));
+		assertEquals(1, cache.size());
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testExpiredEntry() throws Exception {
+		cache.setTimeToLive("Node", 0);
+		cache.setMaxStale(0);
+		cache.put("Node:1", new Node());
+		cache.put("News:News", new News());
+		Thread.sleep(5);
+		assertNull(cache.get("Node:1", INode.class));
+		assertNotNull(cache.get("News:News", INews.class));
+		assertEquals(1, cache.getExpiredCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testStaleEntry() throws Exception {
+		cache.setTimeToLive("featured", 0);
+		cache.put("featured:::", new SearchResult());
+		Thread.sleep(5);
+		assertNull(cache.get("featured:::", ISearchResult.class));
+		assertNotNull(cache.getStale("featured:::", ISearchResult.class));
+		assertEquals(1, cache.getStaleHitCount());
+		assertEquals(0, cache.getExpiredCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testTimeToLiveByKind() {
+		cache.setTimeToLive("tagged", 1000);
+		assertEquals(1000, cache.getTimeToLive("tagged:::fileExtension_foo"));
+		assertEquals(TimeUnit.MINUTES.toMillis(10), cache.getTimeToLive("Node:1"));
+		assertEquals(TimeUnit.HOURS.toMillis(24), cache.getTimeToLive("Markets:Markets"));
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() throws Exception {
+		MemoryResponseCache boundedCache = new MemoryResponseCache(100, new CacheEntryWeigher() {
+			@Override
+			public long weigh(Object value) {
+				return 20;
+			}
+		});
+		for (int i = 1; i <= 5; i++) {
+			boundedCache.put("Node:" + i, new Node());
+			Thread.sleep(1);
+		}
+		assertNotNull(boundedCache.get("Node:1", INode.class));
+		boundedCache.put("Node:6", new Node());
+
+		assertTrue(boundedCache.getWeight() <= 90);
+		assertEquals(4, boundedCache.size());
+		assertEquals(2, boundedCache.getEvictedCount());
+		assertNotNull(boundedCache.get("Node:1", INode.class));
+		assertNull(boundedCache.get("Node:2", INode.class));
+		assertNull(boundedCache.get("Node:3", INode.class));
+		assertNotNull(boundedCache.get("Node:6", INode.class));
+	}
+
+	@Test
+	public void testWeighNodesByContent() {
+		Node small = new Node();
+		small.setBody("short");
+		Node large = new Node();
+		large.setBody("x".repeat(10000));
+		CacheEntryWeigher weigher = new CacheEntryWeigher();
+		assertTrue(weigher.weigh(large) >= weigher.weigh(small) + 2 * (10000 - "short".length()));
+	}
+
+	@Test
+	public void testNegativeEntry() throws Exception {
+		CoreException failure = new CoreException(new Status(IStatus.ERROR, "org.eclipse.epp.mpc.tests", "not found"));
+		cache.putNegative("Node:1", failure);
+		assertNull(cache.get("Node:1", INode.class));
+		CoreException cachedFailure = cache.getNegative("Node:1");
+		assertNotNull(cachedFailure);
+		assertSame(failure.getStatus(), cachedFailure.getStatus());
+		assertEquals(1, cache.getNegativeHitCount());
+
+		cache.put("Node:1", new Node());
+		assertNull(cache.getNegative("Node:1"));
+		assertNotNull(cache.get("Node:1", INode.class));
+	}
+
+	@Test
+	public void testExpiredNegativeEntry() throws Exception {
+		cache.setNegativeTimeToLive(0);
+		cache.putNegative("search:::foo", new CoreException(Status.CANCEL_STATUS));
+		Thread.sleep(5);
+		assertNull(cache.getNegative("search:::foo"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						String key = "Node:" + (j % 100);
+						if (cache.get(key, INode.class) == null) {
+							cache.put(key, new Node());
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(100, cache.size());
+		assertEquals(8000, cache.getHitCount() + cache.getMissCount());
+	}
+}
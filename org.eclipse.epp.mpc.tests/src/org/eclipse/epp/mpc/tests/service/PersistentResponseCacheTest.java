@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.model.Tag;
+import org.eclipse.epp.internal.mpc.core.service.PersistentResponseCache;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PersistentResponseCacheTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private PersistentResponseCache cache;
+
+	@Before
+	public void setUp() throws Exception {
+		cache = new PersistentResponseCache(tempFolder.newFolder("cache"));
+	}
+
+	@Test
+	public void testRoundTrip() {
+		Node node = createNode("1234", "Test Node");
+		SearchResult result = new SearchResult();
+		result.setMatchCount(1);
+		result.setNodes(Arrays.asList(node));
+
+		cache.put("featured:::", result);
+
+		ISearchResult cachedResult = cache.get("featured:::", ISearchResult.class);
+		assertNotNull(cachedResult);
+		assertEquals(Integer.valueOf(1), cachedResult.getMatchCount());
+		assertEquals(1, cachedResult.getNodes().size());
+		INode cachedNode = cachedResult.getNodes().get(0);
+		assertEquals("1234", cachedNode.getId());
+		assertEquals("Test Node", cachedNode.getName());
+		assertEquals("tag", cachedNode.getTags().getTags().get(0).getName());
+	}
+
+	@Test
+	public void testLargeEntry() {
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Node node = createNode(String.valueOf(i), "Node " + i);
+			node.setBody("<p>Body " + i + "</p>".repeat(200));
+			nodes.add(node);
+		}
+		SearchResult result = new SearchResult();
+		result.setMatchCount(nodes.size());
+		result.setNodes(nodes);
+
+		cache.put("search:::large", result);
+
+		ISearchResult cachedResult = cache.get("search:::large", ISearchResult.class);
+		assertNotNull(cachedResult);
+		assertEquals(100, cachedResult.getNodes().size());
+		assertEquals("99", cachedResult.getNodes().get(99).getId());
+		assertEquals(nodes.get(99).getBody(), cachedResult.getNodes().get(99).getBody());
+
+		//reading an entry must not keep its file from being replaced or deleted
+		cache.put("search:::large", result);
+		assertNotNull(cache.get("search:::large", ISearchResult.class));
+		cache.remove("search:::large");
+		assertNull(cache.get("search:::large", ISearchResult.class));
+		assertEquals(0, cache.getDirectory().listFiles().length);
+	}
+
+	@Test
+	public void testUnsupportedValue() {
+		cache.put("Markets", "not a model");
+		assertEquals(0, cache.getDirectory().listFiles() == null ? 0 : cache.getDirectory().listFiles().length);
+		assertNull(cache.get("Markets", Object.class));
+	}
+
+	@Test
+	public void testMissingEntry() {
+		assertNull(cache.get("Node:1234", INode.class));
+	}
+
+	@Test
+	public void testWrongType() {
+		cache.put("Node:1234", createNode("1234", "Test Node"));
+		assertNull(cache.get("Node:1234", ISearchResult.class));
+	}
+
+	@Test
+	public void testExpiredEntry() throws Exception {
+		cache.setTimeToLive("Node", 0);
+		cache.put("Node:1234", createNode("1234", "Test Node"));
+		Thread.sleep(5);
+		assertNull(cache.get("Node:1234", INode.class));
+		assertEquals(0, cache.getDirectory().listFiles().length);
+	}
+
+	@Test
+	public void testTimeToLiveByKind() {
+		cache.setTimeToLive("search", 1000);
+		assertEquals(1000, cache.getTimeToLive("search:1:2:foo"));
+	}
+
+	@Test
+	public void testCorruptEntry() throws IOException {
+		cache.put("Node:1234", createNode("1234", "Test Node"));
+		File[] entries = cache.getDirectory().listFiles();
+		assertEquals(1, entries.length);
+		Files.write(entries[0].toPath(), "corrupt".getBytes(StandardCharsets.UTF_8));
+
+		assertNull(cache.get("Node:1234", INode.class));
+		assertEquals(0, cache.getDirectory().listFiles().length);
+	}
+
+	@Test
+	public void testRemoveAndClear() {
+		cache.put("Node:1", createNode("1", "One"));
+		cache.put("Node:2", createNode("2", "Two"));
+		cache.remove("Node:1");
+		assertNull(cache.get("Node:1", INode.class));
+		assertNotNull(cache.get("Node:2", INode.class));
+		cache.clear();
+		assertNull(cache.get("Node:2", INode.class));
+	}
+
+	@Test
+	public void testSweep() throws Exception {
+		cache.setTimeToLive("search", 0);
+		cache.put("search:::expired", new SearchResult());
+		cache.put("Node:1234", createNode("1234", "Test Node"));
+		File orphan = new File(cache.getDirectory(), "orphan.cache.tmp");
+		Files.write(orphan.toPath(), "partial".getBytes(StandardCharsets.UTF_8));
+		orphan.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2));
+		File pending = new File(cache.getDirectory(), "pending.cache.tmp");
+		Files.write(pending.toPath(), "partial".getBytes(StandardCharsets.UTF_8));
+		Thread.sleep(5);
+
+		cache.sweep();
+		assertEquals(2, cache.getDirectory().listFiles().length);
+		assertTrue(pending.isFile());
+		assertNotNull(cache.get("Node:1234", INode.class));
+	}
+
+	@Test
+	public void testMaxSize() {
+		cache.put("Node:0", createNode("0", "Node 0"));
+		long entrySize = cache.getDirectory().listFiles()[0].length();
+		cache.setMaxSize(entrySize * 10);
+		long time = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+		for (int i = 1; i < 20; i++) {
+			for (File entry : cache.getDirectory().listFiles()) {
+				//age the existing entries, so the order doesn't depend on the file system's timestamp resolution
+				entry.setLastModified(Math.min(entry.lastModified(), time));
+			}
+			time += 1000;
+			cache.put("Node:" + i, createNode(String.valueOf(i), "Node " + i));
+		}
+		long size = 0;
+		for (File entry : cache.getDirectory().listFiles()) {
+			size += entry.length();
+		}
+		assertTrue(String.valueOf(size), size <= entrySize * 10);
+		assertNull(cache.get("Node:0", INode.class));
+		assertNotNull(cache.get("Node:19", INode.class));
+	}
+
+	private static Node createNode(String id, String name) {
+		Node node = new Node();
+		node.setId(id);
+		node.setName(name);
+		node.setBody("<p>Body</p>");
+		Tag tag = new Tag();
+		tag.setName("tag");
+		node.getTags().getTags().add(tag);
+		return node;
+	}
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.service.RequestCoalescer;
+import org.junit.After;
+import org.junit.Test;
+
+public class RequestCoalescerTest {
+
+	private final RequestCoalescer coalescer = new RequestCoalescer();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testShareRunningRequest() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Object result = new Object();
+		Future<Object> first = executor.submit(() -> coalescer.execute("featured:::", monitor -> {
+			runs.incrementAndGet();
+			started.countDown();
+			await(release);
+			return result;
+		}, new NullProgressMonitor()));
+		started.await(10, TimeUnit.SECONDS);
+		Future<Object> second = executor.submit(() -> coalescer.execute("featured:::", monitor -> {
+			runs.incrementAndGet();
+			return new Object();
+		}, new NullProgressMonitor()));
+		waitForCoalesced(1);
+		release.countDown();
+
+		assertSame(result, first.get(10, TimeUnit.SECONDS));
+		assertSame(result, second.get(10, TimeUnit.SECONDS));
+		assertEquals(1, runs.get());
+		assertEquals(0, coalescer.getInFlightCount());
+	}
+
+	@Test
+	public void testShareFailure() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CoreException failure = new CoreException(new Status(IStatus.ERROR, "org.eclipse.epp.mpc.tests", "test"));
+		Future<Object> first = executor.submit(() -> coalescer.execute("Node:1", monitor -> {
+			started.countDown();
+			await(release);
+			throw failure;
+		}, new NullProgressMonitor()));
+		started.await(10, TimeUnit.SECONDS);
+		Future<Object> second = executor.submit(() -> coalescer.execute("Node:1", monitor -> {
+			runs.incrementAndGet();
+			return new Object();
+		}, new NullProgressMonitor()));
+		waitForCoalesced(1);
+		release.countDown();
+
+		assertFailedWith(failure, first);
+		assertFailedWith(failure, second);
+		assertEquals(0, runs.get());
+	}
+
+	@Test
+	public void testTakeOverCanceledRequest() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Object result = new Object();
+		Future<Object> first = executor.submit(() -> coalescer.execute("Node:1", monitor -> {
+			started.countDown();
+			await(release);
+			throw new CoreException(Status.CANCEL_STATUS);
+		}, new NullProgressMonitor()));
+		started.await(10, TimeUnit.SECONDS);
+		Future<Object> second = executor.submit(() -> coalescer.execute("Node:1", monitor -> {
+			runs.incrementAndGet();
+			return result;
+		}, new NullProgressMonitor()));
+		waitForCoalesced(1);
+		release.countDown();
+
+		try {
+			first.get(10, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException ex) {
+			assertEquals(IStatus.CANCEL, ((CoreException) ex.getCause()).getStatus().getSeverity());
+		}
+		assertSame(result, second.get(10, TimeUnit.SECONDS));
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	public void testNullKeyIsNotCoalesced() throws Exception {
+		coalescer.execute(null, monitor -> runs.incrementAndGet(), null);
+		coalescer.execute(null, monitor -> runs.incrementAndGet(), null);
+		assertEquals(2, runs.get());
+		assertEquals(0, coalescer.getCoalescedCount());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void waitForCoalesced(long count) throws InterruptedException {
+		long end = System.currentTimeMillis() + 10000;
+		while (coalescer.getCoalescedCount() < count && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, coalescer.getCoalescedCount());
+	}
+
+	private static void assertFailedWith(Exception expected, Future<?> future) throws Exception {
+		try {
+			future.get(10, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException ex) {
+			assertSame(expected, ex.getCause());
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.service.DefaultMarketplaceService;
+import org.eclipse.epp.mpc.tests.service.xml.UnmarshallerTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Retries a request against a local stand-in for the Marketplace server that asks to come back later.
+ */
+public class RetryAfterTest {
+
+	private HttpServer server;
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private DefaultMarketplaceService service;
+
+	@Before
+	public void setUp() throws Exception {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/featured/api/p", this::handleFeatured);
+		server.start();
+		service = new DefaultMarketplaceService(new URL("http://" + server.getAddress().getHostString() + ":"
+				+ server.getAddress().getPort()));
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	private void handleFeatured(HttpExchange exchange) throws IOException {
+		if (requests.incrementAndGet() == 1) {
+			exchange.getResponseHeaders().set("Retry-After", "1");
+			respond(exchange, 503, "Service Unavailable".getBytes(StandardCharsets.UTF_8));
+			return;
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/xml; charset=UTF-8");
+		try (InputStream in = UnmarshallerTest.class.getResourceAsStream("resources/featured.xml")) {
+			respond(exchange, 200, in.readAllBytes());
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, byte[] content) throws IOException {
+		exchange.sendResponseHeaders(status, content.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(content);
+		}
+	}
+
+	@Test
+	public void retryAfterServiceUnavailable() throws Exception {
+		long start = System.nanoTime();
+		SearchResult result = service.featured(new NullProgressMonitor());
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertEquals(2, requests.get());
+		assertTrue(String.valueOf(elapsed), elapsed >= 1000);
+		assertFalse(result.getNodes().isEmpty());
+	}
+}
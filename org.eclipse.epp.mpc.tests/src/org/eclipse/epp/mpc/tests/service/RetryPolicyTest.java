@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.service.CircuitBreaker;
+import org.eclipse.epp.internal.mpc.core.service.RetryPolicy;
+import org.eclipse.epp.mpc.core.service.ServiceUnavailableException;
+import org.junit.Test;
+
+public class RetryPolicyTest {
+
+	private final RetryPolicy policy = new RetryPolicy(3, 100, 1000);
+
+	private final AtomicLong time = new AtomicLong();
+
+	private final CircuitBreaker breaker = new CircuitBreaker(3, 1000, time::get);
+
+	@Test
+	public void backoffWithJitter() {
+		IOException failedDownload = new IOException("Stream closed");
+		for (int i = 0; i < 100; i++) {
+			long first = policy.getRetryDelay(failedDownload, 1);
+			assertTrue(String.valueOf(first), first >= 50 && first <= 100);
+			long second = policy.getRetryDelay(failedDownload, 2);
+			assertTrue(String.valueOf(second), second >= 100 && second <= 200);
+		}
+		assertEquals(-1, policy.getRetryDelay(failedDownload, 3));
+		assertTrue(new RetryPolicy(10, 100, 1000).getRetryDelay(failedDownload, 9) <= 1000);
+	}
+
+	@Test
+	public void retryAfter() {
+		assertEquals(500, policy.getRetryDelay(unavailable(500), 1));
+		assertEquals(-1, policy.getRetryDelay(unavailable(5000), 1));
+		long delay = policy.getRetryDelay(new CoreException(new Status(IStatus.ERROR, "org.eclipse.epp.mpc.tests",
+				"wrapped", unavailable(-1))), 1);
+		assertTrue(String.valueOf(delay), delay >= 50 && delay <= 100);
+	}
+
+	@Test
+	public void failureKinds() {
+		ConnectException refused = new ConnectException("Connection refused");
+		assertTrue(policy.isServerFailure(refused));
+		assertEquals(-1, policy.getRetryDelay(refused, 1));
+		assertTrue(policy.isServerFailure(unavailable(-1)));
+		assertTrue(policy.isServerFailure(new IOException("Pipe closed")));
+		assertFalse(policy.isServerFailure(new IOException("Unexpected content")));
+		assertEquals(-1, policy.getRetryDelay(new IOException("Unexpected content"), 1));
+	}
+
+	@Test
+	public void circuitBreakerOpensAfterConsecutiveFailures() {
+		breaker.recordFailure(-1);
+		breaker.recordFailure(-1);
+		breaker.recordSuccess();
+		breaker.recordFailure(-1);
+		breaker.recordFailure(-1);
+		assertTrue(breaker.allowRequest());
+		breaker.recordFailure(-1);
+		assertTrue(breaker.isOpen());
+		assertFalse(breaker.allowRequest());
+		assertEquals(1000, breaker.getRemainingOpenTime());
+
+		time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		assertTrue(breaker.allowRequest());
+		//only a single probe
+		assertFalse(breaker.allowRequest());
+		breaker.recordFailure(-1);
+		assertFalse(breaker.allowRequest());
+
+		time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		assertTrue(breaker.allowRequest());
+		breaker.recordSuccess();
+		assertFalse(breaker.isOpen());
+		assertTrue(breaker.allowRequest());
+		assertTrue(breaker.allowRequest());
+	}
+
+	@Test
+	public void circuitBreakerHonorsRetryAfter() {
+		breaker.recordFailure(5000);
+		assertFalse(breaker.allowRequest());
+		time.addAndGet(TimeUnit.MILLISECONDS.toNanos(4000));
+		assertFalse(breaker.allowRequest());
+		time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		assertTrue(breaker.allowRequest());
+	}
+
+	@Test
+	public void lostProbe() {
+		breaker.recordFailure(0);
+		assertTrue(breaker.allowRequest());
+		assertFalse(breaker.allowRequest());
+		time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		assertTrue(breaker.allowRequest());
+	}
+
+	@Test
+	public void sharedPerHost() {
+		CircuitBreaker breaker = CircuitBreaker.forHost(URI.create("https://marketplace.example.org/api/p"));
+		assertSame(breaker, CircuitBreaker.forHost(URI.create("http://Marketplace.example.org/featured/api/p")));
+		assertFalse(breaker == CircuitBreaker.forHost(URI.create("https://other.example.org/api/p")));
+	}
+
+	private static ServiceUnavailableException unavailable(long retryAfter) {
+		return new ServiceUnavailableException(
+				new Status(IStatus.ERROR, "org.eclipse.epp.mpc.tests", "Service Unavailable"), retryAfter);
+	}
+}
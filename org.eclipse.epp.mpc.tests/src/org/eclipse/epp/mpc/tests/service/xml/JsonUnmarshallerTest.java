@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.model.Marketplace;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.service.JsonMarketplaceUnmarshaller;
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceUnmarshaller;
+import org.eclipse.epp.mpc.core.model.IIu;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.service.UnmarshalException;
+import org.junit.Test;
+
+public class JsonUnmarshallerTest {
+
+	private final JsonMarketplaceUnmarshaller unmarshaller = new JsonMarketplaceUnmarshaller();
+
+	@Test
+	public void sameModelAsXml() throws Exception {
+		for (String resource : new String[] { "node", "featured", "marketplace-root", "catalogs", "news" }) {
+			Object expected = parse(new MarketplaceUnmarshaller(), "resources/" + resource + ".xml");
+			Object actual = parse(unmarshaller, "resources/" + resource + ".json");
+			ModelSnapshotTest.assertModelEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void xmlContent() throws Exception {
+		Object expected = parse(new MarketplaceUnmarshaller(), "resources/node.xml");
+		Object actual = parse(unmarshaller, "resources/node.xml");
+		ModelSnapshotTest.assertModelEquals(expected, actual);
+	}
+
+	@Test
+	public void streamNodes() throws Exception {
+		List<INode> streamed = new ArrayList<>();
+		Marketplace marketplace;
+		try (InputStream in = UnmarshallerTest.getResourceAsStream("resources/featured.json")) {
+			marketplace = unmarshaller.unmarshal(in, Marketplace.class, streamed::add, new NullProgressMonitor());
+		}
+		List<Node> nodes = marketplace.getFeatured().getNode();
+		assertFalse(nodes.isEmpty());
+		assertEquals(nodes.size(), streamed.size());
+		for (int i = 0; i < nodes.size(); i++) {
+			assertSame(nodes.get(i), streamed.get(i));
+		}
+	}
+
+	@Test
+	public void values() throws Exception {
+		String json = "\uFEFF {\"marketplace\": {\"node\": {\"id\": \"1\","
+				+ " \"name\": \"A \\\"\\u00e9\\\"\\n\", \"url\": null,"
+				+ " \"favorited\": 12, \"foundationmember\": true, \"owner\": null,"
+				+ " \"ius\": {\"iu\": [\"a.b\", {\"optional\": false, \"#text\": \"c.d\"}]}, \"license\": \"EPL\"}}}";
+		Marketplace marketplace = parse(json);
+		Node node = marketplace.getNode().get(0);
+		assertEquals("1", node.getId());
+		assertEquals("A \"\u00e9\"\n", node.getName());
+		assertNull(node.getUrl());
+		assertEquals(Integer.valueOf(12), node.getFavorited());
+		assertEquals(Boolean.TRUE, node.getFoundationmember());
+		assertNull(node.getOwner());
+		assertEquals("EPL", node.getLicense());
+		List<IIu> ius = node.getIus().getIuElements();
+		assertEquals(2, ius.size());
+		assertEquals("a.b", ius.get(0).getId());
+		assertTrue(ius.get(0).isOptional());
+		assertEquals("c.d", ius.get(1).getId());
+		assertFalse(ius.get(1).isOptional());
+	}
+
+	@Test
+	public void invalidContent() throws Exception {
+		assertInvalid("{\"marketplace\": {\"node\": [}}");
+		assertInvalid("{\"marketplace\": {\"node\": {\"id\": \"1}}}");
+		assertInvalid("{\"marketplace\": {\"node\": {\"id\": 01}}}");
+		assertInvalid("{\"marketplace\": {}} {}");
+		assertInvalid("[]");
+		assertInvalid("{\"marketplace\": " + "{\"a\": ".repeat(1000) + "1" + "}".repeat(1001) + "}");
+	}
+
+	private void assertInvalid(String json) throws IOException {
+		try {
+			parse(json);
+			fail(json);
+		} catch (UnmarshalException ex) {
+			//expected
+		}
+	}
+
+	private Marketplace parse(String json) throws IOException, UnmarshalException {
+		InputStream in = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+		return unmarshaller.unmarshal(in, Marketplace.class, new NullProgressMonitor());
+	}
+
+	private static Object parse(MarketplaceUnmarshaller unmarshaller, String resource)
+			throws IOException, UnmarshalException {
+		try (InputStream in = UnmarshallerTest.getResourceAsStream(resource)) {
+			return unmarshaller.unmarshal(in, Object.class, new NullProgressMonitor());
+		}
+	}
+}
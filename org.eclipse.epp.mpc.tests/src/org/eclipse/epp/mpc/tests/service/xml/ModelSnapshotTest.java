@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.model.CompressedText;
+import org.eclipse.epp.internal.mpc.core.model.Marketplace;
+import org.eclipse.epp.internal.mpc.core.model.ModelSnapshot;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.NodeListing;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceUnmarshaller;
+import org.eclipse.epp.mpc.core.service.UnmarshalException;
+import org.junit.Test;
+
+public class ModelSnapshotTest {
+
+	@Test
+	public void node() throws Exception {
+		Node node = parse("resources/node.xml").getNode().get(0);
+		Node snapshot = (Node) roundTrip(node);
+		assertModelEquals(node, snapshot);
+		assertEquals("1065", snapshot.getId());
+		assertEquals(5, snapshot.getCategories().getCategory().size());
+	}
+
+	@Test
+	public void compressedNodeBody() throws Exception {
+		MarketplaceUnmarshaller unmarshaller = new MarketplaceUnmarshaller();
+		unmarshaller.setCompressedBodyMinLength(100);
+		Node node = parse(unmarshaller, "resources/node.xml").getNode().get(0);
+		assertNotNull(node.getCompressedBody());
+		Node snapshot = (Node) roundTrip(node);
+		assertNotNull(snapshot.getCompressedBody());
+		assertEquals(node.getBody(), snapshot.getBody());
+	}
+
+	@Test
+	public void categoryTaxonomy() throws Exception {
+		Marketplace marketplace = parse("resources/category-taxonomy.xml");
+		assertModelEquals(marketplace.getCategory().get(0), roundTrip(marketplace.getCategory().get(0)));
+	}
+
+	@Test
+	public void markets() throws Exception {
+		Marketplace marketplace = parse("resources/marketplace-root.xml");
+		List<?> markets = (List<?>) roundTrip(marketplace.getMarket());
+		assertEquals(4, markets.size());
+		assertModelEquals(marketplace.getMarket(), markets);
+	}
+
+	@Test
+	public void listings() throws Exception {
+		assertListingRoundTrip(parse("resources/featured.xml").getFeatured());
+		assertListingRoundTrip(parse("resources/search.xml").getSearch());
+		assertListingRoundTrip(parse("resources/recent.xml").getRecent());
+		assertListingRoundTrip(parse("resources/related.xml").getRelated());
+		assertListingRoundTrip(parse("resources/favorites.xml").getFavorites());
+	}
+
+	@Test
+	public void news() throws Exception {
+		Marketplace marketplace = parse("resources/news.xml");
+		assertModelEquals(marketplace.getNews(), roundTrip(marketplace.getNews()));
+	}
+
+	@Test
+	public void sharedStrings() throws Exception {
+		SearchResult result = toSearchResult(parse("resources/recent.xml").getRecent());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ModelSnapshot.write(result, out);
+		SearchResult snapshot = (SearchResult) ModelSnapshot.read(ByteBuffer.wrap(out.toByteArray()));
+		Node first = snapshot.getNodes().get(0);
+		Node second = snapshot.getNodes().get(1);
+		assertNotSame(first, second);
+		assertSame(first.getLicense(), second.getLicense());
+	}
+
+	@Test
+	public void nullValue() throws Exception {
+		assertNull(roundTrip(null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unsupportedValue() throws Exception {
+		ModelSnapshot.write(new Marketplace(), new ByteArrayOutputStream());
+	}
+
+	@Test
+	public void invalidSnapshots() throws Exception {
+		Node node = parse("resources/node.xml").getNode().get(0);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ModelSnapshot.write(node, out);
+		byte[] bytes = out.toByteArray();
+
+		assertInvalid(Arrays.copyOf(bytes, bytes.length / 2));
+		byte[] otherVersion = bytes.clone();
+		otherVersion[4] = (byte) (ModelSnapshot.VERSION + 1);
+		assertInvalid(otherVersion);
+		assertInvalid("corrupt".getBytes());
+	}
+
+	private static void assertInvalid(byte[] bytes) {
+		try {
+			ModelSnapshot.read(ByteBuffer.wrap(bytes));
+			fail();
+		} catch (IOException ex) {
+			//expected
+		}
+	}
+
+	private static void assertListingRoundTrip(NodeListing listing) throws IOException {
+		assertNotNull(listing);
+		SearchResult result = toSearchResult(listing);
+		SearchResult snapshot = (SearchResult) roundTrip(result);
+		assertEquals(result.getNodes().size(), snapshot.getNodes().size());
+		assertModelEquals(result, snapshot);
+	}
+
+	private static SearchResult toSearchResult(NodeListing listing) {
+		SearchResult result = new SearchResult();
+		result.setMatchCount(listing.getCount());
+		result.setNodes(new ArrayList<>(listing.getNode()));
+		return result;
+	}
+
+	private static Object roundTrip(Object model) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ModelSnapshot.write(model, out);
+		//read from a direct buffer, like a memory-mapped file
+		ByteBuffer buffer = ByteBuffer.allocateDirect(out.size());
+		buffer.put(out.toByteArray()).flip();
+		Object snapshot = ModelSnapshot.read(buffer);
+		assertEquals(0, buffer.remaining());
+		return snapshot;
+	}
+
+	/**
+	 * Compare all fields of two models, recursing into nested models and collections.
+	 */
+	static void assertModelEquals(Object expected, Object actual) {
+		assertModelEquals("", expected, actual);
+	}
+
+	private static void assertModelEquals(String path, Object expected, Object actual) {
+		if (expected == null || actual == null) {
+			assertSame(path, expected, actual);
+			return;
+		}
+		if (expected instanceof CompressedText || actual instanceof CompressedText) {
+			assertEquals(path, expected.toString(), actual.toString());
+			return;
+		}
+		assertEquals(path, expected.getClass(), actual.getClass());
+		if (expected instanceof String || expected instanceof Number || expected instanceof Boolean
+				|| expected instanceof Date) {
+			assertEquals(path, expected, actual);
+			return;
+		}
+		if (expected instanceof Collection<?>) {
+			List<?> expectedElements = new ArrayList<>((Collection<?>) expected);
+			List<?> actualElements = new ArrayList<>((Collection<?>) actual);
+			assertEquals(path, expectedElements.size(), actualElements.size());
+			for (int i = 0; i < expectedElements.size(); i++) {
+				assertModelEquals(path + "[" + i + "]", expectedElements.get(i), actualElements.get(i));
+			}
+			return;
+		}
+		for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+					continue;
+				}
+				field.setAccessible(true);
+				try {
+					assertModelEquals(path + "." + field.getName(), field.get(expected), field.get(actual));
+				} catch (IllegalAccessException ex) {
+					throw new AssertionError(ex);
+				}
+			}
+		}
+	}
+
+	private static Marketplace parse(String resource) throws IOException, UnmarshalException {
+		return parse(new MarketplaceUnmarshaller(), resource);
+	}
+
+	private static Marketplace parse(MarketplaceUnmarshaller unmarshaller, String resource)
+			throws IOException, UnmarshalException {
+		try (InputStream in = UnmarshallerTest.getResourceAsStream(resource)) {
+			return unmarshaller.unmarshal(in, Marketplace.class, new NullProgressMonitor());
+		}
+	}
+}
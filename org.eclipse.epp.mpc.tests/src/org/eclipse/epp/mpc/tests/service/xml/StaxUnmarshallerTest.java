@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.eclipse.epp.internal.mpc.core.model.Marketplace;
+import org.eclipse.epp.internal.mpc.core.model.Search;
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceUnmarshaller;
+import org.eclipse.epp.internal.mpc.core.service.StaxMarketplaceUnmarshaller;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.service.UnmarshalException;
+import org.junit.Test;
+
+/**
+ * Runs all {@link UnmarshallerTest unmarshaller tests} against the {@link StaxMarketplaceUnmarshaller}, plus its
+ * additional options.
+ */
+public class StaxUnmarshallerTest extends UnmarshallerTest {
+
+	@Override
+	protected MarketplaceUnmarshaller createUnmarshaller() {
+		return new StaxMarketplaceUnmarshaller();
+	}
+
+	@Test
+	public void maxNodes() throws IOException, UnmarshalException {
+		((StaxMarketplaceUnmarshaller) unmarshaller).setMaxNodes(2);
+		Marketplace marketplace = (Marketplace) processResource("resources/search.xml");
+		Search search = marketplace.getSearch();
+		assertNotNull(search);
+		assertEquals(Integer.valueOf(62), search.getCount());
+		assertEquals(2, search.getNode().size());
+		assertEquals("983", search.getNode().get(0).getId());
+		INode lastNode = search.getNode().get(1);
+		assertEquals("888", lastNode.getId());
+		assertEquals("Production/Stable", lastNode.getStatus());
+	}
+
+	@Test
+	public void maxNodesCountOnly() throws IOException, UnmarshalException {
+		((StaxMarketplaceUnmarshaller) unmarshaller).setMaxNodes(0);
+		Marketplace marketplace = (Marketplace) processResource("resources/search.xml");
+		Search search = marketplace.getSearch();
+		assertNotNull(search);
+		assertEquals(Integer.valueOf(62), search.getCount());
+		assertTrue(search.getNode().isEmpty());
+	}
+
+	@Test
+	public void skippedElements() throws IOException, UnmarshalException {
+		((StaxMarketplaceUnmarshaller) unmarshaller).setSkippedElements(Collections.singleton("body"));
+		Marketplace marketplace = (Marketplace) processResource("resources/node.xml");
+		INode node = marketplace.getNode().get(0);
+		assertEquals("1065", node.getId());
+		assertNull(node.getBody());
+		assertEquals("David Green", node.getOwner());
+		assertEquals(6, node.getTags().getTags().size());
+	}
+}
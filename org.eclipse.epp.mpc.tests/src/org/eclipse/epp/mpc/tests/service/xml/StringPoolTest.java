@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.model.Marketplace;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceUnmarshaller;
+import org.eclipse.epp.internal.mpc.core.service.xml.StringPool;
+import org.eclipse.epp.mpc.core.service.UnmarshalException;
+import org.junit.Test;
+
+public class StringPoolTest {
+
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool(16);
+		String value = new String("Tools");
+		assertSame(value, pool.intern(value));
+		assertSame(value, pool.intern(new String("Tools")));
+		assertNull(pool.intern(null));
+	}
+
+	@Test
+	public void testSizeBounded() {
+		assertEquals(16, new StringPool(16).getSize());
+		assertEquals(32, new StringPool(17).getSize());
+		StringPool pool = new StringPool(4);
+		for (int i = 0; i < 1000; i++) {
+			pool.intern("value" + i);
+		}
+		assertEquals(4, pool.getSize());
+	}
+
+	@Test
+	public void testLongValuesNotPooled() {
+		StringPool pool = new StringPool(16);
+		String value = "x".repeat(StringPool.MAX_POOLED_LENGTH + 1);
+		pool.intern(value);
+		assertNotSame(value, pool.intern(new String(value)));
+	}
+
+	@Test
+	public void testDisabled() {
+		StringPool pool = new StringPool(0);
+		String value = "Tools";
+		pool.intern(value);
+		assertNotSame(value, pool.intern(new String(value)));
+	}
+
+	@Test
+	public void testUnmarshalledValuesShared() throws IOException, UnmarshalException {
+		Node first = parseFirstNode();
+		Node second = parseFirstNode();
+		assertNotSame(first, second);
+		assertSame(first.getId(), second.getId());
+		assertSame(first.getLicense(), second.getLicense());
+		assertSame(first.getCategories().getCategory().get(0).getName(),
+				second.getCategories().getCategory().get(0).getName());
+		assertSame(first.getIus().getIuElements().get(0).getId(), second.getIus().getIuElements().get(0).getId());
+	}
+
+	private Node parseFirstNode() throws IOException, UnmarshalException {
+		try (InputStream in = StringPoolTest.class.getResourceAsStream("resources/recent.xml")) {
+			Marketplace marketplace = new MarketplaceUnmarshaller().unmarshal(in, Marketplace.class,
+					new NullProgressMonitor());
+			return marketplace.getRecent().getNode().get(0);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.eclipse.epp.internal.mpc.core.service.xml.StripInvalidXMLCharsReader;
+import org.junit.Test;
+
+public class StripInvalidXMLCharsReaderTest {
+
+	@Test
+	public void testValidContentUnchanged() throws IOException {
+		String content = "<node name=\"Test\">\tTab\r\nNew line</node>";
+		assertEquals(content, readAll(new StripInvalidXMLCharsReader(new StringReader(content)), 8));
+	}
+
+	@Test
+	public void testStripControlChars() throws IOException {
+		String content = "\u0001<node>\u0000Body\u000b with \u0008\u001fcontrol chars</node>\u0002";
+		assertEquals("<node>Body with control chars</node>",
+				readAll(new StripInvalidXMLCharsReader(new StringReader(content)), 1024));
+	}
+
+	@Test
+	public void testStripAcrossBufferBoundaries() throws IOException {
+		StringBuilder content = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			content.append((char) (i % 3)).append('x');
+			expected.append('x');
+		}
+		assertEquals(expected.toString(), readAll(new StripInvalidXMLCharsReader(new StringReader(content.toString())), 7));
+	}
+
+	@Test
+	public void testSkipChunksWithOnlyInvalidChars() throws IOException {
+		Reader reader = new StripInvalidXMLCharsReader(new StringReader("\u0001\u0002\u0003\u0004abc"));
+		char[] buffer = new char[4];
+		assertEquals(3, reader.read(buffer, 0, 4));
+		assertEquals("abc", new String(buffer, 0, 3));
+		assertEquals(-1, reader.read(buffer, 0, 4));
+	}
+
+	@Test
+	public void testReadWithOffset() throws IOException {
+		Reader reader = new StripInvalidXMLCharsReader(new StringReader("a\u0000b\u0001c"));
+		char[] buffer = { '-', '-', '-', '-', '-', '-', '-' };
+		assertEquals(3, reader.read(buffer, 2, 5));
+		assertEquals("--abc", new String(buffer, 0, 5));
+	}
+
+	@Test
+	public void testSingleCharRead() throws IOException {
+		Reader reader = new StripInvalidXMLCharsReader(new StringReader("\u0000a\u0001"));
+		assertEquals('a', reader.read());
+		assertEquals(-1, reader.read());
+	}
+
+	private static String readAll(Reader reader, int bufferSize) throws IOException {
+		StringBuilder result = new StringBuilder();
+		char[] buffer = new char[bufferSize];
+		for (int read; (read = reader.read(buffer, 0, bufferSize)) != -1;) {
+			result.append(buffer, 0, read);
+		}
+		return result.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2020 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,7 @@
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -29,6 +30,8 @@
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -38,6 +41,7 @@
 import org.eclipse.epp.internal.mpc.core.model.Featured;
 import org.eclipse.epp.internal.mpc.core.model.Marketplace;
 import org.eclipse.epp.internal.mpc.core.model.News;
+import org.eclipse.epp.internal.mpc.core.model.Node;
 import org.eclipse.epp.internal.mpc.core.model.Recent;
 import org.eclipse.epp.internal.mpc.core.model.Related;
 import org.eclipse.epp.internal.mpc.core.model.Search;
@@ -63,11 +67,15 @@
  */
 public class UnmarshallerTest {
 
-	private MarketplaceUnmarshaller unmarshaller;
+	protected MarketplaceUnmarshaller unmarshaller;
 
 	@Before
 	public void before() throws SAXException, ParserConfigurationException {
-		unmarshaller = new MarketplaceUnmarshaller();
+		unmarshaller = createUnmarshaller();
+	}
+
+	protected MarketplaceUnmarshaller createUnmarshaller() {
+		return new MarketplaceUnmarshaller();
 	}
 
 	@Test
@@ -159,6 +167,46 @@ public void node() throws IOException, UnmarshalException {
 
 	}
 
+	@Test
+	public void streamedNodes() throws IOException, UnmarshalException {
+		List<INode> streamed = new ArrayList<>();
+		Marketplace marketplace;
+		try (InputStream in = getResourceAsStream("resources/search.xml")) {
+			marketplace = unmarshaller.unmarshal(in, Marketplace.class, streamed::add, new NullProgressMonitor());
+		}
+		List<Node> nodes = marketplace.getSearch().getNode();
+		assertEquals(7, streamed.size());
+		assertEquals(nodes.size(), streamed.size());
+		for (int i = 0; i < nodes.size(); i++) {
+			assertSame(nodes.get(i), streamed.get(i));
+		}
+
+		//single nodes are not part of a listing
+		streamed.clear();
+		try (InputStream in = getResourceAsStream("resources/node.xml")) {
+			unmarshaller.unmarshal(in, Marketplace.class, streamed::add, new NullProgressMonitor());
+		}
+		assertTrue(streamed.isEmpty());
+	}
+
+	@Test
+	public void compressedNodeBody() throws IOException, UnmarshalException {
+		Node plainNode = (Node) ((Marketplace) processResource("resources/node.xml")).getNode().get(0);
+		assertNull(plainNode.getCompressedBody());
+
+		unmarshaller.setCompressedBodyMinLength(100);
+		Node node = (Node) ((Marketplace) processResource("resources/node.xml")).getNode().get(0);
+		assertNotNull(node.getCompressedBody());
+		assertTrue(node.getCompressedBody().getCompressedSize() < plainNode.getBody().length());
+		assertEquals(plainNode.getBody(), node.getBody());
+		assertEquals(plainNode.getName(), node.getName());
+
+		unmarshaller.setCompressedBodyMinLength(plainNode.getBody().length() + 1);
+		node = (Node) ((Marketplace) processResource("resources/node.xml")).getNode().get(0);
+		assertNull(node.getCompressedBody());
+		assertEquals(plainNode.getBody(), node.getBody());
+	}
+
 	@Test
 	public void featured() throws IOException, UnmarshalException {
 		// from http://www.eclipseplugincentral.net/api/v2/featured
@@ -451,6 +499,25 @@ public void marketplaceCatalogs() throws IOException, UnmarshalException {
 		assertNull(catalogs.getCatalogs().get(2).getNews());
 	}
 
+	@Test
+	public void catalogBrandingTabs() throws IOException, UnmarshalException {
+		Object model = process("<catalogs><catalog id=\"1\" title=\"Catalog\"><wizard title=\"Wizard\">"
+				+ "<featuredmarkettab enabled='1'>Featured Market</featuredmarkettab>"
+				+ "<recommendationtab enabled='1'>Recommended</recommendationtab>"
+				+ "<searchtab enabled='1'>Search</searchtab>"
+				+ "<populartab enabled='0'>Popular</populartab>"
+				+ "<recenttab enabled='1'>Recent</recenttab>" //
+				+ "</wizard></catalog></catalogs>");
+		assertTrue(model instanceof ICatalogs);
+		ICatalogBranding branding = ((ICatalogs) model).getCatalogs().get(0).getBranding();
+		assertEquals("Wizard", branding.getWizardTitle());
+		assertTrue(branding.hasFeaturedMarketTab());
+		assertTrue(branding.hasRelatedTab());
+		assertEquals("Search", branding.getSearchTabName());
+		assertEquals("Popular", branding.getPopularTabName());
+		assertEquals("Recent", branding.getRecentTabName());
+	}
+
 	@Test
 	public void news() throws IOException, UnmarshalException {
 		Object model = processResource("resources/news.xml");
@@ -538,6 +605,29 @@ public void invalidContentErrorMessage() throws Exception {
 		}
 	}
 
+	@Test
+	public void reuseAfterInvalidContent() throws Exception {
+		Marketplace marketplace = (Marketplace) processResource("resources/node.xml");
+		assertEquals("1065", marketplace.getNode().get(0).getId());
+		try {
+			process("<marketplace><node id=\"1\" name=\"Incomplete\"><body>Truncated");
+			fail("Expected UnmarshalException");
+		} catch (UnmarshalException e) {
+			//expected
+		}
+		marketplace = (Marketplace) processResource("resources/featured.xml");
+		assertTrue(marketplace.getNode().isEmpty());
+		assertEquals(6, marketplace.getFeatured().getNode().size());
+		assertEquals("248", marketplace.getFeatured().getNode().get(0).getId());
+
+		marketplace = (Marketplace) processResource("resources/node.xml");
+		assertEquals(1, marketplace.getNode().size());
+		INode node = marketplace.getNode().get(0);
+		assertEquals("1065", node.getId());
+		assertTrue(node.getBody().startsWith("Mylyn WikiText is a"));
+		assertEquals(5, node.getCategories().getCategory().size());
+	}
+
 	private static IStatus getErrorContentInfo(UnmarshalException e) {
 		IStatus status = e.getStatus();
 		assertTrue(status.isMultiStatus());
@@ -567,7 +657,7 @@ private static ByteBuffer readResource(String resource, ByteBuffer buffer) throw
 		return buffer;
 	}
 
-	private static InputStream getResourceAsStream(String resource) {
+	protected static InputStream getResourceAsStream(String resource) {
 		InputStream in = UnmarshallerTest.class.getResourceAsStream(resource);
 		if (in == null) {
 			throw new IllegalStateException(resource);
@@ -575,7 +665,7 @@ private static InputStream getResourceAsStream(String resource) {
 		return in;
 	}
 
-	private Object processResource(String resource) throws IOException, UnmarshalException {
+	protected Object processResource(String resource) throws IOException, UnmarshalException {
 		InputStream in = getResourceAsStream(resource);
 		return process(in);
 	}
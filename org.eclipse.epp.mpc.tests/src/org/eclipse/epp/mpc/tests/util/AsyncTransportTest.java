@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientTransport;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.ValidatedContent;
+import org.eclipse.epp.mpc.core.service.ITransport;
+import org.eclipse.epp.mpc.core.service.ServiceUnavailableException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceReference;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Requests resources from a local server through the non-blocking transport API.
+ */
+public class AsyncTransportTest {
+
+	private static final String ETAG = "\"v1\"";
+
+	private HttpServer server;
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private HttpClientTransport transport;
+
+	private ServiceReference<HttpClientService> clientServiceRef;
+
+	@Before
+	public void setUp() throws Exception {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/resource/", this::handleResource);
+		server.createContext("/etag", this::handleEtag);
+		server.createContext("/negotiated", this::handleNegotiated);
+		server.createContext("/status/", this::handleStatus);
+		server.start();
+
+		BundleContext context = FrameworkUtil.getBundle(HttpClientService.class).getBundleContext();
+		clientServiceRef = context.getServiceReference(HttpClientService.class);
+		transport = new HttpClientTransport();
+		transport.bindHttpClientService(context.getService(clientServiceRef));
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+		FrameworkUtil.getBundle(HttpClientService.class).getBundleContext().ungetService(clientServiceRef);
+	}
+
+	private void handleResource(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		byte[] content = content(exchange.getRequestURI().getPath());
+		String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+		if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			try (OutputStream out = new GZIPOutputStream(compressed)) {
+				out.write(content);
+			}
+			content = compressed.toByteArray();
+			exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+		}
+		send(exchange, 200, content);
+	}
+
+	private void handleEtag(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		exchange.getResponseHeaders().set("ETag", ETAG);
+		if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			exchange.sendResponseHeaders(304, -1);
+			exchange.close();
+			return;
+		}
+		send(exchange, 200, content("/etag"));
+	}
+
+	private void handleNegotiated(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		String accept = exchange.getRequestHeaders().getFirst("Accept");
+		String etag = "\"" + accept + "\"";
+		exchange.getResponseHeaders().set("ETag", etag);
+		exchange.getResponseHeaders().set("Vary", exchange.getRequestURI().getQuery() == null ? "Accept" : "Cookie");
+		if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			exchange.sendResponseHeaders(304, -1);
+			exchange.close();
+			return;
+		}
+		send(exchange, 200, content("/negotiated/" + accept));
+	}
+
+	private void handleStatus(HttpExchange exchange) throws IOException {
+		String path = exchange.getRequestURI().getPath();
+		exchange.getResponseHeaders().set("Retry-After", "7");
+		send(exchange, Integer.parseInt(path.substring(path.lastIndexOf('/') + 1)), new byte[0]);
+	}
+
+	private static void send(HttpExchange exchange, int status, byte[] content) throws IOException {
+		exchange.sendResponseHeaders(status, content.length == 0 ? -1 : content.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(content);
+		}
+	}
+
+	private static byte[] content(String path) {
+		return ("content of " + path + "\n").repeat(100).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path);
+	}
+
+	@Test
+	public void concurrentRequests() throws Exception {
+		long encodedResponses = transport.getContentEncodingStatistics().getEncodedResponseCount();
+		List<CompletableFuture<InputStream>> results = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			results.add(transport.streamAsync(uri("/resource/" + i), null, new NullProgressMonitor()));
+		}
+		for (int i = 0; i < results.size(); i++) {
+			try (InputStream in = results.get(i).get(30, TimeUnit.SECONDS)) {
+				assertArrayEquals(content("/resource/" + i), in.readAllBytes());
+			}
+		}
+		assertEquals(50, requests.get());
+		assertEquals(encodedResponses + 50, transport.getContentEncodingStatistics().getEncodedResponseCount());
+	}
+
+	@Test
+	public void conditionalRequest() throws Exception {
+		try (InputStream in = transport.streamAsync(uri("/etag"), null, null).get(30, TimeUnit.SECONDS)) {
+			assertFalse(((ValidatedContent) in).isNotModified());
+			assertEquals(ETAG, ((ValidatedContent) in).getValidator());
+			assertArrayEquals(content("/etag"), in.readAllBytes());
+		}
+		try (InputStream in = transport.streamAsync(uri("/etag"), null, null).get(30, TimeUnit.SECONDS)) {
+			assertTrue(((ValidatedContent) in).isNotModified());
+			assertArrayEquals(content("/etag"), in.readAllBytes());
+		}
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void conditionalRequestPerRepresentation() throws Exception {
+		for (String accept : new String[] { "application/json", "application/xml", "application/json" }) {
+			try (InputStream in = transport.streamAsync(uri("/negotiated"), accept, null).get(30, TimeUnit.SECONDS)) {
+				assertArrayEquals(content("/negotiated/" + accept), in.readAllBytes());
+			}
+		}
+		try (InputStream in = transport.stream(uri("/negotiated"), "application/xml", null)) {
+			assertTrue(((ValidatedContent) in).isNotModified());
+			assertArrayEquals(content("/negotiated/application/xml"), in.readAllBytes());
+		}
+		assertEquals(4, requests.get());
+
+		//varies on a header that isn't part of the cache key
+		for (int i = 0; i < 2; i++) {
+			try (InputStream in = transport.streamAsync(uri("/negotiated?cookie"), "application/json", null).get(30,
+					TimeUnit.SECONDS)) {
+				assertFalse(((ValidatedContent) in).isNotModified());
+			}
+		}
+	}
+
+	@Test
+	public void errorStatus() throws Exception {
+		assertFailure(transport.streamAsync(uri("/status/404"), null, null), FileNotFoundException.class);
+		Exception unavailable = assertFailure(transport.streamAsync(uri("/status/503"), null, null),
+				ServiceUnavailableException.class);
+		assertEquals(7000, ((ServiceUnavailableException) unavailable).getRetryAfter());
+		try {
+			transport.stream(uri("/status/503"), null).close();
+			fail("Expected ServiceUnavailableException");
+		} catch (ServiceUnavailableException ex) {
+			assertEquals(7000, ex.getRetryAfter());
+		}
+		assertFailure(transport.streamAsync(uri("/status/500"), null, null), CoreException.class);
+	}
+
+	@Test
+	public void blockingTransport() throws Exception {
+		Thread caller = Thread.currentThread();
+		List<Thread> threads = new ArrayList<>();
+		ITransport blockingTransport = new ITransport() {
+
+			@Override
+			public InputStream stream(URI location, IProgressMonitor monitor)
+					throws FileNotFoundException, ServiceUnavailableException, CoreException {
+				threads.add(Thread.currentThread());
+				if (location.getPath().endsWith("404")) {
+					throw new FileNotFoundException(location.toString());
+				}
+				return transport.stream(location, monitor);
+			}
+		};
+		try (InputStream in = blockingTransport.streamAsync(uri("/resource/0"), null, null).get(30,
+				TimeUnit.SECONDS)) {
+			assertArrayEquals(content("/resource/0"), in.readAllBytes());
+		}
+		assertFailure(blockingTransport.streamAsync(uri("/status/404"), null, null), FileNotFoundException.class);
+		assertEquals(2, threads.size());
+		assertNotSame(caller, threads.get(0));
+	}
+
+	@Test
+	public void cancelBlockingRequest() throws Exception {
+		CountDownLatch requestReceived = new CountDownLatch(1);
+		CountDownLatch responseReleased = new CountDownLatch(1);
+		server.createContext("/slow", exchange -> {
+			requestReceived.countDown();
+			try {
+				responseReleased.await(30, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			send(exchange, 200, content("/slow"));
+		});
+		CompletableFuture<CoreException> streamFailure = new CompletableFuture<>();
+		ITransport blockingTransport = new ITransport() {
+
+			@Override
+			public InputStream stream(URI location, IProgressMonitor monitor)
+					throws FileNotFoundException, ServiceUnavailableException, CoreException {
+				try {
+					return transport.stream(location, monitor);
+				} catch (CoreException ex) {
+					streamFailure.complete(ex);
+					throw ex;
+				}
+			}
+		};
+		try {
+			CompletableFuture<InputStream> result = blockingTransport.streamAsync(uri("/slow"), null, null);
+			assertTrue(requestReceived.await(30, TimeUnit.SECONDS));
+			result.cancel(false);
+			//the request is aborted instead of waiting for the response
+			CoreException failure = streamFailure.get(5, TimeUnit.SECONDS);
+			assertEquals(IStatus.CANCEL, failure.getStatus().getSeverity());
+		} finally {
+			responseReleased.countDown();
+		}
+	}
+
+	private static Exception assertFailure(CompletableFuture<InputStream> result,
+			Class<? extends Exception> expected) throws Exception {
+		try {
+			result.get(30, TimeUnit.SECONDS).close();
+			fail("Expected " + expected.getSimpleName());
+			return null;
+		} catch (ExecutionException ex) {
+			assertTrue(String.valueOf(ex.getCause()), expected.isInstance(ex.getCause()));
+			return (Exception) ex.getCause();
+		}
+	}
+}
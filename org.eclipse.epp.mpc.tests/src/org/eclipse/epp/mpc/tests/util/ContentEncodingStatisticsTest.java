@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.epp.internal.mpc.core.util.ContentEncodingStatistics;
+import org.junit.Test;
+
+public class ContentEncodingStatisticsTest {
+
+	private static final byte[] CONTENT = "<marketplace><node id=\"1\"><body>Lorem ipsum</body></node></marketplace>"
+			.repeat(50)
+			.getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	public void testCountEncodedResponse() throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+			out.write(CONTENT);
+		}
+		ContentEncodingStatistics statistics = new ContentEncodingStatistics();
+		try (InputStream in = statistics.countDecoded(
+				new GZIPInputStream(statistics.countEncoded(new ByteArrayInputStream(compressed.toByteArray()))),
+				true)) {
+			assertArrayEquals(CONTENT, in.readAllBytes());
+		}
+		assertEquals(1, statistics.getResponseCount());
+		assertEquals(1, statistics.getEncodedResponseCount());
+		assertEquals(compressed.size(), statistics.getEncodedBytes());
+		assertEquals(CONTENT.length, statistics.getDecodedBytes());
+		assertEquals(0, statistics.getIdentityBytes());
+		assertTrue(statistics.getEncodedBytes() < statistics.getDecodedBytes());
+	}
+
+	@Test
+	public void testCountIdentityResponse() throws IOException {
+		ContentEncodingStatistics statistics = new ContentEncodingStatistics();
+		try (InputStream in = statistics.countDecoded(new ByteArrayInputStream(CONTENT), false)) {
+			in.readAllBytes();
+		}
+		assertEquals(1, statistics.getResponseCount());
+		assertEquals(0, statistics.getEncodedResponseCount());
+		assertEquals(CONTENT.length, statistics.getIdentityBytes());
+
+		statistics.reset();
+		assertEquals(0, statistics.getResponseCount());
+		assertEquals(0, statistics.getIdentityBytes());
+	}
+}
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.util.FallbackTransportFactory;
+import org.eclipse.epp.internal.mpc.core.util.TransportHealth;
+import org.eclipse.epp.mpc.core.service.ITransport;
+import org.eclipse.epp.mpc.core.service.ServiceUnavailableException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FallbackTransportTest {
+
+	private static final URI LOCATION = URI.create("http://127.0.0.1:54321/resource");
+
+	private TestTransport primary;
+
+	private TestTransport fallback;
+
+	private FallbackTransportFactory factory;
+
+	@Before
+	public void setUp() {
+		primary = new TestTransport("primary");
+		fallback = new TestTransport("fallback");
+		factory = new FallbackTransportFactory();
+		factory.setPrimaryFactory(() -> primary);
+		factory.setSecondaryFactory(() -> fallback);
+		factory.setHedging(true);
+	}
+
+	@Test
+	public void slowPrimaryLoses() throws Exception {
+		primary.delay = 5000;
+		factory.setHedgingDelay(100);
+		long start = System.nanoTime();
+		assertEquals("fallback", read(factory.getTransport().stream(LOCATION, null)));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 4000);
+		assertEquals(1, primary.calls.get());
+		assertEquals(1, factory.getFallbackHealth().getSuccesses());
+		assertEquals(1, factory.getPrimaryHealth().getCancellations());
+		assertEquals(0, factory.getPrimaryHealth().getFailures());
+		//the losing request is aborted, not left running
+		assertTrue(primary.aborted.await(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void fastPrimaryWins() throws Exception {
+		factory.setHedgingDelay(1000);
+		assertEquals("primary", read(factory.getTransport().stream(LOCATION, null)));
+		Thread.sleep(1500);
+		assertEquals(0, fallback.calls.get());
+		assertEquals(1, factory.getPrimaryHealth().getSuccesses());
+	}
+
+	@Test
+	public void failingPrimaryFallsBackImmediately() throws Exception {
+		primary.failure = new CoreException(error("primary failed"));
+		factory.setHedgingDelay(10000);
+		long start = System.nanoTime();
+		assertEquals("fallback", read(factory.getTransport().stream(LOCATION, null)));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+		assertEquals(1, factory.getPrimaryHealth().getFailures());
+	}
+
+	@Test
+	public void bothFail() throws Exception {
+		primary.failure = new FileNotFoundException("primary");
+		fallback.failure = new CoreException(error("fallback failed"));
+		factory.setHedgingDelay(10000);
+		try {
+			factory.getTransport().stream(LOCATION, null).close();
+			fail("Expected FileNotFoundException");
+		} catch (FileNotFoundException ex) {
+			assertEquals(1, ex.getSuppressed().length);
+		}
+		assertEquals(0, factory.getPrimaryHealth().getFailures());
+		assertEquals(1, factory.getFallbackHealth().getFailures());
+	}
+
+	@Test
+	public void hedgedAsync() throws Exception {
+		primary.delay = 5000;
+		factory.setHedgingDelay(100);
+		try (InputStream in = factory.getTransport().streamAsync(LOCATION, null, null).get(4, TimeUnit.SECONDS)) {
+			assertEquals("fallback", read(in));
+		}
+	}
+
+	@Test
+	public void cancelledByTransport() throws Exception {
+		factory.setHedging(false);
+		primary.cancelAsync = true;
+		CompletableFuture<InputStream> result = factory.getTransport().streamAsync(LOCATION, null, null);
+		try {
+			result.get(4, TimeUnit.SECONDS).close();
+			fail("Expected CancellationException");
+		} catch (CancellationException ex) {
+			assertTrue(result.isCancelled());
+		}
+		assertEquals(1, factory.getPrimaryHealth().getCancellations());
+		assertEquals(0, fallback.calls.get());
+	}
+
+	@Test
+	public void sequentialFallback() throws Exception {
+		factory.setHedging(false);
+		primary.delay = 500;
+		primary.failure = new ServiceUnavailableException(error("unavailable"));
+		assertEquals("fallback", read(factory.getTransport().stream(LOCATION, null)));
+		assertEquals(1, primary.calls.get());
+		assertEquals(1, factory.getPrimaryHealth().getFailures());
+		assertEquals(1, factory.getFallbackHealth().getSuccesses());
+	}
+
+	@Test
+	public void latencyPercentile() {
+		TransportHealth health = new TransportHealth();
+		for (int i = 1; i < 10; i++) {
+			health.recordSuccess(TimeUnit.MILLISECONDS.toNanos(i));
+		}
+		assertEquals(-1, health.getLatencyPercentile(95));
+		for (int i = 10; i <= 100; i++) {
+			health.recordSuccess(TimeUnit.MILLISECONDS.toNanos(i));
+		}
+		assertEquals(50, health.getLatencyPercentile(50));
+		assertEquals(95, health.getLatencyPercentile(95));
+		assertEquals(100, health.getLatencyPercentile(100));
+
+		health.recordSuccess(TimeUnit.MILLISECONDS.toNanos(1000));
+		assertEquals(1000, health.getLatencyPercentile(100));
+		assertEquals(2, health.getLatencyPercentile(0));
+	}
+
+	private static IStatus error(String message) {
+		return new Status(IStatus.ERROR, "org.eclipse.epp.mpc.tests", message);
+	}
+
+	private static String read(InputStream in) throws IOException {
+		try (in) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static class TestTransport implements ITransport {
+
+		private final String content;
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private final CountDownLatch aborted = new CountDownLatch(1);
+
+		private volatile long delay;
+
+		private volatile Exception failure;
+
+		private volatile boolean cancelAsync;
+
+		public TestTransport(String content) {
+			this.content = content;
+		}
+
+		@Override
+		public InputStream stream(URI location, IProgressMonitor monitor)
+				throws FileNotFoundException, ServiceUnavailableException, CoreException {
+			calls.incrementAndGet();
+			long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+			try {
+				while (System.nanoTime() - end < 0) {
+					if (monitor != null && monitor.isCanceled()) {
+						aborted.countDown();
+						throw new CoreException(Status.CANCEL_STATUS);
+					}
+					Thread.sleep(10);
+				}
+			} catch (InterruptedException e) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+			if (failure instanceof FileNotFoundException) {
+				throw (FileNotFoundException) failure;
+			} else if (failure != null) {
+				throw (CoreException) failure;
+			}
+			return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public CompletableFuture<InputStream> streamAsync(URI location, String acceptedContentTypes,
+				IProgressMonitor monitor) {
+			if (cancelAsync) {
+				//like a non-blocking transport whose exchange was cancelled
+				calls.incrementAndGet();
+				CompletableFuture<InputStream> result = new CompletableFuture<>();
+				result.cancel(false);
+				return result;
+			}
+			return ITransport.super.streamAsync(location, acceptedContentTypes, monitor);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.net.URI;
+
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpResponseCache;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpResponseCache.Entry;
+import org.junit.Test;
+
+public class HttpResponseCacheTest {
+
+	private static final URI FEATURED = URI.create("https://marketplace.eclipse.org/featured/api/p");
+
+	private static final URI RECENT = URI.create("https://marketplace.eclipse.org/recent/api/p");
+
+	private static final URI POPULAR = URI.create("https://marketplace.eclipse.org/popular/top/api/p");
+
+	@Test
+	public void testValidator() {
+		assertEquals("\"abc\"", new Entry("\"abc\"", "Mon, 01 Jan 2024 00:00:00 GMT", new byte[0]).getValidator());
+		assertEquals("Mon, 01 Jan 2024 00:00:00 GMT",
+				new Entry(null, "Mon, 01 Jan 2024 00:00:00 GMT", new byte[0]).getValidator());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEntryWithoutValidator() {
+		new Entry(null, null, new byte[0]);
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() {
+		HttpResponseCache cache = new HttpResponseCache(100);
+		cache.put(FEATURED, null, new Entry("1", null, new byte[25]));
+		cache.put(RECENT, null, new Entry("2", null, new byte[25]));
+		cache.get(FEATURED, null);
+		cache.put(POPULAR, null, new Entry("3", null, new byte[25]));
+		cache.put(URI.create("https://marketplace.eclipse.org/news/api/p"), null, new Entry("4", null, new byte[25]));
+		assertEquals(100, cache.getSize());
+
+		cache.put(URI.create("https://marketplace.eclipse.org/node/1/api/p"), null, new Entry("5", null, new byte[25]));
+		assertEquals(100, cache.getSize());
+		assertNull(cache.get(RECENT, null));
+		assertNotNull(cache.get(FEATURED, null));
+		assertNotNull(cache.get(POPULAR, null));
+	}
+
+	@Test
+	public void testReplaceEntry() {
+		HttpResponseCache cache = new HttpResponseCache(100);
+		cache.put(FEATURED, null, new Entry("1", null, new byte[20]));
+		cache.put(FEATURED, null, new Entry("2", null, new byte[10]));
+		assertEquals(10, cache.getSize());
+		assertEquals("2", cache.get(FEATURED, null).getEtag());
+	}
+
+	@Test
+	public void testRepresentations() {
+		HttpResponseCache cache = new HttpResponseCache(100);
+		cache.put(FEATURED, "application/json", new Entry("json", null, new byte[10]));
+		cache.put(FEATURED, "application/xml", new Entry("xml", null, new byte[10]));
+		assertEquals("json", cache.get(FEATURED, "application/json").getEtag());
+		assertEquals("xml", cache.get(FEATURED, "application/xml").getEtag());
+		assertNull(cache.get(FEATURED, null));
+
+		cache.remove(FEATURED, "application/xml");
+		assertNull(cache.get(FEATURED, "application/xml"));
+		assertEquals(10, cache.getSize());
+	}
+
+	@Test
+	public void testSkipOversizedEntry() {
+		HttpResponseCache cache = new HttpResponseCache(100);
+		cache.put(FEATURED, null, new Entry("1", null, new byte[26]));
+		assertNull(cache.get(FEATURED, null));
+		assertEquals(0, cache.getSize());
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientTransport;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics.Phase;
+import org.eclipse.epp.internal.mpc.core.util.RequestMetrics.PhaseStatistics;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceReference;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class RequestMetricsTest {
+
+	private static final byte[] CONTENT = "content\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+	private final RequestMetrics metrics = new RequestMetrics();
+
+	@Test
+	public void phaseStatistics() {
+		PhaseStatistics empty = metrics.getPhaseStatistics(Phase.PARSE);
+		assertEquals(0, empty.getCount());
+		assertEquals(-1, empty.getMedianMillis(), 0);
+		assertEquals(-1, empty.getMeanMillis(), 0);
+
+		for (int i = 1; i <= 100; i++) {
+			metrics.recordPhase(Phase.PARSE, TimeUnit.MILLISECONDS.toNanos(i));
+		}
+		metrics.recordPhase(Phase.PARSE, -1);
+		PhaseStatistics parse = metrics.getPhaseStatistics(Phase.PARSE);
+		assertEquals(100, parse.getCount());
+		assertEquals(5050, parse.getTotalMillis(), 0.001);
+		assertEquals(50.5, parse.getMeanMillis(), 0.001);
+		assertEquals(50, parse.getMedianMillis(), 0.001);
+		assertEquals(95, parse.getP95Millis(), 0.001);
+		assertEquals(100, parse.getMaxMillis(), 0.001);
+		assertEquals(0, metrics.getPhaseStatistics(Phase.DNS_LOOKUP).getCount());
+
+		metrics.reset();
+		assertEquals(0, metrics.getPhaseStatistics(Phase.PARSE).getCount());
+		assertEquals(-1, metrics.getPhaseStatistics(Phase.PARSE).getP95Millis(), 0);
+	}
+
+	@Test
+	public void meterDownload() throws IOException {
+		try (InputStream in = metrics.meterDownload(new ByteArrayInputStream(CONTENT))) {
+			assertEquals(CONTENT[0], in.read());
+			assertEquals(10, in.skip(10));
+			in.readAllBytes();
+		}
+		assertEquals(CONTENT.length, metrics.getBytesReceived());
+		assertEquals(1, metrics.getPhaseStatistics(Phase.DOWNLOAD).getCount());
+
+		//closing a body that was never read is not a download
+		metrics.meterDownload(new ByteArrayInputStream(CONTENT)).close();
+		assertEquals(1, metrics.getPhaseStatistics(Phase.DOWNLOAD).getCount());
+	}
+
+	@Test
+	public void managementBean() throws Exception {
+		metrics.recordCacheHit();
+		metrics.recordCacheHit();
+		metrics.recordPhase(Phase.TLS_HANDSHAKE, TimeUnit.MILLISECONDS.toNanos(20));
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(RequestMetrics.OBJECT_NAME + ",name=" + getClass().getSimpleName());
+		server.registerMBean(metrics, name);
+		try {
+			assertEquals(2L, server.getAttribute(name, "CacheHits"));
+			TabularData phases = (TabularData) server.getAttribute(name, "Phases");
+			CompositeData tls = (CompositeData) phases.get(new Object[] { Phase.TLS_HANDSHAKE.name() }).get("value");
+			assertEquals(1L, tls.get("count"));
+			assertEquals(20.0, (Double) tls.get("maxMillis"), 0.001);
+
+			server.invoke(name, "reset", null, null);
+			assertEquals(0L, server.getAttribute(name, "CacheHits"));
+		} finally {
+			server.unregisterMBean(name);
+		}
+	}
+
+	@Test
+	public void requestPhases() throws Exception {
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/resource", exchange -> {
+			exchange.sendResponseHeaders(200, CONTENT.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(CONTENT);
+			}
+		});
+		server.start();
+		BundleContext context = FrameworkUtil.getBundle(HttpClientService.class).getBundleContext();
+		ServiceReference<HttpClientService> clientServiceRef = context.getServiceReference(HttpClientService.class);
+		try {
+			HttpClientTransport transport = new HttpClientTransport();
+			transport.bindHttpClientService(context.getService(clientServiceRef));
+			RequestMetrics metrics = RequestMetrics.getDefault();
+			Map<Phase, Long> counts = getPhaseCounts(metrics);
+			long requests = metrics.getRequests();
+			long bytesReceived = metrics.getBytesReceived();
+
+			//a new server, so a new connection has to be established
+			URI location = URI.create("http://localhost:" + server.getAddress().getPort() + "/resource");
+			try (InputStream in = transport.stream(location, null)) {
+				assertArrayEquals(CONTENT, in.readAllBytes());
+			}
+			try (InputStream in = transport.streamAsync(location, null, null).get(30, TimeUnit.SECONDS)) {
+				assertArrayEquals(CONTENT, in.readAllBytes());
+			}
+
+			assertTrue(metrics.getRequests() >= requests + 2);
+			assertTrue(metrics.getBytesReceived() >= bytesReceived + 2 * CONTENT.length);
+			Map<Phase, Long> newCounts = getPhaseCounts(metrics);
+			for (Phase phase : new Phase[] { Phase.DNS_LOOKUP, Phase.CONNECT, Phase.TIME_TO_FIRST_BYTE }) {
+				assertTrue(phase.name(), newCounts.get(phase) > counts.get(phase));
+			}
+			assertTrue(newCounts.get(Phase.DOWNLOAD) >= counts.get(Phase.DOWNLOAD) + 2);
+		} finally {
+			server.stop(0);
+			context.ungetService(clientServiceRef);
+		}
+	}
+
+	private static Map<Phase, Long> getPhaseCounts(RequestMetrics metrics) {
+		Map<Phase, Long> counts = new EnumMap<>(Phase.class);
+		for (Phase phase : Phase.values()) {
+			counts.put(phase, metrics.getPhaseStatistics(phase).getCount());
+		}
+		return counts;
+	}
+}
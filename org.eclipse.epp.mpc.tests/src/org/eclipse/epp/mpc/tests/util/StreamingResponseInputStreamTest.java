@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.StreamingResponseInputStream;
+import org.junit.Test;
+
+public class StreamingResponseInputStreamTest {
+
+	private static final byte[] CONTENT = "<marketplace><node id=\"1\"/></marketplace>\n\n"
+			.getBytes(StandardCharsets.UTF_8);
+
+	private final AtomicBoolean responseClosed = new AtomicBoolean();
+
+	private final AtomicReference<byte[]> recorded = new AtomicReference<>();
+
+	private final Closeable response = () -> responseClosed.set(true);
+
+	private final AtomicBoolean requestCancelled = new AtomicBoolean();
+
+	private final Cancellable request = () -> requestCancelled.compareAndSet(false, true);
+
+	@Test
+	public void testRecordCompleteBody() throws IOException {
+		try (InputStream in = new StreamingResponseInputStream(response, request, new ByteArrayInputStream(CONTENT),
+				"\"1\"", recorded::set, 1024)) {
+			assertArrayEquals(CONTENT, in.readAllBytes());
+			assertArrayEquals(CONTENT, recorded.get());
+		}
+		assertTrue(responseClosed.get());
+	}
+
+	@Test
+	public void testRecordRemainderOnClose() throws IOException {
+		try (InputStream in = new StreamingResponseInputStream(response, request, new ByteArrayInputStream(CONTENT),
+				"\"1\"", recorded::set, 1024)) {
+			in.read(new byte[10]);
+			assertNull(recorded.get());
+		}
+		assertArrayEquals(CONTENT, recorded.get());
+		assertTrue(responseClosed.get());
+		assertFalse(requestCancelled.get());
+	}
+
+	@Test
+	public void testAbortOnEarlyClose() throws IOException {
+		byte[] largeContent = new String(CONTENT, StandardCharsets.UTF_8).repeat(10000)
+				.getBytes(StandardCharsets.UTF_8);
+		ByteArrayInputStream content = new ByteArrayInputStream(largeContent);
+		try (InputStream in = new StreamingResponseInputStream(response, request, content, "\"1\"", recorded::set,
+				largeContent.length)) {
+			in.read(new byte[10]);
+		}
+		assertNull(recorded.get());
+		assertTrue(requestCancelled.get());
+		assertTrue(responseClosed.get());
+		assertTrue(String.valueOf(content.available()), content.available() > largeContent.length - 20000);
+	}
+
+	@Test
+	public void testSkipOversizedBody() throws IOException {
+		try (InputStream in = new StreamingResponseInputStream(response, request, new ByteArrayInputStream(CONTENT),
+				"\"1\"", recorded::set, 10)) {
+			assertEquals(CONTENT.length, in.readAllBytes().length);
+		}
+		assertNull(recorded.get());
+		assertTrue(responseClosed.get());
+	}
+
+	@Test
+	public void testNoRecording() throws IOException {
+		StreamingResponseInputStream in = new StreamingResponseInputStream(response, request,
+				new ByteArrayInputStream(CONTENT), null, null, 0);
+		in.close();
+		assertNull(in.getValidator());
+		assertTrue(responseClosed.get());
+	}
+}
@@ -3,6 +3,7 @@
 import static org.junit.Assert.*;
 
 import org.eclipse.epp.internal.mpc.core.util.TextUtil;
+import org.eclipse.epp.internal.mpc.core.util.TextUtil.HtmlText;
 import org.junit.Test;
 
 public class TextUtilTest {
@@ -113,6 +114,56 @@ public void testCleanInformalHtmlMarkup_NaturalParaBetweenTags() {
 		assertEquals("one</li>\n\n<li>two", TextUtil.cleanInformalHtmlMarkup("one</li>\n\n<li>two"));
 	}
 
+	@Test
+	public void testCleanInformalHtmlMarkup_NaturalParaBeforeTag() {
+		assertEquals("one<p>\n<li>two", TextUtil.cleanInformalHtmlMarkup("one\n\n\n<li>two"));
+	}
+
+	@Test
+	public void testStripHtmlMarkup_UnquotedAttributeWithTagEnd() {
+		assertEquals("one  two", TextUtil.stripHtmlMarkup("one <a href=x>y> two"));
+	}
+
+	@Test
+	public void testStripHtmlMarkup_QuotedAttributeWithTagEnd() {
+		assertEquals("one  two", TextUtil.stripHtmlMarkup("one <a title=\"a>b\"> two"));
+	}
+
+	@Test
+	public void testStripHtmlMarkup_AttributeWithoutValue() {
+		String input = "<input disabled>one";
+		assertEquals(input, TextUtil.stripHtmlMarkup(input));
+	}
+
+	@Test
+	public void testStripHtmlMarkup_LargeText() {
+		StringBuilder input = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			input.append("<p class=\"c").append(i).append("\">para ").append(i).append("</p>\n\n");
+			expected.append("para ").append(i).append("\n\n");
+		}
+		assertEquals(expected.toString(), TextUtil.stripHtmlMarkup(input.toString()));
+	}
+
+	@Test
+	public void testStripHtmlMarkupToSingleLine() {
+		assertNull(TextUtil.stripHtmlMarkupToSingleLine(null));
+		assertEquals("one two", TextUtil.stripHtmlMarkupToSingleLine("\n<p>one\r\ntwo</p>\n"));
+		assertEquals("a b\tc d", TextUtil.stripHtmlMarkupToSingleLine("a \n<br/>\n b\tc  d"));
+	}
+
+	@Test
+	public void testSanitizeHtml() {
+		assertNull(TextUtil.sanitizeHtml(null));
+		String input = "one\n\ntwo <b>three</b>";
+		HtmlText html = TextUtil.sanitizeHtml(input);
+		assertEquals(TextUtil.stripHtmlMarkup(input), html.getText());
+		assertEquals(TextUtil.cleanInformalHtmlMarkup(input), html.getMarkup());
+		assertEquals("one\n\ntwo three", html.getText());
+		assertEquals("one<p>two <b>three</b>", html.getMarkup());
+	}
+
 	@Test
 	public void testEscapeAmpersand() {
 		assertEquals("one && two", TextUtil.escapeText("one & two"));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2020 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -30,6 +30,8 @@ public class MarketplaceClientDebug {
 
 	public static final String DROP_ADAPTER_DEBUG_OPTION = DEBUG_OPTION + "/dnd"; //$NON-NLS-1$
 
+	public static final String PREWARM_DEBUG_OPTION = DEBUG_OPTION + "/prewarm"; //$NON-NLS-1$
+
 	public static boolean DEBUG = false;
 
 	private static DebugTrace debugTrace;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -72,6 +74,20 @@ public class MarketplaceCatalog extends Catalog {
 
 	private List<MarketplaceNodeCatalogItem> availableUpdates = new ArrayList<>();
 
+	/**
+	 * Minimum time between two updates with the entries a running query has found so far
+	 */
+	private static final long PARTIAL_RESULT_INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+
+	private Consumer<Runnable> partialResultPublisher;
+
+	/**
+	 * Incremented when a query starts and when it is complete, so outdated partial results can be told apart
+	 */
+	private int discoveryGeneration;
+
+	private boolean partialResultPublished;
+
 	private interface DiscoveryOperation {
 		public void run(MarketplaceDiscoveryStrategy strategy, IProgressMonitor monitor) throws CoreException;
 	}
@@ -91,15 +107,46 @@ public IStatus related(IProgressMonitor monitor) {
 	}
 
 	public IStatus recent(IProgressMonitor monitor) {
-		return performDiscovery((strategy, monitor1) -> strategy.recent(monitor1), false, monitor);
+		return recent(null, monitor);
+	}
+
+	/**
+	 * Query recent entries, accepting an expired cached result.
+	 *
+	 * @param staleResultRefreshed
+	 *            if not null, an expired cached result may be shown right away, while a fresh result is retrieved in
+	 *            the background. The callback is notified from a background thread once the fresh result is available,
+	 *            so the query can be repeated.
+	 */
+	public IStatus recent(Runnable staleResultRefreshed, IProgressMonitor monitor) {
+		return performDiscovery((strategy, monitor1) -> strategy.recent(staleResultRefreshed, monitor1), false,
+				monitor);
 	}
 
 	public IStatus popular(IProgressMonitor monitor) {
-		return performDiscovery((strategy, monitor1) -> strategy.popular(monitor1), false, monitor);
+		return popular(null, monitor);
+	}
+
+	/**
+	 * @see #recent(Runnable, IProgressMonitor)
+	 */
+	public IStatus popular(Runnable staleResultRefreshed, IProgressMonitor monitor) {
+		return performDiscovery((strategy, monitor1) -> strategy.popular(staleResultRefreshed, monitor1), false,
+				monitor);
 	}
 
 	public IStatus featured(IProgressMonitor monitor, final IMarket market, final ICategory category) {
-		return performDiscovery((strategy, monitor1) -> strategy.featured(monitor1, market, category), false, monitor);
+		return featured(monitor, market, category, null);
+	}
+
+	/**
+	 * @see #recent(Runnable, IProgressMonitor)
+	 */
+	public IStatus featured(IProgressMonitor monitor, final IMarket market, final ICategory category,
+			Runnable staleResultRefreshed) {
+		return performDiscovery(
+				(strategy, monitor1) -> strategy.featured(monitor1, market, category, staleResultRefreshed), false,
+				monitor);
 	}
 
 	public IStatus installed(IProgressMonitor monitor) {
@@ -201,7 +248,7 @@ private List<CatalogItem> getUpdateCheckItems(IProgressMonitor monitor) {
 			} catch (CoreException e) {
 				MarketplaceClientUi.log(IStatus.INFO, Messages.MarketplaceCatalog_UpdateCheckDiscoveryError, e);
 			}
-		}, finalUpdateCheckItems, categories, getCertifications(), getTags(), monitor);
+		}, finalUpdateCheckItems, categories, getCertifications(), getTags(), null, monitor);
 		return finalUpdateCheckItems;
 	}
 
@@ -461,6 +508,19 @@ private IStatus computeStatus(IStatus status) {
 		return status;
 	}
 
+	/**
+	 * Show the entries of a query as they arrive, rather than only once the query is complete.
+	 *
+	 * @param publisher
+	 *            receives an update of the catalog with the entries found so far, at most every few hundred
+	 *            milliseconds while a query is running. It has to run the update on the thread that presents the
+	 *            catalog, followed by a refresh of the presentation. Null to only update the catalog with complete
+	 *            results.
+	 */
+	public synchronized void setPartialResultPublisher(Consumer<Runnable> publisher) {
+		this.partialResultPublisher = publisher;
+	}
+
 	protected IStatus performDiscovery(DiscoveryOperation operation, boolean refresh, IProgressMonitor monitor) {
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceCatalog_queryingMarketplace, 100);
 
@@ -476,10 +536,26 @@ protected IStatus performDiscovery(DiscoveryOperation operation, boolean refresh
 		}
 		progress.worked(1);
 
+		PartialResults partialResults = null;
+		synchronized (this) {
+			int generation = ++discoveryGeneration;
+			partialResultPublished = false;
+			if (partialResultPublisher != null && !refresh) {
+				partialResults = new PartialResults(generation, partialResultPublisher, items, categories,
+						certifications, tags);
+			}
+		}
 		try {
 			IStatus status = runDiscoveryOperation(operation, items, categories, certifications, tags,
-					progress.newChild(98));
-			update(categories, items, certifications, tags);
+					partialResults, progress.newChild(98));
+			synchronized (this) {
+				//drop partial results that haven't been published yet
+				discoveryGeneration++;
+				if (partialResultPublished) {
+					clearCategoryItems(categories);
+				}
+				update(categories, items, certifications, tags);
+			}
 			progress.worked(1);
 			return status;
 		} finally {
@@ -487,9 +563,75 @@ protected IStatus performDiscovery(DiscoveryOperation operation, boolean refresh
 		}
 	}
 
+	private synchronized void publishPartialResult(int generation, List<CatalogItem> items,
+			List<CatalogCategory> categories, List<Certification> certifications, List<Tag> tags) {
+		if (generation != discoveryGeneration) {
+			return;
+		}
+		clearCategoryItems(categories);
+		update(categories, items, certifications, tags);
+		partialResultPublished = true;
+	}
+
+	private static void clearCategoryItems(List<CatalogCategory> categories) {
+		for (CatalogCategory catalogCategory : categories) {
+			catalogCategory.getItems().clear();
+		}
+	}
+
+	/**
+	 * Hands a copy of the entries found so far to the {@link #setPartialResultPublisher(Consumer) publisher} whenever
+	 * the discovery strategy has added entries, unless the last update was too recent. Entries added after the last
+	 * update are shown with the complete result.
+	 */
+	private class PartialResults implements Runnable {
+
+		private final int generation;
+
+		private final Consumer<Runnable> publisher;
+
+		private final List<CatalogItem> items;
+
+		private final List<CatalogCategory> categories;
+
+		private final List<Certification> certifications;
+
+		private final List<Tag> tags;
+
+		private long lastPublished;
+
+		private boolean published;
+
+		PartialResults(int generation, Consumer<Runnable> publisher, List<CatalogItem> items,
+				List<CatalogCategory> categories, List<Certification> certifications, List<Tag> tags) {
+			this.generation = generation;
+			this.publisher = publisher;
+			this.items = items;
+			this.categories = categories;
+			this.certifications = certifications;
+			this.tags = tags;
+		}
+
+		@Override
+		public void run() {
+			long now = System.nanoTime();
+			if (published && now - lastPublished < PARTIAL_RESULT_INTERVAL) {
+				return;
+			}
+			published = true;
+			lastPublished = now;
+			List<CatalogItem> itemsSoFar = new ArrayList<>(items);
+			List<CatalogCategory> categoriesSoFar = new ArrayList<>(categories);
+			List<Certification> certificationsSoFar = new ArrayList<>(certifications);
+			List<Tag> tagsSoFar = new ArrayList<>(tags);
+			publisher.accept(() -> publishPartialResult(generation, itemsSoFar, categoriesSoFar, certificationsSoFar,
+					tagsSoFar));
+		}
+	}
+
 	private IStatus runDiscoveryOperation(DiscoveryOperation operation, List<CatalogItem> items,
 			List<CatalogCategory> categories, List<Certification> certifications, List<Tag> tags,
-			IProgressMonitor monitor) {
+			Runnable partialResults, IProgressMonitor monitor) {
 		MultiStatus status = new MultiStatus(MarketplaceClientUi.BUNDLE_ID, 0, Messages.MarketplaceCatalog_queryFailed,
 				null);
 		if (getDiscoveryStrategies().isEmpty()) {
@@ -516,8 +658,9 @@ private IStatus runDiscoveryOperation(DiscoveryOperation operation, List<Catalog
 					discoveryStrategy.setItems(items);
 					discoveryStrategy.setCertifications(certifications);
 					discoveryStrategy.setTags(tags);
+					MarketplaceDiscoveryStrategy marketplaceStrategy = (MarketplaceDiscoveryStrategy) discoveryStrategy;
+					marketplaceStrategy.setStreamedItemsListener(partialResults);
 					try {
-						MarketplaceDiscoveryStrategy marketplaceStrategy = (MarketplaceDiscoveryStrategy) discoveryStrategy;
 						operation.run(marketplaceStrategy, progress.newChild(strategyTicks));
 
 					} catch (CoreException e) {
@@ -530,6 +673,7 @@ private IStatus runDiscoveryOperation(DiscoveryOperation operation, List<Catalog
 						status.add(error);
 					} finally {
 						// remove everything from strategy again, so it can't accidentally mess with the results later
+						marketplaceStrategy.setStreamedItemsListener(null);
 						discoveryStrategy.setCategories(oldCategories);
 						discoveryStrategy.setItems(oldItems);
 						discoveryStrategy.setCertifications(oldCertifications);
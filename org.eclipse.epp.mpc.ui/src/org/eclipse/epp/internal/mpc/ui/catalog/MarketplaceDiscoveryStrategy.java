@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2019 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -21,11 +21,13 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -41,6 +43,7 @@
 import org.eclipse.epp.internal.mpc.core.model.Identifiable;
 import org.eclipse.epp.internal.mpc.core.model.Node;
 import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.service.CachingMarketplaceService;
 import org.eclipse.epp.internal.mpc.core.service.DefaultMarketplaceService;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
@@ -89,6 +92,8 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
 	private final String nodeContentUrlPrefix;
 
+	private Runnable streamedItemsListener;
+
 	public MarketplaceDiscoveryStrategy(CatalogDescriptor catalogDescriptor) {
 		if (catalogDescriptor == null) {
 			throw new IllegalArgumentException();
@@ -179,8 +184,26 @@ protected void handleDiscoveryCategory(MarketplaceCategory catalogCategory) {
 		catalogCategory.setContents(Contents.FEATURED);
 	}
 
+	/**
+	 * @param listener
+	 *            notified on the querying thread whenever an item has been added to the {@link #getItems() items}
+	 *            while the result of a query is still being read, or null
+	 */
+	public void setStreamedItemsListener(Runnable listener) {
+		this.streamedItemsListener = listener;
+	}
+
 	protected void handleSearchResult(MarketplaceCategory catalogCategory, ISearchResult result,
 			final IProgressMonitor monitor) {
+		handleSearchResult(catalogCategory, result, null, monitor);
+	}
+
+	/**
+	 * @param streamedItems
+	 *            catalog items already added while the result was retrieved, or null
+	 */
+	private void handleSearchResult(MarketplaceCategory catalogCategory, ISearchResult result,
+			StreamedCatalogItems streamedItems, final IProgressMonitor monitor) {
 		List<CatalogItem> items = getItems();
 		if (items != null && !result.getNodes().isEmpty()) {
 			int nodeWork = 1000;
@@ -189,8 +212,16 @@ protected void handleSearchResult(MarketplaceCategory catalogCategory, ISearchRe
 
 			try {
 				for (final INode node : result.getNodes()) {
-					CatalogItem catalogItem = createCatalogItem(node, catalogCategory.getId(),
-							progress.newChild(nodeWork));
+					CatalogItem streamedItem = streamedItems == null ? null : streamedItems.take(node);
+					CatalogItem catalogItem;
+					if (streamedItem != null) {
+						//move it to its place in the result
+						items.removeIf(item -> item == streamedItem);
+						catalogItem = streamedItem;
+						progress.worked(nodeWork);
+					} else {
+						catalogItem = createCatalogItem(node, catalogCategory.getId(), progress.newChild(nodeWork));
+					}
 					items.add(catalogItem);
 				}
 			} finally {
@@ -206,6 +237,60 @@ protected void handleSearchResult(MarketplaceCategory catalogCategory, ISearchRe
 		}
 	}
 
+	/**
+	 * Adds catalog items for the nodes of a result as the nodes are read, so the first entries can be shown before the
+	 * rest of the result has arrived. Once the result is complete, they are put in result order, and items for nodes
+	 * that didn't make it into the result are {@link #discard() discarded}.
+	 */
+	private class StreamedCatalogItems implements Consumer<INode> {
+
+		private final String categoryId;
+
+		private final IProgressMonitor monitor;
+
+		private final Map<String, CatalogItem> itemsByNodeId = new HashMap<>();
+
+		public StreamedCatalogItems(MarketplaceCategory catalogCategory, IProgressMonitor monitor) {
+			this.categoryId = catalogCategory.getId();
+			this.monitor = monitor;
+		}
+
+		@Override
+		public void accept(INode node) {
+			if (monitor.isCanceled() || node.getId() == null || itemsByNodeId.containsKey(node.getId())) {
+				return;
+			}
+			CatalogItem catalogItem = createCatalogItem(node, categoryId, monitor);
+			if (catalogItem == null) {
+				return;
+			}
+			itemsByNodeId.put(node.getId(), catalogItem);
+			items.add(catalogItem);
+			Runnable listener = streamedItemsListener;
+			if (listener != null) {
+				listener.run();
+			}
+		}
+
+		/**
+		 * @return the item added for the node, or null if there is none
+		 */
+		CatalogItem take(INode node) {
+			return node.getId() == null ? null : itemsByNodeId.remove(node.getId());
+		}
+
+		/**
+		 * Remove the items that haven't been {@link #take(INode) taken} for the result, e.g. because the request
+		 * failed.
+		 */
+		void discard() {
+			Set<CatalogItem> remaining = Collections.newSetFromMap(new IdentityHashMap<>());
+			remaining.addAll(itemsByNodeId.values());
+			itemsByNodeId.clear();
+			items.removeIf(remaining::contains);
+		}
+	}
+
 	protected CatalogItem createCatalogItem(final INode node, String categoryId,
 			IProgressMonitor monitor) {
 		String id = node.getId();
@@ -417,6 +502,7 @@ public void performQuery(IMarket market, ICategory category, String queryText, I
 		final int totalWork = 1001;
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceDiscoveryStrategy_searchingMarketplace,
 				totalWork);
+		StreamedCatalogItems streamedItems = null;
 		try {
 			ISearchResult result;
 			MarketplaceCategory catalogCategory = findMarketplaceCategory(progress.newChild(1));
@@ -448,15 +534,21 @@ public void performQuery(IMarket market, ICategory category, String queryText, I
 					throw new CoreException(MarketplaceClientCore.computeStatus(ex, Messages.MarketplaceDiscoveryStrategy_unknownFilter));
 				}
 				progress.setWorkRemaining(totalWork - 1);
-				result = marketplaceService.search(resolvedMarket, resolvedCategory, queryText, progress.newChild(500));
+				SubMonitor searchProgress = progress.newChild(500);
+				streamedItems = new StreamedCatalogItems(catalogCategory, searchProgress);
+				result = marketplaceService.search(resolvedMarket, resolvedCategory, queryText, streamedItems,
+						searchProgress);
 			}
 
-			handleSearchResult(catalogCategory, result, progress.newChild(500));
+			handleSearchResult(catalogCategory, result, streamedItems, progress.newChild(500));
 			if (result.getNodes().isEmpty()) {
 				catalogCategory.setMatchCount(0);
 				addCatalogItem(catalogCategory);
 			}
 		} finally {
+			if (streamedItems != null) {
+				streamedItems.discard();
+			}
 			progress.done();
 		}
 	}
@@ -530,12 +622,23 @@ protected boolean handleNode(CatalogDescriptor descriptor, String url, INode nod
 	}
 
 	public void recent(IProgressMonitor monitor) throws CoreException {
+		recent(null, monitor);
+	}
+
+	/**
+	 * @param staleResultRefreshed
+	 *            if not null, an expired cached result may be used instead of waiting for a fresh one. The callback
+	 *            is notified from a background thread once the fresh result is available.
+	 */
+	public void recent(Runnable staleResultRefreshed, IProgressMonitor monitor) throws CoreException {
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceDiscoveryStrategy_searchingMarketplace,
 				1001);
 		try {
 			MarketplaceCategory catalogCategory = findMarketplaceCategory(progress.newChild(1));
 			catalogCategory.setContents(Contents.RECENT);
-			ISearchResult result = marketplaceService.recent(progress.newChild(500));
+			CachingMarketplaceService revalidatingService = getRevalidatingService(staleResultRefreshed);
+			ISearchResult result = revalidatingService == null ? marketplaceService.recent(progress.newChild(500))
+					: revalidatingService.recent(staleResultRefreshed, progress.newChild(500));
 			handleSearchResult(catalogCategory, result, progress.newChild(500));
 			maybeAddCatalogItem(catalogCategory);
 		} finally {
@@ -562,26 +665,53 @@ public void related(IProgressMonitor monitor) throws CoreException {
 	}
 
 	public void featured(IProgressMonitor monitor, final IMarket market, final ICategory category) throws CoreException {
+		featured(monitor, market, category, null);
+	}
+
+	/**
+	 * @see #recent(Runnable, IProgressMonitor)
+	 */
+	public void featured(IProgressMonitor monitor, final IMarket market, final ICategory category,
+			Runnable staleResultRefreshed) throws CoreException {
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceDiscoveryStrategy_searchingMarketplace,
 				1001);
+		StreamedCatalogItems streamedItems = null;
 		try {
 			MarketplaceCategory catalogCategory = findMarketplaceCategory(progress.newChild(1));
 			catalogCategory.setContents(Contents.FEATURED);
-			ISearchResult result = marketplaceService.featured(market, category, progress.newChild(500));
-			handleSearchResult(catalogCategory, result, progress.newChild(500));
+			SubMonitor featuredProgress = progress.newChild(500);
+			streamedItems = new StreamedCatalogItems(catalogCategory, featuredProgress);
+			CachingMarketplaceService revalidatingService = getRevalidatingService(staleResultRefreshed);
+			ISearchResult result = revalidatingService == null
+					? marketplaceService.featured(market, category, streamedItems, featuredProgress)
+					: revalidatingService.featured(market, category, staleResultRefreshed, streamedItems,
+							featuredProgress);
+			handleSearchResult(catalogCategory, result, streamedItems, progress.newChild(500));
 			maybeAddCatalogItem(catalogCategory);
 		} finally {
+			if (streamedItems != null) {
+				streamedItems.discard();
+			}
 			monitor.done();
 		}
 	}
 
 	public void popular(IProgressMonitor monitor) throws CoreException {
+		popular(null, monitor);
+	}
+
+	/**
+	 * @see #recent(Runnable, IProgressMonitor)
+	 */
+	public void popular(Runnable staleResultRefreshed, IProgressMonitor monitor) throws CoreException {
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceDiscoveryStrategy_searchingMarketplace,
 				1001);
 		try {
 			MarketplaceCategory catalogCategory = findMarketplaceCategory(progress.newChild(1));
 			catalogCategory.setContents(Contents.POPULAR);
-			ISearchResult result = marketplaceService.popular(progress.newChild(500));
+			CachingMarketplaceService revalidatingService = getRevalidatingService(staleResultRefreshed);
+			ISearchResult result = revalidatingService == null ? marketplaceService.popular(progress.newChild(500))
+					: revalidatingService.popular(staleResultRefreshed, progress.newChild(500));
 			handleSearchResult(catalogCategory, result, progress.newChild(500));
 			maybeAddCatalogItem(catalogCategory);
 		} finally {
@@ -589,6 +719,13 @@ public void popular(IProgressMonitor monitor) throws CoreException {
 		}
 	}
 
+	private CachingMarketplaceService getRevalidatingService(Runnable staleResultRefreshed) {
+		if (staleResultRefreshed != null && marketplaceService instanceof CachingMarketplaceService) {
+			return (CachingMarketplaceService) marketplaceService;
+		}
+		return null;
+	}
+
 	public void addUpdateItem(MarketplaceCategory catalogCategory, List<MarketplaceNodeCatalogItem> availableUpdates) {
 		addUserActionItem(catalogCategory, UserAction.UPDATE, availableUpdates);
 	}
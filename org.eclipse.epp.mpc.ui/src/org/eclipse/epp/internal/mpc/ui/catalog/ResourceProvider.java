@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -25,6 +25,8 @@
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -32,9 +34,9 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
@@ -295,7 +297,10 @@ public ResourceFuture retrieveResource(final String requestSource, final String
 		}
 		if (retrieve) {
 			final ResourceFuture finalResourceFuture = resourceFuture;
-			new Job(Messages.ResourceProvider_retrievingResource) {
+			//listings request lots of resources at once - only storing a received resource needs a worker thread
+			TransportFactory.createTransport()
+			.streamAsync(resourceUrl, null, new NullProgressMonitor())
+			.whenComplete((stream, failure) -> new Job(Messages.ResourceProvider_retrievingResource) {
 
 				{
 					setPriority(INTERACTIVE);
@@ -305,29 +310,39 @@ public ResourceFuture retrieveResource(final String requestSource, final String
 
 				@Override
 				protected IStatus run(IProgressMonitor monitor) {
-					try (InputStream in = TransportFactory.createTransport().stream(resourceUrl, monitor)) {
-						finalResourceFuture.retrieve(in);
-					} catch (FileNotFoundException e) {
-						//MarketplaceClientUi.error(NLS.bind(Messages.AbstractResourceRunnable_resourceNotFound, new Object[] { catalogItem.getName(),
-						//catalogItem.getId(), resourceUrl }), e);
-					} catch (IOException e) {
-						if (e.getCause() instanceof OperationCanceledException) {
-							// canceled, nothing we want to do here
-						} else {
-							MarketplaceClientUi.log(IStatus.WARNING, Messages.ResourceProvider_downloadError, requestSource,
-									resourceUrl, e);
-						}
-					} catch (CoreException e) {
-						MarketplaceClientUi.log(IStatus.WARNING, Messages.ResourceProvider_downloadError, requestSource,
-								resourceUrl, e);
-					}
+					storeResource(finalResourceFuture, requestSource, resourceUrl, stream, failure);
 					return Status.OK_STATUS;
 				}
-			}.schedule();
+			}.schedule());
 		}
 		return resourceFuture;
 	}
 
+	private static void storeResource(ResourceFuture resourceFuture, String requestSource, URI resourceUrl,
+			InputStream stream, Throwable failure) {
+		Throwable error = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause()
+				: failure;
+		if (stream != null) {
+			try (InputStream in = stream) {
+				resourceFuture.retrieve(in);
+			} catch (IOException e) {
+				error = e;
+			}
+		}
+		if (error == null || error instanceof CancellationException) {
+			return;
+		}
+		if (error instanceof FileNotFoundException) {
+			//MarketplaceClientUi.error(NLS.bind(Messages.AbstractResourceRunnable_resourceNotFound, new Object[] { catalogItem.getName(),
+			//catalogItem.getId(), resourceUrl }), e);
+		} else if (error instanceof IOException && error.getCause() instanceof OperationCanceledException) {
+			// canceled, nothing we want to do here
+		} else {
+			MarketplaceClientUi.log(IStatus.WARNING, Messages.ResourceProvider_downloadError, requestSource,
+					resourceUrl, error);
+		}
+	}
+
 	public void dispose() {
 		File dir;
 		synchronized (this) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@
 import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUiResources;
 import org.eclipse.epp.internal.mpc.ui.discovery.MissingNatureDetector;
+import org.eclipse.epp.internal.mpc.ui.wizards.MarketplacePrewarmer;
 
 public class MPCPreferenceInitializer extends AbstractPreferenceInitializer {
 
@@ -25,6 +26,8 @@ public MPCPreferenceInitializer() {
 	public void initializeDefaultPreferences() {
 		MarketplaceClientUiResources.getInstance().getPreferenceStore().setDefault(
 				MissingNatureDetector.ENABLEMENT_PROPERTY, true);
+		MarketplaceClientUiResources.getInstance().getPreferenceStore().setDefault(
+				MarketplacePrewarmer.ENABLEMENT_PROPERTY, false);
 	}
 
 }
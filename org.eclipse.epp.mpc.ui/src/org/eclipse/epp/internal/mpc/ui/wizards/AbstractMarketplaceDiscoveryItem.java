@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010,, 2018 Tasktop Technologies and others.
+ * Copyright (c) 2010, 2026 Tasktop Technologies and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -299,9 +299,8 @@ protected void createDescription(Composite parent) {
 		if (descriptionText == null) {
 			descriptionText = ""; //$NON-NLS-1$
 		} else {
-			descriptionText = TextUtil.stripHtmlMarkup(descriptionText).trim();
+			descriptionText = TextUtil.stripHtmlMarkupToSingleLine(descriptionText);
 		}
-		descriptionText = descriptionText.replaceAll("(\\r\\n)|\\n|\\r|\\s{2,}", " "); //$NON-NLS-1$ //$NON-NLS-2$
 
 		String promotionLabel = null;
 		if (descriptionText.startsWith(Messages.DiscoveryItem_Promotion_Marker)) {
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     The Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.wizards;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.core.ServiceLocator;
+import org.eclipse.epp.internal.mpc.ui.CatalogRegistry;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientDebug;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUiResources;
+import org.eclipse.epp.mpc.core.service.ICatalogService;
+import org.eclipse.epp.mpc.core.service.IMarketplaceServiceLocator;
+import org.eclipse.epp.mpc.ui.CatalogDescriptor;
+import org.eclipse.ui.IStartup;
+
+/**
+ * Prepares the connections to the Marketplace servers in the background some time after startup, so opening the
+ * Marketplace wizard for the first time doesn't have to wait for name resolution, proxy authentication and TLS
+ * handshakes. The catalogs and markets are requested through the same services the wizard uses, so the proxy is
+ * resolved, the connections are kept in the shared client's pool, and the responses end up in the services' caches.
+ * <p>
+ * Since this contacts the Marketplace servers without the user asking for it, it is off by default. Products can
+ * turn it on with the {@link #ENABLEMENT_PROPERTY} preference in their <code>plugin_customization.ini</code>. Like
+ * any other startup extension, it can also be turned off in the workbench preferences.
+ */
+public class MarketplacePrewarmer implements IStartup {
+
+	public static final String ENABLEMENT_PROPERTY = "org.eclipse.epp.mpc.prewarm"; //$NON-NLS-1$
+
+	/**
+	 * Time in milliseconds to wait after startup, so prewarming doesn't compete with the workbench for resources
+	 */
+	private static final long STARTUP_DELAY = 15000;
+
+	@Override
+	public void earlyStartup() {
+		if (!MarketplaceClientUiResources.getInstance().getPreferenceStore().getBoolean(ENABLEMENT_PROPERTY)) {
+			return;
+		}
+		Job prewarmJob = Job.create(Messages.MarketplacePrewarmer_jobName, this::prewarm);
+		prewarmJob.setSystem(true);
+		prewarmJob.setPriority(Job.DECORATE);
+		prewarmJob.schedule(STARTUP_DELAY);
+	}
+
+	private void prewarm(IProgressMonitor monitor) {
+		IMarketplaceServiceLocator locator = ServiceLocator.getCompatibilityLocator();
+		if (locator == null) {
+			return;
+		}
+		Set<String> marketplaceUrls = new LinkedHashSet<>();
+		for (CatalogDescriptor descriptor : CatalogRegistry.getInstance().getCatalogDescriptors()) {
+			if (descriptor.getUrl() != null) {
+				marketplaceUrls.add(descriptor.getUrl().toExternalForm());
+			}
+		}
+		SubMonitor progress = SubMonitor.convert(monitor, marketplaceUrls.size() + 1);
+		ICatalogService catalogService = locator.getCatalogService();
+		if (catalogService != null) {
+			try {
+				catalogService.listCatalogs(progress.split(1));
+			} catch (CoreException ex) {
+				tracePrewarmFailure("catalogs", ex); //$NON-NLS-1$
+			}
+		}
+		for (String marketplaceUrl : marketplaceUrls) {
+			try {
+				locator.getMarketplaceService(marketplaceUrl).listMarkets(progress.split(1));
+			} catch (CoreException ex) {
+				tracePrewarmFailure(marketplaceUrl, ex);
+			}
+		}
+	}
+
+	private static void tracePrewarmFailure(String target, CoreException ex) {
+		//failures are reported once the wizard is actually opened - no need to bother the user here
+		if (MarketplaceClientDebug.DEBUG) {
+			MarketplaceClientDebug.trace(MarketplaceClientDebug.PREWARM_DEBUG_OPTION,
+					"Failed to prepare connection to {0}: {1}", target, ex.getMessage(), ex); //$NON-NLS-1$
+		}
+	}
+}
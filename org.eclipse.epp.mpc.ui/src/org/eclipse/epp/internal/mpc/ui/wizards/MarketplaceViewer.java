@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -75,6 +75,7 @@
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.jface.window.IShellProvider;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Rectangle;
@@ -82,6 +83,7 @@
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.statushandlers.StatusManager;
@@ -219,6 +221,11 @@ public boolean equals(Object obj) {
 
 	private ContentType queryContentType;
 
+	/**
+	 * Incremented with every query, so outdated background refreshes can be told apart
+	 */
+	private int queryGeneration;
+
 	private final IMarketplaceWebBrowser browser;
 
 	private String findText;
@@ -609,13 +616,22 @@ private IStatus doQuery(final QueryData queryData,
 			final ContentType queryType = contentType;
 			queryContentType = queryType;
 			final IStatus[] result = new IStatus[1];
+			final Runnable staleResultRefreshed = createStaleResultRefresh(queryType);
+			final Display display = getControl().getDisplay();
+			getCatalog().setPartialResultPublisher(update -> asyncExec(display, () -> {
+				if (getControl().isDisposed()) {
+					return;
+				}
+				update.run();
+				updateViewer(queryData.queryText);
+			}));
 			context.run(true, true, monitor -> {
 				switch (queryType) {
 				case POPULAR:
-					result[0] = getCatalog().popular(monitor);
+					result[0] = getCatalog().popular(staleResultRefreshed, monitor);
 					break;
 				case RECENT:
-					result[0] = getCatalog().recent(monitor);
+					result[0] = getCatalog().recent(staleResultRefreshed, monitor);
 					break;
 				case RELATED:
 					result[0] = getCatalog().related(monitor);
@@ -645,7 +661,8 @@ private IStatus doQuery(final QueryData queryData,
 									queryData.queryText, monitor);
 						}
 					} else {
-						result[0] = getCatalog().featured(monitor, queryData.queryMarket, queryData.queryCategory);
+						result[0] = getCatalog().featured(monitor, queryData.queryMarket, queryData.queryCategory,
+								staleResultRefreshed);
 					}
 					break;
 				}
@@ -671,6 +688,40 @@ private IStatus doQuery(final QueryData queryData,
 		} catch (InterruptedException e) {
 			// cancelled by user so nothing to do here.
 			return Status.CANCEL_STATUS;
+		} finally {
+			getCatalog().setPartialResultPublisher(null);
+		}
+	}
+
+	/**
+	 * Featured, recent and popular entries can be shown from an expired cached result, while a fresh result is
+	 * retrieved in the background. The returned callback repeats the query once the fresh result has arrived, unless
+	 * another query has been started in the meantime.
+	 */
+	private Runnable createStaleResultRefresh(final ContentType queryType) {
+		final int generation = ++queryGeneration;
+		final Display display = getControl().getDisplay();
+		return () -> asyncExec(display, () -> {
+			if (getControl().isDisposed() || generation != queryGeneration || contentType != queryType) {
+				return;
+			}
+			reload();
+		});
+	}
+
+	/**
+	 * Run the update on the UI thread, unless the wizard has been closed in the meantime.
+	 */
+	private static void asyncExec(Display display, Runnable update) {
+		if (display.isDisposed()) {
+			return;
+		}
+		try {
+			display.asyncExec(update);
+		} catch (SWTException ex) {
+			if (ex.code != SWT.ERROR_DEVICE_DISPOSED) {
+				throw ex;
+			}
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2018 The Eclipse Foundation and others.
+ * Copyright (c) 2010, 2026 The Eclipse Foundation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -182,6 +182,8 @@ class Messages extends NLS {
 
 	public static String MarketplaceDropAdapter_0;
 
+	public static String MarketplacePrewarmer_jobName;
+
 	public static String MarketplacePage_DefaultNewsTitle;
 
 	public static String MarketplacePage_DeselectAll;